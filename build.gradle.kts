@@ -114,6 +114,7 @@ dependencies {
     add("compatLegacyCompileOnly", "org.jetbrains:annotations:26.0.2")
 
     testImplementation("org.spigotmc:spigot-api:$minecraftVersion-R0.1-SNAPSHOT")
+    testImplementation("me.clip:placeholderapi:2.11.6")
     testImplementation("org.junit.jupiter:junit-jupiter:5.12.1")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.12.1")
     testImplementation("org.mockito:mockito-junit-jupiter:5.16.0")
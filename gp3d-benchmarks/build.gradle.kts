@@ -0,0 +1,49 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+group = rootProject.group
+version = rootProject.version
+
+java {
+    val javaVersion = JavaVersion.toVersion(providers.gradleProperty("targetJavaVersion").get())
+    sourceCompatibility = javaVersion
+    targetCompatibility = javaVersion
+}
+
+val minecraftVersion = providers.gradleProperty("minecraftVersion").get()
+
+repositories {
+    mavenCentral()
+    maven("https://hub.spigotmc.org/nexus/content/repositories/snapshots/")
+    maven("https://s01.oss.sonatype.org/content/repositories/snapshots")
+}
+
+dependencies {
+    jmh(project(":gp3d-core"))
+    // The Bukkit plugin, for benchmarks of its DataStore and chat paths. The server API is
+    // compileOnly there, so it is added here directly.
+    jmh(rootProject)
+    jmh("org.spigotmc:spigot-api:$minecraftVersion-R0.1-SNAPSHOT")
+    jmh("org.jetbrains:annotations:26.0.2")
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+    options.release.set(providers.gradleProperty("targetJavaVersion").get().toInt())
+}
+
+// ./gradlew :gp3d-benchmarks:jmh -PjmhInclude=ClaimSnapshotIndexBenchmark -PjmhProfilers=gc
+jmh {
+    jmhVersion.set("1.37")
+    providers.gradleProperty("jmhInclude").orNull?.let { includes.add(it) }
+    profilers.addAll(
+        providers.gradleProperty("jmhProfilers").orElse("gc").get()
+            .split(',').map { it.trim() }.filter { it.isNotEmpty() }
+    )
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,98 @@
+package com.griefprevention.benchmarks;
+
+import com.griefprevention.claims.ClaimBounds;
+import com.griefprevention.geometry.OrthogonalPoint2i;
+import com.griefprevention.geometry.OrthogonalPolygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Column tests against rectangular and shaped claims. Shaped claims are staircases, whose edge
+ * count grows with {@link #steps}.
+ */
+@State(Scope.Benchmark)
+public class ClaimBoundsBenchmark
+{
+    private static final int QUERIES = 1_024;
+
+    @Param({ "4", "32", "128" })
+    public int steps;
+
+    @Param("42")
+    public long seed;
+
+    private ClaimBounds rectangle;
+    private ClaimBounds shaped;
+    private int[] columns;
+
+    @Setup
+    public void setUp()
+    {
+        int size = this.steps * 4;
+        this.rectangle = ClaimBounds.rectangle(0, -64, 0, size, 319, size);
+        this.shaped = ClaimBounds.shaped(staircase(this.steps, 4), -64, 319);
+
+        // Query slightly beyond the bounding box so the early rejection is exercised too.
+        Random random = new Random(this.seed);
+        this.columns = new int[QUERIES * 2];
+        for (int i = 0; i < this.columns.length; i++)
+        {
+            this.columns[i] = random.nextInt(size + 9) - 4;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int rectangleContainsColumn()
+    {
+        return countContained(this.rectangle, this.columns);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int shapedContainsColumn()
+    {
+        return countContained(this.shaped, this.columns);
+    }
+
+    private static int countContained(ClaimBounds bounds, int[] columns)
+    {
+        int contained = 0;
+        for (int i = 0; i < columns.length; i += 2)
+        {
+            if (bounds.containsColumn(columns[i], columns[i + 1]))
+            {
+                contained++;
+            }
+        }
+        return contained;
+    }
+
+    /**
+     * A right triangle of stairs, each step {@code stepSize} blocks wide and deep.
+     */
+    static OrthogonalPolygon staircase(int steps, int stepSize)
+    {
+        int size = steps * stepSize;
+        List<OrthogonalPoint2i> path = new ArrayList<>();
+        path.add(new OrthogonalPoint2i(0, 0));
+        path.add(new OrthogonalPoint2i(size, 0));
+        for (int step = 1; step < steps; step++)
+        {
+            path.add(new OrthogonalPoint2i(size - (step - 1) * stepSize, step * stepSize));
+            path.add(new OrthogonalPoint2i(size - step * stepSize, step * stepSize));
+        }
+        path.add(new OrthogonalPoint2i(stepSize, size));
+        path.add(new OrthogonalPoint2i(0, size));
+        path.add(new OrthogonalPoint2i(0, 0));
+        return OrthogonalPolygon.fromClosedPath(path);
+    }
+}
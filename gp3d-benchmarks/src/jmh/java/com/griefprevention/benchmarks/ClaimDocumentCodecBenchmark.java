@@ -0,0 +1,98 @@
+package com.griefprevention.benchmarks;
+
+import com.griefprevention.claims.ClaimBounds;
+import com.griefprevention.claims.ClaimSnapshot;
+import com.griefprevention.claims.ClaimTrustLevel;
+import com.griefprevention.claims.ClaimTrustSnapshot;
+import com.griefprevention.geometry.OrthogonalPoint2i;
+import com.griefprevention.persistence.ClaimDocument;
+import com.griefprevention.persistence.ClaimDocumentCodec;
+import com.griefprevention.persistence.ClaimDocumentFormatException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Encoding and decoding one claim file: a root claim plus {@link #subdivisions} nested claims.
+ */
+@State(Scope.Benchmark)
+public class ClaimDocumentCodecBenchmark
+{
+    @Param({ "0", "16", "128" })
+    public int subdivisions;
+
+    private final ClaimDocumentCodec codec = new ClaimDocumentCodec();
+    private ClaimDocument root;
+    private List<ClaimDocument> documents;
+    private String encoded;
+
+    @Setup
+    public void setUp() throws ClaimDocumentFormatException
+    {
+        UUID owner = new UUID(1L, 1L);
+        this.documents = new ArrayList<>();
+        this.root = document(1L, null, owner, ClaimBounds.rectangle(0, -64, 0, 511, 319, 511));
+        this.documents.add(this.root);
+        for (int i = 0; i < this.subdivisions; i++)
+        {
+            int x = (i % 16) * 32;
+            int z = (i / 16) * 32;
+            this.documents.add(document(i + 2L, 1L, owner, ClaimBounds.rectangle(x, 60, z, x + 20, 80, z + 20)));
+        }
+        this.encoded = this.codec.encodeTree(this.root, this.documents);
+    }
+
+    @Benchmark
+    public String encodeTree() throws ClaimDocumentFormatException
+    {
+        return this.codec.encodeTree(this.root, this.documents);
+    }
+
+    @Benchmark
+    public List<ClaimDocument> decodeTree() throws ClaimDocumentFormatException
+    {
+        return this.codec.decodeTree(this.encoded, null, 0L);
+    }
+
+    /**
+     * Every available thread encoding through the one shared codec, as parallel claim saves do.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String encodeTreeContended() throws ClaimDocumentFormatException
+    {
+        return this.codec.encodeTree(this.root, this.documents);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public List<ClaimDocument> decodeTreeContended() throws ClaimDocumentFormatException
+    {
+        return this.codec.decodeTree(this.encoded, null, 0L);
+    }
+
+    private static ClaimDocument document(long id, Long parentId, UUID owner, ClaimBounds bounds)
+    {
+        Map<String, ClaimTrustLevel> permissions = new LinkedHashMap<>();
+        permissions.put(new UUID(id, 2L).toString(), ClaimTrustLevel.BUILD);
+        permissions.put(new UUID(id, 3L).toString(), ClaimTrustLevel.CONTAINER);
+        permissions.put(ClaimTrustSnapshot.PUBLIC_IDENTIFIER, ClaimTrustLevel.ACCESS);
+        ClaimTrustSnapshot trust = new ClaimTrustSnapshot(owner, permissions,
+                Collections.singleton("[gp3d.staff]"), Collections.<String>emptySet());
+        ClaimSnapshot snapshot = new ClaimSnapshot(id, ClaimWorldGenerator.WORLD, owner, parentId, bounds,
+                parentId != null, parentId != null);
+        return new ClaimDocument(snapshot, trust, Collections.<OrthogonalPoint2i>emptyList(), false, false,
+                false, false, true, true, 1_700_000_000_000L + id, String.valueOf(id),
+                Collections.<String, Object>emptyMap());
+    }
+}
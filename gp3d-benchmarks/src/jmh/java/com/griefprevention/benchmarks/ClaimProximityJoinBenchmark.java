@@ -0,0 +1,94 @@
+package com.griefprevention.benchmarks;
+
+import com.griefprevention.claims.ClaimProximityJoin;
+import com.griefprevention.claims.ClaimSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Neighbor discovery across every claim in a world with {@link ClaimProximityJoin}, which should
+ * grow with the number of nearby pairs rather than with the square of the claim count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClaimProximityJoinBenchmark
+{
+    private static final int MINIMUM_DISTANCE = 10;
+
+    @State(Scope.Benchmark)
+    public static class World
+    {
+        @Param({ "UNIFORM", "CLUSTERED" })
+        public ClaimWorldGenerator.Layout layout;
+
+        @Param({ "10000", "50000", "100000" })
+        public int claimCount;
+
+        @Param("42")
+        public long seed;
+
+        List<ClaimSnapshot> claims;
+
+        @Setup
+        public void setUp()
+        {
+            this.claims = ClaimWorldGenerator.generate(this.layout, this.claimCount, this.seed).claims();
+        }
+    }
+
+    /**
+     * The brute-force baseline only runs at the smallest size, where it still finishes.
+     */
+    @State(Scope.Benchmark)
+    public static class SmallWorld
+    {
+        @Param({ "UNIFORM", "CLUSTERED" })
+        public ClaimWorldGenerator.Layout layout;
+
+        @Param("42")
+        public long seed;
+
+        List<ClaimSnapshot> claims;
+
+        @Setup
+        public void setUp()
+        {
+            this.claims = ClaimWorldGenerator.generate(this.layout, 10_000, this.seed).claims();
+        }
+    }
+
+    @Benchmark
+    public long gridJoin(World world)
+    {
+        long[] pairs = new long[1];
+        ClaimProximityJoin.forEachPairWithin(world.claims, MINIMUM_DISTANCE, (first, second) -> pairs[0]++);
+        return pairs[0];
+    }
+
+    @Benchmark
+    public long bruteForce(SmallWorld world)
+    {
+        List<ClaimSnapshot> claims = world.claims;
+        long pairs = 0;
+        for (int i = 0; i < claims.size(); i++)
+        {
+            for (int j = i + 1; j < claims.size(); j++)
+            {
+                if (ClaimProximityJoin.within(claims.get(i).bounds(), claims.get(j).bounds(), MINIMUM_DISTANCE))
+                {
+                    pairs++;
+                }
+            }
+        }
+        return pairs;
+    }
+}
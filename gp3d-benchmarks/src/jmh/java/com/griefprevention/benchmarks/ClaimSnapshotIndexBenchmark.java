@@ -0,0 +1,122 @@
+package com.griefprevention.benchmarks;
+
+import com.griefprevention.claims.ClaimBounds;
+import com.griefprevention.claims.ClaimSnapshot;
+import com.griefprevention.claims.ClaimSnapshotIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Point and area queries against {@link ClaimSnapshotIndex}, the lookup behind every protection
+ * check on Fabric.
+ */
+@State(Scope.Benchmark)
+public class ClaimSnapshotIndexBenchmark
+{
+    private static final int QUERIES = 1_024;
+    private static final int EXPLOSION_RADIUS = 4;
+    private static final int EXPLOSION_BLOCKS = (EXPLOSION_RADIUS * 2 + 1) * (EXPLOSION_RADIUS * 2 + 1) * (EXPLOSION_RADIUS * 2 + 1);
+
+    @Param({ "UNIFORM", "CLUSTERED", "HUGE_ADMIN", "NESTED_3D" })
+    public ClaimWorldGenerator.Layout layout;
+
+    @Param({ "1000", "10000", "100000" })
+    public int claimCount;
+
+    @Param("42")
+    public long seed;
+
+    private ClaimWorldGenerator.ClaimWorld world;
+    private ClaimSnapshotIndex index;
+    private int[] points;
+    private ClaimBounds[] areas;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        this.world = ClaimWorldGenerator.generate(this.layout, this.claimCount, this.seed);
+        this.index = new ClaimSnapshotIndex();
+        this.index.rebuild(this.world.claims());
+        this.points = this.world.queryPoints(QUERIES);
+        this.areas = new ClaimBounds[QUERIES];
+        for (int i = 0; i < QUERIES; i++)
+        {
+            int x = this.points[i * 3];
+            int z = this.points[i * 3 + 2];
+            this.areas[i] = ClaimBounds.rectangle(x, -64, z, x + 48, 319, z + 48);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void findAt(Blackhole blackhole)
+    {
+        int[] points = this.points;
+        for (int i = 0; i < points.length; i += 3)
+        {
+            blackhole.consume(this.index.findAt(ClaimWorldGenerator.WORLD, points[i], points[i + 1], points[i + 2], false, false));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void findAtIgnoringHeight(Blackhole blackhole)
+    {
+        int[] points = this.points;
+        for (int i = 0; i < points.length; i += 3)
+        {
+            blackhole.consume(this.index.findAt(ClaimWorldGenerator.WORLD, points[i], points[i + 1], points[i + 2], true, false));
+        }
+    }
+
+    /**
+     * Every block of a TNT-sized blast around the next query point, the way explosion filtering
+     * walks it.
+     */
+    @Benchmark
+    @OperationsPerInvocation(EXPLOSION_BLOCKS)
+    public void explosionLookup(Blackhole blackhole)
+    {
+        int point = this.nextPoint();
+        ClaimSnapshotIndex.WorldLookup lookup = this.index.lookup(ClaimWorldGenerator.WORLD);
+        for (int x = this.points[point] - EXPLOSION_RADIUS; x <= this.points[point] + EXPLOSION_RADIUS; x++)
+        {
+            for (int y = this.points[point + 1] - EXPLOSION_RADIUS; y <= this.points[point + 1] + EXPLOSION_RADIUS; y++)
+            {
+                for (int z = this.points[point + 2] - EXPLOSION_RADIUS; z <= this.points[point + 2] + EXPLOSION_RADIUS; z++)
+                {
+                    blackhole.consume(lookup.findAt(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void candidates(Blackhole blackhole)
+    {
+        blackhole.consume(this.index.candidates(ClaimWorldGenerator.WORLD, this.areas[this.nextPoint() / 3]));
+    }
+
+    /**
+     * Replaces one claim with itself, which republishes every chunk it touches.
+     */
+    @Benchmark
+    public void put()
+    {
+        ClaimSnapshot claim = this.world.claims().get((this.nextPoint() / 3) % this.world.claims().size());
+        this.index.put(claim);
+    }
+
+    private int nextPoint()
+    {
+        int point = this.next;
+        this.next = (point + 3) % this.points.length;
+        return point;
+    }
+}
@@ -0,0 +1,252 @@
+package com.griefprevention.benchmarks;
+
+import com.griefprevention.claims.ClaimBounds;
+import com.griefprevention.claims.ClaimSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Builds synthetic claim worlds for the benchmarks. The same layout, size and seed always produce
+ * the same claims and query points, so runs on different machines or commits stay comparable.
+ */
+public final class ClaimWorldGenerator
+{
+    public static final String WORLD = "world";
+
+    /**
+     * Shapes of claim world seen on real servers.
+     */
+    public enum Layout
+    {
+        /** Small player claims spread evenly over the map. */
+        UNIFORM,
+        /** Player claims packed around a handful of towns. */
+        CLUSTERED,
+        /** A few map-sized admin claims carved into many subdivisions. */
+        HUGE_ADMIN,
+        /** Player claims each holding a tower of stacked 3D subdivisions. */
+        NESTED_3D
+    }
+
+    private static final int MIN_Y = -64;
+    private static final int MAX_Y = 319;
+    private static final int TOWER_FLOORS = 8;
+
+    private final Random random;
+    private final List<ClaimSnapshot> claims = new ArrayList<>();
+    private long nextId = 1;
+    private int extent;
+
+    private ClaimWorldGenerator(long seed)
+    {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @param layout the shape of the world
+     * @param claimCount the number of claims to generate, subdivisions included
+     * @param seed the random seed
+     * @return the generated world
+     */
+    public static ClaimWorld generate(Layout layout, int claimCount, long seed)
+    {
+        ClaimWorldGenerator generator = new ClaimWorldGenerator(seed);
+        switch (layout)
+        {
+            case UNIFORM:
+                generator.uniform(claimCount);
+                break;
+            case CLUSTERED:
+                generator.clustered(claimCount);
+                break;
+            case HUGE_ADMIN:
+                generator.hugeAdmin(claimCount);
+                break;
+            case NESTED_3D:
+                generator.nested3D(claimCount);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown layout " + layout);
+        }
+        return new ClaimWorld(Collections.unmodifiableList(generator.claims), generator.extent, seed);
+    }
+
+    private void uniform(int claimCount)
+    {
+        // Roughly one claim per 80x80 area, the density of a busy survival map.
+        this.extent = Math.max(256, (int) Math.sqrt(claimCount) * 40);
+        while (this.claims.size() < claimCount)
+        {
+            int x = this.between(-this.extent, this.extent);
+            int z = this.between(-this.extent, this.extent);
+            this.topLevel(x, z, this.between(10, 60), this.between(10, 60), this.playerId());
+        }
+    }
+
+    private void clustered(int claimCount)
+    {
+        int towns = Math.max(1, claimCount / 250);
+        int[] townX = new int[towns];
+        int[] townZ = new int[towns];
+        this.extent = Math.max(512, (int) Math.sqrt(towns) * 1_500);
+        for (int i = 0; i < towns; i++)
+        {
+            townX[i] = this.between(-this.extent, this.extent);
+            townZ[i] = this.between(-this.extent, this.extent);
+        }
+
+        while (this.claims.size() < claimCount)
+        {
+            int town = this.random.nextInt(towns);
+            int x = townX[town] + (int) (this.random.nextGaussian() * 120);
+            int z = townZ[town] + (int) (this.random.nextGaussian() * 120);
+            this.topLevel(x, z, this.between(8, 32), this.between(8, 32), this.playerId());
+        }
+    }
+
+    private void hugeAdmin(int claimCount)
+    {
+        int adminClaims = Math.max(1, claimCount / 5_000);
+        int size = 4_096;
+        this.extent = adminClaims * size;
+        int subdivisionsEach = Math.max(0, claimCount / adminClaims - 1);
+        for (int i = 0; i < adminClaims && this.claims.size() < claimCount; i++)
+        {
+            int minX = -this.extent + i * size * 2;
+            ClaimSnapshot admin = this.topLevel(minX, -size / 2, size - 1, size - 1, null);
+            for (int j = 0; j < subdivisionsEach && this.claims.size() < claimCount; j++)
+            {
+                ClaimBounds bounds = admin.bounds();
+                int width = this.between(8, 64);
+                int depth = this.between(8, 64);
+                int x = this.between(bounds.minX(), bounds.maxX() - width);
+                int z = this.between(bounds.minZ(), bounds.maxZ() - depth);
+                this.add(admin, ClaimBounds.rectangle(x, MIN_Y, z, x + width, MAX_Y, z + depth), false);
+            }
+        }
+    }
+
+    private void nested3D(int claimCount)
+    {
+        this.extent = Math.max(256, (int) Math.sqrt(claimCount / (TOWER_FLOORS + 1.0)) * 60);
+        while (this.claims.size() < claimCount)
+        {
+            int x = this.between(-this.extent, this.extent);
+            int z = this.between(-this.extent, this.extent);
+            ClaimSnapshot tower = this.topLevel(x, z, this.between(16, 40), this.between(16, 40), this.playerId());
+
+            // Floors sit on top of each other and every other floor holds a smaller 3D room, so
+            // point lookups have to pick the shortest 3D claim out of several candidates.
+            ClaimBounds bounds = tower.bounds();
+            int floorY = 40;
+            for (int floor = 0; floor < TOWER_FLOORS && this.claims.size() < claimCount; floor++)
+            {
+                int height = this.between(4, 12);
+                ClaimSnapshot level = this.add(tower, ClaimBounds.rectangle(
+                        bounds.minX(), floorY, bounds.minZ(), bounds.maxX(), floorY + height - 1, bounds.maxZ()), true);
+                if (floor % 2 == 0 && this.claims.size() < claimCount)
+                {
+                    this.add(level, ClaimBounds.rectangle(
+                            bounds.minX() + 2, floorY, bounds.minZ() + 2,
+                            bounds.minX() + 8, floorY + 2, bounds.minZ() + 8), true);
+                }
+                floorY += height;
+            }
+        }
+    }
+
+    private ClaimSnapshot topLevel(int x, int z, int width, int depth, UUID ownerId)
+    {
+        ClaimSnapshot claim = new ClaimSnapshot(this.nextId++, WORLD, ownerId, null,
+                ClaimBounds.rectangle(x, MIN_Y, z, x + width, MAX_Y, z + depth), false, false);
+        this.claims.add(claim);
+        return claim;
+    }
+
+    private ClaimSnapshot add(ClaimSnapshot parent, ClaimBounds bounds, boolean threeDimensional)
+    {
+        ClaimSnapshot claim = new ClaimSnapshot(this.nextId++, WORLD, parent.ownerId(), parent.id(),
+                bounds, threeDimensional, true);
+        this.claims.add(claim);
+        return claim;
+    }
+
+    private UUID playerId()
+    {
+        return new UUID(this.random.nextLong(), this.random.nextLong());
+    }
+
+    private int between(int min, int max)
+    {
+        return max <= min ? min : min + this.random.nextInt(max - min + 1);
+    }
+
+    /**
+     * A generated set of claims plus helpers for drawing query points from it.
+     */
+    public static final class ClaimWorld
+    {
+        private final List<ClaimSnapshot> claims;
+        private final int extent;
+        private final long seed;
+
+        private ClaimWorld(List<ClaimSnapshot> claims, int extent, long seed)
+        {
+            this.claims = claims;
+            this.extent = extent;
+            this.seed = seed;
+        }
+
+        public List<ClaimSnapshot> claims()
+        {
+            return this.claims;
+        }
+
+        /**
+         * @return the half-width of the square the claims were placed in
+         */
+        public int extent()
+        {
+            return this.extent;
+        }
+
+        /**
+         * Draws query points, half inside a random claim and half anywhere on the map.
+         *
+         * @param count the number of points
+         * @return the points as consecutive x, y, z triples
+         */
+        public int[] queryPoints(int count)
+        {
+            Random random = new Random(this.seed ^ 0x5DEECE66DL);
+            int[] points = new int[count * 3];
+            for (int i = 0; i < count; i++)
+            {
+                int x;
+                int y;
+                int z;
+                if (i % 2 == 0)
+                {
+                    ClaimBounds bounds = this.claims.get(random.nextInt(this.claims.size())).bounds();
+                    x = bounds.minX() + random.nextInt(bounds.xLength());
+                    y = bounds.minY() + random.nextInt(bounds.yHeight());
+                    z = bounds.minZ() + random.nextInt(bounds.zLength());
+                }
+                else
+                {
+                    x = random.nextInt(this.extent * 2 + 1) - this.extent;
+                    y = random.nextInt(MAX_Y - MIN_Y + 1) + MIN_Y;
+                    z = random.nextInt(this.extent * 2 + 1) - this.extent;
+                }
+                points[i * 3] = x;
+                points[i * 3 + 1] = y;
+                points[i * 3 + 2] = z;
+            }
+            return points;
+        }
+    }
+}
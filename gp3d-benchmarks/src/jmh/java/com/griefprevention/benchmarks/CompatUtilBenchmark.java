@@ -0,0 +1,80 @@
+package com.griefprevention.benchmarks;
+
+import me.ryanhamshire.GriefPrevention.BlockSnapshot;
+import me.ryanhamshire.GriefPrevention.compat.CompatUtil;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CompatUtil} calls, resolved once when the class initializes, against looking the same
+ * method up by reflection on every call as the old helpers did.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompatUtilBenchmark
+{
+    private Player player;
+    private Block block;
+
+    @Setup
+    public void setUp()
+    {
+        ClassLoader classLoader = getClass().getClassLoader();
+        BlockData data = (BlockData) Proxy.newProxyInstance(classLoader,
+                new Class<?>[] { BlockData.class }, (proxy, method, args) -> null);
+        this.player = (Player) Proxy.newProxyInstance(classLoader,
+                new Class<?>[] { Player.class }, (proxy, method, args) -> null);
+        this.block = (Block) Proxy.newProxyInstance(classLoader,
+                new Class<?>[] { Block.class }, (proxy, method, args) ->
+                {
+                    switch (method.getName())
+                    {
+                        case "getType":
+                            return Material.STONE;
+                        case "getBlockData":
+                            return data;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Benchmark
+    public Object updateCommandsReflective() throws ReflectiveOperationException
+    {
+        return this.player.getClass().getMethod("updateCommands").invoke(this.player);
+    }
+
+    @Benchmark
+    public void updateCommandsResolved()
+    {
+        CompatUtil.updateCommands(this.player);
+    }
+
+    @Benchmark
+    public BlockSnapshot blockSnapshotReflective() throws ReflectiveOperationException
+    {
+        Method getBlockData = Block.class.getMethod("getBlockData");
+        return new BlockSnapshot(this.block.getLocation(), this.block.getType(), getBlockData.invoke(this.block));
+    }
+
+    @Benchmark
+    public BlockSnapshot blockSnapshotResolved()
+    {
+        return new BlockSnapshot(this.block);
+    }
+}
@@ -0,0 +1,88 @@
+package com.griefprevention.benchmarks;
+
+import me.ryanhamshire.GriefPrevention.BenchmarkDataStore;
+import me.ryanhamshire.GriefPrevention.BenchmarkWorlds;
+import me.ryanhamshire.GriefPrevention.Claim;
+import me.ryanhamshire.GriefPrevention.DataStore;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link DataStore#getClaimAt} on Bukkit, the lookup behind every block, interaction and movement
+ * protection check.
+ */
+@State(Scope.Benchmark)
+public class DataStoreGetClaimAtBenchmark
+{
+    private static final int QUERIES = 1_024;
+
+    @Param({ "UNIFORM", "CLUSTERED", "HUGE_ADMIN", "NESTED_3D" })
+    public ClaimWorldGenerator.Layout layout;
+
+    @Param({ "10000", "100000" })
+    public int claimCount;
+
+    @Param("42")
+    public long seed;
+
+    private DataStore dataStore;
+    private Location[] locations;
+    private Claim[] cachedClaims;
+
+    @Setup
+    public void setUp()
+    {
+        World world = BenchmarkWorlds.world(ClaimWorldGenerator.WORLD);
+        ClaimWorldGenerator.ClaimWorld claimWorld = ClaimWorldGenerator.generate(this.layout, this.claimCount, this.seed);
+        this.dataStore = BenchmarkDataStore.load(world, claimWorld.claims());
+
+        int[] points = claimWorld.queryPoints(QUERIES);
+        this.locations = new Location[QUERIES];
+        this.cachedClaims = new Claim[QUERIES];
+        for (int i = 0; i < QUERIES; i++)
+        {
+            this.locations[i] = new Location(world, points[i * 3], points[i * 3 + 1], points[i * 3 + 2]);
+            this.cachedClaims[i] = this.dataStore.getClaimAt(this.locations[i], false, null);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void getClaimAt(Blackhole blackhole)
+    {
+        for (Location location : this.locations)
+        {
+            blackhole.consume(this.dataStore.getClaimAt(location, false, null));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void getClaimAtIgnoringHeight(Blackhole blackhole)
+    {
+        for (Location location : this.locations)
+        {
+            blackhole.consume(this.dataStore.getClaimAt(location, true, null));
+        }
+    }
+
+    /**
+     * Seeded with the claim found at the same spot, as player movement and repeated interactions are.
+     */
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void getClaimAtWithCachedClaim(Blackhole blackhole)
+    {
+        for (int i = 0; i < QUERIES; i++)
+        {
+            blackhole.consume(this.dataStore.getClaimAt(this.locations[i], false, this.cachedClaims[i]));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.griefprevention.benchmarks;
+
+import com.griefprevention.geometry.OrthogonalPolygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Polygon unions as run by claim merges and reshapes. The cost follows the combined bounding box,
+ * so {@link #size} is the side length of each input; past 64 a single union takes seconds.
+ */
+@State(Scope.Benchmark)
+public class OrthogonalPolygonBenchmark
+{
+    @Param({ "16", "32", "64" })
+    public int size;
+
+    private OrthogonalPolygon rectangle;
+    private OrthogonalPolygon overlapping;
+    private OrthogonalPolygon distant;
+    private OrthogonalPolygon staircase;
+
+    @Setup
+    public void setUp()
+    {
+        int size = this.size;
+        this.rectangle = OrthogonalPolygon.fromRectangle(0, 0, size - 1, size - 1);
+        this.overlapping = OrthogonalPolygon.fromRectangle(size / 2, size / 2, size + size / 2, size + size / 2);
+        this.distant = OrthogonalPolygon.fromRectangle(size * 2, 0, size * 3, size - 1);
+        this.staircase = ClaimBoundsBenchmark.staircase(Math.max(2, size / 4), 4);
+    }
+
+    @Benchmark
+    public OrthogonalPolygon unionOverlapping()
+    {
+        return OrthogonalPolygon.union(this.rectangle, this.overlapping);
+    }
+
+    /**
+     * Disjoint inputs additionally pay for bridging the gap between them.
+     */
+    @Benchmark
+    public OrthogonalPolygon unionDisjoint()
+    {
+        return OrthogonalPolygon.union(this.rectangle, this.distant);
+    }
+
+    @Benchmark
+    public OrthogonalPolygon unionShaped()
+    {
+        return OrthogonalPolygon.union(this.staircase, this.overlapping);
+    }
+}
@@ -0,0 +1,111 @@
+package me.ryanhamshire.GriefPrevention;
+
+import com.griefprevention.claims.ClaimBounds;
+import com.griefprevention.claims.ClaimSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A {@link DataStore} whose secondary storage does nothing, so benchmarks drive the real in-memory
+ * claim paths without a server or a data folder.
+ */
+public class BenchmarkDataStore extends DataStore
+{
+    /**
+     * Add generated claims the way a load does, parents before their subdivisions.
+     *
+     * @param world the world every claim is in
+     * @param snapshots generated claims, each listed after its parent
+     * @return the populated data store
+     */
+    public static @NotNull BenchmarkDataStore load(@NotNull World world, @NotNull List<ClaimSnapshot> snapshots)
+    {
+        BenchmarkDataStore dataStore = new BenchmarkDataStore();
+        Map<Long, Claim> claimsById = new HashMap<>();
+        for (ClaimSnapshot snapshot : snapshots)
+        {
+            Claim claim = toClaim(world, snapshot);
+            if (snapshot.parentId() != null)
+            {
+                claim.parent = claimsById.get(snapshot.parentId());
+            }
+            claimsById.put(snapshot.id(), claim);
+            dataStore.addClaim(claim, false);
+        }
+        dataStore.nextClaimID = (long) snapshots.size() + 1;
+        return dataStore;
+    }
+
+    static @NotNull Claim toClaim(@NotNull World world, @NotNull ClaimSnapshot snapshot)
+    {
+        ClaimBounds bounds = snapshot.bounds();
+        return new Claim(
+                new Location(world, bounds.minX(), bounds.minY(), bounds.minZ()),
+                new Location(world, bounds.maxX(), bounds.maxY(), bounds.maxZ()),
+                snapshot.ownerId(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                false,
+                snapshot.id(),
+                snapshot.threeDimensional());
+    }
+
+    @Override
+    int getSchemaVersionFromStorage()
+    {
+        return latestSchemaVersion;
+    }
+
+    @Override
+    void updateSchemaVersionInStorage(int versionToSet)
+    {
+    }
+
+    @Override
+    void saveGroupBonusBlocks(String groupName, int amount)
+    {
+    }
+
+    @Override
+    void writeClaimToStorage(Claim claim)
+    {
+    }
+
+    @Override
+    void incrementNextClaimID()
+    {
+        this.nextClaimID++;
+    }
+
+    @Override
+    PlayerData getPlayerDataFromStorage(UUID playerID)
+    {
+        PlayerData playerData = new PlayerData();
+        playerData.playerID = playerID;
+        return playerData;
+    }
+
+    @Override
+    void deleteClaimFromSecondaryStorage(Claim claim)
+    {
+    }
+
+    @Override
+    void overrideSavePlayerData(UUID playerID, PlayerData playerData)
+    {
+    }
+
+    @Override
+    void close()
+    {
+    }
+}
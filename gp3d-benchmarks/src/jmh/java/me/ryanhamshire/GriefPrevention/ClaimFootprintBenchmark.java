@@ -0,0 +1,100 @@
+package me.ryanhamshire.GriefPrevention;
+
+import com.griefprevention.benchmarks.ClaimWorldGenerator;
+import com.griefprevention.claims.ClaimSnapshot;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap held by {@link #claimCount} loaded {@link Claim}s: bounds, child lists and trust storage,
+ * built the way a load builds them, with subdivisions attached to their parents.
+ *
+ * <p>Every claim stays reachable until the operation returns, so {@code gc.alloc.rate.norm} from the
+ * gc profiler is the footprint of the whole claim set in bytes. Run it on the parent commit for the
+ * Location-based baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClaimFootprintBenchmark
+{
+    @Param({ "UNIFORM", "HUGE_ADMIN" })
+    public ClaimWorldGenerator.Layout layout;
+
+    @Param("100000")
+    public int claimCount;
+
+    // Percentage of claims that trust anyone at all.
+    @Param({ "0", "10" })
+    public int trustedPercent;
+
+    @Param("42")
+    public long seed;
+
+    private World world;
+    private List<ClaimSnapshot> snapshots;
+    private String[][] trustByClaim;
+
+    @Setup
+    public void setUp()
+    {
+        this.world = BenchmarkWorlds.world(ClaimWorldGenerator.WORLD);
+        this.snapshots = ClaimWorldGenerator.generate(this.layout, this.claimCount, this.seed).claims();
+
+        SplittableRandom random = new SplittableRandom(this.seed);
+        this.trustByClaim = new String[this.snapshots.size()][];
+        for (int i = 0; i < this.trustByClaim.length; i++)
+        {
+            if (random.nextInt(100) >= this.trustedPercent)
+            {
+                this.trustByClaim[i] = new String[0];
+                continue;
+            }
+
+            String[] identifiers = new String[1 + random.nextInt(4)];
+            for (int j = 0; j < identifiers.length; j++)
+            {
+                identifiers[j] = j == 3 ? "[town.member]" : new UUID(random.nextLong(), random.nextLong()).toString();
+            }
+            this.trustByClaim[i] = identifiers;
+        }
+    }
+
+    @Benchmark
+    public Claim[] loadClaims()
+    {
+        // Ids are 1-based and every subdivision follows its parent.
+        Claim[] claims = new Claim[this.snapshots.size()];
+        for (int i = 0; i < claims.length; i++)
+        {
+            ClaimSnapshot snapshot = this.snapshots.get(i);
+            Claim claim = BenchmarkDataStore.toClaim(this.world, snapshot);
+            if (snapshot.parentId() != null)
+            {
+                claim.parent = claims[(int) (snapshot.parentId() - 1)];
+                claim.parent.children.add(claim);
+            }
+
+            String[] identifiers = this.trustByClaim[i];
+            for (int j = 0; j < identifiers.length; j++)
+            {
+                if (j == 0) claim.addManager(identifiers[j]);
+                else claim.setPermission(identifiers[j], ClaimPermission.Build);
+            }
+            claims[i] = claim;
+        }
+        return claims;
+    }
+}
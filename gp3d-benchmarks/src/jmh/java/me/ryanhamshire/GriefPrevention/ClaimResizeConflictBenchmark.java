@@ -0,0 +1,113 @@
+package me.ryanhamshire.GriefPrevention;
+
+import com.griefprevention.benchmarks.ClaimWorldGenerator;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overlap check a resize or new claim runs against the other top-level claims: every claim in
+ * the data store against only the claims sharing a chunk with the new area.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClaimResizeConflictBenchmark
+{
+    private static final int DRAGS = 200;
+
+    @Param({ "UNIFORM", "CLUSTERED" })
+    public ClaimWorldGenerator.Layout layout;
+
+    @Param("100000")
+    public int claimCount;
+
+    @Param("42")
+    public long seed;
+
+    private DataStore dataStore;
+    private Claim[] drags;
+
+    @Setup
+    public void setUp()
+    {
+        World world = BenchmarkWorlds.world(ClaimWorldGenerator.WORLD);
+        ClaimWorldGenerator.ClaimWorld claimWorld = ClaimWorldGenerator.generate(this.layout, this.claimCount, this.seed);
+        this.dataStore = BenchmarkDataStore.load(world, claimWorld.claims());
+
+        // Resized areas start on query points, so half of them land on an existing claim.
+        Random random = new Random(this.seed);
+        int[] points = claimWorld.queryPoints(DRAGS);
+        this.drags = new Claim[DRAGS];
+        for (int i = 0; i < DRAGS; i++)
+        {
+            int x = points[i * 3];
+            int z = points[i * 3 + 2];
+            this.drags[i] = new Claim(
+                    new Location(world, x, 0, z),
+                    new Location(world, x + 5 + random.nextInt(60), 0, z + 5 + random.nextInt(60)),
+                    new UUID(32L, i),
+                    Collections.emptyList(),
+                    Collections.emptyList(),
+                    Collections.emptyList(),
+                    Collections.emptyList(),
+                    -1L);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DRAGS)
+    public int fullScan()
+    {
+        int conflicts = 0;
+        for (Claim drag : this.drags)
+        {
+            if (firstConflict(this.dataStore.claims, drag) != null)
+            {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DRAGS)
+    public int chunkIndex()
+    {
+        int conflicts = 0;
+        for (Claim drag : this.drags)
+        {
+            if (firstConflict(this.dataStore.getTopLevelClaimsUnder(drag), drag) != null)
+            {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+
+    private static Claim firstConflict(List<Claim> claimsToCheck, Claim newClaim)
+    {
+        for (Claim otherClaim : claimsToCheck)
+        {
+            if (otherClaim.inDataStore && otherClaim.parent == null && otherClaim.overlaps(newClaim))
+            {
+                return otherClaim;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player data lookups from event and async chat threads while claim changes keep running.
+ * Compares {@link DataStore#getPlayerData} beside changes on the claim writer with the old design,
+ * where both the map read and the claim change took the {@link DataStore} monitor.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerDataLookupBenchmark
+{
+    private static final int PLAYERS = 2_000;
+    // About as long as a claim change takes.
+    private static final long MUTATION_NANOS = 50_000L;
+
+    private DataStore dataStore;
+    private UUID[] players;
+
+    @State(Scope.Thread)
+    public static class Reader
+    {
+        int next;
+
+        UUID nextPlayer(UUID[] players)
+        {
+            UUID player = players[this.next];
+            this.next = (this.next + 1) % players.length;
+            return player;
+        }
+    }
+
+    @Setup
+    public void setUp()
+    {
+        this.dataStore = new BenchmarkDataStore();
+        this.players = new UUID[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++)
+        {
+            this.players[i] = new UUID(35L, i);
+            this.dataStore.getPlayerData(this.players[i]);
+        }
+    }
+
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(7)
+    public PlayerData registryLookup(Reader reader)
+    {
+        return this.dataStore.getPlayerData(reader.nextPlayer(this.players));
+    }
+
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(1)
+    public void registryMutation()
+    {
+        this.dataStore.claimMutations.run(PlayerDataLookupBenchmark::busyWait);
+        Thread.yield();
+    }
+
+    @Benchmark
+    @Group("monitor")
+    @GroupThreads(7)
+    public PlayerData monitorLookup(Reader reader)
+    {
+        UUID player = reader.nextPlayer(this.players);
+        synchronized (this.dataStore)
+        {
+            return this.dataStore.playerNameToPlayerDataMap.get(player);
+        }
+    }
+
+    @Benchmark
+    @Group("monitor")
+    @GroupThreads(1)
+    public void monitorMutation()
+    {
+        synchronized (this.dataStore)
+        {
+            busyWait();
+        }
+        Thread.yield();
+    }
+
+    private static void busyWait()
+    {
+        long until = System.nanoTime() + MUTATION_NANOS;
+        while (System.nanoTime() < until)
+        {
+            // stay busy the way a claim change would
+        }
+    }
+}
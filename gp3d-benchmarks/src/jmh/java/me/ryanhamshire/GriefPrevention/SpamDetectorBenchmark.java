@@ -0,0 +1,76 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Every available thread chatting through one {@link SpamDetector}, as async chat does. Compares
+ * the per-chatter state the detector keeps with one monitor held around each message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+public class SpamDetectorBenchmark
+{
+    // Stand-in for the rest of the chat handler: feedback messages, log entries and recipient edits.
+    private static final long HANDLER_WORK = 500;
+
+    private final SpamDetector detector = new SpamDetector();
+    private final Object globalMonitor = new Object();
+    private final AtomicLong nextChatter = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Chatter
+    {
+        UUID id;
+        long chatter;
+        int message;
+
+        @Setup
+        public void setUp(SpamDetectorBenchmark benchmark)
+        {
+            this.chatter = benchmark.nextChatter.getAndIncrement();
+            this.id = new UUID(30L, this.chatter);
+        }
+
+        String nextMessage()
+        {
+            int message = this.message++;
+            return message % 4 == 0 ? "spam wave!!" : "chatter " + this.chatter + " says hello for the " + message + " time";
+        }
+
+        long timestamp()
+        {
+            return this.message * 1_000L;
+        }
+    }
+
+    @Benchmark
+    public void perChatterState(Chatter chatter, Blackhole blackhole)
+    {
+        blackhole.consume(this.detector.AnalyzeMessage(chatter.id, chatter.nextMessage(), chatter.timestamp()));
+        Blackhole.consumeCPU(HANDLER_WORK);
+    }
+
+    @Benchmark
+    public void globalMonitor(Chatter chatter, Blackhole blackhole)
+    {
+        synchronized (this.globalMonitor)
+        {
+            blackhole.consume(this.detector.AnalyzeMessage(chatter.id, chatter.nextMessage(), chatter.timestamp()));
+            Blackhole.consumeCPU(HANDLER_WORK);
+        }
+    }
+}
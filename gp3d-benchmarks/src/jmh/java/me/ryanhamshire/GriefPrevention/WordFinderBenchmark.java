@@ -0,0 +1,127 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Banned word checks on chat messages with a large word list: the {@link WordFinder} automaton
+ * against the single alternation regex it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WordFinderBenchmark
+{
+    private static final int MESSAGES = 2_000;
+    private static final String[] WORD_ALPHABET = { "a", "b", "c", "d", "e", "f", "g", "h" };
+    private static final String[] MESSAGE_ALPHABET = { "a", "b", "c", "d", "e", "f", "g", "h", " ", " ", "!" };
+
+    @Param({ "300", "3000" })
+    public int wordCount;
+
+    private WordFinder finder;
+    private Pattern regex;
+    private String[] messages;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(3_000L);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < this.wordCount; i++)
+        {
+            words.add(randomText(random, WORD_ALPHABET, 4 + random.nextInt(5)));
+        }
+        this.messages = new String[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++)
+        {
+            this.messages[i] = randomText(random, MESSAGE_ALPHABET, 60);
+        }
+        this.finder = new WordFinder(words);
+
+        StringBuilder patternBuilder = new StringBuilder();
+        for (String word : words)
+        {
+            patternBuilder.append("|(([^\\w]|^)").append(Pattern.quote(word)).append("([^\\w]|$))");
+        }
+        this.regex = Pattern.compile(patternBuilder.substring(1), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void automaton(Blackhole blackhole)
+    {
+        for (String message : this.messages)
+        {
+            blackhole.consume(this.finder.hasMatch(message));
+            blackhole.consume(this.finder.censor(message));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void regex(Blackhole blackhole)
+    {
+        for (String message : this.messages)
+        {
+            blackhole.consume(this.regex.matcher(message).find());
+            blackhole.consume(this.regexCensor(message));
+        }
+    }
+
+    // The censoring WordFinder did before the automaton: two more regexes for every match.
+    private String regexCensor(String input)
+    {
+        StringBuffer result = new StringBuffer();
+        Matcher matcher = this.regex.matcher(input);
+        while (matcher.find())
+        {
+            String match = matcher.group();
+            if (match.trim().isEmpty())
+            {
+                continue;
+            }
+
+            String word = match.replaceAll("^[^\\w]+|[^\\w]+$", "");
+            if (word.isEmpty())
+            {
+                continue;
+            }
+
+            StringBuilder stars = new StringBuilder();
+            for (int i = 0; i < word.length(); i++)
+            {
+                stars.append('*');
+            }
+            String replacement = match.replaceAll(Pattern.quote(word), stars.toString());
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static String randomText(Random random, String[] alphabet, int length)
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++)
+        {
+            text.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -3,6 +3,7 @@ package com.griefprevention.claims;
 import com.griefprevention.geometry.OrthogonalEdge2i;
 import com.griefprevention.geometry.OrthogonalPoint2i;
 import com.griefprevention.geometry.OrthogonalPolygon;
+import com.griefprevention.geometry.OrthogonalPolygonCells;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -154,16 +155,33 @@ public final class ClaimBounds
             return true;
         }
 
-        OrthogonalPoint2i blockPoint = new OrthogonalPoint2i(x, z);
-        for (OrthogonalEdge2i edge : this.polygon.edges())
+        List<OrthogonalEdge2i> edges = this.polygon.edges();
+        for (int i = 0; i < edges.size(); i++)
         {
-            if (edge.containsPoint(blockPoint))
+            if (edgeContains(edges.get(i), x, z))
             {
                 return true;
             }
         }
 
-        return isInsidePolygon(blockPoint, this.polygon);
+        return isInsidePolygon(x, z, this.polygon);
+    }
+
+    private static boolean edgeContains(@NotNull OrthogonalEdge2i edge, int x, int z)
+    {
+        OrthogonalPoint2i start = edge.start();
+        OrthogonalPoint2i end = edge.end();
+        if (edge.isHorizontal())
+        {
+            return z == start.z() && x >= Math.min(start.x(), end.x()) && x <= Math.max(start.x(), end.x());
+        }
+
+        if (edge.isVertical())
+        {
+            return x == start.x() && z >= Math.min(start.z(), end.z()) && z <= Math.max(start.z(), end.z());
+        }
+
+        return false;
     }
 
     public boolean intersects(@NotNull ClaimBounds other, boolean ignoreY)
@@ -196,29 +214,24 @@ public final class ClaimBounds
 
     private boolean intersectsColumns(@NotNull ClaimBounds other)
     {
-        int overlapMinX = Math.max(this.minX, other.minX);
-        int overlapMaxX = Math.min(this.maxX, other.maxX);
-        int overlapMinZ = Math.max(this.minZ, other.minZ);
-        int overlapMaxZ = Math.min(this.maxZ, other.maxZ);
+        if (this.polygon != null && other.polygon != null)
+        {
+            return OrthogonalPolygonCells.overlaps(this.polygon, other.polygon);
+        }
 
-        for (int x = overlapMinX; x <= overlapMaxX; x++)
+        if (this.polygon != null)
         {
-            for (int z = overlapMinZ; z <= overlapMaxZ; z++)
-            {
-                if (this.containsColumn(x, z) && other.containsColumn(x, z))
-                {
-                    return true;
-                }
-            }
+            return OrthogonalPolygonCells.overlapsRectangle(this.polygon, other.minX, other.minZ, other.maxX, other.maxZ);
         }
 
-        return false;
+        return other.polygon != null
+                && OrthogonalPolygonCells.overlapsRectangle(other.polygon, this.minX, this.minZ, this.maxX, this.maxZ);
     }
 
-    private static boolean isInsidePolygon(@NotNull OrthogonalPoint2i point, @NotNull OrthogonalPolygon polygon)
+    private static boolean isInsidePolygon(int x, int z, @NotNull OrthogonalPolygon polygon)
     {
-        double sampleX = point.x() + 0.5D;
-        double sampleZ = point.z() + 0.5D;
+        double sampleX = x + 0.5D;
+        double sampleZ = z + 0.5D;
         boolean inside = false;
         List<OrthogonalPoint2i> corners = polygon.corners();
 
@@ -0,0 +1,91 @@
+package com.griefprevention.claims;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * One entry of a {@link ClaimChangeJournal}.
+ */
+public final class ClaimChange
+{
+    private final long sequence;
+    private final @NotNull ClaimChangeType type;
+    private final long claimId;
+    private final @Nullable ClaimSnapshot snapshot;
+    private final @Nullable ClaimTrustSnapshot trust;
+
+    public ClaimChange(
+            long sequence,
+            @NotNull ClaimChangeType type,
+            long claimId,
+            @Nullable ClaimSnapshot snapshot,
+            @Nullable ClaimTrustSnapshot trust)
+    {
+        this.sequence = sequence;
+        this.type = type;
+        this.claimId = claimId;
+        this.snapshot = snapshot;
+        this.trust = trust;
+    }
+
+    public long sequence()
+    {
+        return this.sequence;
+    }
+
+    public @NotNull ClaimChangeType type()
+    {
+        return this.type;
+    }
+
+    public long claimId()
+    {
+        return this.claimId;
+    }
+
+    /**
+     * The claim after a {@link ClaimChangeType#CREATED create} or {@link ClaimChangeType#MODIFIED modify}.
+     */
+    public @Nullable ClaimSnapshot snapshot()
+    {
+        return this.snapshot;
+    }
+
+    /**
+     * The claim's trust after a {@link ClaimChangeType#TRUST_CHANGED trust change}.
+     */
+    public @Nullable ClaimTrustSnapshot trust()
+    {
+        return this.trust;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other) return true;
+        if (!(other instanceof ClaimChange)) return false;
+        ClaimChange that = (ClaimChange) other;
+        return this.sequence == that.sequence
+                && this.type == that.type
+                && this.claimId == that.claimId
+                && Objects.equals(this.snapshot, that.snapshot)
+                && Objects.equals(this.trust, that.trust);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(this.sequence, this.type, this.claimId, this.snapshot, this.trust);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ClaimChange[sequence=" + this.sequence
+                + ", type=" + this.type
+                + ", claimId=" + this.claimId
+                + "]";
+    }
+}
@@ -0,0 +1,222 @@
+package com.griefprevention.claims;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only, sequence-numbered log of claim changes, for consumers that mirror the claim set
+ * without copying all of it on every poll.
+ *
+ * <p>A consumer remembers the last sequence it saw and asks for {@link #changesSince changes since}
+ * it, which costs time in the number of changes returned. Memory stays bounded: once a segment
+ * fills up, the journal folds it into a checkpoint of every claim and starts a new one. A
+ * consumer still behind that checkpoint gets the checkpoint in full, then the changes after it.
+ *
+ * <p>Recording is synchronized and meant for a single writer; reads never take a lock.
+ */
+public final class ClaimChangeJournal
+{
+    private final int checkpointInterval;
+
+    // the writer's view of every claim; persistent, so checkpoints share it without copying
+    private PersistentLongMap<ClaimSnapshot> claims = PersistentLongMap.empty();
+    private PersistentLongMap<ClaimTrustSnapshot> trust = PersistentLongMap.empty();
+    private long sequence;
+
+    private volatile Segment segment;
+
+    /**
+     * @param checkpointInterval how many changes to keep before folding them into a checkpoint
+     */
+    public ClaimChangeJournal(int checkpointInterval)
+    {
+        this(checkpointInterval, 0);
+    }
+
+    /**
+     * Start numbering after the given sequence. A journal that replaces an earlier one, such as
+     * after a restart, should start past anything the earlier one handed out, so that consumers
+     * still holding an old sequence reset instead of reading unrelated changes.
+     *
+     * @param checkpointInterval how many changes to keep before folding them into a checkpoint
+     * @param initialSequence the sequence of the initial, empty checkpoint
+     */
+    public ClaimChangeJournal(int checkpointInterval, long initialSequence)
+    {
+        if (checkpointInterval < 1) throw new IllegalArgumentException("Checkpoint interval must be positive.");
+        this.checkpointInterval = checkpointInterval;
+        this.sequence = initialSequence;
+        this.segment = new Segment(initialSequence, this.claims, this.trust, new ClaimChange[checkpointInterval], 0);
+    }
+
+    /**
+     * Record a claim's current state, as a creation if the journal does not know the claim yet.
+     *
+     * @return the recorded change, or null if the claim is unchanged
+     */
+    public synchronized @Nullable ClaimChange record(@NotNull ClaimSnapshot snapshot)
+    {
+        long claimId = requireId(snapshot);
+        ClaimSnapshot previous = this.claims.get(claimId);
+        if (snapshot.equals(previous)) return null;
+
+        this.claims = this.claims.put(claimId, snapshot);
+        ClaimChangeType type = previous == null ? ClaimChangeType.CREATED : ClaimChangeType.MODIFIED;
+        return this.append(new ClaimChange(++this.sequence, type, claimId, snapshot, null));
+    }
+
+    /**
+     * Record a claim's current trust.
+     *
+     * @return the recorded change, or null if the claim is unknown or its trust is unchanged
+     */
+    public synchronized @Nullable ClaimChange recordTrust(long claimId, @NotNull ClaimTrustSnapshot trust)
+    {
+        if (!this.claims.containsKey(claimId) || trust.equals(this.trust.get(claimId))) return null;
+
+        this.trust = this.trust.put(claimId, trust);
+        return this.append(new ClaimChange(++this.sequence, ClaimChangeType.TRUST_CHANGED, claimId, null, trust));
+    }
+
+    /**
+     * Record that a claim no longer exists.
+     *
+     * @return the recorded change, or null if the claim was unknown
+     */
+    public synchronized @Nullable ClaimChange recordDeleted(long claimId)
+    {
+        if (!this.claims.containsKey(claimId)) return null;
+
+        this.claims = this.claims.remove(claimId);
+        this.trust = this.trust.remove(claimId);
+        return this.append(new ClaimChange(++this.sequence, ClaimChangeType.DELETED, claimId, null, null));
+    }
+
+    /**
+     * Replace the journal's view with a freshly loaded claim set. Every consumer resets.
+     */
+    public void reset(@NotNull Collection<ClaimSnapshot> snapshots)
+    {
+        this.reset(snapshots, Collections.emptyMap());
+    }
+
+    /**
+     * Replace the journal's view with a freshly loaded claim set and its trust. Every consumer resets.
+     */
+    public synchronized void reset(
+            @NotNull Collection<ClaimSnapshot> snapshots,
+            @NotNull Map<Long, ClaimTrustSnapshot> trustById)
+    {
+        PersistentLongMap<ClaimSnapshot> loaded = PersistentLongMap.empty();
+        PersistentLongMap<ClaimTrustSnapshot> loadedTrust = PersistentLongMap.empty();
+        for (ClaimSnapshot snapshot : snapshots)
+        {
+            long claimId = requireId(snapshot);
+            loaded = loaded.put(claimId, snapshot);
+            ClaimTrustSnapshot claimTrust = trustById.get(claimId);
+            if (claimTrust != null) loadedTrust = loadedTrust.put(claimId, claimTrust);
+        }
+        this.claims = loaded;
+        this.trust = loadedTrust;
+        this.checkpoint(++this.sequence);
+    }
+
+    public long lastSequence()
+    {
+        Segment current = this.segment;
+        return current.checkpointSequence + current.size;
+    }
+
+    /**
+     * Get everything recorded after a sequence.
+     *
+     * @param sequence the last sequence the consumer applied, or 0 for a consumer that has none
+     * @return the missed changes, with a full checkpoint first if the consumer fell behind it
+     */
+    public @NotNull ClaimChangeSet changesSince(long sequence)
+    {
+        Segment current = this.segment;
+        long last = current.checkpointSequence + current.size;
+        if (sequence >= current.checkpointSequence && sequence <= last)
+        {
+            int from = (int) (sequence - current.checkpointSequence);
+            return new ClaimChangeSet(false, Collections.emptyList(), Collections.emptyMap(),
+                    current.changes(from), last);
+        }
+
+        Map<Long, ClaimTrustSnapshot> trustById = new HashMap<>();
+        for (ClaimSnapshot snapshot : current.claims.values())
+        {
+            ClaimTrustSnapshot claimTrust = current.trust.get(snapshot.id());
+            if (claimTrust != null) trustById.put(snapshot.id(), claimTrust);
+        }
+        return new ClaimChangeSet(true, Collections.unmodifiableList(current.claims.values()),
+                Collections.unmodifiableMap(trustById), current.changes(0), last);
+    }
+
+    private @NotNull ClaimChange append(@NotNull ClaimChange change)
+    {
+        Segment current = this.segment;
+        if (current.size == current.log.length)
+        {
+            // the change is folded into the checkpoint along with the rest of the full segment
+            this.checkpoint(change.sequence());
+            return change;
+        }
+
+        // slots past a published size are never read, so the shared array can grow in place
+        current.log[current.size] = change;
+        this.segment = new Segment(current.checkpointSequence, current.claims, current.trust, current.log,
+                current.size + 1);
+        return change;
+    }
+
+    private void checkpoint(long sequence)
+    {
+        this.segment = new Segment(sequence, this.claims, this.trust, new ClaimChange[this.checkpointInterval], 0);
+    }
+
+    private static long requireId(@NotNull ClaimSnapshot snapshot)
+    {
+        Long id = snapshot.id();
+        if (id == null) throw new IllegalArgumentException("Journaled claims must have an id.");
+        return id;
+    }
+
+    // changes after a checkpoint; the log array is shared by successive segments of the same checkpoint
+    private static final class Segment
+    {
+        private final long checkpointSequence;
+        private final @NotNull PersistentLongMap<ClaimSnapshot> claims;
+        private final @NotNull PersistentLongMap<ClaimTrustSnapshot> trust;
+        private final @NotNull ClaimChange[] log;
+        private final int size;
+
+        private Segment(
+                long checkpointSequence,
+                @NotNull PersistentLongMap<ClaimSnapshot> claims,
+                @NotNull PersistentLongMap<ClaimTrustSnapshot> trust,
+                @NotNull ClaimChange[] log,
+                int size)
+        {
+            this.checkpointSequence = checkpointSequence;
+            this.claims = claims;
+            this.trust = trust;
+            this.log = log;
+            this.size = size;
+        }
+
+        private @NotNull List<ClaimChange> changes(int from)
+        {
+            if (from == this.size) return Collections.emptyList();
+            return Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(this.log, from, this.size)));
+        }
+    }
+}
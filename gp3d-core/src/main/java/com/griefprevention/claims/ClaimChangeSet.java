@@ -0,0 +1,74 @@
+package com.griefprevention.claims;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The answer to {@link ClaimChangeJournal#changesSince}: the changes a consumer missed, preceded by
+ * a full checkpoint when it fell too far behind for the journal to still hold them all.
+ */
+public final class ClaimChangeSet
+{
+    private final boolean reset;
+    private final @NotNull List<ClaimSnapshot> claims;
+    private final @NotNull Map<Long, ClaimTrustSnapshot> trust;
+    private final @NotNull List<ClaimChange> changes;
+    private final long lastSequence;
+
+    ClaimChangeSet(
+            boolean reset,
+            @NotNull List<ClaimSnapshot> claims,
+            @NotNull Map<Long, ClaimTrustSnapshot> trust,
+            @NotNull List<ClaimChange> changes,
+            long lastSequence)
+    {
+        this.reset = reset;
+        this.claims = claims;
+        this.trust = trust;
+        this.changes = changes;
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Whether the consumer must drop its view and rebuild it from {@link #claims()} and
+     * {@link #trust()} before applying {@link #changes()}.
+     */
+    public boolean reset()
+    {
+        return this.reset;
+    }
+
+    /**
+     * Every claim at the checkpoint, when {@link #reset()} is set; otherwise empty.
+     */
+    public @NotNull List<ClaimSnapshot> claims()
+    {
+        return this.claims;
+    }
+
+    /**
+     * Recorded trust by claim id at the checkpoint, when {@link #reset()} is set; otherwise empty.
+     */
+    public @NotNull Map<Long, ClaimTrustSnapshot> trust()
+    {
+        return this.trust;
+    }
+
+    /**
+     * Changes in sequence order.
+     */
+    public @NotNull List<ClaimChange> changes()
+    {
+        return this.changes;
+    }
+
+    /**
+     * The sequence to pass to the next {@link ClaimChangeJournal#changesSince} call.
+     */
+    public long lastSequence()
+    {
+        return this.lastSequence;
+    }
+}
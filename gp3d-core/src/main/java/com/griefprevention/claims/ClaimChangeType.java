@@ -0,0 +1,12 @@
+package com.griefprevention.claims;
+
+/**
+ * Kinds of entry recorded by {@link ClaimChangeJournal}.
+ */
+public enum ClaimChangeType
+{
+    CREATED,
+    MODIFIED,
+    DELETED,
+    TRUST_CHANGED
+}
@@ -0,0 +1,93 @@
+package com.griefprevention.claims;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * A single problem found by {@link ClaimIntegrityScanner}.
+ */
+public final class ClaimIntegrityIssue
+{
+    private final @NotNull ClaimIntegrityIssueType type;
+    private final @Nullable Long claimId;
+    private final @Nullable Long otherClaimId;
+    private final @Nullable Long chunkKey;
+    private final @NotNull String message;
+
+    public ClaimIntegrityIssue(
+            @NotNull ClaimIntegrityIssueType type,
+            @Nullable Long claimId,
+            @Nullable Long otherClaimId,
+            @Nullable Long chunkKey,
+            @NotNull String message)
+    {
+        this.type = type;
+        this.claimId = claimId;
+        this.otherClaimId = otherClaimId;
+        this.chunkKey = chunkKey;
+        this.message = message;
+    }
+
+    public @NotNull ClaimIntegrityIssueType type()
+    {
+        return this.type;
+    }
+
+    public @Nullable Long claimId()
+    {
+        return this.claimId;
+    }
+
+    /**
+     * The second claim involved, such as the other side of an overlap or a missing parent's id.
+     */
+    public @Nullable Long otherClaimId()
+    {
+        return this.otherClaimId;
+    }
+
+    /**
+     * The chunk cache key of a {@link ClaimIntegrityIssueType#DANGLING_CHUNK_ENTRY dangling entry}.
+     */
+    public @Nullable Long chunkKey()
+    {
+        return this.chunkKey;
+    }
+
+    public @NotNull String message()
+    {
+        return this.message;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other) return true;
+        if (!(other instanceof ClaimIntegrityIssue)) return false;
+        ClaimIntegrityIssue that = (ClaimIntegrityIssue) other;
+        return this.type == that.type
+                && Objects.equals(this.claimId, that.claimId)
+                && Objects.equals(this.otherClaimId, that.otherClaimId)
+                && Objects.equals(this.chunkKey, that.chunkKey)
+                && this.message.equals(that.message);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(this.type, this.claimId, this.otherClaimId, this.chunkKey, this.message);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ClaimIntegrityIssue[type=" + this.type
+                + ", claimId=" + this.claimId
+                + ", otherClaimId=" + this.otherClaimId
+                + ", chunkKey=" + this.chunkKey
+                + ", message=" + this.message
+                + "]";
+    }
+}
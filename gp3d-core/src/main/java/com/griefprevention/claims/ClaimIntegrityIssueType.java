@@ -0,0 +1,16 @@
+package com.griefprevention.claims;
+
+/**
+ * Problem categories reported by {@link ClaimIntegrityScanner}.
+ */
+public enum ClaimIntegrityIssueType
+{
+    MISSING_ID,
+    DUPLICATE_ID,
+    MISSING_PARENT,
+    OUTSIDE_PARENT,
+    OVERLAPPING_CLAIMS,
+    INVALID_SHAPE,
+    MISSING_CHUNK_ENTRY,
+    DANGLING_CHUNK_ENTRY
+}
@@ -0,0 +1,278 @@
+package com.griefprevention.claims;
+
+import com.griefprevention.geometry.OrthogonalPolygon;
+import com.griefprevention.geometry.OrthogonalPolygonValidationResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Audits a claim dataset for structural problems: duplicate ids, subdivisions outside their parent,
+ * overlapping top-level claims, invalid shapes and a platform chunk cache that disagrees with the
+ * claims it indexes.
+ *
+ * <p>The scan only reads immutable {@link ClaimSnapshot snapshots}, so a caller needs its own lock
+ * just long enough to copy them. Per-claim checks run in parallel on the given pool, and overlaps
+ * are found through a {@link ClaimSnapshotIndex} rather than by comparing every pair.
+ */
+public final class ClaimIntegrityScanner
+{
+    private static final Comparator<ClaimIntegrityIssue> ISSUE_ORDER = Comparator
+            .comparing(ClaimIntegrityIssue::type)
+            .thenComparing(ClaimIntegrityIssue::claimId, Comparator.nullsFirst(Long::compareTo))
+            .thenComparing(ClaimIntegrityIssue::otherClaimId, Comparator.nullsFirst(Long::compareTo))
+            .thenComparing(ClaimIntegrityIssue::chunkKey, Comparator.nullsFirst(Long::compareTo));
+
+    private final @NotNull ForkJoinPool pool;
+
+    public ClaimIntegrityScanner(@NotNull ForkJoinPool pool)
+    {
+        this.pool = pool;
+    }
+
+    public @NotNull List<ClaimIntegrityIssue> scan(@NotNull Collection<ClaimSnapshot> claims)
+    {
+        return scan(claims, null, null);
+    }
+
+    /**
+     * Scan claims along with a platform chunk cache.
+     *
+     * @param claims every claim and subdivision
+     * @param chunkEntries the cache contents, as the claim ids listed under each chunk key
+     * @param chunkKey the cache's key for a pair of chunk coordinates
+     * @return the issues found, in a stable order
+     */
+    public @NotNull List<ClaimIntegrityIssue> scan(
+            @NotNull Collection<ClaimSnapshot> claims,
+            @Nullable Map<Long, ? extends Collection<Long>> chunkEntries,
+            @Nullable LongBinaryOperator chunkKey)
+    {
+        List<ClaimIntegrityIssue> issues = new ArrayList<>();
+        Map<Long, ClaimSnapshot> claimsById = new HashMap<>();
+        List<ClaimSnapshot> identified = new ArrayList<>();
+        List<ClaimSnapshot> topLevel = new ArrayList<>();
+        for (ClaimSnapshot claim : claims)
+        {
+            Long id = claim.id();
+            if (id == null)
+            {
+                issues.add(new ClaimIntegrityIssue(ClaimIntegrityIssueType.MISSING_ID, null, null, null,
+                        "A claim in " + claim.worldKey() + " at " + claim.bounds() + " has no id."));
+            }
+            else if (claimsById.putIfAbsent(id, claim) != null)
+            {
+                issues.add(new ClaimIntegrityIssue(ClaimIntegrityIssueType.DUPLICATE_ID, id, null, null,
+                        "More than one claim uses id " + id + "."));
+            }
+            else
+            {
+                identified.add(claim);
+                if (claim.parentId() == null) topLevel.add(claim);
+            }
+        }
+
+        ClaimSnapshotIndex topLevelIndex = new ClaimSnapshotIndex();
+        topLevelIndex.rebuild(topLevel);
+
+        Map<Long, Set<Long>> chunksByClaim = new HashMap<>();
+        boolean checkChunks = chunkEntries != null && chunkKey != null;
+        if (checkChunks)
+        {
+            for (Map.Entry<Long, ? extends Collection<Long>> entry : chunkEntries.entrySet())
+            {
+                for (Long claimId : entry.getValue())
+                {
+                    chunksByClaim.computeIfAbsent(claimId, ignored -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+        }
+
+        Map<Long, Set<Long>> chunks = checkChunks ? chunksByClaim : null;
+        issues.addAll(this.pool.submit(() -> identified.parallelStream()
+                .flatMap(claim -> check(claim, claimsById, topLevelIndex, chunks, chunkKey).stream())
+                .collect(Collectors.toList())).join());
+
+        for (Map.Entry<Long, Set<Long>> entry : chunksByClaim.entrySet())
+        {
+            if (claimsById.containsKey(entry.getKey())) continue;
+            for (Long key : entry.getValue())
+            {
+                issues.add(new ClaimIntegrityIssue(ClaimIntegrityIssueType.DANGLING_CHUNK_ENTRY, entry.getKey(), null,
+                        key, "The chunk cache lists claim " + entry.getKey() + ", which does not exist."));
+            }
+        }
+
+        issues.sort(ISSUE_ORDER);
+        return issues;
+    }
+
+    private static @NotNull List<ClaimIntegrityIssue> check(
+            @NotNull ClaimSnapshot claim,
+            @NotNull Map<Long, ClaimSnapshot> claimsById,
+            @NotNull ClaimSnapshotIndex topLevelIndex,
+            @Nullable Map<Long, Set<Long>> chunksByClaim,
+            @Nullable LongBinaryOperator chunkKey)
+    {
+        List<ClaimIntegrityIssue> issues = new ArrayList<>();
+        Long id = claim.id();
+
+        OrthogonalPolygon polygon = claim.bounds().polygon();
+        if (polygon != null)
+        {
+            OrthogonalPolygonValidationResult result = OrthogonalPolygon.validatePath(polygon.closedPath());
+            if (!result.isValid())
+            {
+                issues.add(new ClaimIntegrityIssue(ClaimIntegrityIssueType.INVALID_SHAPE, id, null, null,
+                        result.issues().get(0).message()));
+            }
+        }
+
+        Long parentId = claim.parentId();
+        if (parentId != null)
+        {
+            ClaimSnapshot parent = claimsById.get(parentId);
+            if (parent == null)
+            {
+                issues.add(new ClaimIntegrityIssue(ClaimIntegrityIssueType.MISSING_PARENT, id, parentId, null,
+                        "Parent claim " + parentId + " does not exist."));
+            }
+            else if (!withinParent(claim, parent))
+            {
+                issues.add(new ClaimIntegrityIssue(ClaimIntegrityIssueType.OUTSIDE_PARENT, id, parentId, null,
+                        "Subdivision extends outside parent claim " + parentId + "."));
+            }
+        }
+        else
+        {
+            for (ClaimSnapshot other : topLevelIndex.candidates(claim.worldKey(), claim.bounds()))
+            {
+                // each pair is reported once, by its lower id
+                if (other.id() > id && claim.overlaps(other))
+                {
+                    issues.add(new ClaimIntegrityIssue(ClaimIntegrityIssueType.OVERLAPPING_CLAIMS, id, other.id(),
+                            null, "Overlaps claim " + other.id() + "."));
+                }
+            }
+        }
+
+        if (chunksByClaim != null && chunkKey != null)
+        {
+            checkChunks(claim, chunksByClaim.getOrDefault(id, Collections.emptySet()), chunkKey, issues);
+        }
+
+        return issues;
+    }
+
+    private static boolean withinParent(@NotNull ClaimSnapshot child, @NotNull ClaimSnapshot parent)
+    {
+        if (!child.worldKey().equals(parent.worldKey())) return false;
+
+        ClaimBounds inner = child.bounds();
+        ClaimBounds outer = parent.bounds();
+        if (inner.minX() < outer.minX() || inner.maxX() > outer.maxX()
+                || inner.minZ() < outer.minZ() || inner.maxZ() > outer.maxZ())
+        {
+            return false;
+        }
+        if (child.threeDimensional() && parent.threeDimensional()
+                && (inner.minY() < outer.minY() || inner.maxY() > outer.maxY()))
+        {
+            return false;
+        }
+        if (!outer.isShaped()) return true;
+
+        // a shaped parent can leave out columns inside its bounding box
+        for (int x = inner.minX(); x <= inner.maxX(); x++)
+        {
+            for (int z = inner.minZ(); z <= inner.maxZ(); z++)
+            {
+                if (inner.containsColumn(x, z) && !outer.containsColumn(x, z)) return false;
+            }
+        }
+        return true;
+    }
+
+    // Top-level claims and 3D subdivisions belong under every chunk their bounding box touches;
+    // 2D subdivisions are found through their parent and belong under none.
+    private static void checkChunks(
+            @NotNull ClaimSnapshot claim,
+            @NotNull Set<Long> listed,
+            @NotNull LongBinaryOperator chunkKey,
+            @NotNull List<ClaimIntegrityIssue> issues)
+    {
+        Long id = claim.id();
+        Set<Long> expected = new HashSet<>();
+        if (!claim.subdivision() || claim.threeDimensional())
+        {
+            ClaimBounds bounds = claim.bounds();
+            for (int chunkX = bounds.minX() >> 4; chunkX <= bounds.maxX() >> 4; chunkX++)
+            {
+                for (int chunkZ = bounds.minZ() >> 4; chunkZ <= bounds.maxZ() >> 4; chunkZ++)
+                {
+                    expected.add(chunkKey.applyAsLong(chunkX, chunkZ));
+                }
+            }
+        }
+
+        int missing = 0;
+        for (Long key : expected)
+        {
+            if (!listed.contains(key)) missing++;
+        }
+        if (missing > 0)
+        {
+            issues.add(new ClaimIntegrityIssue(ClaimIntegrityIssueType.MISSING_CHUNK_ENTRY, id, null, null,
+                    "Missing from the chunk cache in " + missing + " of " + expected.size() + " chunks."));
+        }
+
+        for (Long key : listed)
+        {
+            if (!expected.contains(key))
+            {
+                issues.add(new ClaimIntegrityIssue(ClaimIntegrityIssueType.DANGLING_CHUNK_ENTRY, id, null, key,
+                        "Listed in the chunk cache under a chunk it does not touch."));
+            }
+        }
+    }
+
+    /**
+     * Render issues as a YAML list, one mapping per issue, for tools to read back.
+     */
+    public static @NotNull String toYaml(@NotNull List<ClaimIntegrityIssue> issues)
+    {
+        List<Map<String, Object>> entries = new ArrayList<>(issues.size());
+        for (ClaimIntegrityIssue issue : issues)
+        {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("type", issue.type().name());
+            if (issue.claimId() != null) entry.put("claim", issue.claimId());
+            if (issue.otherClaimId() != null) entry.put("other-claim", issue.otherClaimId());
+            if (issue.chunkKey() != null) entry.put("chunk-key", issue.chunkKey());
+            entry.put("message", issue.message());
+            entries.add(entry);
+        }
+
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("issue-count", issues.size());
+        document.put("issues", entries);
+        return new Yaml(options).dump(document);
+    }
+}
@@ -0,0 +1,32 @@
+package com.griefprevention.claims;
+
+/** Indicates that a claim changed between planning a mutation and applying it. */
+public final class ClaimMutationConflictException extends RuntimeException
+{
+    private final long claimId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public ClaimMutationConflictException(long claimId, long expectedVersion, long actualVersion)
+    {
+        super("Claim " + claimId + " is at version " + actualVersion + ", expected " + expectedVersion + ".");
+        this.claimId = claimId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public long claimId()
+    {
+        return this.claimId;
+    }
+
+    public long expectedVersion()
+    {
+        return this.expectedVersion;
+    }
+
+    public long actualVersion()
+    {
+        return this.actualVersion;
+    }
+}
@@ -0,0 +1,224 @@
+package com.griefprevention.claims;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Applies claim mutations one at a time, in submission order, on a single writer.
+ *
+ * <p>Submitting never blocks: the caller gets a future and the mutation runs later on the given
+ * executor, which only ever has one drain task of this queue in flight. Every claim id carries a
+ * version that changes whenever the claim does. A caller that planned a change from an earlier read
+ * passes the versions it saw, and the mutation fails with a {@link ClaimMutationConflictException}
+ * instead of running if any of them moved in the meantime.
+ *
+ * <p>Callers that need a result right away, such as commands and the claim tools, apply their
+ * mutation through {@link #call} instead, which makes the calling thread the writer for its duration.
+ * That thread waits for whatever mutation is already running, whichever thread or region it came
+ * from; only {@link #submit} spares the caller that wait. Either way only one mutation runs at a
+ * time, and nothing that merely reads claims ever waits on the writer.
+ */
+public final class ClaimMutationQueue
+{
+    // bounds one drain so a busy queue still lets the executor run its other work
+    private static final int MAX_MUTATIONS_PER_DRAIN = 256;
+
+    private final @NotNull Executor executor;
+    private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    // held by whichever thread is currently the writer; reentrant so one mutation can apply another
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public ClaimMutationQueue(@NotNull Executor executor)
+    {
+        this.executor = executor;
+    }
+
+    /**
+     * @return the current version of a claim, or 0 if it never changed
+     */
+    public long version(long claimId)
+    {
+        return this.versions.getOrDefault(claimId, 0L);
+    }
+
+    /**
+     * Records a change to a claim, so mutations planned against the previous version are rejected.
+     * Changes made outside the queue must be recorded here too.
+     */
+    public void touch(long claimId)
+    {
+        this.versions.merge(claimId, 1L, Long::sum);
+    }
+
+    /**
+     * Drops the version of a claim that no longer exists.
+     */
+    public void forget(long claimId)
+    {
+        this.versions.remove(claimId);
+    }
+
+    /**
+     * @return whether the calling thread is currently applying this queue's mutations
+     */
+    public boolean isWriterThread()
+    {
+        return this.writeLock.isHeldByCurrentThread();
+    }
+
+    /**
+     * @return whether any thread is applying this queue's mutations right now. A lock-free read taken
+     * while this is false, and still valid against a version read before it, saw no half-applied
+     * mutation.
+     */
+    public boolean isWriting()
+    {
+        return this.writeLock.isLocked();
+    }
+
+    /**
+     * Apply a mutation on the calling thread once no other mutation is running, and return its
+     * result. The caller blocks for as long as another thread is the writer. Queued mutations stay
+     * on the executor. A mutation applied from inside another one runs immediately.
+     *
+     * @param mutation the change to apply as the writer
+     * @return the mutation's result
+     */
+    public <T> T call(@NotNull Supplier<T> mutation)
+    {
+        this.writeLock.lock();
+        try
+        {
+            return mutation.get();
+        }
+        finally
+        {
+            this.writeLock.unlock();
+        }
+    }
+
+    public void run(@NotNull Runnable mutation)
+    {
+        this.call(() ->
+        {
+            mutation.run();
+            return null;
+        });
+    }
+
+    public <T> @NotNull CompletableFuture<T> submit(@NotNull Supplier<T> mutation)
+    {
+        return this.submit(Collections.emptyMap(), mutation);
+    }
+
+    public <T> @NotNull CompletableFuture<T> submit(long claimId, long expectedVersion, @NotNull Supplier<T> mutation)
+    {
+        return this.submit(Collections.singletonMap(claimId, expectedVersion), mutation);
+    }
+
+    /**
+     * Queue a mutation that only applies if every listed claim is still at the expected version.
+     * Waiting on the returned future from the writer thread would deadlock the queue.
+     *
+     * @param expectedVersions the version of each claim the mutation was planned against
+     * @param mutation the change to apply on the writer
+     * @return the mutation's result, or its failure or conflict
+     */
+    public <T> @NotNull CompletableFuture<T> submit(
+            @NotNull Map<Long, Long> expectedVersions,
+            @NotNull Supplier<T> mutation)
+    {
+        Map<Long, Long> expected = expectedVersions.isEmpty()
+                ? Collections.emptyMap()
+                : new HashMap<>(expectedVersions);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        this.pending.add(() -> this.apply(expected, mutation, future));
+        this.scheduleDrain();
+        return future;
+    }
+
+    private <T> void apply(
+            @NotNull Map<Long, Long> expected,
+            @NotNull Supplier<T> mutation,
+            @NotNull CompletableFuture<T> future)
+    {
+        for (Map.Entry<Long, Long> entry : expected.entrySet())
+        {
+            long actual = this.version(entry.getKey());
+            if (actual != entry.getValue())
+            {
+                future.completeExceptionally(
+                        new ClaimMutationConflictException(entry.getKey(), entry.getValue(), actual));
+                return;
+            }
+        }
+
+        T result;
+        try
+        {
+            result = mutation.get();
+        }
+        catch (Throwable failure)
+        {
+            future.completeExceptionally(failure);
+            return;
+        }
+        finally
+        {
+            // a failed mutation may still have changed part of a claim
+            for (Long claimId : expected.keySet())
+            {
+                this.touch(claimId);
+            }
+        }
+        future.complete(result);
+    }
+
+    private void scheduleDrain()
+    {
+        if (!this.draining.compareAndSet(false, true)) return;
+
+        try
+        {
+            this.executor.execute(this::drain);
+        }
+        catch (RuntimeException e)
+        {
+            this.draining.set(false);
+            throw e;
+        }
+    }
+
+    private void drain()
+    {
+        this.writeLock.lock();
+        try
+        {
+            Runnable mutation;
+            for (int i = 0; i < MAX_MUTATIONS_PER_DRAIN && (mutation = this.pending.poll()) != null; i++)
+            {
+                mutation.run();
+            }
+        }
+        finally
+        {
+            this.writeLock.unlock();
+            this.draining.set(false);
+        }
+
+        // picks up anything submitted after the last poll, or left over from a full batch
+        if (!this.pending.isEmpty()) this.scheduleDrain();
+    }
+}
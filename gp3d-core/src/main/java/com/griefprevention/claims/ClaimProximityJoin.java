@@ -0,0 +1,229 @@
+package com.griefprevention.claims;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Spatial join that finds pairs of claims whose bounding boxes come within a distance of each other.
+ *
+ * <p>Claims are bucketed on a uniform grid, and each claim only examines the buckets its bounding box
+ * reaches once grown by the distance, so the cost follows the number of nearby pairs rather than the
+ * square of the claim count.
+ */
+public final class ClaimProximityJoin
+{
+    private static final int MIN_CELL_SIZE = 64;
+    private static final int MAX_CELLS_PER_CLAIM = 4096;
+
+    private ClaimProximityJoin()
+    {
+    }
+
+    /**
+     * Call {@code action} once for every unordered pair of claims in the same world whose bounding
+     * boxes are {@link #within within} {@code distance} blocks of each other.
+     */
+    public static void forEachPairWithin(
+            @NotNull Collection<ClaimSnapshot> claims,
+            int distance,
+            @NotNull BiConsumer<ClaimSnapshot, ClaimSnapshot> action)
+    {
+        if (distance < 0)
+        {
+            throw new IllegalArgumentException("Distance must not be negative.");
+        }
+
+        Map<String, List<ClaimSnapshot>> claimsByWorld = new HashMap<>();
+        for (ClaimSnapshot claim : claims)
+        {
+            claimsByWorld.computeIfAbsent(claim.worldKey(), ignored -> new ArrayList<>()).add(claim);
+        }
+        for (List<ClaimSnapshot> worldClaims : claimsByWorld.values())
+        {
+            joinWorld(worldClaims.toArray(new ClaimSnapshot[0]), distance, action);
+        }
+    }
+
+    /**
+     * Whether two bounding boxes are at most {@code distance} blocks apart on both axes.
+     */
+    public static boolean within(@NotNull ClaimBounds first, @NotNull ClaimBounds second, int distance)
+    {
+        return (long) first.minX() - distance <= second.maxX()
+                && (long) second.minX() - distance <= first.maxX()
+                && (long) first.minZ() - distance <= second.maxZ()
+                && (long) second.minZ() - distance <= first.maxZ();
+    }
+
+    /**
+     * Whether either claim's lesser or greater bounding-box corner lies within {@code distance}
+     * blocks of the other claim's bounding box, the horizontal part of the minimum distance rule.
+     */
+    public static boolean cornersNear(@NotNull ClaimBounds first, @NotNull ClaimBounds second, int distance)
+    {
+        return cornersNearOneWay(first, second, distance) || cornersNearOneWay(second, first, distance);
+    }
+
+    private static boolean cornersNearOneWay(@NotNull ClaimBounds claim, @NotNull ClaimBounds other, int distance)
+    {
+        return bandContains(claim, other.minX(), other.minZ(), distance)
+                || bandContains(claim, other.maxX(), other.maxZ(), distance);
+    }
+
+    private static boolean bandContains(@NotNull ClaimBounds claim, int x, int z, int distance)
+    {
+        return (long) x >= (long) claim.minX() - distance && (long) x <= (long) claim.maxX() + distance
+                && (long) z >= (long) claim.minZ() - distance && (long) z <= (long) claim.maxZ() + distance;
+    }
+
+    private static void joinWorld(
+            @NotNull ClaimSnapshot[] claims,
+            int distance,
+            @NotNull BiConsumer<ClaimSnapshot, ClaimSnapshot> action)
+    {
+        int cellShift = cellShift(distance);
+        Map<Long, int[]> cells = new HashMap<>();
+        // Claims too large to bucket cheaply are compared against everything instead.
+        List<Integer> oversized = new ArrayList<>();
+        boolean[] isOversized = new boolean[claims.length];
+        for (int index = 0; index < claims.length; index++)
+        {
+            ClaimBounds bounds = claims[index].bounds();
+            int minCellX = bounds.minX() >> cellShift;
+            int maxCellX = bounds.maxX() >> cellShift;
+            int minCellZ = bounds.minZ() >> cellShift;
+            int maxCellZ = bounds.maxZ() >> cellShift;
+            if ((long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1) > MAX_CELLS_PER_CLAIM)
+            {
+                oversized.add(index);
+                isOversized[index] = true;
+                continue;
+            }
+
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++)
+            {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++)
+                {
+                    cells.merge(cellKey(cellX, cellZ), new int[] { 1, index }, ClaimProximityJoin::append);
+                }
+            }
+        }
+
+        // Remember the last claim each candidate was compared with, so a pair sharing several cells
+        // is only reported once.
+        int[] lastVisitor = new int[claims.length];
+        Arrays.fill(lastVisitor, -1);
+        for (int index = 0; index < claims.length; index++)
+        {
+            if (isOversized[index])
+            {
+                continue;
+            }
+
+            ClaimBounds bounds = claims[index].bounds();
+            long minX = (long) bounds.minX() - distance;
+            long maxX = (long) bounds.maxX() + distance;
+            long minZ = (long) bounds.minZ() - distance;
+            long maxZ = (long) bounds.maxZ() + distance;
+            int minCellX = (int) (Math.max(minX, Integer.MIN_VALUE) >> cellShift);
+            int maxCellX = (int) (Math.min(maxX, Integer.MAX_VALUE) >> cellShift);
+            int minCellZ = (int) (Math.max(minZ, Integer.MIN_VALUE) >> cellShift);
+            int maxCellZ = (int) (Math.min(maxZ, Integer.MAX_VALUE) >> cellShift);
+
+            if ((long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1) > (long) cells.size())
+            {
+                for (int[] cell : cells.values())
+                {
+                    visit(claims, cell, index, distance, lastVisitor, action);
+                }
+            }
+            else
+            {
+                for (int cellX = minCellX; cellX <= maxCellX; cellX++)
+                {
+                    for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++)
+                    {
+                        int[] cell = cells.get(cellKey(cellX, cellZ));
+                        if (cell != null)
+                        {
+                            visit(claims, cell, index, distance, lastVisitor, action);
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int oversizedIndex : oversized)
+        {
+            for (int index = 0; index < claims.length; index++)
+            {
+                // A pair of oversized claims was already reported from the lower index.
+                if (index == oversizedIndex || (isOversized[index] && index < oversizedIndex))
+                {
+                    continue;
+                }
+                if (within(claims[oversizedIndex].bounds(), claims[index].bounds(), distance))
+                {
+                    action.accept(claims[oversizedIndex], claims[index]);
+                }
+            }
+        }
+    }
+
+    private static void visit(
+            @NotNull ClaimSnapshot[] claims,
+            int[] cell,
+            int index,
+            int distance,
+            int[] lastVisitor,
+            @NotNull BiConsumer<ClaimSnapshot, ClaimSnapshot> action)
+    {
+        ClaimBounds bounds = claims[index].bounds();
+        for (int slot = 1; slot <= cell[0]; slot++)
+        {
+            int other = cell[slot];
+            // Each pair is reported by its lower index.
+            if (other <= index || lastVisitor[other] == index)
+            {
+                continue;
+            }
+
+            lastVisitor[other] = index;
+            if (within(bounds, claims[other].bounds(), distance))
+            {
+                action.accept(claims[index], claims[other]);
+            }
+        }
+    }
+
+    private static int[] append(int[] cell, int[] single)
+    {
+        int size = cell[0] + 1;
+        int[] target = size < cell.length ? cell : Arrays.copyOf(cell, cell.length * 2);
+        target[size] = single[1];
+        target[0] = size;
+        return target;
+    }
+
+    private static int cellShift(int distance)
+    {
+        int shift = Integer.numberOfTrailingZeros(MIN_CELL_SIZE);
+        while (shift < 30 && (1 << shift) < 2L * distance)
+        {
+            shift++;
+        }
+        return shift;
+    }
+
+    private static long cellKey(int cellX, int cellZ)
+    {
+        return ((long) cellX << 32) ^ (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -2,7 +2,9 @@ package com.griefprevention.claims;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -62,4 +64,19 @@ public interface ClaimRepository {
      * @return unmodifiable list of candidate claim snapshots
      */
     @NotNull Collection<ClaimSnapshot> candidates(@NotNull String worldKey, @NotNull ClaimBounds bounds);
+
+    /**
+     * Get the claim changes recorded after a sequence. Pass 0 on the first call and
+     * {@link ClaimChangeSet#lastSequence()} after that.
+     *
+     * <p>Repositories without a {@link ClaimChangeJournal} answer every call with a full reset.
+     *
+     * @param sequence the last sequence the caller applied
+     * @return the changes since then, led by a full checkpoint if the caller fell too far behind
+     */
+    default @NotNull ClaimChangeSet changesSince(long sequence)
+    {
+        return new ClaimChangeSet(true, new ArrayList<>(getClaims()), Collections.emptyMap(),
+                Collections.emptyList(), 0);
+    }
 }
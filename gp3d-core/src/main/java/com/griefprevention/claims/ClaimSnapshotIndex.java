@@ -4,136 +4,238 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.LongConsumer;
 
 /**
  * Chunk-aware in-memory index for platform-neutral claim snapshots.
+ *
+ * <p>The index is published as an immutable state that writers replace atomically, so lookups
+ * never take a lock. Each chunk maps to a candidate array presorted by specificity, which lets
+ * {@link #findAt} answer a point query without allocating.
  */
 public final class ClaimSnapshotIndex
 {
-    private final Map<Long, ClaimSnapshot> snapshotsById = new HashMap<>();
-    private final Map<String, Map<Long, Set<Long>>> chunkClaimIdsByWorld = new HashMap<>();
+    private static final ClaimSnapshot[] NO_CLAIMS = new ClaimSnapshot[0];
+
+    private volatile State state = State.EMPTY;
 
     public synchronized void clear()
     {
-        this.snapshotsById.clear();
-        this.chunkClaimIdsByWorld.clear();
+        this.state = State.EMPTY;
     }
 
     public synchronized void rebuild(@NotNull Collection<ClaimSnapshot> snapshots)
     {
-        clear();
+        PersistentLongMap<ClaimSnapshot> snapshotsById = PersistentLongMap.empty();
         for (ClaimSnapshot snapshot : snapshots)
         {
-            put(snapshot);
+            snapshotsById = snapshotsById.put(requireId(snapshot), snapshot);
+        }
+
+        Map<String, Map<Long, List<ClaimSnapshot>>> chunkClaimsByWorld = new HashMap<>();
+        snapshotsById.forEachValue(snapshot ->
+        {
+            Map<Long, List<ClaimSnapshot>> worldChunks = chunkClaimsByWorld.computeIfAbsent(
+                    snapshot.worldKey(),
+                    ignored -> new HashMap<>()
+            );
+            forEachChunk(snapshot.bounds(), chunkHash ->
+                    worldChunks.computeIfAbsent(chunkHash, ignored -> new ArrayList<>()).add(snapshot));
+        });
+
+        Map<String, PersistentLongMap<ClaimSnapshot[]>> chunksByWorld = new HashMap<>();
+        for (Map.Entry<String, Map<Long, List<ClaimSnapshot>>> world : chunkClaimsByWorld.entrySet())
+        {
+            PersistentLongMap<ClaimSnapshot[]> chunks = PersistentLongMap.empty();
+            for (Map.Entry<Long, List<ClaimSnapshot>> chunk : world.getValue().entrySet())
+            {
+                ClaimSnapshot[] claims = chunk.getValue().toArray(NO_CLAIMS);
+                Arrays.sort(claims, ClaimSnapshotIndex::compareBySpecificity);
+                chunks = chunks.put(chunk.getKey(), claims);
+            }
+            chunksByWorld.put(world.getKey(), chunks);
         }
+
+        this.state = new State(snapshotsById, chunksByWorld);
     }
 
     public synchronized void put(@NotNull ClaimSnapshot snapshot)
     {
-        Long id = requireId(snapshot);
-        remove(id);
-
-        this.snapshotsById.put(id, snapshot);
-        Map<Long, Set<Long>> worldChunks = this.chunkClaimIdsByWorld.computeIfAbsent(
-                snapshot.worldKey(),
-                ignored -> new HashMap<>()
-        );
-        for (long chunkHash : chunkHashes(snapshot.bounds()))
+        long id = requireId(snapshot);
+        State current = this.state;
+        ClaimSnapshot previous = current.snapshotsById.get(id);
+        Map<String, PersistentLongMap<ClaimSnapshot[]>> chunksByWorld = new HashMap<>(current.chunksByWorld);
+        if (previous != null)
         {
-            worldChunks.computeIfAbsent(chunkHash, ignored -> new LinkedHashSet<>()).add(id);
+            unlinkChunks(chunksByWorld, previous, id);
         }
+        linkChunks(chunksByWorld, snapshot);
+        this.state = new State(current.snapshotsById.put(id, snapshot), chunksByWorld);
     }
 
     public synchronized @Nullable ClaimSnapshot remove(long id)
     {
-        ClaimSnapshot removed = this.snapshotsById.remove(id);
+        State current = this.state;
+        ClaimSnapshot removed = current.snapshotsById.get(id);
         if (removed == null)
         {
             return null;
         }
 
-        Map<Long, Set<Long>> worldChunks = this.chunkClaimIdsByWorld.get(removed.worldKey());
+        Map<String, PersistentLongMap<ClaimSnapshot[]>> chunksByWorld = new HashMap<>(current.chunksByWorld);
+        unlinkChunks(chunksByWorld, removed, id);
+        this.state = new State(current.snapshotsById.remove(id), chunksByWorld);
+        return removed;
+    }
+
+    public @Nullable ClaimSnapshot get(long id)
+    {
+        return this.state.snapshotsById.get(id);
+    }
+
+    public int size()
+    {
+        return this.state.snapshotsById.size();
+    }
+
+    public @NotNull List<ClaimSnapshot> snapshots()
+    {
+        List<ClaimSnapshot> snapshots = this.state.snapshotsById.values();
+        snapshots.sort(Comparator.comparing(ClaimSnapshot::id, Comparator.nullsLast(Long::compareTo)));
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    public @NotNull List<ClaimSnapshot> candidates(@NotNull String worldKey, @NotNull ClaimBounds bounds)
+    {
+        PersistentLongMap<ClaimSnapshot[]> worldChunks = this.state.chunksByWorld.get(worldKey);
         if (worldChunks == null)
         {
-            return removed;
+            return Collections.emptyList();
         }
 
-        for (long chunkHash : chunkHashes(removed.bounds()))
+        Set<Long> candidateIds = new HashSet<>();
+        List<ClaimSnapshot> candidates = new ArrayList<>();
+        forEachChunk(bounds, chunkHash ->
         {
-            Set<Long> ids = worldChunks.get(chunkHash);
-            if (ids == null)
+            ClaimSnapshot[] claims = worldChunks.get(chunkHash);
+            if (claims == null)
             {
-                continue;
+                return;
             }
 
-            ids.remove(id);
-            if (ids.isEmpty())
+            for (ClaimSnapshot snapshot : claims)
             {
-                worldChunks.remove(chunkHash);
+                if (snapshot.bounds().intersects(bounds, true) && candidateIds.add(snapshot.id()))
+                {
+                    candidates.add(snapshot);
+                }
             }
-        }
+        });
+        candidates.sort(ClaimSnapshotIndex::compareBySpecificity);
+        return Collections.unmodifiableList(candidates);
+    }
 
-        if (worldChunks.isEmpty())
+    /**
+     * Lists the claims reaching into the chunk that holds a block column, most specific first. The
+     * claims are not checked against the column itself.
+     *
+     * @param worldKey the world to query
+     * @param x the block X coordinate
+     * @param z the block Z coordinate
+     * @return an unmodifiable view of the chunk's claims
+     */
+    public @NotNull List<ClaimSnapshot> inChunkAt(@NotNull String worldKey, int x, int z)
+    {
+        PersistentLongMap<ClaimSnapshot[]> worldChunks = this.state.chunksByWorld.get(worldKey);
+        ClaimSnapshot[] claims = worldChunks == null ? null : worldChunks.get(chunkHash(x >> 4, z >> 4));
+        return claims == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(claims));
+    }
+
+    public @Nullable ClaimSnapshot findAt(
+            @NotNull String worldKey,
+            int x,
+            int y,
+            int z,
+            boolean ignoreHeight,
+            boolean ignoreSubclaims)
+    {
+        PersistentLongMap<ClaimSnapshot[]> worldChunks = this.state.chunksByWorld.get(worldKey);
+        if (worldChunks == null)
         {
-            this.chunkClaimIdsByWorld.remove(removed.worldKey());
+            return null;
         }
 
-        return removed;
+        ClaimSnapshot[] claims = worldChunks.get(chunkHash(x >> 4, z >> 4));
+        return claims == null ? null : bestMatch(claims, worldKey, x, y, z, ignoreHeight, ignoreSubclaims);
     }
 
-    public synchronized @Nullable ClaimSnapshot get(long id)
+    /**
+     * Pins the current state of one world for a batch of point queries, such as the blocks of a
+     * single explosion. Consecutive queries in the same chunk reuse its candidate array.
+     *
+     * @param worldKey the world to query
+     * @return a lookup that is not thread-safe and does not observe later index changes
+     */
+    public @NotNull WorldLookup lookup(@NotNull String worldKey)
     {
-        return this.snapshotsById.get(id);
+        return new WorldLookup(worldKey, this.state.chunksByWorld.get(worldKey));
     }
 
-    public synchronized @NotNull List<ClaimSnapshot> snapshots()
+    /**
+     * Batched point lookups against one world of a {@link ClaimSnapshotIndex}.
+     */
+    public static final class WorldLookup
     {
-        List<ClaimSnapshot> snapshots = new ArrayList<>(this.snapshotsById.values());
-        snapshots.sort(Comparator.comparing(ClaimSnapshot::id, Comparator.nullsLast(Long::compareTo)));
-        return Collections.unmodifiableList(snapshots);
-    }
+        private final @NotNull String worldKey;
+        private final @Nullable PersistentLongMap<ClaimSnapshot[]> worldChunks;
+        private long lastChunkHash;
+        private @Nullable ClaimSnapshot[] lastClaims;
 
-    public synchronized @NotNull List<ClaimSnapshot> candidates(@NotNull String worldKey, @NotNull ClaimBounds bounds)
-    {
-        Map<Long, Set<Long>> worldChunks = this.chunkClaimIdsByWorld.get(worldKey);
-        if (worldChunks == null)
+        private WorldLookup(@NotNull String worldKey, @Nullable PersistentLongMap<ClaimSnapshot[]> worldChunks)
         {
-            return Collections.emptyList();
+            this.worldKey = worldKey;
+            this.worldChunks = worldChunks;
         }
 
-        Set<Long> candidateIds = new LinkedHashSet<>();
-        for (long chunkHash : chunkHashes(bounds))
+        /**
+         * Equivalent to {@link ClaimSnapshotIndex#findAt} without ignoring height or subclaims.
+         */
+        public @Nullable ClaimSnapshot findAt(int x, int y, int z)
         {
-            Set<Long> ids = worldChunks.get(chunkHash);
-            if (ids != null)
-            {
-                candidateIds.addAll(ids);
-            }
+            ClaimSnapshot[] claims = this.claimsInChunk(x >> 4, z >> 4);
+            return claims == null ? null : bestMatch(claims, this.worldKey, x, y, z, false, false);
         }
 
-        List<ClaimSnapshot> candidates = new ArrayList<>();
-        for (Long id : candidateIds)
+        private @Nullable ClaimSnapshot[] claimsInChunk(int chunkX, int chunkZ)
         {
-            ClaimSnapshot snapshot = this.snapshotsById.get(id);
-            if (snapshot != null && snapshot.bounds().intersects(bounds, true))
+            if (this.worldChunks == null)
             {
-                candidates.add(snapshot);
+                return null;
             }
+
+            long chunkHash = chunkHash(chunkX, chunkZ);
+            if (this.lastClaims == null || this.lastChunkHash != chunkHash)
+            {
+                ClaimSnapshot[] claims = this.worldChunks.get(chunkHash);
+                this.lastChunkHash = chunkHash;
+                this.lastClaims = claims == null ? NO_CLAIMS : claims;
+            }
+            return this.lastClaims.length == 0 ? null : this.lastClaims;
         }
-        candidates.sort(ClaimSnapshotIndex::compareBySpecificity);
-        return Collections.unmodifiableList(candidates);
     }
 
-    public synchronized @Nullable ClaimSnapshot findAt(
+    private static @Nullable ClaimSnapshot bestMatch(
+            @NotNull ClaimSnapshot[] claims,
             @NotNull String worldKey,
             int x,
             int y,
@@ -141,10 +243,11 @@ public final class ClaimSnapshotIndex
             boolean ignoreHeight,
             boolean ignoreSubclaims)
     {
-        ClaimBounds pointBounds = ClaimBounds.rectangle(x, y, z, x, y, z);
-        List<ClaimSnapshot> candidates = candidates(worldKey, pointBounds);
-        ClaimSnapshot best = null;
-        for (ClaimSnapshot snapshot : candidates)
+        // Candidates are presorted by specificity, so the first plain match wins unless a 3D
+        // claim spans this Y level; among those the shortest one wins, ties keep sort order.
+        ClaimSnapshot bestFlat = null;
+        ClaimSnapshot best3D = null;
+        for (ClaimSnapshot snapshot : claims)
         {
             if (ignoreSubclaims && snapshot.subdivision())
             {
@@ -156,34 +259,113 @@ public final class ClaimSnapshotIndex
                 continue;
             }
 
-            if (best == null || compareAt(snapshot, best, y) < 0)
+            if (snapshot.threeDimensional() && snapshot.bounds().containsY(y))
             {
-                best = snapshot;
+                if (best3D == null || snapshot.bounds().yHeight() < best3D.bounds().yHeight())
+                {
+                    best3D = snapshot;
+                }
+            }
+            else if (bestFlat == null)
+            {
+                bestFlat = snapshot;
             }
         }
 
-        return best;
+        return best3D != null ? best3D : bestFlat;
     }
 
-    private static int compareAt(@NotNull ClaimSnapshot first, @NotNull ClaimSnapshot second, int y)
+    private static void linkChunks(
+            @NotNull Map<String, PersistentLongMap<ClaimSnapshot[]>> chunksByWorld,
+            @NotNull ClaimSnapshot snapshot)
     {
-        boolean firstContainsY3D = first.threeDimensional() && first.bounds().containsY(y);
-        boolean secondContainsY3D = second.threeDimensional() && second.bounds().containsY(y);
-        if (firstContainsY3D != secondContainsY3D)
+        PersistentLongMap<ClaimSnapshot[]> worldChunks = chunksByWorld.get(snapshot.worldKey());
+        if (worldChunks == null)
         {
-            return firstContainsY3D ? -1 : 1;
+            worldChunks = PersistentLongMap.empty();
         }
 
-        if (firstContainsY3D)
+        ClaimBounds bounds = snapshot.bounds();
+        for (int chunkX = bounds.minX() >> 4; chunkX <= bounds.maxX() >> 4; chunkX++)
         {
-            int yCompare = Integer.compare(first.bounds().yHeight(), second.bounds().yHeight());
-            if (yCompare != 0)
+            for (int chunkZ = bounds.minZ() >> 4; chunkZ <= bounds.maxZ() >> 4; chunkZ++)
             {
-                return yCompare;
+                long chunkHash = chunkHash(chunkX, chunkZ);
+                ClaimSnapshot[] existing = worldChunks.get(chunkHash);
+                worldChunks = worldChunks.put(chunkHash, withClaim(existing == null ? NO_CLAIMS : existing, snapshot));
             }
         }
+        chunksByWorld.put(snapshot.worldKey(), worldChunks);
+    }
+
+    private static void unlinkChunks(
+            @NotNull Map<String, PersistentLongMap<ClaimSnapshot[]>> chunksByWorld,
+            @NotNull ClaimSnapshot snapshot,
+            long id)
+    {
+        PersistentLongMap<ClaimSnapshot[]> worldChunks = chunksByWorld.get(snapshot.worldKey());
+        if (worldChunks == null)
+        {
+            return;
+        }
+
+        ClaimBounds bounds = snapshot.bounds();
+        for (int chunkX = bounds.minX() >> 4; chunkX <= bounds.maxX() >> 4; chunkX++)
+        {
+            for (int chunkZ = bounds.minZ() >> 4; chunkZ <= bounds.maxZ() >> 4; chunkZ++)
+            {
+                long chunkHash = chunkHash(chunkX, chunkZ);
+                ClaimSnapshot[] existing = worldChunks.get(chunkHash);
+                if (existing == null)
+                {
+                    continue;
+                }
+
+                ClaimSnapshot[] remaining = withoutClaim(existing, id);
+                worldChunks = remaining.length == 0
+                        ? worldChunks.remove(chunkHash)
+                        : worldChunks.put(chunkHash, remaining);
+            }
+        }
+
+        if (worldChunks.isEmpty())
+        {
+            chunksByWorld.remove(snapshot.worldKey());
+        }
+        else
+        {
+            chunksByWorld.put(snapshot.worldKey(), worldChunks);
+        }
+    }
 
-        return compareBySpecificity(first, second);
+    private static @NotNull ClaimSnapshot[] withClaim(@NotNull ClaimSnapshot[] claims, @NotNull ClaimSnapshot snapshot)
+    {
+        int insertAt = 0;
+        while (insertAt < claims.length && compareBySpecificity(claims[insertAt], snapshot) < 0)
+        {
+            insertAt++;
+        }
+
+        ClaimSnapshot[] updated = new ClaimSnapshot[claims.length + 1];
+        System.arraycopy(claims, 0, updated, 0, insertAt);
+        updated[insertAt] = snapshot;
+        System.arraycopy(claims, insertAt, updated, insertAt + 1, claims.length - insertAt);
+        return updated;
+    }
+
+    private static @NotNull ClaimSnapshot[] withoutClaim(@NotNull ClaimSnapshot[] claims, long id)
+    {
+        for (int i = 0; i < claims.length; i++)
+        {
+            if (claims[i].id() == id)
+            {
+                ClaimSnapshot[] updated = new ClaimSnapshot[claims.length - 1];
+                System.arraycopy(claims, 0, updated, 0, i);
+                System.arraycopy(claims, i + 1, updated, i, claims.length - i - 1);
+                return updated;
+            }
+        }
+        return claims;
     }
 
     private static int compareBySpecificity(@NotNull ClaimSnapshot first, @NotNull ClaimSnapshot second)
@@ -227,9 +409,8 @@ public final class ClaimSnapshotIndex
         return id;
     }
 
-    private static @NotNull List<Long> chunkHashes(@NotNull ClaimBounds bounds)
+    private static void forEachChunk(@NotNull ClaimBounds bounds, @NotNull LongConsumer action)
     {
-        List<Long> hashes = new ArrayList<>();
         int minChunkX = bounds.minX() >> 4;
         int maxChunkX = bounds.maxX() >> 4;
         int minChunkZ = bounds.minZ() >> 4;
@@ -238,14 +419,32 @@ public final class ClaimSnapshotIndex
         {
             for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
             {
-                hashes.add(chunkHash(chunkX, chunkZ));
+                action.accept(chunkHash(chunkX, chunkZ));
             }
         }
-        return hashes;
     }
 
     private static long chunkHash(long chunkX, long chunkZ)
     {
         return chunkZ ^ (chunkX << 32);
     }
+
+    private static final class State
+    {
+        private static final State EMPTY = new State(
+                PersistentLongMap.<ClaimSnapshot>empty(),
+                Collections.<String, PersistentLongMap<ClaimSnapshot[]>>emptyMap()
+        );
+
+        private final @NotNull PersistentLongMap<ClaimSnapshot> snapshotsById;
+        private final @NotNull Map<String, PersistentLongMap<ClaimSnapshot[]>> chunksByWorld;
+
+        private State(
+                @NotNull PersistentLongMap<ClaimSnapshot> snapshotsById,
+                @NotNull Map<String, PersistentLongMap<ClaimSnapshot[]>> chunksByWorld)
+        {
+            this.snapshotsById = snapshotsById;
+            this.chunksByWorld = chunksByWorld;
+        }
+    }
 }
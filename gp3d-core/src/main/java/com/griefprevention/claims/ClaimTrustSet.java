@@ -0,0 +1,82 @@
+package com.griefprevention.claims;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Mutable set of normalized claim trust identifiers, stored like {@link ClaimTrustTable}.
+ */
+public final class ClaimTrustSet
+{
+    private final ClaimTrustTable<Boolean> table;
+
+    public ClaimTrustSet()
+    {
+        this.table = new ClaimTrustTable<>();
+    }
+
+    public ClaimTrustSet(@NotNull ClaimTrustSet other)
+    {
+        this.table = new ClaimTrustTable<>(other.table);
+    }
+
+    public boolean contains(@NotNull UUID playerId)
+    {
+        return this.table.containsKey(playerId);
+    }
+
+    public boolean contains(@NotNull String normalizedIdentifier)
+    {
+        return this.table.containsKey(normalizedIdentifier);
+    }
+
+    public boolean add(@NotNull String normalizedIdentifier)
+    {
+        return this.table.put(normalizedIdentifier, Boolean.TRUE) == null;
+    }
+
+    public void addAll(@NotNull ClaimTrustSet other)
+    {
+        this.table.putAll(other.table);
+    }
+
+    public boolean remove(@NotNull String normalizedIdentifier)
+    {
+        return this.table.remove(normalizedIdentifier) != null;
+    }
+
+    public void clear()
+    {
+        this.table.clear();
+    }
+
+    public int size()
+    {
+        return this.table.size();
+    }
+
+    public boolean isEmpty()
+    {
+        return this.table.isEmpty();
+    }
+
+    /**
+     * @see ClaimTrustTable#permissionNodes()
+     */
+    public @NotNull List<String> permissionNodes()
+    {
+        return this.table.permissionNodes();
+    }
+
+    /**
+     * @return a copy of the identifiers in this set
+     */
+    public @NotNull Set<String> identifiers()
+    {
+        return new LinkedHashSet<>(this.table.toMap().keySet());
+    }
+}
@@ -27,6 +27,10 @@ public final class ClaimTrustSnapshot
     private final @NotNull Set<String> deniedIdentifiers;
     private final @NotNull Set<String> pvpTrustedIdentifiers;
     private final @NotNull Set<String> pveTrustedIdentifiers;
+    // The same trust keyed by UUID, for player checks.
+    private final @NotNull ClaimTrustTable<ClaimTrustLevel> permissionsByPlayer = new ClaimTrustTable<>();
+    private final @NotNull ClaimTrustSet managerPlayers = new ClaimTrustSet();
+    private final @NotNull ClaimTrustSet neighborPlayers = new ClaimTrustSet();
 
     public ClaimTrustSnapshot(
             @Nullable UUID ownerId,
@@ -66,6 +70,19 @@ public final class ClaimTrustSnapshot
         this.deniedIdentifiers = normalizeIdentifiers(deniedIdentifiers);
         this.pvpTrustedIdentifiers = normalizeIdentifiers(pvpTrustedIdentifiers);
         this.pveTrustedIdentifiers = normalizeIdentifiers(pveTrustedIdentifiers);
+
+        for (Map.Entry<String, ClaimTrustLevel> entry : this.permissionsByIdentifier.entrySet())
+        {
+            this.permissionsByPlayer.put(entry.getKey(), entry.getValue());
+        }
+        for (String identifier : this.managerIdentifiers)
+        {
+            this.managerPlayers.add(identifier);
+        }
+        for (String identifier : this.neighborIdentifiers)
+        {
+            this.neighborPlayers.add(identifier);
+        }
     }
 
     public static @NotNull ClaimTrustSnapshot empty(@Nullable UUID ownerId)
@@ -138,7 +155,23 @@ public final class ClaimTrustSnapshot
             return true;
         }
 
-        return hasExplicitIdentifierPermission(playerId.toString(), level);
+        // hasExplicitIdentifierPermission(playerId.toString(), level) without building the string.
+        if (level == ClaimTrustLevel.EDIT)
+        {
+            return false;
+        }
+
+        if (this.managerPlayers.contains(playerId) && level.isGrantedBy(ClaimTrustLevel.MANAGE))
+        {
+            return true;
+        }
+
+        if (level == ClaimTrustLevel.NEIGHBOR && this.neighborPlayers.contains(playerId))
+        {
+            return true;
+        }
+
+        return level.isGrantedBy(this.permissionsByPlayer.get(playerId));
     }
 
     public boolean hasExplicitPermission(
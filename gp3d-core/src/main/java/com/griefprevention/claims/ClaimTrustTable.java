@@ -0,0 +1,180 @@
+package com.griefprevention.claims;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mutable claim trust entries keyed by normalized identifier.
+ *
+ * <p>Player identifiers are stored under their {@link UUID}, so a check for a player needs no string
+ * conversion. Every other identifier ({@code public}, {@code [permission.node]}) is kept by name, and
+ * permission nodes are also listed separately so node checks only visit those.</p>
+ *
+ * <p>Most claims trust nobody, so each backing collection is only allocated by its first entry and an
+ * empty table costs a single small object.</p>
+ */
+public final class ClaimTrustTable<V>
+{
+    private @Nullable HashMap<UUID, V> players;
+    private @Nullable HashMap<String, V> others;
+    private @Nullable ArrayList<String> permissionNodes;
+
+    public ClaimTrustTable()
+    {
+    }
+
+    public ClaimTrustTable(@NotNull ClaimTrustTable<V> other)
+    {
+        if (other.players != null && !other.players.isEmpty()) this.players = new HashMap<>(other.players);
+        if (other.others != null && !other.others.isEmpty()) this.others = new HashMap<>(other.others);
+        if (other.permissionNodes != null && !other.permissionNodes.isEmpty())
+        {
+            this.permissionNodes = new ArrayList<>(other.permissionNodes);
+        }
+    }
+
+    /**
+     * @return the player a normalized identifier names, or null if it is not a canonical UUID string
+     */
+    public static @Nullable UUID playerId(@NotNull String normalizedIdentifier)
+    {
+        // UUID.fromString also accepts short groups such as "1-2-3-4-5", whose toString differs.
+        // Only the canonical 36-character form round-trips to the same identifier.
+        if (normalizedIdentifier.length() != 36) return null;
+        for (int i = 0; i < 36; i++)
+        {
+            char c = normalizedIdentifier.charAt(i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dash ? c != '-' : !((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) return null;
+        }
+        return UUID.fromString(normalizedIdentifier);
+    }
+
+    public static boolean isPermissionNode(@NotNull String normalizedIdentifier)
+    {
+        int length = normalizedIdentifier.length();
+        return length >= 3 && normalizedIdentifier.charAt(0) == '[' && normalizedIdentifier.charAt(length - 1) == ']';
+    }
+
+    public @Nullable V get(@NotNull UUID playerId)
+    {
+        return this.players == null ? null : this.players.get(playerId);
+    }
+
+    public @Nullable V get(@NotNull String normalizedIdentifier)
+    {
+        UUID playerId = playerId(normalizedIdentifier);
+        if (playerId != null) return this.get(playerId);
+        return this.others == null ? null : this.others.get(normalizedIdentifier);
+    }
+
+    public boolean containsKey(@NotNull UUID playerId)
+    {
+        return this.players != null && this.players.containsKey(playerId);
+    }
+
+    public boolean containsKey(@NotNull String normalizedIdentifier)
+    {
+        UUID playerId = playerId(normalizedIdentifier);
+        if (playerId != null) return this.containsKey(playerId);
+        return this.others != null && this.others.containsKey(normalizedIdentifier);
+    }
+
+    public @Nullable V put(@NotNull String normalizedIdentifier, @NotNull V value)
+    {
+        UUID playerId = playerId(normalizedIdentifier);
+        if (playerId != null)
+        {
+            if (this.players == null) this.players = new HashMap<>(4);
+            return this.players.put(playerId, value);
+        }
+
+        if (this.others == null) this.others = new HashMap<>(4);
+        V previous = this.others.put(normalizedIdentifier, value);
+        if (previous == null && isPermissionNode(normalizedIdentifier))
+        {
+            if (this.permissionNodes == null) this.permissionNodes = new ArrayList<>(2);
+            this.permissionNodes.add(normalizedIdentifier);
+        }
+        return previous;
+    }
+
+    public @Nullable V remove(@NotNull String normalizedIdentifier)
+    {
+        UUID playerId = playerId(normalizedIdentifier);
+        if (playerId != null) return this.players == null ? null : this.players.remove(playerId);
+
+        V previous = this.others == null ? null : this.others.remove(normalizedIdentifier);
+        if (previous != null && isPermissionNode(normalizedIdentifier)) this.permissionNodes.remove(normalizedIdentifier);
+        return previous;
+    }
+
+    public void putAll(@NotNull ClaimTrustTable<V> other)
+    {
+        if (other.players != null && !other.players.isEmpty())
+        {
+            if (this.players == null) this.players = new HashMap<>(other.players);
+            else this.players.putAll(other.players);
+        }
+        if (other.others != null)
+        {
+            for (Map.Entry<String, V> entry : other.others.entrySet())
+            {
+                this.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Remove every entry and release the backing storage.
+     */
+    public void clear()
+    {
+        this.players = null;
+        this.others = null;
+        this.permissionNodes = null;
+    }
+
+    public int size()
+    {
+        return (this.players == null ? 0 : this.players.size()) + (this.others == null ? 0 : this.others.size());
+    }
+
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * @return the {@code [permission.node]} identifiers in this table, in the order they were added
+     */
+    public @NotNull List<String> permissionNodes()
+    {
+        return this.permissionNodes == null ? Collections.emptyList() : Collections.unmodifiableList(this.permissionNodes);
+    }
+
+    /**
+     * @return a copy of every entry keyed by its identifier string
+     */
+    public @NotNull Map<String, V> toMap()
+    {
+        Map<String, V> entries = new LinkedHashMap<>();
+        if (this.players != null)
+        {
+            for (Map.Entry<UUID, V> entry : this.players.entrySet())
+            {
+                entries.put(entry.getKey().toString(), entry.getValue());
+            }
+        }
+        if (this.others != null) entries.putAll(this.others);
+        return entries;
+    }
+}
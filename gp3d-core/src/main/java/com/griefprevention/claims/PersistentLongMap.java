@@ -0,0 +1,322 @@
+package com.griefprevention.claims;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable {@code long}-keyed hash trie.
+ *
+ * <p>Updates return a new map that shares every untouched branch with the original, so a single
+ * put or remove costs O(log64 n) regardless of map size. Lookups never allocate, which keeps
+ * per-block claim queries free of boxing.
+ *
+ * @param <V> the value type
+ */
+public final class PersistentLongMap<V>
+{
+    private static final int BITS = 6;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentLongMap<?> EMPTY = new PersistentLongMap<>(null, 0);
+
+    private final @Nullable Node root;
+    private final int size;
+
+    private PersistentLongMap(@Nullable Node root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> @NotNull PersistentLongMap<V> empty()
+    {
+        return (PersistentLongMap<V>) EMPTY;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long key)
+    {
+        Node node = this.root;
+        long hash = mix(key);
+        int shift = 0;
+        while (node != null)
+        {
+            long bit = 1L << ((hash >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0L)
+            {
+                return null;
+            }
+
+            Object slot = node.slots[Long.bitCount(node.bitmap & (bit - 1L))];
+            if (slot instanceof Leaf)
+            {
+                Leaf leaf = (Leaf) slot;
+                return leaf.key == key ? (V) leaf.value : null;
+            }
+
+            node = (Node) slot;
+            shift += BITS;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key)
+    {
+        return get(key) != null;
+    }
+
+    public @NotNull PersistentLongMap<V> put(long key, @NotNull V value)
+    {
+        Leaf leaf = new Leaf(key, mix(key), value);
+        if (this.root == null)
+        {
+            return new PersistentLongMap<>(Node.single(leaf, 0), 1);
+        }
+
+        boolean[] added = new boolean[1];
+        Node updated = this.root.put(leaf, 0, added);
+        if (updated == this.root)
+        {
+            return this;
+        }
+        return new PersistentLongMap<>(updated, added[0] ? this.size + 1 : this.size);
+    }
+
+    public @NotNull PersistentLongMap<V> remove(long key)
+    {
+        if (this.root == null)
+        {
+            return this;
+        }
+
+        Object updated = this.root.remove(key, mix(key), 0);
+        if (updated == this.root)
+        {
+            return this;
+        }
+        if (updated == null)
+        {
+            return empty();
+        }
+        Node node = updated instanceof Leaf ? Node.single((Leaf) updated, 0) : (Node) updated;
+        return new PersistentLongMap<>(node, this.size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(@NotNull Consumer<? super V> consumer)
+    {
+        if (this.root != null)
+        {
+            this.root.forEach(leaf -> consumer.accept((V) leaf.value));
+        }
+    }
+
+    public @NotNull List<V> values()
+    {
+        List<V> values = new ArrayList<>(this.size);
+        forEachValue(values::add);
+        return values;
+    }
+
+    /**
+     * Murmur3 finalizer. It is a bijection on 64-bit values, so distinct keys always diverge
+     * within the trie's 11 levels and no collision buckets are needed.
+     */
+    private static long mix(long key)
+    {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Leaf
+    {
+        private final long key;
+        private final long hash;
+        private final Object value;
+
+        private Leaf(long key, long hash, Object value)
+        {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    private static final class Node
+    {
+        private final long bitmap;
+        private final Object[] slots;
+
+        private Node(long bitmap, Object[] slots)
+        {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private static @NotNull Node single(@NotNull Leaf leaf, int shift)
+        {
+            return new Node(bitFor(leaf.hash, shift), new Object[] { leaf });
+        }
+
+        private static @NotNull Node pair(@NotNull Leaf first, @NotNull Leaf second, int shift)
+        {
+            long firstBit = bitFor(first.hash, shift);
+            long secondBit = bitFor(second.hash, shift);
+            if (firstBit == secondBit)
+            {
+                return new Node(firstBit, new Object[] { pair(first, second, shift + BITS) });
+            }
+
+            Object[] slots = Long.compareUnsigned(firstBit, secondBit) < 0
+                    ? new Object[] { first, second }
+                    : new Object[] { second, first };
+            return new Node(firstBit | secondBit, slots);
+        }
+
+        private @NotNull Node put(@NotNull Leaf leaf, int shift, boolean[] added)
+        {
+            long bit = bitFor(leaf.hash, shift);
+            int index = Long.bitCount(this.bitmap & (bit - 1L));
+            if ((this.bitmap & bit) == 0L)
+            {
+                Object[] slots = new Object[this.slots.length + 1];
+                System.arraycopy(this.slots, 0, slots, 0, index);
+                slots[index] = leaf;
+                System.arraycopy(this.slots, index, slots, index + 1, this.slots.length - index);
+                added[0] = true;
+                return new Node(this.bitmap | bit, slots);
+            }
+
+            Object slot = this.slots[index];
+            Object replacement;
+            if (slot instanceof Leaf)
+            {
+                Leaf existing = (Leaf) slot;
+                if (existing.key == leaf.key)
+                {
+                    if (existing.value == leaf.value)
+                    {
+                        return this;
+                    }
+                    replacement = leaf;
+                }
+                else
+                {
+                    added[0] = true;
+                    replacement = pair(existing, leaf, shift + BITS);
+                }
+            }
+            else
+            {
+                Node child = (Node) slot;
+                replacement = child.put(leaf, shift + BITS, added);
+                if (replacement == child)
+                {
+                    return this;
+                }
+            }
+
+            Object[] slots = this.slots.clone();
+            slots[index] = replacement;
+            return new Node(this.bitmap, slots);
+        }
+
+        /**
+         * @return this node when unchanged, null when emptied, a lone leaf when the node
+         *         collapsed to one entry, or the replacement node
+         */
+        private @Nullable Object remove(long key, long hash, int shift)
+        {
+            long bit = bitFor(hash, shift);
+            if ((this.bitmap & bit) == 0L)
+            {
+                return this;
+            }
+
+            int index = Long.bitCount(this.bitmap & (bit - 1L));
+            Object slot = this.slots[index];
+            Object replacement;
+            if (slot instanceof Leaf)
+            {
+                if (((Leaf) slot).key != key)
+                {
+                    return this;
+                }
+                replacement = null;
+            }
+            else
+            {
+                Node child = (Node) slot;
+                replacement = child.remove(key, hash, shift + BITS);
+                if (replacement == child)
+                {
+                    return this;
+                }
+            }
+
+            if (replacement != null)
+            {
+                if (this.slots.length == 1 && replacement instanceof Leaf)
+                {
+                    return replacement;
+                }
+                Object[] slots = this.slots.clone();
+                slots[index] = replacement;
+                return new Node(this.bitmap, slots);
+            }
+
+            if (this.slots.length == 1)
+            {
+                return null;
+            }
+            if (this.slots.length == 2 && this.slots[1 - index] instanceof Leaf)
+            {
+                return this.slots[1 - index];
+            }
+
+            Object[] slots = new Object[this.slots.length - 1];
+            System.arraycopy(this.slots, 0, slots, 0, index);
+            System.arraycopy(this.slots, index + 1, slots, index, this.slots.length - index - 1);
+            return new Node(this.bitmap & ~bit, slots);
+        }
+
+        private void forEach(@NotNull Consumer<Leaf> consumer)
+        {
+            for (Object slot : this.slots)
+            {
+                if (slot instanceof Leaf)
+                {
+                    consumer.accept((Leaf) slot);
+                }
+                else
+                {
+                    ((Node) slot).forEach(consumer);
+                }
+            }
+        }
+
+        private static long bitFor(long hash, int shift)
+        {
+            return 1L << ((hash >>> shift) & MASK);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.griefprevention.geometry;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Exact cell predicates for orthogonal polygons, computed from their corners.
+ *
+ * <p>A polygon covers cell (x, z) exactly when {@link OrthogonalPolygon#containsCell} says so: the
+ * cell lies on the outline or its centre lies inside. The cells a polygon covers in one X column
+ * only change at the X coordinates of its corners, so every answer here sweeps those coordinates
+ * and compares whole columns as lists of Z ranges. The cost follows the number of corners rather
+ * than the number of cells.</p>
+ */
+public final class OrthogonalPolygonCells
+{
+    private static final int[] NO_RANGES = new int[0];
+
+    private OrthogonalPolygonCells()
+    {
+    }
+
+    /**
+     * Count the cells a polygon covers.
+     */
+    public static long cellCount(@NotNull OrthogonalPolygon polygon)
+    {
+        Outline outline = Outline.of(polygon);
+        long[] cells = new long[1];
+        sweep(outline, null, outline.minX, outline.maxX, (first, second, width) ->
+        {
+            cells[0] += count(first) * width;
+            return true;
+        });
+        return cells[0];
+    }
+
+    /**
+     * Whether two polygons share at least one cell.
+     */
+    public static boolean overlaps(@NotNull OrthogonalPolygon first, @NotNull OrthogonalPolygon second)
+    {
+        return overlaps(Outline.of(first), Outline.of(second));
+    }
+
+    /**
+     * Whether a polygon shares at least one cell with an inclusive rectangle of cells.
+     */
+    public static boolean overlapsRectangle(
+            @NotNull OrthogonalPolygon polygon,
+            int minX,
+            int minZ,
+            int maxX,
+            int maxZ)
+    {
+        return overlaps(Outline.of(polygon), Outline.rectangle(minX, minZ, maxX, maxZ));
+    }
+
+    /**
+     * Count the cells covered by both polygons.
+     */
+    public static long overlapCellCount(@NotNull OrthogonalPolygon first, @NotNull OrthogonalPolygon second)
+    {
+        Outline firstOutline = Outline.of(first);
+        Outline secondOutline = Outline.of(second);
+        int fromX = Math.max(firstOutline.minX, secondOutline.minX);
+        int toX = Math.min(firstOutline.maxX, secondOutline.maxX);
+        if (fromX > toX)
+        {
+            return 0L;
+        }
+
+        long[] cells = new long[1];
+        sweep(firstOutline, secondOutline, fromX, toX, (firstColumn, secondColumn, width) ->
+        {
+            cells[0] += countShared(firstColumn, secondColumn) * width;
+            return true;
+        });
+        return cells[0];
+    }
+
+    /**
+     * Whether every cell of {@code contents} is also a cell of {@code container}.
+     */
+    public static boolean contains(@NotNull OrthogonalPolygon container, @NotNull OrthogonalPolygon contents)
+    {
+        Outline containerOutline = Outline.of(container);
+        Outline contentsOutline = Outline.of(contents);
+        // The extreme columns and rows of a polygon always hold cells.
+        if (contentsOutline.minX < containerOutline.minX || contentsOutline.maxX > containerOutline.maxX
+                || contentsOutline.minZ < containerOutline.minZ || contentsOutline.maxZ > containerOutline.maxZ)
+        {
+            return false;
+        }
+
+        return sweep(containerOutline, contentsOutline, contentsOutline.minX, contentsOutline.maxX,
+                (containerColumn, contentsColumn, width) ->
+                        countShared(containerColumn, contentsColumn) == count(contentsColumn));
+    }
+
+    private static boolean overlaps(@NotNull Outline first, @NotNull Outline second)
+    {
+        int fromX = Math.max(first.minX, second.minX);
+        int toX = Math.min(first.maxX, second.maxX);
+        if (fromX > toX || first.minZ > second.maxZ || second.minZ > first.maxZ)
+        {
+            return false;
+        }
+
+        return !sweep(first, second, fromX, toX,
+                (firstColumn, secondColumn, width) -> countShared(firstColumn, secondColumn) == 0L);
+    }
+
+    /**
+     * Visit the columns from {@code fromX} to {@code toX}, grouping runs of identical columns.
+     *
+     * @return false if the visitor stopped the sweep early
+     */
+    private static boolean sweep(
+            @NotNull Outline first,
+            @Nullable Outline second,
+            int fromX,
+            int toX,
+            @NotNull ColumnVisitor visitor)
+    {
+        int[] xs = criticalXs(first, second, fromX, toX);
+        for (int i = 0; i < xs.length; i++)
+        {
+            int x = xs[i];
+            if (!visitor.visit(first.columnAt(x), second == null ? NO_RANGES : second.columnAt(x), 1L))
+            {
+                return false;
+            }
+
+            // Between two corner coordinates every column looks like the one just right of the last.
+            if (i + 1 < xs.length && xs[i + 1] - x > 1)
+            {
+                long width = (long) xs[i + 1] - x - 1L;
+                if (!visitor.visit(first.columnRightOf(x), second == null ? NO_RANGES : second.columnRightOf(x), width))
+                {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static int[] criticalXs(@NotNull Outline first, @Nullable Outline second, int fromX, int toX)
+    {
+        int secondLength = second == null ? 0 : second.cornerXs.length;
+        int[] xs = new int[first.cornerXs.length + secondLength + 2];
+        int size = 0;
+        xs[size++] = fromX;
+        xs[size++] = toX;
+        for (int x : first.cornerXs)
+        {
+            if (x > fromX && x < toX) xs[size++] = x;
+        }
+        if (second != null)
+        {
+            for (int x : second.cornerXs)
+            {
+                if (x > fromX && x < toX) xs[size++] = x;
+            }
+        }
+
+        Arrays.sort(xs, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++)
+        {
+            if (distinct == 0 || xs[distinct - 1] != xs[i])
+            {
+                xs[distinct++] = xs[i];
+            }
+        }
+        return Arrays.copyOf(xs, distinct);
+    }
+
+    /**
+     * Count the cells in a column, given as sorted, disjoint inclusive Z ranges.
+     */
+    private static long count(int[] ranges)
+    {
+        long cells = 0L;
+        for (int i = 0; i < ranges.length; i += 2)
+        {
+            cells += (long) ranges[i + 1] - ranges[i] + 1L;
+        }
+        return cells;
+    }
+
+    private static long countShared(int[] first, int[] second)
+    {
+        long cells = 0L;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length)
+        {
+            int start = Math.max(first[i], second[j]);
+            int end = Math.min(first[i + 1], second[j + 1]);
+            if (start <= end)
+            {
+                cells += (long) end - start + 1L;
+            }
+
+            if (first[i + 1] < second[j + 1])
+            {
+                i += 2;
+            }
+            else
+            {
+                j += 2;
+            }
+        }
+        return cells;
+    }
+
+    private interface ColumnVisitor
+    {
+        boolean visit(int[] first, int[] second, long width);
+    }
+
+    /**
+     * A polygon outline split into edges that run along X (constant Z) and edges that run along Z.
+     */
+    private static final class Outline
+    {
+        private final int[] xEdgeMinX;
+        private final int[] xEdgeMaxX;
+        private final int[] xEdgeZ;
+        private final int[] zEdgeX;
+        private final int[] zEdgeMinZ;
+        private final int[] zEdgeMaxZ;
+        private final int[] cornerXs;
+        private final int minX;
+        private final int maxX;
+        private final int minZ;
+        private final int maxZ;
+
+        private Outline(int[] cornerXs, int[] cornerZs, int minX, int maxX, int minZ, int maxZ)
+        {
+            int corners = cornerXs.length;
+            int xEdges = 0;
+            for (int i = 0; i < corners; i++)
+            {
+                if (cornerZs[i] == cornerZs[(i + 1) % corners]) xEdges++;
+            }
+
+            this.xEdgeMinX = new int[xEdges];
+            this.xEdgeMaxX = new int[xEdges];
+            this.xEdgeZ = new int[xEdges];
+            this.zEdgeX = new int[corners - xEdges];
+            this.zEdgeMinZ = new int[corners - xEdges];
+            this.zEdgeMaxZ = new int[corners - xEdges];
+            int xEdge = 0;
+            int zEdge = 0;
+            for (int i = 0; i < corners; i++)
+            {
+                int next = (i + 1) % corners;
+                if (cornerZs[i] == cornerZs[next])
+                {
+                    this.xEdgeMinX[xEdge] = Math.min(cornerXs[i], cornerXs[next]);
+                    this.xEdgeMaxX[xEdge] = Math.max(cornerXs[i], cornerXs[next]);
+                    this.xEdgeZ[xEdge++] = cornerZs[i];
+                }
+                else
+                {
+                    this.zEdgeX[zEdge] = cornerXs[i];
+                    this.zEdgeMinZ[zEdge] = Math.min(cornerZs[i], cornerZs[next]);
+                    this.zEdgeMaxZ[zEdge++] = Math.max(cornerZs[i], cornerZs[next]);
+                }
+            }
+
+            this.cornerXs = cornerXs;
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minZ = minZ;
+            this.maxZ = maxZ;
+        }
+
+        static @NotNull Outline of(@NotNull OrthogonalPolygon polygon)
+        {
+            List<OrthogonalPoint2i> corners = polygon.corners();
+            int[] xs = new int[corners.size()];
+            int[] zs = new int[corners.size()];
+            for (int i = 0; i < corners.size(); i++)
+            {
+                xs[i] = corners.get(i).x();
+                zs[i] = corners.get(i).z();
+            }
+            return new Outline(xs, zs, polygon.minX(), polygon.maxX(), polygon.minZ(), polygon.maxZ());
+        }
+
+        static @NotNull Outline rectangle(int minX, int minZ, int maxX, int maxZ)
+        {
+            return new Outline(
+                    new int[] { minX, maxX, maxX, minX },
+                    new int[] { minZ, minZ, maxZ, maxZ },
+                    minX, maxX, minZ, maxZ);
+        }
+
+        /**
+         * The column a hair right of {@code x}: Z ranges between pairs of X-running edges that
+         * cross it, which is also every column up to the next corner.
+         */
+        int[] columnRightOf(int x)
+        {
+            int[] crossings = new int[this.xEdgeZ.length];
+            int size = 0;
+            for (int i = 0; i < this.xEdgeZ.length; i++)
+            {
+                if (this.xEdgeMinX[i] <= x && x < this.xEdgeMaxX[i])
+                {
+                    crossings[size++] = this.xEdgeZ[i];
+                }
+            }
+            if (size == 0)
+            {
+                return NO_RANGES;
+            }
+
+            // Crossings alternate between entering and leaving the polygon.
+            Arrays.sort(crossings, 0, size);
+            return merge(Arrays.copyOf(crossings, size));
+        }
+
+        /**
+         * The cells in column {@code x}: the column right of it plus any outline lying on it.
+         */
+        int[] columnAt(int x)
+        {
+            int[] right = this.columnRightOf(x);
+            int[] ranges = Arrays.copyOf(right, right.length + 2 * (this.xEdgeZ.length + this.zEdgeX.length));
+            int size = right.length;
+            for (int i = 0; i < this.xEdgeZ.length; i++)
+            {
+                if (this.xEdgeMinX[i] <= x && x <= this.xEdgeMaxX[i])
+                {
+                    ranges[size++] = this.xEdgeZ[i];
+                    ranges[size++] = this.xEdgeZ[i];
+                }
+            }
+            for (int i = 0; i < this.zEdgeX.length; i++)
+            {
+                if (this.zEdgeX[i] == x)
+                {
+                    ranges[size++] = this.zEdgeMinZ[i];
+                    ranges[size++] = this.zEdgeMaxZ[i];
+                }
+            }
+            if (size == right.length)
+            {
+                return right;
+            }
+
+            return merge(sortRanges(ranges, size));
+        }
+
+        private static int[] sortRanges(int[] ranges, int size)
+        {
+            long[] packed = new long[size / 2];
+            for (int i = 0; i < packed.length; i++)
+            {
+                // Ranges sort by start; the end rides along in the low bits.
+                packed[i] = ((long) ranges[2 * i] << 32) | (ranges[2 * i + 1] & 0xFFFFFFFFL);
+            }
+            Arrays.sort(packed);
+            int[] sorted = new int[size];
+            for (int i = 0; i < packed.length; i++)
+            {
+                sorted[2 * i] = (int) (packed[i] >> 32);
+                sorted[2 * i + 1] = (int) packed[i];
+            }
+            return sorted;
+        }
+
+        /**
+         * Merge ranges sorted by start into disjoint ranges.
+         */
+        private static int[] merge(int[] ranges)
+        {
+            int size = 0;
+            for (int i = 0; i < ranges.length; i += 2)
+            {
+                if (size > 0 && ranges[i] <= ranges[size - 1])
+                {
+                    ranges[size - 1] = Math.max(ranges[size - 1], ranges[i + 1]);
+                }
+                else
+                {
+                    ranges[size++] = ranges[i];
+                    ranges[size++] = ranges[i + 1];
+                }
+            }
+            return size == ranges.length ? ranges : Arrays.copyOf(ranges, size);
+        }
+    }
+}
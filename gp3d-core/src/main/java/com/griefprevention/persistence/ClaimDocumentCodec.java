@@ -95,7 +95,18 @@ public final class ClaimDocumentCodec
         KNOWN_FIELDS = Collections.unmodifiableSet(fields);
     }
 
-    private final Yaml yaml;
+    private final LoaderOptions loaderOptions;
+    private final DumperOptions dumperOptions;
+    // SnakeYAML engines keep parser and emitter state, so each thread gets its own instead of
+    // sharing one behind a lock.
+    private final ThreadLocal<Yaml> yaml = new ThreadLocal<Yaml>()
+    {
+        @Override
+        protected Yaml initialValue()
+        {
+            return newYaml();
+        }
+    };
 
     public ClaimDocumentCodec()
     {
@@ -104,6 +115,7 @@ public final class ClaimDocumentCodec
         loaderOptions.setMaxAliasesForCollections(50);
         loaderOptions.setNestingDepthLimit(100);
         loaderOptions.setCodePointLimit(16 * 1024 * 1024);
+        this.loaderOptions = loaderOptions;
 
         DumperOptions dumperOptions = new DumperOptions();
         dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
@@ -114,19 +126,23 @@ public final class ClaimDocumentCodec
         dumperOptions.setPrettyFlow(false);
         dumperOptions.setSplitLines(false);
         dumperOptions.setWidth(4096);
+        this.dumperOptions = dumperOptions;
+    }
 
-        this.yaml = new Yaml(
-                new SafeConstructor(loaderOptions),
-                new Representer(dumperOptions),
-                dumperOptions,
-                loaderOptions
+    private @NotNull Yaml newYaml()
+    {
+        return new Yaml(
+                new SafeConstructor(this.loaderOptions),
+                new Representer(this.dumperOptions),
+                this.dumperOptions,
+                this.loaderOptions
         );
     }
 
     /**
      * Decode a root claim and all nested subdivisions into a flat document list.
      */
-    public synchronized @NotNull List<ClaimDocument> decodeTree(
+    public @NotNull List<ClaimDocument> decodeTree(
             @NotNull String input,
             @Nullable Long fallbackClaimId,
             long fallbackModifiedDate)
@@ -135,7 +151,7 @@ public final class ClaimDocumentCodec
         final Object loaded;
         try
         {
-            loaded = this.yaml.load(input);
+            loaded = this.yaml.get().load(input);
         }
         catch (YAMLException exception)
         {
@@ -152,7 +168,7 @@ public final class ClaimDocumentCodec
     /**
      * Encode one root claim and every supplied descendant into upstream's nested YAML shape.
      */
-    public synchronized @NotNull String encodeTree(
+    public @NotNull String encodeTree(
             @NotNull ClaimDocument root,
             @NotNull Collection<ClaimDocument> documents)
             throws ClaimDocumentFormatException
@@ -227,7 +243,8 @@ public final class ClaimDocumentCodec
         }
 
         Set<Long> encodedIds = new HashSet<>();
-        Map<String, Object> encoded = encodeSection(root, childrenByParent, new HashSet<Long>(), encodedIds);
+        ClaimYamlWriter writer = new ClaimYamlWriter();
+        writeSection(root, childrenByParent, new HashSet<Long>(), encodedIds, writer, 0);
         if (!encodedIds.equals(byId.keySet()))
         {
             Set<Long> unreachable = new LinkedHashSet<>(byId.keySet());
@@ -236,7 +253,7 @@ public final class ClaimDocumentCodec
                     "Claims " + unreachable + " are not descendants of root claim " + rootId + "."
             );
         }
-        return this.yaml.dump(encoded);
+        return writer.toString();
     }
 
     private void parseSection(
@@ -373,11 +390,13 @@ public final class ClaimDocumentCodec
         }
     }
 
-    private @NotNull Map<String, Object> encodeSection(
+    private void writeSection(
             @NotNull ClaimDocument document,
             @NotNull Map<Long, List<ClaimDocument>> childrenByParent,
             @NotNull Set<Long> ancestors,
-            @NotNull Set<Long> encodedIds)
+            @NotNull Set<Long> encodedIds,
+            @NotNull ClaimYamlWriter writer,
+            int indent)
             throws ClaimDocumentFormatException
     {
         ClaimSnapshot snapshot = document.snapshot();
@@ -392,29 +411,30 @@ public final class ClaimDocumentCodec
         }
 
         ClaimBounds bounds = snapshot.bounds();
-        Map<String, Object> section = new LinkedHashMap<>();
-        section.put(CLAIM_ID, String.valueOf(id));
-        section.put(LESSER_BOUNDARY, location(snapshot.worldKey(), bounds.minX(), bounds.minY(), bounds.minZ()));
-        section.put(GREATER_BOUNDARY, location(snapshot.worldKey(), bounds.maxX(), bounds.maxY(), bounds.maxZ()));
-        section.put(OWNER, snapshot.ownerId() == null ? "" : snapshot.ownerId().toString());
+        writer.stringField(indent, CLAIM_ID, String.valueOf(id));
+        writer.stringField(indent, LESSER_BOUNDARY,
+                location(snapshot.worldKey(), bounds.minX(), bounds.minY(), bounds.minZ()));
+        writer.stringField(indent, GREATER_BOUNDARY,
+                location(snapshot.worldKey(), bounds.maxX(), bounds.maxY(), bounds.maxZ()));
+        writer.stringField(indent, OWNER, snapshot.ownerId() == null ? "" : snapshot.ownerId().toString());
 
         TrustLists trustLists = trustLists(document.trust());
-        section.put(BUILDERS, trustLists.builders);
-        section.put(CONTAINERS, trustLists.containers);
-        section.put(ACCESSORS, trustLists.accessors);
-        section.put(MANAGERS, trustLists.managers);
-        section.put(NEIGHBORS, trustLists.neighbors);
+        writer.listField(indent, BUILDERS, trustLists.builders);
+        writer.listField(indent, CONTAINERS, trustLists.containers);
+        writer.listField(indent, ACCESSORS, trustLists.accessors);
+        writer.listField(indent, MANAGERS, trustLists.managers);
+        writer.listField(indent, NEIGHBORS, trustLists.neighbors);
         if (!trustLists.denied.isEmpty())
         {
-            section.put(DENIED, trustLists.denied);
+            writer.listField(indent, DENIED, trustLists.denied);
         }
-        section.put(PVP_TRUSTED, trustLists.pvpTrusted);
-        section.put(PVE_TRUSTED, trustLists.pveTrusted);
-        section.put(PARENT_ID, snapshot.parentId() == null ? Long.valueOf(-1L) : snapshot.parentId());
-        section.put(INHERIT_NOTHING, document.inheritNothing());
-        section.put(INHERIT_NOTHING_FOR_NEW, document.inheritNothingForNewSubdivisions());
-        section.put(ALLOW_ALL_NEIGHBORS, document.allowAllNeighbors());
-        section.put(IS_3D, snapshot.threeDimensional());
+        writer.listField(indent, PVP_TRUSTED, trustLists.pvpTrusted);
+        writer.listField(indent, PVE_TRUSTED, trustLists.pveTrusted);
+        writer.longField(indent, PARENT_ID, snapshot.parentId() == null ? -1L : snapshot.parentId());
+        writer.booleanField(indent, INHERIT_NOTHING, document.inheritNothing());
+        writer.booleanField(indent, INHERIT_NOTHING_FOR_NEW, document.inheritNothingForNewSubdivisions());
+        writer.booleanField(indent, ALLOW_ALL_NEIGHBORS, document.allowAllNeighbors());
+        writer.booleanField(indent, IS_3D, snapshot.threeDimensional());
         if (!document.shapeCorners().isEmpty())
         {
             List<String> encodedCorners = new ArrayList<>();
@@ -422,23 +442,33 @@ public final class ClaimDocumentCodec
             {
                 encodedCorners.add(corner.x() + "," + corner.z());
             }
-            section.put(SHAPE_CORNERS, encodedCorners);
+            writer.listField(indent, SHAPE_CORNERS, encodedCorners);
         }
-        section.put(EXPLOSIVES_ALLOWED, document.explosivesAllowed());
-        section.put(WITHER_EXPLOSIONS_ALLOWED, document.witherExplosionsAllowed());
-        section.put(PVP_ENABLED, document.pvpEnabled());
-        section.put(ALERTS_ENABLED, document.alertsEnabled());
-        section.put(MODIFIED_DATE, document.modifiedDate());
+        writer.booleanField(indent, EXPLOSIVES_ALLOWED, document.explosivesAllowed());
+        writer.booleanField(indent, WITHER_EXPLOSIONS_ALLOWED, document.witherExplosionsAllowed());
+        writer.booleanField(indent, PVP_ENABLED, document.pvpEnabled());
+        writer.booleanField(indent, ALERTS_ENABLED, document.alertsEnabled());
+        writer.longField(indent, MODIFIED_DATE, document.modifiedDate());
 
         for (Map.Entry<String, Object> extra : document.extraFields().entrySet())
         {
-            section.put(extra.getKey(), mutableValue(extra.getValue()));
+            // A known key would be written twice and make the file unreadable.
+            if (KNOWN_FIELDS.contains(extra.getKey()))
+            {
+                continue;
+            }
+
+            // Unknown fields can hold any YAML value, so they still go through SnakeYAML.
+            Map<String, Object> field = new LinkedHashMap<>();
+            field.put(extra.getKey(), mutableValue(extra.getValue()));
+            writer.block(indent, this.yaml.get().dump(field));
         }
 
         List<ClaimDocument> children = childrenByParent.get(id);
         if (children != null && !children.isEmpty())
         {
-            Map<String, Object> encodedChildren = new LinkedHashMap<>();
+            writer.mappingField(indent, CHILDREN);
+            Set<String> childKeys = new HashSet<>();
             for (ClaimDocument child : children)
             {
                 Long childId = requireId(child, "child claim");
@@ -447,19 +477,18 @@ public final class ClaimDocumentCodec
                 {
                     childKey = String.valueOf(childId);
                 }
-                if (encodedChildren.containsKey(childKey))
+                if (!childKeys.add(childKey))
                 {
                     throw new ClaimDocumentFormatException(
                             "Claim " + id + " has duplicate child storage key " + childKey + "."
                     );
                 }
-                encodedChildren.put(childKey, encodeSection(child, childrenByParent, ancestors, encodedIds));
+                writer.mappingField(indent + 2, childKey);
+                writeSection(child, childrenByParent, ancestors, encodedIds, writer, indent + 4);
             }
-            section.put(CHILDREN, encodedChildren);
         }
 
         ancestors.remove(id);
-        return section;
     }
 
     private static @NotNull ClaimTrustSnapshot trust(
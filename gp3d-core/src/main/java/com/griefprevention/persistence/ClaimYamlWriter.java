@@ -0,0 +1,273 @@
+package com.griefprevention.persistence;
+
+import org.jetbrains.annotations.NotNull;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Block-style YAML writer for the fixed claim-file schema.
+ *
+ * <p>Scalars follow SnakeYAML's block-context style rules, so for ordinary claim data the output is
+ * byte-identical to dumping the equivalent map with {@link ClaimDocumentCodec}'s dumper options.
+ * Strings containing line breaks or non-printable characters are always written double-quoted.
+ * So are strings containing a byte order mark (U+FEFF), as SnakeYAML 1.x did. SnakeYAML 2.x leaves
+ * one plain, which YAML does not allow, so those strings are the one case that differs.
+ */
+final class ClaimYamlWriter
+{
+    private static final Resolver RESOLVER = new Resolver();
+    // SnakeYAML quotes these so YAML 1.2 readers do not see an octal or decimal number.
+    private static final Pattern LEADING_ZERO = Pattern.compile("0[0-9_]+");
+    private static final int BYTE_ORDER_MARK = 0xFEFF;
+    private static final String INDENTS = "                                                                ";
+
+    private final StringBuilder output = new StringBuilder(1024);
+
+    void stringField(int indent, @NotNull String key, @NotNull String value)
+    {
+        key(indent, key);
+        this.output.append(' ');
+        scalar(value);
+        this.output.append('\n');
+    }
+
+    void longField(int indent, @NotNull String key, long value)
+    {
+        key(indent, key);
+        this.output.append(' ').append(value).append('\n');
+    }
+
+    void booleanField(int indent, @NotNull String key, boolean value)
+    {
+        key(indent, key);
+        this.output.append(' ').append(value).append('\n');
+    }
+
+    void listField(int indent, @NotNull String key, @NotNull List<String> values)
+    {
+        key(indent, key);
+        if (values.isEmpty())
+        {
+            this.output.append(" []\n");
+            return;
+        }
+
+        this.output.append('\n');
+        for (String value : values)
+        {
+            indent(indent);
+            this.output.append("- ");
+            scalar(value);
+            this.output.append('\n');
+        }
+    }
+
+    void mappingField(int indent, @NotNull String key)
+    {
+        key(indent, key);
+        this.output.append('\n');
+    }
+
+    /**
+     * Append a block that was dumped at the document root, shifted to the given indent.
+     */
+    void block(int indent, @NotNull String dumped)
+    {
+        int start = 0;
+        while (start < dumped.length())
+        {
+            int end = dumped.indexOf('\n', start);
+            if (end < 0)
+            {
+                end = dumped.length();
+            }
+            if (end > start)
+            {
+                indent(indent);
+                this.output.append(dumped, start, end);
+            }
+            this.output.append('\n');
+            start = end + 1;
+        }
+    }
+
+    @Override
+    public @NotNull String toString()
+    {
+        return this.output.toString();
+    }
+
+    private void key(int indent, @NotNull String key)
+    {
+        indent(indent);
+        scalar(key);
+        this.output.append(':');
+    }
+
+    private void indent(int indent)
+    {
+        int remaining = indent;
+        while (remaining > INDENTS.length())
+        {
+            this.output.append(INDENTS);
+            remaining -= INDENTS.length();
+        }
+        this.output.append(INDENTS, 0, remaining);
+    }
+
+    private void scalar(@NotNull String value)
+    {
+        switch (style(value))
+        {
+            case PLAIN:
+                this.output.append(value);
+                break;
+            case SINGLE_QUOTED:
+                singleQuoted(value);
+                break;
+            default:
+                doubleQuoted(value);
+                break;
+        }
+    }
+
+    private void singleQuoted(@NotNull String value)
+    {
+        this.output.append('\'');
+        for (int index = 0; index < value.length(); index++)
+        {
+            char character = value.charAt(index);
+            if (character == '\'')
+            {
+                this.output.append('\'');
+            }
+            this.output.append(character);
+        }
+        this.output.append('\'');
+    }
+
+    private void doubleQuoted(@NotNull String value)
+    {
+        this.output.append('"');
+        int index = 0;
+        while (index < value.length())
+        {
+            int codePoint = value.codePointAt(index);
+            index += Character.charCount(codePoint);
+            if (codePoint == '"' || codePoint == '\\')
+            {
+                this.output.append('\\').appendCodePoint(codePoint);
+            }
+            else if (codePoint == '\n')
+            {
+                this.output.append("\\n");
+            }
+            else if (codePoint == '\r')
+            {
+                this.output.append("\\r");
+            }
+            else if (codePoint == '\t')
+            {
+                this.output.append("\\t");
+            }
+            else if (!needsEscape(codePoint))
+            {
+                this.output.appendCodePoint(codePoint);
+            }
+            else if (codePoint <= 0xFFFF)
+            {
+                this.output.append(String.format("\\u%04X", codePoint));
+            }
+            else
+            {
+                this.output.append(String.format("\\U%08X", codePoint));
+            }
+        }
+        this.output.append('"');
+    }
+
+    static @NotNull Style style(@NotNull String value)
+    {
+        if (value.isEmpty())
+        {
+            return Style.SINGLE_QUOTED;
+        }
+
+        boolean plain = value.charAt(0) != ' '
+                && value.charAt(value.length() - 1) != ' '
+                && !value.startsWith("---")
+                && !value.startsWith("...")
+                && !LEADING_ZERO.matcher(value).matches();
+        int index = 0;
+        while (index < value.length())
+        {
+            int codePoint = value.codePointAt(index);
+            if (needsEscape(codePoint) || codePoint == BYTE_ORDER_MARK)
+            {
+                return Style.DOUBLE_QUOTED;
+            }
+
+            int next = index + Character.charCount(codePoint);
+            if (plain)
+            {
+                boolean followedBySpace = next >= value.length() || value.charAt(next) == ' ';
+                if (index == 0)
+                {
+                    if ("#,[]{}&*!|>'\"%@`".indexOf(codePoint) >= 0
+                            || ((codePoint == '?' || codePoint == ':' || codePoint == '-') && followedBySpace))
+                    {
+                        plain = false;
+                    }
+                }
+                else if ((codePoint == ':' && followedBySpace)
+                        || (codePoint == '#' && value.charAt(index - 1) == ' '))
+                {
+                    plain = false;
+                }
+            }
+            index = next;
+        }
+
+        if (plain && Tag.STR.equals(RESOLVER.resolve(NodeId.scalar, value, true)))
+        {
+            return Style.PLAIN;
+        }
+        return Style.SINGLE_QUOTED;
+    }
+
+    // Tabs and breaks are printable to SnakeYAML too, but its emitter never leaves them unescaped in a
+    // flow scalar: tabs get double quotes and breaks a literal block, which claim files write double-quoted.
+    private static boolean needsEscape(int codePoint)
+    {
+        return !isPrintable(codePoint) || codePoint == '\t' || isLineBreak(codePoint);
+    }
+
+    // Same set as SnakeYAML's StreamReader.isPrintable. U+FEFF is printable but not a plain-scalar
+    // character (YAML's nb-char excludes the byte order mark), so style() double-quotes it.
+    private static boolean isPrintable(int codePoint)
+    {
+        return codePoint == 0x9 || codePoint == 0xA || codePoint == 0xD
+                || (codePoint >= 0x20 && codePoint <= 0x7E)
+                || codePoint == 0x85
+                || (codePoint >= 0xA0 && codePoint <= 0xD7FF)
+                || (codePoint >= 0xE000 && codePoint <= 0xFFFD)
+                || (codePoint >= 0x10000 && codePoint <= 0x10FFFF);
+    }
+
+    private static boolean isLineBreak(int codePoint)
+    {
+        return codePoint == '\n' || codePoint == '\r'
+                || codePoint == 0x85 || codePoint == 0x2028 || codePoint == 0x2029;
+    }
+
+    enum Style
+    {
+        PLAIN,
+        SINGLE_QUOTED,
+        DOUBLE_QUOTED
+    }
+}
@@ -0,0 +1,764 @@
+package com.griefprevention.persistence;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Persistent, case-insensitive directory of player names and UUIDs.
+ *
+ * <p>Known players live in a sorted snapshot file that is memory-mapped rather than loaded, so the
+ * heap cost does not grow with the number of historical players. Logins recorded since the snapshot
+ * was written are appended to a journal and kept on the heap, where they shadow older snapshot
+ * entries. Once the journal is large enough, the next {@link #open(Path)} folds it into a new
+ * snapshot.
+ *
+ * <p>Lookups are lock-free. Recording only updates memory; {@link #flush()} appends the recorded
+ * names to the journal and is synchronized on the directory, so it can run off the thread that
+ * recorded them.
+ */
+@ApiStatus.Internal
+public final class PlayerNameDirectory implements Closeable
+{
+    static final String SNAPSHOT_FILE = "playerNames.dat";
+    static final String JOURNAL_FILE = "playerNames.journal";
+
+    private static final int MAGIC = 0x47504E44;
+    private static final int VERSION = 1;
+    private static final int SNAPSHOT_HEADER_BYTES = 16;
+    private static final int JOURNAL_HEADER_BYTES = 8;
+    // Most significant bits, least significant bits, last seen, name length.
+    private static final int RECORD_HEADER_BYTES = 26;
+    private static final int MAX_NAME_BYTES = 255;
+    private static final int MIN_COMPACTION_RECORDS = 1024;
+
+    // The newest holder of a name sorts first, so a lower-bound search lands on it.
+    private static final Comparator<Entry> SNAPSHOT_ORDER = Comparator.<Entry, String>comparing(entry -> entry.key)
+            .thenComparing(Comparator.<Entry>comparingLong(entry -> entry.lastSeen).reversed())
+            .thenComparing((first, second) -> compareIds(first.id, second.id));
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private volatile Snapshot snapshot;
+    private final ConcurrentSkipListMap<String, Entry> recentByName = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<UUID, Entry> recentById = new ConcurrentHashMap<>();
+    // Guards the pair of recent maps, apart from the journal lock held through disk writes.
+    private final Object recentLock = new Object();
+    private final ConcurrentLinkedQueue<Entry> unflushed = new ConcurrentLinkedQueue<>();
+    private @Nullable DataOutputStream journal;
+
+    private PlayerNameDirectory(@NotNull Path snapshotPath, @NotNull Path journalPath, @NotNull Snapshot snapshot)
+    {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = journalPath;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Open the directory stored in a folder, creating it if needed.
+     *
+     * @throws IOException if the files cannot be read or are corrupt
+     */
+    public static @NotNull PlayerNameDirectory open(@NotNull Path folder) throws IOException
+    {
+        Files.createDirectories(folder);
+        Path snapshotPath = folder.resolve(SNAPSHOT_FILE);
+        Path journalPath = folder.resolve(JOURNAL_FILE);
+
+        List<Entry> journaled = readJournal(journalPath);
+        if (!journaled.isEmpty() && Files.exists(snapshotPath))
+        {
+            int stored = Snapshot.recordCount(snapshotPath);
+            if (journaled.size() >= Math.max(MIN_COMPACTION_RECORDS, stored / 16) && compact(snapshotPath, journaled))
+            {
+                Files.deleteIfExists(journalPath);
+                journaled = Collections.emptyList();
+            }
+        }
+
+        PlayerNameDirectory directory = new PlayerNameDirectory(snapshotPath, journalPath, Snapshot.map(snapshotPath));
+        for (Entry entry : journaled)
+        {
+            directory.remember(entry);
+        }
+        directory.openJournal();
+        return directory;
+    }
+
+    /**
+     * Delete the directory stored in a folder, for example after {@link #open(Path)} reported it corrupt.
+     */
+    public static void discard(@NotNull Path folder) throws IOException
+    {
+        Files.deleteIfExists(folder.resolve(SNAPSHOT_FILE));
+        Files.deleteIfExists(folder.resolve(JOURNAL_FILE));
+    }
+
+    /**
+     * Whether the directory has never been populated, in which case callers may want to
+     * {@link #seed(Collection) seed} it from another source once.
+     */
+    public boolean needsSeed()
+    {
+        return !Files.exists(this.snapshotPath);
+    }
+
+    /**
+     * Write an initial snapshot. Logins recorded meanwhile stay in the journal and take precedence.
+     *
+     * @throws IllegalStateException if a snapshot already exists
+     */
+    public synchronized void seed(@NotNull Collection<Entry> entries) throws IOException
+    {
+        if (Files.exists(this.snapshotPath))
+        {
+            throw new IllegalStateException("Player name directory is already seeded.");
+        }
+
+        writeSnapshot(this.snapshotPath, merge(Collections.<Entry>emptyList(), entries));
+        this.snapshot = Snapshot.map(this.snapshotPath);
+    }
+
+    /**
+     * Record a player's current name. Lookups see it immediately; it reaches the journal on the
+     * next {@link #flush()} or {@link #close()}.
+     */
+    public void record(@NotNull UUID id, @NotNull String name, long lastSeen)
+    {
+        Entry entry = new Entry(id, name, lastSeen);
+        synchronized (this.recentLock)
+        {
+            remember(entry);
+        }
+        this.unflushed.add(entry);
+    }
+
+    /**
+     * Append names recorded since the last flush to the journal.
+     *
+     * @throws IOException if the journal cannot be written or the directory is closed
+     */
+    public synchronized void flush() throws IOException
+    {
+        DataOutputStream output = this.journal;
+        if (output == null)
+        {
+            throw new IOException("Player name directory is closed.");
+        }
+        writeUnflushed(output);
+    }
+
+    /**
+     * Find a player by name, ignoring case.
+     *
+     * @param seenSince ignore players last seen before this epoch millisecond
+     */
+    public @Nullable UUID findId(@NotNull String name, long seenSince)
+    {
+        String key = key(name);
+        Entry recent = this.recentByName.get(key);
+        if (recent != null)
+        {
+            return recent.lastSeen >= seenSince ? recent.id : null;
+        }
+
+        Entry stored = this.snapshot.findByKey(key);
+        if (stored == null || stored.lastSeen < seenSince || renamedSince(stored))
+        {
+            return null;
+        }
+        return stored.id;
+    }
+
+    /**
+     * Find the last known name of a player.
+     */
+    public @Nullable String findName(@NotNull UUID id)
+    {
+        Entry recent = this.recentById.get(id);
+        if (recent != null)
+        {
+            return recent.name;
+        }
+
+        Entry stored = this.snapshot.findById(id);
+        return stored == null ? null : stored.name;
+    }
+
+    /**
+     * Find up to {@code limit} known names starting with a prefix, ignoring case, in
+     * case-insensitive order.
+     */
+    public @NotNull List<String> namesStartingWith(@NotNull String prefix, int limit)
+    {
+        if (limit <= 0)
+        {
+            return Collections.emptyList();
+        }
+
+        String lowerPrefix = key(prefix);
+        TreeMap<String, String> matches = new TreeMap<>();
+        for (Entry recent : this.recentByName.tailMap(lowerPrefix).values())
+        {
+            if (!recent.key.startsWith(lowerPrefix) || matches.size() >= limit)
+            {
+                break;
+            }
+            matches.put(recent.key, recent.name);
+        }
+
+        Snapshot current = this.snapshot;
+        int added = 0;
+        for (int index = current.lowerBound(lowerPrefix); index < current.count && added < limit; index++)
+        {
+            Entry stored = current.entryAt(index);
+            if (!stored.key.startsWith(lowerPrefix))
+            {
+                break;
+            }
+            if (!matches.containsKey(stored.key) && !renamedSince(stored))
+            {
+                matches.put(stored.key, stored.name);
+                added++;
+            }
+        }
+
+        List<String> names = new ArrayList<>(Math.min(limit, matches.size()));
+        for (String name : matches.values())
+        {
+            if (names.size() >= limit)
+            {
+                break;
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        DataOutputStream output = this.journal;
+        this.journal = null;
+        if (output != null)
+        {
+            try
+            {
+                writeUnflushed(output);
+            }
+            finally
+            {
+                output.close();
+            }
+        }
+    }
+
+    private void writeUnflushed(@NotNull DataOutputStream output) throws IOException
+    {
+        Entry entry;
+        boolean wrote = false;
+        while ((entry = this.unflushed.poll()) != null)
+        {
+            writeRecord(output, entry);
+            wrote = true;
+        }
+        if (wrote)
+        {
+            output.flush();
+        }
+    }
+
+    private void remember(@NotNull Entry entry)
+    {
+        Entry previous = this.recentById.put(entry.id, entry);
+        if (previous != null && !previous.key.equals(entry.key))
+        {
+            this.recentByName.remove(previous.key, previous);
+        }
+        this.recentByName.put(entry.key, entry);
+    }
+
+    private boolean renamedSince(@NotNull Entry stored)
+    {
+        Entry recent = this.recentById.get(stored.id);
+        return recent != null && !recent.key.equals(stored.key);
+    }
+
+    private void openJournal() throws IOException
+    {
+        boolean fresh = !Files.exists(this.journalPath) || Files.size(this.journalPath) == 0L;
+        OutputStream stream = Files.newOutputStream(
+                this.journalPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND
+        );
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+        if (fresh)
+        {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.flush();
+        }
+        this.journal = output;
+    }
+
+    private static @NotNull List<Entry> readJournal(@NotNull Path journalPath) throws IOException
+    {
+        if (!Files.exists(journalPath))
+        {
+            return Collections.emptyList();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(journalPath));
+        if (buffer.remaining() == 0)
+        {
+            return Collections.emptyList();
+        }
+        if (buffer.remaining() < JOURNAL_HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+        {
+            throw new IOException("Unrecognized player name journal " + journalPath + ".");
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        int offset = JOURNAL_HEADER_BYTES;
+        while (offset < buffer.limit())
+        {
+            int length = recordLength(buffer, offset);
+            if (length < 0)
+            {
+                break;
+            }
+            entries.add(readRecord(buffer, offset));
+            offset += length;
+        }
+
+        if (offset < buffer.limit())
+        {
+            // A crash mid-append leaves a partial record; drop it so new records follow a clean tail.
+            try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE))
+            {
+                channel.truncate(offset);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Fold journaled records into the snapshot.
+     *
+     * @return false if the snapshot could not be replaced, for example because another handle in
+     *     this process still maps it; the journal is then simply replayed again
+     */
+    private static boolean compact(@NotNull Path snapshotPath, @NotNull List<Entry> journaled) throws IOException
+    {
+        // Read the old snapshot without mapping it so that this method never holds a mapping itself.
+        Snapshot previous = Snapshot.wrap(ByteBuffer.wrap(Files.readAllBytes(snapshotPath)));
+        try
+        {
+            writeSnapshot(snapshotPath, merge(previous.entries(), journaled));
+            return true;
+        }
+        catch (IOException exception)
+        {
+            return false;
+        }
+    }
+
+    private static @NotNull Collection<Entry> merge(
+            @NotNull Collection<Entry> stored,
+            @NotNull Collection<Entry> newer)
+    {
+        Map<UUID, Entry> byId = new HashMap<>(stored.size() + newer.size());
+        for (Entry entry : stored)
+        {
+            byId.put(entry.id, entry);
+        }
+        for (Entry entry : newer)
+        {
+            Entry existing = byId.get(entry.id);
+            if (existing == null || entry.lastSeen >= existing.lastSeen)
+            {
+                byId.put(entry.id, entry);
+            }
+        }
+        return byId.values();
+    }
+
+    private static void writeSnapshot(@NotNull Path target, @NotNull Collection<Entry> entries) throws IOException
+    {
+        Entry[] sorted = entries.toArray(new Entry[0]);
+        Arrays.sort(sorted, SNAPSHOT_ORDER);
+
+        int count = sorted.length;
+        byte[][] names = new byte[count][];
+        int[] offsets = new int[count];
+        long offset = SNAPSHOT_HEADER_BYTES + 8L * count;
+        for (int index = 0; index < count; index++)
+        {
+            names[index] = nameBytes(sorted[index].name);
+            offsets[index] = (int) offset;
+            offset += RECORD_HEADER_BYTES + names[index].length;
+            if (offset > Integer.MAX_VALUE)
+            {
+                throw new IOException("Player name directory is too large.");
+            }
+        }
+
+        Integer[] byId = new Integer[count];
+        for (int index = 0; index < count; index++)
+        {
+            byId[index] = index;
+        }
+        Arrays.sort(byId, (first, second) -> compareIds(sorted[first].id, sorted[second].id));
+
+        Path parent = target.getParent();
+        Path temporary = Files.createTempFile(parent, "." + target.getFileName(), ".tmp");
+        try
+        {
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16)))
+            {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(count);
+                output.writeInt(0);
+                for (int index = 0; index < count; index++)
+                {
+                    output.writeInt(offsets[index]);
+                }
+                for (int index = 0; index < count; index++)
+                {
+                    output.writeInt(offsets[byId[index]]);
+                }
+                for (int index = 0; index < count; index++)
+                {
+                    writeRecord(output, sorted[index], names[index]);
+                }
+            }
+
+            try
+            {
+                Files.move(
+                        temporary,
+                        target,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING
+                );
+            }
+            catch (AtomicMoveNotSupportedException exception)
+            {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeRecord(@NotNull DataOutputStream output, @NotNull Entry entry) throws IOException
+    {
+        writeRecord(output, entry, nameBytes(entry.name));
+    }
+
+    private static void writeRecord(@NotNull DataOutputStream output, @NotNull Entry entry, byte[] name)
+            throws IOException
+    {
+        output.writeLong(entry.id.getMostSignificantBits());
+        output.writeLong(entry.id.getLeastSignificantBits());
+        output.writeLong(entry.lastSeen);
+        output.writeShort(name.length);
+        output.write(name);
+    }
+
+    /**
+     * @return the record's length in bytes, or -1 if it does not fit in the buffer
+     */
+    private static int recordLength(@NotNull ByteBuffer buffer, int offset)
+    {
+        if (offset < 0 || offset > buffer.limit() - RECORD_HEADER_BYTES)
+        {
+            return -1;
+        }
+        int nameLength = buffer.getShort(offset + 24) & 0xFFFF;
+        if (nameLength == 0 || nameLength > MAX_NAME_BYTES || nameLength > buffer.limit() - offset - RECORD_HEADER_BYTES)
+        {
+            return -1;
+        }
+        return RECORD_HEADER_BYTES + nameLength;
+    }
+
+    private static @NotNull Entry readRecord(@NotNull ByteBuffer buffer, int offset)
+    {
+        UUID id = new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+        long lastSeen = buffer.getLong(offset + 16);
+        return new Entry(id, readName(buffer, offset), lastSeen);
+    }
+
+    private static @NotNull String readName(@NotNull ByteBuffer buffer, int offset)
+    {
+        int nameLength = buffer.getShort(offset + 24) & 0xFFFF;
+        byte[] name = new byte[nameLength];
+        for (int index = 0; index < nameLength; index++)
+        {
+            name[index] = buffer.get(offset + RECORD_HEADER_BYTES + index);
+        }
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] nameBytes(@NotNull String name) throws IOException
+    {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || bytes.length > MAX_NAME_BYTES)
+        {
+            throw new IOException("Player name \"" + name + "\" cannot be stored.");
+        }
+        return bytes;
+    }
+
+    private static @NotNull String key(@NotNull String name)
+    {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static int compareIds(@NotNull UUID first, @NotNull UUID second)
+    {
+        int byMost = Long.compare(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return byMost != 0 ? byMost : Long.compare(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+
+    /** A player's name as of the last time they were seen. */
+    public static final class Entry
+    {
+        private final UUID id;
+        private final String name;
+        private final String key;
+        private final long lastSeen;
+
+        public Entry(@NotNull UUID id, @NotNull String name, long lastSeen)
+        {
+            this.id = id;
+            this.name = name;
+            this.key = key(name);
+            this.lastSeen = lastSeen;
+        }
+
+        public @NotNull UUID id()
+        {
+            return this.id;
+        }
+
+        public @NotNull String name()
+        {
+            return this.name;
+        }
+
+        public long lastSeen()
+        {
+            return this.lastSeen;
+        }
+    }
+
+    /**
+     * Read-only view of a snapshot file: a header, offsets of records in name order, offsets of
+     * records in UUID order, then the records themselves in name order.
+     */
+    private static final class Snapshot
+    {
+        private static final Snapshot EMPTY = new Snapshot(ByteBuffer.allocate(0), 0);
+
+        private final ByteBuffer buffer;
+        private final int count;
+
+        private Snapshot(@NotNull ByteBuffer buffer, int count)
+        {
+            this.buffer = buffer;
+            this.count = count;
+        }
+
+        private static int recordCount(@NotNull Path path) throws IOException
+        {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+            {
+                ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_BYTES);
+                while (header.hasRemaining() && channel.read(header) >= 0)
+                {
+                    // keep reading until the header is complete or the file ends
+                }
+                return header.hasRemaining() ? 0 : header.getInt(8);
+            }
+        }
+
+        private static @NotNull Snapshot map(@NotNull Path path) throws IOException
+        {
+            if (!Files.exists(path))
+            {
+                return EMPTY;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+            {
+                if (channel.size() > Integer.MAX_VALUE)
+                {
+                    throw new IOException("Player name directory " + path + " is too large.");
+                }
+                return wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size()));
+            }
+        }
+
+        private static @NotNull Snapshot wrap(@NotNull ByteBuffer buffer) throws IOException
+        {
+            if (buffer.limit() < SNAPSHOT_HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+            {
+                throw new IOException("Unrecognized player name directory.");
+            }
+            int count = buffer.getInt(8);
+            long recordsStart = SNAPSHOT_HEADER_BYTES + 8L * count;
+            if (count < 0 || recordsStart > buffer.limit())
+            {
+                throw new IOException("Player name directory is truncated.");
+            }
+
+            // Records are contiguous in name order, so walking them validates the name table too.
+            Snapshot snapshot = new Snapshot(buffer, count);
+            int offset = (int) recordsStart;
+            for (int index = 0; index < count; index++)
+            {
+                int length = recordLength(buffer, offset);
+                if (length < 0 || snapshot.nameOffset(index) != offset)
+                {
+                    throw new IOException("Player name directory is corrupt at record " + index + ".");
+                }
+                int idOffset = snapshot.idOffset(index);
+                if (idOffset < recordsStart || recordLength(buffer, idOffset) < 0)
+                {
+                    throw new IOException("Player name directory is corrupt at UUID entry " + index + ".");
+                }
+                offset += length;
+            }
+            if (offset != buffer.limit())
+            {
+                throw new IOException("Player name directory has trailing data.");
+            }
+            return snapshot;
+        }
+
+        private int nameOffset(int index)
+        {
+            return this.buffer.getInt(SNAPSHOT_HEADER_BYTES + 4 * index);
+        }
+
+        private int idOffset(int index)
+        {
+            return this.buffer.getInt(SNAPSHOT_HEADER_BYTES + 4 * (this.count + index));
+        }
+
+        private @NotNull Entry entryAt(int index)
+        {
+            return readRecord(this.buffer, nameOffset(index));
+        }
+
+        private @NotNull String keyAt(int index)
+        {
+            return key(readName(this.buffer, nameOffset(index)));
+        }
+
+        private int lowerBound(@NotNull String key)
+        {
+            int low = 0;
+            int high = this.count;
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if (keyAt(middle).compareTo(key) < 0)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private @Nullable Entry findByKey(@NotNull String key)
+        {
+            int index = lowerBound(key);
+            if (index >= this.count)
+            {
+                return null;
+            }
+            Entry entry = entryAt(index);
+            return entry.key.equals(key) ? entry : null;
+        }
+
+        private @Nullable Entry findById(@NotNull UUID id)
+        {
+            long most = id.getMostSignificantBits();
+            long least = id.getLeastSignificantBits();
+            int low = 0;
+            int high = this.count - 1;
+            while (low <= high)
+            {
+                int middle = (low + high) >>> 1;
+                int offset = idOffset(middle);
+                int comparison = Long.compare(this.buffer.getLong(offset), most);
+                if (comparison == 0)
+                {
+                    comparison = Long.compare(this.buffer.getLong(offset + 8), least);
+                }
+                if (comparison < 0)
+                {
+                    low = middle + 1;
+                }
+                else if (comparison > 0)
+                {
+                    high = middle - 1;
+                }
+                else
+                {
+                    return readRecord(this.buffer, offset);
+                }
+            }
+            return null;
+        }
+
+        private @NotNull List<Entry> entries()
+        {
+            List<Entry> entries = new ArrayList<>(this.count);
+            for (int index = 0; index < this.count; index++)
+            {
+                entries.add(entryAt(index));
+            }
+            return entries;
+        }
+    }
+}
@@ -858,6 +858,18 @@ public enum Alias {
 "        player:" + "\n" +
 "          type: player" + "\n" +
 "" + "\n" +
+"    integrity:" + "\n" +
+"      enable: true" + "\n" +
+"      commands: [integrity]" + "\n" +
+"      standalone: []" + "\n" +
+"      usage: \"/aclaim integrity [repair]\"" + "\n" +
+"      description: Scan claims for integrity issues and write a report." + "\n" +
+"      permission: griefprevention.integrity" + "\n" +
+"      arguments:" + "\n" +
+"        action:" + "\n" +
+"          options:" + "\n" +
+"            repair: [repair]" + "\n" +
+"" + "\n" +
 "    blocks:" + "\n" +
 "      enable: true" + "\n" +
 "      commands: [blocks]" + "\n" +
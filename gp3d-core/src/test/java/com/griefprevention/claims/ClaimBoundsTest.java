@@ -88,6 +88,45 @@ class ClaimBoundsTest {
         assertFalse(shaped.containsColumn(3, 4));
     }
 
+    @Test
+    void shapedOverlapMatchesColumnScan() {
+        ClaimBounds shaped = ClaimBounds.shaped(uShape(), 0, 255);
+        ClaimBounds otherShape = ClaimBounds.shaped(lShape(), 0, 255);
+        for (int minX = -2; minX <= 6; minX++) {
+            for (int minZ = -2; minZ <= 6; minZ++) {
+                for (int size = 0; size <= 3; size++) {
+                    ClaimBounds box = ClaimBounds.rectangle(minX, 10, minZ, minX + size, 20, minZ + size);
+                    assertEquals(sharesColumn(shaped, box), shaped.overlaps(box, false));
+                    assertEquals(sharesColumn(shaped, box), box.overlaps(shaped, false));
+                }
+
+                OrthogonalPolygon moved = OrthogonalPolygon.fromClosedPath(Arrays.asList(
+                    new OrthogonalPoint2i(minX, minZ),
+                    new OrthogonalPoint2i(minX + 4, minZ),
+                    new OrthogonalPoint2i(minX + 4, minZ + 1),
+                    new OrthogonalPoint2i(minX + 1, minZ + 1),
+                    new OrthogonalPoint2i(minX + 1, minZ + 4),
+                    new OrthogonalPoint2i(minX, minZ + 4),
+                    new OrthogonalPoint2i(minX, minZ)
+                ));
+                ClaimBounds movedShape = ClaimBounds.shaped(moved, 0, 255);
+                assertEquals(sharesColumn(shaped, movedShape), shaped.overlaps(movedShape, true));
+            }
+        }
+        assertTrue(shaped.overlaps(otherShape, true));
+    }
+
+    private static boolean sharesColumn(ClaimBounds first, ClaimBounds second) {
+        for (int x = first.minX(); x <= first.maxX(); x++) {
+            for (int z = first.minZ(); z <= first.maxZ(); z++) {
+                if (first.containsColumn(x, z) && second.containsColumn(x, z)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private static OrthogonalPolygon lShape() {
         return OrthogonalPolygon.fromClosedPath(
             Arrays.asList(
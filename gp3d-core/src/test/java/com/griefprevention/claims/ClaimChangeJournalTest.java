@@ -0,0 +1,111 @@
+package com.griefprevention.claims;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ClaimChangeJournalTest {
+
+    @Test
+    void returnsOnlyTheChangesAfterASequence() {
+        ClaimChangeJournal journal = new ClaimChangeJournal(100);
+        ClaimTrustSnapshot trust = new ClaimTrustSnapshot(
+            null,
+            Collections.singletonMap("public", ClaimTrustLevel.ACCESS),
+            Collections.emptySet(),
+            Collections.emptySet()
+        );
+
+        journal.record(claim(1L, 0));
+        long afterCreate = journal.lastSequence();
+        journal.record(claim(1L, 5));
+        journal.recordTrust(1L, trust);
+        journal.recordDeleted(1L);
+
+        ClaimChangeSet all = journal.changesSince(0);
+        assertFalse(all.reset());
+        assertEquals(
+            Arrays.asList(ClaimChangeType.CREATED, ClaimChangeType.MODIFIED, ClaimChangeType.TRUST_CHANGED,
+                ClaimChangeType.DELETED),
+            types(all.changes())
+        );
+        assertEquals(4L, all.lastSequence());
+
+        ClaimChangeSet missed = journal.changesSince(afterCreate);
+        assertEquals(3, missed.changes().size());
+        assertEquals(afterCreate + 1, missed.changes().get(0).sequence());
+        assertSame(trust, missed.changes().get(1).trust());
+
+        assertTrue(journal.changesSince(journal.lastSequence()).changes().isEmpty());
+    }
+
+    @Test
+    void unchangedStateIsNotRecorded() {
+        ClaimChangeJournal journal = new ClaimChangeJournal(100);
+
+        journal.record(claim(1L, 0));
+        journal.recordTrust(1L, ClaimTrustSnapshot.empty(null));
+
+        assertNull(journal.record(claim(1L, 0)));
+        assertNull(journal.recordTrust(1L, ClaimTrustSnapshot.empty(null)));
+        assertNull(journal.recordDeleted(2L));
+        assertNull(journal.recordTrust(2L, ClaimTrustSnapshot.empty(null)));
+
+        assertEquals(2L, journal.lastSequence());
+    }
+
+    @Test
+    void consumersBehindACheckpointResetFromIt() {
+        ClaimChangeJournal journal = new ClaimChangeJournal(2);
+
+        journal.record(claim(1L, 0));
+        journal.record(claim(2L, 100));
+        journal.record(claim(3L, 200));
+        journal.recordDeleted(1L);
+
+        ClaimChangeSet behind = journal.changesSince(1);
+        assertTrue(behind.reset());
+        assertEquals(
+            Arrays.asList(1L, 2L, 3L),
+            behind.claims().stream().map(ClaimSnapshot::id).sorted().collect(Collectors.toList())
+        );
+        assertEquals(Collections.singletonList(ClaimChangeType.DELETED), types(behind.changes()));
+        assertEquals(4L, behind.lastSequence());
+
+        ClaimChangeSet current = journal.changesSince(3);
+        assertFalse(current.reset());
+        assertEquals(1, current.changes().size());
+    }
+
+    @Test
+    void replacedJournalResetsOldConsumers() {
+        ClaimChangeJournal journal = new ClaimChangeJournal(100, 1_000L);
+        journal.reset(Arrays.asList(claim(1L, 0), claim(2L, 100)));
+
+        ClaimChangeSet stale = journal.changesSince(5);
+        assertTrue(stale.reset());
+        assertEquals(2, stale.claims().size());
+        assertEquals(1_001L, stale.lastSequence());
+
+        journal.record(claim(3L, 200));
+        ClaimChangeSet next = journal.changesSince(stale.lastSequence());
+        assertFalse(next.reset());
+        assertEquals(Collections.singletonList(ClaimChangeType.CREATED), types(next.changes()));
+    }
+
+    private static List<ClaimChangeType> types(List<ClaimChange> changes) {
+        return changes.stream().map(ClaimChange::type).collect(Collectors.toList());
+    }
+
+    private static ClaimSnapshot claim(long id, int minX) {
+        return new ClaimSnapshot(id, "world", null, null, ClaimBounds.rectangle(minX, 0, 0, minX + 9, 255, 9), false, false);
+    }
+}
@@ -0,0 +1,119 @@
+package com.griefprevention.claims;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongBinaryOperator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ClaimIntegrityScannerTest {
+
+    private static final LongBinaryOperator CHUNK_KEY = (x, z) -> (x << 32) ^ (z & 0xFFFFFFFFL);
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ClaimIntegrityScanner scanner = new ClaimIntegrityScanner(this.pool);
+
+    @AfterEach
+    void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Test
+    void cleanDatasetHasNoIssues() {
+        ClaimSnapshot parent = claim(1L, null, false, ClaimBounds.rectangle(0, 0, 0, 40, 255, 40));
+        ClaimSnapshot child = claim(2L, 1L, true, ClaimBounds.rectangle(5, 0, 5, 10, 255, 10));
+        ClaimSnapshot neighbor = claim(3L, null, false, ClaimBounds.rectangle(50, 0, 0, 60, 255, 10));
+
+        assertTrue(this.scanner.scan(Arrays.asList(parent, child, neighbor)).isEmpty());
+    }
+
+    @Test
+    void reportsOverlapsOncePerPair() {
+        ClaimSnapshot first = claim(1L, null, false, ClaimBounds.rectangle(0, 0, 0, 20, 255, 20));
+        ClaimSnapshot second = claim(2L, null, false, ClaimBounds.rectangle(10, 0, 10, 30, 255, 30));
+
+        List<ClaimIntegrityIssue> issues = this.scanner.scan(Arrays.asList(first, second));
+
+        assertEquals(1, issues.size());
+        assertEquals(ClaimIntegrityIssueType.OVERLAPPING_CLAIMS, issues.get(0).type());
+        assertEquals(Long.valueOf(1L), issues.get(0).claimId());
+        assertEquals(Long.valueOf(2L), issues.get(0).otherClaimId());
+    }
+
+    @Test
+    void reportsStructuralProblems() {
+        ClaimSnapshot parent = claim(1L, null, false, ClaimBounds.rectangle(0, 0, 0, 20, 255, 20));
+        ClaimSnapshot outside = claim(2L, 1L, true, ClaimBounds.rectangle(15, 0, 15, 25, 255, 25));
+        ClaimSnapshot orphan = claim(3L, 99L, true, ClaimBounds.rectangle(100, 0, 100, 110, 255, 110));
+        ClaimSnapshot duplicate = claim(1L, null, false, ClaimBounds.rectangle(500, 0, 500, 510, 255, 510));
+
+        List<ClaimIntegrityIssue> issues = this.scanner.scan(Arrays.asList(parent, outside, orphan, duplicate));
+
+        assertEquals(
+            Arrays.asList(
+                ClaimIntegrityIssueType.DUPLICATE_ID,
+                ClaimIntegrityIssueType.MISSING_PARENT,
+                ClaimIntegrityIssueType.OUTSIDE_PARENT
+            ),
+            types(issues)
+        );
+    }
+
+    @Test
+    void comparesTheChunkCacheWithClaimBounds() {
+        ClaimSnapshot claim = claim(1L, null, false, ClaimBounds.rectangle(0, 0, 0, 20, 255, 5));
+        ClaimSnapshot subdivision = claim(2L, 1L, true, ClaimBounds.rectangle(2, 0, 2, 4, 255, 4));
+        Map<Long, Collection<Long>> cache = new HashMap<>();
+        cache.put(CHUNK_KEY.applyAsLong(0, 0), new ArrayList<>(Arrays.asList(1L, 2L)));
+        cache.put(CHUNK_KEY.applyAsLong(5, 5), Collections.singletonList(1L));
+        cache.put(CHUNK_KEY.applyAsLong(7, 7), Collections.singletonList(42L));
+
+        List<ClaimIntegrityIssue> issues = this.scanner.scan(Arrays.asList(claim, subdivision), cache, CHUNK_KEY);
+
+        assertEquals(
+            Arrays.asList(
+                ClaimIntegrityIssueType.MISSING_CHUNK_ENTRY,
+                ClaimIntegrityIssueType.DANGLING_CHUNK_ENTRY,
+                ClaimIntegrityIssueType.DANGLING_CHUNK_ENTRY,
+                ClaimIntegrityIssueType.DANGLING_CHUNK_ENTRY
+            ),
+            types(issues)
+        );
+        assertEquals(Long.valueOf(1L), issues.get(0).claimId());
+        assertEquals(Long.valueOf(CHUNK_KEY.applyAsLong(5, 5)), issues.get(1).chunkKey());
+        assertEquals(Long.valueOf(2L), issues.get(2).claimId());
+        assertEquals(Long.valueOf(42L), issues.get(3).claimId());
+    }
+
+    @Test
+    void yamlReportListsEveryIssue() {
+        ClaimSnapshot orphan = claim(3L, 99L, true, ClaimBounds.rectangle(0, 0, 0, 5, 255, 5));
+
+        String yaml = ClaimIntegrityScanner.toYaml(this.scanner.scan(Collections.singletonList(orphan)));
+
+        assertTrue(yaml.startsWith("issue-count: 1\n"), yaml);
+        assertTrue(yaml.contains("type: MISSING_PARENT"), yaml);
+        assertTrue(yaml.contains("other-claim: 99"), yaml);
+    }
+
+    private static List<ClaimIntegrityIssueType> types(List<ClaimIntegrityIssue> issues) {
+        List<ClaimIntegrityIssueType> types = new ArrayList<>();
+        for (ClaimIntegrityIssue issue : issues) {
+            types.add(issue.type());
+        }
+        return types;
+    }
+
+    private static ClaimSnapshot claim(long id, Long parentId, boolean subdivision, ClaimBounds bounds) {
+        return new ClaimSnapshot(id, "world", null, parentId, bounds, false, subdivision);
+    }
+}
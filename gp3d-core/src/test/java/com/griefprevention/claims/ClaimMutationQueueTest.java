@@ -0,0 +1,297 @@
+package com.griefprevention.claims;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ClaimMutationQueueTest {
+
+    private static final int CLAIMS = 16;
+    private static final int SPACING = 100_000;
+
+    private final ExecutorService writerPool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        this.writerPool.shutdownNow();
+    }
+
+    @Test
+    void appliesMutationsInSubmissionOrder() {
+        ClaimMutationQueue queue = new ClaimMutationQueue(this.writerPool);
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            futures.add(queue.submit(() -> {
+                applied.add(value);
+                return value;
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, applied.get(i).intValue());
+        }
+    }
+
+    @Test
+    void staleVersionIsRejected() {
+        ClaimMutationQueue queue = new ClaimMutationQueue(this.writerPool);
+        long seen = queue.version(7L);
+        queue.touch(7L);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        CompletionException failure = null;
+        try {
+            queue.submit(7L, seen, () -> ran.getAndSet(true)).join();
+        } catch (CompletionException e) {
+            failure = e;
+        }
+
+        assertTrue(failure != null && failure.getCause() instanceof ClaimMutationConflictException);
+        assertFalse(ran.get());
+        assertEquals(1L, queue.version(7L));
+    }
+
+    @Test
+    void appliedMutationBumpsVersionAndFailureKeepsQueueRunning() {
+        ClaimMutationQueue queue = new ClaimMutationQueue(this.writerPool);
+
+        CompletableFuture<Object> failed = queue.submit(3L, 0L, () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Long> next = queue.submit(3L, 1L, () -> 3L);
+
+        assertTrue(failed.handle((result, error) -> error instanceof IllegalStateException).join());
+        assertEquals(3L, next.join().longValue());
+        assertEquals(2L, queue.version(3L));
+    }
+
+    @Test
+    void writerThreadIsVisibleOnlyWhileApplying() {
+        ClaimMutationQueue queue = new ClaimMutationQueue(this.writerPool);
+
+        assertTrue(queue.submit(queue::isWriterThread).join());
+        assertFalse(queue.isWriterThread());
+    }
+
+    @Test
+    void writingIsVisibleFromOtherThreads() throws Exception {
+        ClaimMutationQueue queue = new ClaimMutationQueue(this.writerPool);
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertFalse(queue.isWriting());
+        CompletableFuture<Void> held = queue.submit(() -> {
+            applying.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertTrue(applying.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.isWriting());
+        assertFalse(queue.isWriterThread());
+
+        release.countDown();
+        held.get(5, TimeUnit.SECONDS);
+        // the drain completes the future before it lets go, so wait for it by becoming the writer once
+        queue.run(() -> {});
+        assertFalse(queue.isWriting());
+    }
+
+    @Test
+    void callRunsOnTheCallerWhileQueuedMutationsWaitForTheExecutor() {
+        List<Runnable> drains = new ArrayList<>();
+        ClaimMutationQueue queue = new ClaimMutationQueue(drains::add);
+        List<String> applied = new ArrayList<>();
+
+        CompletableFuture<Boolean> queued = queue.submit(() -> applied.add("queued"));
+        queue.run(() -> applied.add("call"));
+
+        assertEquals(Collections.singletonList("call"), applied);
+        assertFalse(queued.isDone());
+
+        drains.forEach(Runnable::run);
+        assertEquals(Arrays.asList("call", "queued"), applied);
+        assertTrue(queued.isDone());
+    }
+
+    @Test
+    void nestedCallRunsAsTheSameWriter() {
+        ClaimMutationQueue queue = new ClaimMutationQueue(this.writerPool);
+
+        assertTrue(queue.call(() -> queue.isWriterThread() && queue.call(queue::isWriterThread)));
+        assertFalse(queue.isWriterThread());
+    }
+
+    @Test
+    void callersAndQueuedMutationsNeverOverlap() throws InterruptedException {
+        ClaimMutationQueue queue = new ClaimMutationQueue(this.writerPool);
+        AtomicInteger activeWriters = new AtomicInteger();
+        AtomicBoolean overlappingWriters = new AtomicBoolean();
+        AtomicInteger applied = new AtomicInteger();
+        int threads = 8;
+        int mutationsPerThread = 500;
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Object>> submitted = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch done = new CountDownLatch(threads);
+            for (int t = 0; t < threads; t++) {
+                boolean synchronous = t % 2 == 0;
+                callers.execute(() -> {
+                    for (int i = 0; i < mutationsPerThread; i++) {
+                        Supplier<Object> mutation = () -> {
+                            if (activeWriters.incrementAndGet() > 1) overlappingWriters.set(true);
+                            applied.incrementAndGet();
+                            activeWriters.decrementAndGet();
+                            return null;
+                        };
+                        if (synchronous) {
+                            queue.call(mutation);
+                        } else {
+                            submitted.add(queue.submit(mutation));
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+            synchronized (submitted) {
+                submitted.forEach(CompletableFuture::join);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertFalse(overlappingWriters.get());
+        assertEquals(threads * mutationsPerThread, applied.get());
+    }
+
+    @Test
+    void stressConcurrentLookupsAndMutations() throws InterruptedException {
+        ClaimSnapshotIndex index = new ClaimSnapshotIndex();
+        List<ClaimSnapshot> initial = new ArrayList<>();
+        for (int id = 1; id <= CLAIMS; id++) {
+            initial.add(claim(id, id * SPACING));
+        }
+        index.rebuild(initial);
+
+        ClaimMutationQueue queue = new ClaimMutationQueue(this.writerPool);
+        AtomicIntegerArray moves = new AtomicIntegerArray(CLAIMS + 1);
+        AtomicInteger activeWriters = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicBoolean overlappingWriters = new AtomicBoolean();
+        AtomicBoolean readersDone = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int mutators = 8;
+        int readers = 8;
+        int movesPerMutator = 300;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch mutatorsDone = new CountDownLatch(mutators);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < mutators; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < movesPerMutator; i++) {
+                        long id = 1 + random.nextInt(CLAIMS);
+                        while (true) {
+                            // plan the move from a lock-free read, then apply it only if nothing moved the claim since
+                            long version = queue.version(id);
+                            ClaimSnapshot planned = index.get(id);
+                            ClaimSnapshot moved = claim(id, planned.bounds().minX() + 1);
+                            try {
+                                queue.submit(id, version, () -> {
+                                    if (activeWriters.incrementAndGet() > 1) overlappingWriters.set(true);
+                                    index.put(moved);
+                                    moves.incrementAndGet((int) id);
+                                    activeWriters.decrementAndGet();
+                                    return null;
+                                }).join();
+                                break;
+                            } catch (CompletionException e) {
+                                if (!(e.getCause() instanceof ClaimMutationConflictException)) throw e;
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    mutatorsDone.countDown();
+                }
+            }));
+        }
+
+        for (int t = 0; t < readers; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (!readersDone.get()) {
+                        int id = 1 + random.nextInt(CLAIMS);
+                        int x = id * SPACING + random.nextInt(movesPerMutator * mutators + 10);
+                        int z = random.nextInt(10);
+                        ClaimSnapshot found = index.findAt("world", x, 64, z, true, false);
+                        if (found != null && !found.contains("world", x, 64, z, true)) {
+                            throw new AssertionError("Lookup returned claim " + found.id() + " not containing " + x);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        assertTrue(mutatorsDone.await(60, TimeUnit.SECONDS));
+        readersDone.set(true);
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertNull(failure.get());
+        assertFalse(overlappingWriters.get());
+        int total = 0;
+        for (int id = 1; id <= CLAIMS; id++) {
+            // a lost update would leave the claim behind its applied move count
+            assertEquals(id * SPACING + moves.get(id), index.get(id).bounds().minX());
+            assertEquals(moves.get(id), queue.version(id));
+            total += moves.get(id);
+        }
+        assertEquals(mutators * movesPerMutator, total);
+    }
+
+    private static ClaimSnapshot claim(long id, int minX) {
+        return new ClaimSnapshot(id, "world", null, null, ClaimBounds.rectangle(minX, 0, 0, minX + 9, 255, 9), false, false);
+    }
+}
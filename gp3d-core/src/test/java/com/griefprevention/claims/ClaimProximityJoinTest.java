@@ -0,0 +1,112 @@
+package com.griefprevention.claims;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ClaimProximityJoinTest {
+
+    @Test
+    void findsPairsWithinDistanceOnly() {
+        ClaimSnapshot origin = claim(1L, "world", 0, 0, 9, 9);
+        ClaimSnapshot touching = claim(2L, "world", 19, 0, 28, 9);
+        ClaimSnapshot far = claim(3L, "world", 20, 0, 29, 9);
+
+        assertEquals(Collections.singleton("1-2"), pairs(Arrays.asList(origin, touching), 10));
+        assertEquals(Collections.emptySet(), pairs(Arrays.asList(origin, far), 10));
+        assertEquals(Collections.singleton("1-3"), pairs(Arrays.asList(origin, far), 11));
+    }
+
+    @Test
+    void keepsWorldsSeparate() {
+        ClaimSnapshot overworld = claim(1L, "world", 0, 0, 9, 9);
+        ClaimSnapshot nether = claim(2L, "world_nether", 0, 0, 9, 9);
+
+        assertEquals(Collections.emptySet(), pairs(Arrays.asList(overworld, nether), 100));
+    }
+
+    @Test
+    void rejectsNegativeDistance() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ClaimProximityJoin.forEachPairWithin(Collections.<ClaimSnapshot>emptyList(), -1, (a, b) -> {})
+        );
+    }
+
+    @Test
+    void cornerRuleImpliesBoundingBoxesWithinDistance() {
+        ClaimBounds wide = ClaimBounds.rectangle(-500, 0, 1010, 500, 255, 1020);
+        ClaimBounds tall = ClaimBounds.rectangle(0, 0, 0, 10, 255, 1000);
+
+        // Neither of the wide claim's corners is near the tall claim, but the tall claim's greater corner is near it.
+        assertTrue(ClaimProximityJoin.cornersNear(tall, wide, 20));
+        assertTrue(ClaimProximityJoin.within(tall, wide, 20));
+        assertFalse(ClaimProximityJoin.cornersNear(tall, wide, 9));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomLayouts() {
+        Random random = new Random(31L);
+        for (int round = 0; round < 40; round++) {
+            List<ClaimSnapshot> claims = new ArrayList<>();
+            int count = 1 + random.nextInt(300);
+            int spread = 200 + random.nextInt(5_000);
+            for (int i = 0; i < count; i++) {
+                int x = random.nextInt(spread * 2) - spread;
+                int z = random.nextInt(spread * 2) - spread;
+                // A few claims are big enough to skip the grid and take the oversized path.
+                int size = random.nextInt(20) == 0 ? 5_000 + random.nextInt(5_000) : 1 + random.nextInt(120);
+                String world = random.nextInt(4) == 0 ? "world_nether" : "world";
+                claims.add(claim(i, world, x, z, x + size, z + random.nextInt(size + 1)));
+            }
+            int distance = random.nextInt(150);
+
+            Set<String> expected = new HashSet<>();
+            Set<String> expectedCorners = new HashSet<>();
+            for (int i = 0; i < claims.size(); i++) {
+                for (int j = i + 1; j < claims.size(); j++) {
+                    ClaimSnapshot first = claims.get(i);
+                    ClaimSnapshot second = claims.get(j);
+                    if (!first.worldKey().equals(second.worldKey())) continue;
+                    if (ClaimProximityJoin.within(first.bounds(), second.bounds(), distance)) {
+                        expected.add(key(first, second));
+                    }
+                    if (ClaimProximityJoin.cornersNear(first.bounds(), second.bounds(), distance)) {
+                        expectedCorners.add(key(first, second));
+                    }
+                }
+            }
+
+            assertEquals(expected, pairs(claims, distance), "round " + round);
+            assertTrue(expected.containsAll(expectedCorners), "round " + round);
+        }
+    }
+
+    private static Set<String> pairs(List<ClaimSnapshot> claims, int distance) {
+        Set<String> pairs = new HashSet<>();
+        ClaimProximityJoin.forEachPairWithin(claims, distance, (first, second) ->
+            assertTrue(pairs.add(key(first, second)), "reported twice: " + key(first, second))
+        );
+        return pairs;
+    }
+
+    private static String key(ClaimSnapshot first, ClaimSnapshot second) {
+        long low = Math.min(first.id(), second.id());
+        long high = Math.max(first.id(), second.id());
+        return low + "-" + high;
+    }
+
+    private static ClaimSnapshot claim(long id, String world, int x1, int z1, int x2, int z2) {
+        return new ClaimSnapshot(id, world, null, null, ClaimBounds.rectangle(x1, 0, z1, x2, 255, z2), false, false);
+    }
+}
@@ -5,8 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 class ClaimSnapshotIndexTest {
@@ -96,6 +99,22 @@ class ClaimSnapshotIndexTest {
         assertSame(parent, index.findAt("world", 5, 70, 5, false, true));
     }
 
+    @Test
+    void listsEveryClaimInTheChunkOfAColumn() {
+        ClaimSnapshotIndex index = new ClaimSnapshotIndex();
+        ClaimSnapshot parent = claim(1L, "world", null, false, ClaimBounds.rectangle(0, -64, 0, 20, 320, 20));
+        ClaimSnapshot child = claim(2L, "world", 1L, false, ClaimBounds.rectangle(0, 0, 0, 5, 10, 5));
+        ClaimSnapshot nether = claim(3L, "world_nether", null, false, ClaimBounds.rectangle(0, 0, 0, 5, 10, 5));
+
+        index.rebuild(Arrays.asList(parent, child, nether));
+
+        // the column is outside the child, but shares its chunk
+        assertEquals(Arrays.asList(child, parent), index.inChunkAt("world", 12, 12));
+        assertEquals(Collections.singletonList(parent), index.inChunkAt("world", 17, 3));
+        assertEquals(Collections.emptyList(), index.inChunkAt("world", 40, 3));
+        assertEquals(Collections.emptyList(), index.inChunkAt("world_the_end", 0, 0));
+    }
+
     @Test
     void rejectsIdlessSnapshots() {
         ClaimSnapshotIndex index = new ClaimSnapshotIndex();
@@ -107,6 +126,137 @@ class ClaimSnapshotIndexTest {
         );
     }
 
+    @Test
+    void incrementalUpdatesMatchRebuild() {
+        ClaimSnapshotIndex incremental = new ClaimSnapshotIndex();
+        ClaimSnapshot parent = claim(1L, "world", null, false, ClaimBounds.rectangle(-40, -64, -40, 40, 320, 40));
+        ClaimSnapshot child = claim(2L, "world", 1L, true, ClaimBounds.rectangle(-5, 60, -5, 5, 70, 5));
+        ClaimSnapshot moved = claim(3L, "world", null, false, ClaimBounds.rectangle(100, 0, 100, 120, 255, 120));
+
+        incremental.put(claim(3L, "world", null, false, ClaimBounds.rectangle(-100, 0, -100, -60, 255, -60)));
+        incremental.put(child);
+        incremental.put(parent);
+        incremental.put(moved);
+        incremental.put(claim(4L, "world", null, false, ClaimBounds.rectangle(200, 0, 200, 210, 255, 210)));
+        incremental.remove(4L);
+
+        ClaimSnapshotIndex rebuilt = new ClaimSnapshotIndex();
+        rebuilt.rebuild(Arrays.asList(parent, child, moved));
+
+        assertEquals(rebuilt.snapshots(), incremental.snapshots());
+        for (int x = -110; x <= 220; x += 7) {
+            for (int z = -110; z <= 220; z += 7) {
+                assertSame(rebuilt.findAt("world", x, 65, z, false, false), incremental.findAt("world", x, 65, z, false, false));
+            }
+        }
+        assertNull(incremental.findAt("world", -80, 65, -80, false, false));
+        assertNull(incremental.findAt("world", 205, 65, 205, false, false));
+    }
+
+    @Test
+    void findAtMatchesExhaustiveSearch() {
+        Random random = new Random(42L);
+        List<ClaimSnapshot> claims = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            int x = random.nextInt(400) - 200;
+            int z = random.nextInt(400) - 200;
+            int minY = random.nextInt(200) - 64;
+            ClaimBounds bounds = ClaimBounds.rectangle(
+                x, minY, z, x + random.nextInt(40), minY + random.nextInt(60), z + random.nextInt(40)
+            );
+            boolean subdivision = random.nextInt(3) == 0;
+            claims.add(claim(id, "world", subdivision ? 0L : null, subdivision && random.nextBoolean(), bounds));
+        }
+
+        ClaimSnapshotIndex index = new ClaimSnapshotIndex();
+        index.rebuild(claims);
+
+        for (int i = 0; i < 5_000; i++) {
+            int x = random.nextInt(480) - 220;
+            int y = random.nextInt(260) - 64;
+            int z = random.nextInt(480) - 220;
+            boolean ignoreHeight = random.nextBoolean();
+            boolean ignoreSubclaims = random.nextBoolean();
+            assertSame(
+                exhaustiveFindAt(claims, x, y, z, ignoreHeight, ignoreSubclaims),
+                index.findAt("world", x, y, z, ignoreHeight, ignoreSubclaims)
+            );
+        }
+    }
+
+    @Test
+    void worldLookupMatchesFindAt() {
+        Random random = new Random(40L);
+        List<ClaimSnapshot> claims = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            int x = random.nextInt(200) - 100;
+            int z = random.nextInt(200) - 100;
+            int minY = random.nextInt(100);
+            boolean subdivision = random.nextInt(3) == 0;
+            claims.add(claim(id, "world", subdivision ? 0L : null, subdivision, ClaimBounds.rectangle(
+                x, minY, z, x + random.nextInt(30), minY + random.nextInt(40), z + random.nextInt(30)
+            )));
+        }
+        claims.add(claim(101L, "nether", null, false, ClaimBounds.rectangle(-20, 0, -20, 20, 128, 20)));
+
+        ClaimSnapshotIndex index = new ClaimSnapshotIndex();
+        index.rebuild(claims);
+        ClaimSnapshotIndex.WorldLookup lookup = index.lookup("world");
+
+        // Walk explosion-sized cubes so consecutive points mostly share a chunk.
+        for (int explosion = 0; explosion < 200; explosion++) {
+            int centerX = random.nextInt(260) - 130;
+            int centerY = random.nextInt(140) - 10;
+            int centerZ = random.nextInt(260) - 130;
+            for (int x = centerX - 4; x <= centerX + 4; x++) {
+                for (int y = centerY - 4; y <= centerY + 4; y++) {
+                    for (int z = centerZ - 4; z <= centerZ + 4; z++) {
+                        assertSame(index.findAt("world", x, y, z, false, false), lookup.findAt(x, y, z));
+                    }
+                }
+            }
+        }
+        assertNull(index.lookup("the_end").findAt(0, 64, 0));
+    }
+
+    private static ClaimSnapshot exhaustiveFindAt(
+        List<ClaimSnapshot> claims,
+        int x,
+        int y,
+        int z,
+        boolean ignoreHeight,
+        boolean ignoreSubclaims
+    ) {
+        ClaimSnapshot best = null;
+        for (ClaimSnapshot claim : claims) {
+            if ((ignoreSubclaims && claim.subdivision()) || !claim.contains("world", x, y, z, ignoreHeight)) {
+                continue;
+            }
+            if (best == null || precedes(claim, best, y)) {
+                best = claim;
+            }
+        }
+        return best;
+    }
+
+    private static boolean precedes(ClaimSnapshot first, ClaimSnapshot second, int y) {
+        boolean first3D = first.threeDimensional() && first.bounds().containsY(y);
+        boolean second3D = second.threeDimensional() && second.bounds().containsY(y);
+        if (first3D != second3D) {
+            return first3D;
+        }
+        if (first3D && first.bounds().yHeight() != second.bounds().yHeight()) {
+            return first.bounds().yHeight() < second.bounds().yHeight();
+        }
+        if (first.bounds().area() != second.bounds().area()) {
+            return first.bounds().area() < second.bounds().area();
+        }
+        if (first.subdivision() != second.subdivision()) {
+            return first.subdivision();
+        }
+        return first.id() < second.id();
+    }
+
     private static ClaimSnapshot claim(
         long id,
         String world,
@@ -0,0 +1,159 @@
+package com.griefprevention.claims;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ClaimTrustTableTest {
+
+    @Test
+    void playerIdentifiersAreFoundByUuidAndByString() {
+        UUID player = UUID.randomUUID();
+        ClaimTrustTable<ClaimTrustLevel> table = new ClaimTrustTable<>();
+        table.put(player.toString(), ClaimTrustLevel.BUILD);
+
+        assertEquals(ClaimTrustLevel.BUILD, table.get(player));
+        assertEquals(ClaimTrustLevel.BUILD, table.get(player.toString()));
+        assertTrue(table.containsKey(player));
+        assertTrue(table.permissionNodes().isEmpty());
+        assertEquals(Collections.singletonMap(player.toString(), ClaimTrustLevel.BUILD), table.toMap());
+    }
+
+    @Test
+    void onlyCanonicalUuidStringsAreStoredAsPlayers() {
+        assertEquals(new UUID(1L, 2L), ClaimTrustTable.playerId("00000000-0000-0001-0000-000000000002"));
+        assertNull(ClaimTrustTable.playerId("1-0-1-0-2"));
+        assertNull(ClaimTrustTable.playerId("public"));
+        assertNull(ClaimTrustTable.playerId("[00000000-0000-0001-0000-00000000000]"));
+        assertNull(ClaimTrustTable.playerId("00000000-0000-0001-0000-00000000000g"));
+        assertNull(ClaimTrustTable.playerId("00000000-0000-0001-0000+000000000002"));
+
+        ClaimTrustTable<ClaimTrustLevel> table = new ClaimTrustTable<>();
+        table.put("1-0-1-0-2", ClaimTrustLevel.ACCESS);
+        assertNull(table.get(new UUID(0x100000000L, 0x1000000000002L)));
+        assertEquals(Collections.singletonMap("1-0-1-0-2", ClaimTrustLevel.ACCESS), table.toMap());
+    }
+
+    @Test
+    void permissionNodesAreListedSeparately() {
+        UUID player = UUID.randomUUID();
+        ClaimTrustTable<ClaimTrustLevel> table = new ClaimTrustTable<>();
+        table.put(player.toString(), ClaimTrustLevel.BUILD);
+        table.put("public", ClaimTrustLevel.ACCESS);
+        table.put("[town.member]", ClaimTrustLevel.CONTAINER);
+        table.put("[town.member]", ClaimTrustLevel.BUILD);
+        table.put("[staff]", ClaimTrustLevel.ACCESS);
+        table.put("[]", ClaimTrustLevel.ACCESS);
+
+        assertEquals(Arrays.asList("[town.member]", "[staff]"), table.permissionNodes());
+        assertEquals(ClaimTrustLevel.BUILD, table.get("[town.member]"));
+        assertEquals(5, table.size());
+
+        assertEquals(ClaimTrustLevel.BUILD, table.remove("[town.member]"));
+        assertNull(table.remove("[town.member]"));
+        assertEquals(Collections.singletonList("[staff]"), table.permissionNodes());
+
+        table.clear();
+        assertTrue(table.isEmpty());
+        assertTrue(table.permissionNodes().isEmpty());
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        UUID player = UUID.randomUUID();
+        ClaimTrustTable<ClaimTrustLevel> original = new ClaimTrustTable<>();
+        original.put(player.toString(), ClaimTrustLevel.BUILD);
+        original.put("[staff]", ClaimTrustLevel.ACCESS);
+
+        ClaimTrustTable<ClaimTrustLevel> copy = new ClaimTrustTable<>(original);
+        copy.remove(player.toString());
+        copy.remove("[staff]");
+
+        assertEquals(ClaimTrustLevel.BUILD, original.get(player));
+        assertEquals(Collections.singletonList("[staff]"), original.permissionNodes());
+        assertTrue(copy.isEmpty());
+    }
+
+    @Test
+    void emptyAndClearedTablesAnswerEveryQuery() {
+        UUID player = UUID.randomUUID();
+        ClaimTrustTable<ClaimTrustLevel> table = new ClaimTrustTable<>();
+        assertNull(table.get(player));
+        assertNull(table.get("[staff]"));
+        assertNull(table.remove("public"));
+        assertFalse(table.containsKey(player.toString()));
+        assertTrue(table.permissionNodes().isEmpty());
+        assertTrue(table.toMap().isEmpty());
+        assertTrue(new ClaimTrustTable<>(table).isEmpty());
+
+        table.put(player.toString(), ClaimTrustLevel.BUILD);
+        table.put("[staff]", ClaimTrustLevel.ACCESS);
+        table.clear();
+        assertEquals(0, table.size());
+        assertFalse(table.containsKey(player));
+        assertTrue(table.permissionNodes().isEmpty());
+
+        table.put("[staff]", ClaimTrustLevel.ACCESS);
+        assertEquals(Collections.singletonList("[staff]"), table.permissionNodes());
+    }
+
+    @Test
+    void trustSetTracksMembershipLikeTheTable() {
+        UUID player = UUID.randomUUID();
+        ClaimTrustSet set = new ClaimTrustSet();
+
+        assertTrue(set.add(player.toString()));
+        assertFalse(set.add(player.toString()));
+        assertTrue(set.add("[staff]"));
+        assertTrue(set.contains(player));
+        assertTrue(set.contains("[staff]"));
+        assertEquals(Collections.singletonList("[staff]"), set.permissionNodes());
+
+        ClaimTrustSet copy = new ClaimTrustSet();
+        copy.addAll(set);
+        assertTrue(set.remove(player.toString()));
+        assertFalse(set.contains(player));
+        assertTrue(copy.contains(player));
+        assertEquals(2, copy.identifiers().size());
+    }
+
+    @Test
+    void snapshotPlayerChecksMatchIdentifierChecks() {
+        UUID owner = UUID.randomUUID();
+        UUID[] players = new UUID[6];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+        }
+        Map<String, ClaimTrustLevel> permissions = new HashMap<>();
+        permissions.put(players[0].toString(), ClaimTrustLevel.BUILD);
+        permissions.put(players[1].toString(), ClaimTrustLevel.CONTAINER);
+        permissions.put(players[2].toString().toUpperCase(), ClaimTrustLevel.ACCESS);
+        permissions.put(players[3].toString(), ClaimTrustLevel.NEIGHBOR);
+        ClaimTrustSnapshot trust = new ClaimTrustSnapshot(
+            owner,
+            permissions,
+            Collections.singletonList(" " + players[4] + " "),
+            Collections.emptyList(),
+            Collections.emptyList()
+        );
+
+        for (UUID player : players) {
+            for (ClaimTrustLevel level : ClaimTrustLevel.values()) {
+                assertEquals(trust.hasExplicitIdentifierPermission(player.toString(), level),
+                    trust.hasExplicitPermission(player, level), player + " " + level);
+            }
+        }
+        assertTrue(trust.hasExplicitPermission(players[2], ClaimTrustLevel.ACCESS));
+        assertTrue(trust.hasExplicitPermission(players[3], ClaimTrustLevel.NEIGHBOR));
+        assertTrue(trust.hasExplicitPermission(players[4], ClaimTrustLevel.BUILD));
+        assertFalse(trust.hasExplicitPermission(players[5], ClaimTrustLevel.ACCESS));
+    }
+}
@@ -0,0 +1,73 @@
+package com.griefprevention.claims;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PersistentLongMapTest {
+
+    @Test
+    void updatesLeaveEarlierVersionsUntouched() {
+        PersistentLongMap<String> empty = PersistentLongMap.empty();
+        PersistentLongMap<String> one = empty.put(1L, "one");
+        PersistentLongMap<String> two = one.put(2L, "two");
+        PersistentLongMap<String> replaced = two.put(1L, "uno");
+        PersistentLongMap<String> removed = replaced.remove(2L);
+
+        assertTrue(empty.isEmpty());
+        assertEquals("one", one.get(1L));
+        assertNull(one.get(2L));
+        assertEquals(2, two.size());
+        assertEquals("one", two.get(1L));
+        assertEquals("uno", replaced.get(1L));
+        assertEquals(2, replaced.size());
+        assertEquals(1, removed.size());
+        assertFalse(removed.containsKey(2L));
+        assertEquals("two", two.get(2L));
+    }
+
+    @Test
+    void noOpUpdatesReturnTheSameMap() {
+        String value = "value";
+        PersistentLongMap<String> map = PersistentLongMap.<String>empty().put(7L, value);
+
+        assertSame(map, map.put(7L, value));
+        assertSame(map, map.remove(8L));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(7L);
+        Map<Long, Long> expected = new HashMap<>();
+        PersistentLongMap<Long> actual = PersistentLongMap.empty();
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextBoolean() ? random.nextInt(2_000) - 1_000 : random.nextLong();
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.remove(key);
+            } else {
+                expected.put(key, (long) i);
+                actual = actual.put(key, (long) i);
+            }
+        }
+
+        assertEquals(expected.size(), actual.size());
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+        List<Long> values = new ArrayList<>(actual.values());
+        values.sort(Long::compare);
+        List<Long> expectedValues = new ArrayList<>(expected.values());
+        expectedValues.sort(Long::compare);
+        assertEquals(expectedValues, values);
+    }
+}
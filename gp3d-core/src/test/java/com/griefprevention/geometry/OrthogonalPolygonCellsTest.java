@@ -0,0 +1,214 @@
+package com.griefprevention.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("null")
+class OrthogonalPolygonCellsTest
+{
+    @Test
+    void crossingShapesOverlapWithoutSharingCorners()
+    {
+        OrthogonalPolygon vertical = OrthogonalPolygon.fromRectangle(4, 0, 6, 10);
+        OrthogonalPolygon horizontal = OrthogonalPolygon.fromRectangle(0, 4, 10, 6);
+
+        assertTrue(OrthogonalPolygonCells.overlaps(vertical, horizontal));
+        assertEquals(9L, OrthogonalPolygonCells.overlapCellCount(vertical, horizontal));
+        assertFalse(OrthogonalPolygonCells.contains(vertical, horizontal));
+    }
+
+    @Test
+    void shapesOnlyTouchingAtAnEdgeShareThatEdge()
+    {
+        OrthogonalPolygon left = OrthogonalPolygon.fromRectangle(0, 0, 5, 5);
+        OrthogonalPolygon right = OrthogonalPolygon.fromRectangle(5, 0, 9, 5);
+        OrthogonalPolygon apart = OrthogonalPolygon.fromRectangle(6, 0, 9, 5);
+
+        assertEquals(6L, OrthogonalPolygonCells.overlapCellCount(left, right));
+        assertFalse(OrthogonalPolygonCells.overlaps(left, apart));
+        assertTrue(OrthogonalPolygonCells.overlapsRectangle(left, 5, 5, 5, 5));
+        assertFalse(OrthogonalPolygonCells.overlapsRectangle(left, 6, 0, 6, 5));
+    }
+
+    @Test
+    void notchIsNotCovered()
+    {
+        // A U shape opening towards +Z; the notch is the cells 3..5 x 4..8 minus the outline.
+        OrthogonalPolygon u = OrthogonalPolygon.fromClosedPath(Arrays.asList(
+                new OrthogonalPoint2i(0, 0),
+                new OrthogonalPoint2i(8, 0),
+                new OrthogonalPoint2i(8, 8),
+                new OrthogonalPoint2i(6, 8),
+                new OrthogonalPoint2i(6, 3),
+                new OrthogonalPoint2i(2, 3),
+                new OrthogonalPoint2i(2, 8),
+                new OrthogonalPoint2i(0, 8),
+                new OrthogonalPoint2i(0, 0)));
+
+        assertFalse(OrthogonalPolygonCells.overlapsRectangle(u, 3, 4, 5, 8));
+        assertTrue(OrthogonalPolygonCells.overlapsRectangle(u, 3, 3, 5, 8));
+        assertEquals(rasterCellCount(u), OrthogonalPolygonCells.cellCount(u));
+        assertEquals(u.cellCount(), OrthogonalPolygonCells.cellCount(u));
+    }
+
+    @Test
+    void matchesRasterizedPredicatesOnRandomShapes()
+    {
+        Random random = new Random(33L);
+        for (int round = 0; round < 1_500; round++)
+        {
+            OrthogonalPolygon first = randomShape(random);
+            OrthogonalPolygon second = randomShape(random);
+            String label = "round " + round + ": " + first + " / " + second;
+
+            assertEquals(rasterCellCount(first), OrthogonalPolygonCells.cellCount(first), label);
+            assertEquals(rasterOverlapCount(first, second), OrthogonalPolygonCells.overlapCellCount(first, second), label);
+            assertEquals(rasterOverlapCount(first, second) > 0, OrthogonalPolygonCells.overlaps(first, second), label);
+            assertEquals(rasterContains(first, second), OrthogonalPolygonCells.contains(first, second), label);
+            assertEquals(rasterContains(second, first), OrthogonalPolygonCells.contains(second, first), label);
+
+            int minX = random.nextInt(40) - 20;
+            int minZ = random.nextInt(40) - 20;
+            int maxX = minX + random.nextInt(12);
+            int maxZ = minZ + random.nextInt(12);
+            assertEquals(
+                    rasterOverlapCount(first, OrthogonalPolygon.fromRectangle(minX, minZ, maxX + 1, maxZ + 1),
+                            minX, minZ, maxX, maxZ) > 0,
+                    OrthogonalPolygonCells.overlapsRectangle(first, minX, minZ, maxX, maxZ),
+                    label + " rectangle " + minX + "," + minZ + ".." + maxX + "," + maxZ);
+        }
+    }
+
+    @Test
+    void everyShapeContainsItself()
+    {
+        Random random = new Random(34L);
+        for (int round = 0; round < 300; round++)
+        {
+            OrthogonalPolygon shape = randomShape(random);
+            assertTrue(OrthogonalPolygonCells.contains(shape, shape));
+            assertEquals(OrthogonalPolygonCells.cellCount(shape), OrthogonalPolygonCells.overlapCellCount(shape, shape));
+        }
+    }
+
+    /**
+     * A random shape that is a run of columns with a ragged top and bottom, turned to face any
+     * direction, so notches, nibs and one-cell-wide arms all come up.
+     */
+    private static OrthogonalPolygon randomShape(Random random)
+    {
+        int columns = 1 + random.nextInt(6);
+        int[] xs = new int[columns + 1];
+        for (int i = 1; i <= columns; i++)
+        {
+            xs[i] = xs[i - 1] + 1 + random.nextInt(6);
+        }
+        int[] bottoms = profile(random, columns, -1);
+        int[] tops = profile(random, columns, 1);
+
+        List<int[]> path = new ArrayList<>();
+        for (int i = 0; i < columns; i++)
+        {
+            path.add(new int[] { xs[i], bottoms[i] });
+            path.add(new int[] { xs[i + 1], bottoms[i] });
+        }
+        for (int i = columns - 1; i >= 0; i--)
+        {
+            path.add(new int[] { xs[i + 1], tops[i] });
+            path.add(new int[] { xs[i], tops[i] });
+        }
+
+        int turn = random.nextInt(8);
+        int offsetX = random.nextInt(30) - 15;
+        int offsetZ = random.nextInt(30) - 15;
+        List<OrthogonalPoint2i> points = new ArrayList<>();
+        for (int[] point : path)
+        {
+            int x = (turn & 1) == 0 ? point[0] : -point[0];
+            int z = (turn & 2) == 0 ? point[1] : -point[1];
+            if ((turn & 4) != 0)
+            {
+                int swap = x;
+                x = z;
+                z = swap;
+            }
+            points.add(new OrthogonalPoint2i(x + offsetX, z + offsetZ));
+        }
+        points.add(points.get(0));
+        return OrthogonalPolygon.fromClosedPath(points);
+    }
+
+    private static int[] profile(Random random, int columns, int sign)
+    {
+        int[] heights = new int[columns];
+        for (int i = 0; i < columns; i++)
+        {
+            do
+            {
+                heights[i] = sign * random.nextInt(8) + (sign > 0 ? 1 : 0);
+            }
+            while (i > 0 && heights[i] == heights[i - 1]);
+        }
+        return heights;
+    }
+
+    private static long rasterCellCount(OrthogonalPolygon polygon)
+    {
+        long cells = 0L;
+        for (int x = polygon.minX(); x <= polygon.maxX(); x++)
+        {
+            for (int z = polygon.minZ(); z <= polygon.maxZ(); z++)
+            {
+                if (polygon.containsCell(x, z)) cells++;
+            }
+        }
+        return cells;
+    }
+
+    private static long rasterOverlapCount(OrthogonalPolygon first, OrthogonalPolygon second)
+    {
+        return rasterOverlapCount(first, second, second.minX(), second.minZ(), second.maxX(), second.maxZ());
+    }
+
+    /**
+     * Cells of {@code first} that are also cells of {@code second}, counted only within the given
+     * window.
+     */
+    private static long rasterOverlapCount(
+            OrthogonalPolygon first,
+            OrthogonalPolygon second,
+            int minX,
+            int minZ,
+            int maxX,
+            int maxZ)
+    {
+        long cells = 0L;
+        for (int x = Math.max(minX, first.minX()); x <= Math.min(maxX, first.maxX()); x++)
+        {
+            for (int z = Math.max(minZ, first.minZ()); z <= Math.min(maxZ, first.maxZ()); z++)
+            {
+                if (first.containsCell(x, z) && second.containsCell(x, z)) cells++;
+            }
+        }
+        return cells;
+    }
+
+    private static boolean rasterContains(OrthogonalPolygon container, OrthogonalPolygon contents)
+    {
+        for (int x = contents.minX(); x <= contents.maxX(); x++)
+        {
+            for (int z = contents.minZ(); z <= contents.maxZ(); z++)
+            {
+                if (contents.containsCell(x, z) && !container.containsCell(x, z)) return false;
+            }
+        }
+        return true;
+    }
+}
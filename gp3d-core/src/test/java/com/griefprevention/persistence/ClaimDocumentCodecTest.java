@@ -6,13 +6,19 @@ import com.griefprevention.claims.ClaimTrustLevel;
 import com.griefprevention.claims.ClaimTrustSnapshot;
 import com.griefprevention.geometry.OrthogonalPoint2i;
 import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -282,6 +288,63 @@ class ClaimDocumentCodecTest
         assertEquals(decoded, reloaded);
     }
 
+    @Test
+    void streamedOutputMatchesSnakeYamlDumpingTheSameTree() throws Exception
+    {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setIndent(2);
+        options.setIndicatorIndent(0);
+        options.setSplitLines(false);
+        options.setWidth(4096);
+        Yaml reference = new Yaml(options);
+
+        for (String yaml : Arrays.asList(completeClaimYaml(), revokedInheritedTrustYaml()))
+        {
+            List<ClaimDocument> decoded = this.codec.decodeTree(yaml, 28L, 100L);
+            String encoded = this.codec.encodeTree(byId(decoded).get(28L), decoded);
+
+            assertEquals(reference.dump(reference.load(encoded)), encoded);
+        }
+    }
+
+    @Test
+    void oneCodecEncodesAndDecodesOnManyThreads() throws Exception
+    {
+        List<ClaimDocument> decoded = this.codec.decodeTree(completeClaimYaml(), 28L, 100L);
+        ClaimDocument root = byId(decoded).get(28L);
+        String expected = this.codec.encodeTree(root, decoded);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 32; task++)
+            {
+                results.add(executor.submit(() ->
+                {
+                    for (int i = 0; i < 50; i++)
+                    {
+                        List<ClaimDocument> reloaded = this.codec.decodeTree(expected, 28L, 999L);
+                        if (!decoded.equals(reloaded) || !expected.equals(this.codec.encodeTree(root, reloaded)))
+                        {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results)
+            {
+                assertTrue(result.get());
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
     private static String revokedInheritedTrustYaml()
     {
         return "Claim ID: '28'\n"
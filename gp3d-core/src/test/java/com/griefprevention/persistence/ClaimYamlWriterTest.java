@@ -0,0 +1,176 @@
+package com.griefprevention.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClaimYamlWriterTest
+{
+    private static final List<String> SCALARS = Arrays.asList(
+            "",
+            "world",
+            "world;0;-64;0",
+            "minecraft:overworld;-5;320;12",
+            "11111111-2222-3333-4444-555555555555",
+            "12345678-1234-5678-9abc-123456789abc",
+            "12",
+            "-1",
+            "0x1F",
+            "1.5e3",
+            ".inf",
+            "true",
+            "No",
+            "null",
+            "~",
+            "2024-01-02",
+            "public",
+            "[server.builders]",
+            "[gp3d.staff]",
+            "10,4",
+            "it's",
+            "key: value",
+            "ends with colon:",
+            "a #comment",
+            "a#hash",
+            "- dash",
+            "-dash",
+            "? question",
+            "?question",
+            ":colon",
+            "---",
+            "...dots",
+            " leading",
+            "trailing ",
+            "inner space",
+            "%percent",
+            "@at",
+            "`tick",
+            "{brace}",
+            "comma,inside",
+            "welt-ü",
+            "世界",
+            "emoji 😀",
+            "tab\there",
+            "\ttab"
+    );
+
+    @Test
+    void scalarsMatchSnakeYamlBlockStyle()
+    {
+        Yaml reference = referenceYaml();
+        for (String value : SCALARS)
+        {
+            assertSameAsSnakeYaml(reference, value);
+        }
+
+        Random random = new Random(28L);
+        String alphabet = "abz09 -_:;,.#'\"[]{}?!&*|>%@`/\\ü";
+        for (int i = 0; i < 20_000; i++)
+        {
+            StringBuilder value = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++)
+            {
+                value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertSameAsSnakeYaml(reference, value.toString());
+        }
+    }
+
+    @Test
+    void stringsWithBreaksOrControlCharactersRoundTrip()
+    {
+        Yaml reference = referenceYaml();
+        for (String value : Arrays.asList("line\nbreak", "tab\there", "cr\r", "nul\u0000", "nel\u0085", "ls\u2028",
+                "quote\"and\\slash\n", " \n "))
+        {
+            assertEquals(ClaimYamlWriter.Style.DOUBLE_QUOTED, ClaimYamlWriter.style(value));
+
+            ClaimYamlWriter writer = new ClaimYamlWriter();
+            writer.stringField(0, "key", value);
+            Map<?, ?> loaded = reference.load(writer.toString());
+            assertEquals(value, loaded.get("key"));
+        }
+    }
+
+    @Test
+    void byteOrderMarksAreDoubleQuoted()
+    {
+        Yaml reference = referenceYaml();
+        for (String value : Arrays.asList("bom\uFEFF", "\uFEFFbom", "in\uFEFFside"))
+        {
+            assertEquals(ClaimYamlWriter.Style.DOUBLE_QUOTED, ClaimYamlWriter.style(value));
+
+            ClaimYamlWriter writer = new ClaimYamlWriter();
+            writer.stringField(0, "key", value);
+            assertEquals("key: \"" + value + "\"\n", writer.toString());
+            Map<?, ?> loaded = reference.load(writer.toString());
+            assertEquals(value, loaded.get("key"));
+        }
+    }
+
+    @Test
+    void nestedBlocksMatchSnakeYamlLayout()
+    {
+        Map<String, Object> inner = new LinkedHashMap<>();
+        inner.put("Builders", Arrays.asList("a", "[b]"));
+        inner.put("Containers", Collections.emptyList());
+        inner.put("Parent Claim ID", 28L);
+        inner.put("Is3D", true);
+        inner.put("Extra", Collections.singletonMap("nested", Arrays.asList(1, 2)));
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("Owner", "");
+        root.put("Children", Collections.singletonMap("29", inner));
+
+        ClaimYamlWriter writer = new ClaimYamlWriter();
+        writer.stringField(0, "Owner", "");
+        writer.mappingField(0, "Children");
+        writer.mappingField(2, "29");
+        writer.listField(4, "Builders", Arrays.asList("a", "[b]"));
+        writer.listField(4, "Containers", Collections.<String>emptyList());
+        writer.longField(4, "Parent Claim ID", 28L);
+        writer.booleanField(4, "Is3D", true);
+        writer.block(4, referenceYaml().dump(Collections.singletonMap("Extra", inner.get("Extra"))));
+
+        assertEquals(referenceYaml().dump(root), writer.toString());
+    }
+
+    private static void assertSameAsSnakeYaml(Yaml reference, String value)
+    {
+        ClaimYamlWriter writer = new ClaimYamlWriter();
+        writer.stringField(0, "key", value);
+        assertEquals(reference.dump(Collections.singletonMap("key", value)), writer.toString(), value);
+
+        // SnakeYAML switches empty keys to the explicit "? " form; claim files never contain one.
+        if (!value.isEmpty())
+        {
+            ClaimYamlWriter keyWriter = new ClaimYamlWriter();
+            keyWriter.mappingField(0, value);
+            assertEquals(reference.dump(Collections.singletonMap(value, Collections.emptyMap())),
+                    keyWriter.toString().replace(":\n", ": {}\n"), value);
+        }
+    }
+
+    private static Yaml referenceYaml()
+    {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setDefaultScalarStyle(DumperOptions.ScalarStyle.PLAIN);
+        options.setIndent(2);
+        options.setIndicatorIndent(0);
+        options.setIndentWithIndicator(false);
+        options.setPrettyFlow(false);
+        options.setSplitLines(false);
+        options.setWidth(4096);
+        return new Yaml(options);
+    }
+}
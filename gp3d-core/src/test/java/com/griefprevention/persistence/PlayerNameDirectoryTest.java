@@ -0,0 +1,233 @@
+package com.griefprevention.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerNameDirectoryTest
+{
+    private static final UUID ALEX = new UUID(1L, 1L);
+    private static final UUID STEVE = new UUID(-2L, 2L);
+    private static final UUID NOTCH = new UUID(3L, -3L);
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void seededNamesResolveIgnoringCase() throws IOException
+    {
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            assertTrue(directory.needsSeed());
+            directory.seed(Arrays.asList(
+                    new PlayerNameDirectory.Entry(ALEX, "Alex", 100L),
+                    new PlayerNameDirectory.Entry(STEVE, "Steve", 200L),
+                    new PlayerNameDirectory.Entry(NOTCH, "Notch", 300L)));
+
+            assertFalse(directory.needsSeed());
+            assertEquals(ALEX, directory.findId("alex", 0L));
+            assertEquals(STEVE, directory.findId("STEVE", 0L));
+            assertEquals("Notch", directory.findName(NOTCH));
+            assertNull(directory.findId("herobrine", 0L));
+            assertNull(directory.findName(new UUID(9L, 9L)));
+            assertThrows(IllegalStateException.class, () -> directory.seed(Collections.emptyList()));
+        }
+    }
+
+    @Test
+    void lookupsHonourLastSeenCutoff() throws IOException
+    {
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            directory.seed(Collections.singletonList(new PlayerNameDirectory.Entry(ALEX, "Alex", 100L)));
+            directory.record(STEVE, "Steve", 150L);
+
+            assertNull(directory.findId("Alex", 101L));
+            assertEquals(ALEX, directory.findId("Alex", 100L));
+            assertNull(directory.findId("Steve", 151L));
+            assertEquals(STEVE, directory.findId("Steve", 150L));
+        }
+    }
+
+    @Test
+    void renamesShadowSnapshotEntries() throws IOException
+    {
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            directory.seed(Arrays.asList(
+                    new PlayerNameDirectory.Entry(ALEX, "Alex", 100L),
+                    new PlayerNameDirectory.Entry(STEVE, "Steve", 100L)));
+
+            directory.record(ALEX, "Alexandra", 200L);
+            assertNull(directory.findId("Alex", 0L));
+            assertEquals(ALEX, directory.findId("alexandra", 0L));
+            assertEquals("Alexandra", directory.findName(ALEX));
+
+            // A name given up by one player can be taken by another.
+            directory.record(NOTCH, "Alex", 300L);
+            assertEquals(NOTCH, directory.findId("Alex", 0L));
+            directory.record(STEVE, "Stevie", 400L);
+            directory.record(STEVE, "Steve", 500L);
+            assertEquals(STEVE, directory.findId("steve", 0L));
+            assertNull(directory.findId("stevie", 0L));
+        }
+    }
+
+    @Test
+    void journalIsReplayedOnReopen() throws IOException
+    {
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            directory.seed(Collections.singletonList(new PlayerNameDirectory.Entry(ALEX, "Alex", 100L)));
+            directory.record(ALEX, "Alexandra", 200L);
+            directory.record(STEVE, "Steve", 300L);
+        }
+
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            assertFalse(directory.needsSeed());
+            assertNull(directory.findId("Alex", 0L));
+            assertEquals(ALEX, directory.findId("Alexandra", 0L));
+            assertEquals("Steve", directory.findName(STEVE));
+            directory.record(NOTCH, "Notch", 400L);
+        }
+
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            assertEquals(NOTCH, directory.findId("notch", 0L));
+            assertEquals(STEVE, directory.findId("steve", 0L));
+        }
+    }
+
+    @Test
+    void recordedNamesReachTheJournalOnFlush() throws IOException
+    {
+        Path journal = this.folder.resolve(PlayerNameDirectory.JOURNAL_FILE);
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            long emptyBytes = Files.size(journal);
+            directory.record(ALEX, "Alex", 100L);
+
+            assertEquals(ALEX, directory.findId("alex", 0L));
+            assertEquals(emptyBytes, Files.size(journal));
+
+            directory.flush();
+            long flushedBytes = Files.size(journal);
+            assertTrue(flushedBytes > emptyBytes);
+
+            directory.flush();
+            assertEquals(flushedBytes, Files.size(journal));
+        }
+
+        PlayerNameDirectory closed = PlayerNameDirectory.open(this.folder);
+        closed.close();
+        assertThrows(IOException.class, closed::flush);
+    }
+
+    @Test
+    void largeJournalIsCompactedIntoTheSnapshot() throws IOException
+    {
+        int players = 3_000;
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            directory.seed(Collections.singletonList(new PlayerNameDirectory.Entry(ALEX, "Alex", 1L)));
+            for (int i = 0; i < players; i++)
+            {
+                directory.record(new UUID(i, 7L), "Player" + i, 10L + i);
+            }
+            directory.record(ALEX, "Alexandra", 5_000L);
+        }
+
+        Path journal = this.folder.resolve(PlayerNameDirectory.JOURNAL_FILE);
+        long journalBytes = Files.size(journal);
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            assertTrue(Files.size(journal) < journalBytes);
+            assertNull(directory.findId("alex", 0L));
+            assertEquals(ALEX, directory.findId("alexandra", 0L));
+            for (int i = 0; i < players; i += 97)
+            {
+                assertEquals(new UUID(i, 7L), directory.findId("player" + i, 0L));
+                assertEquals("Player" + i, directory.findName(new UUID(i, 7L)));
+            }
+        }
+    }
+
+    @Test
+    void tornJournalTailIsDropped() throws IOException
+    {
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            directory.record(ALEX, "Alex", 100L);
+            directory.record(STEVE, "Steve", 200L);
+        }
+
+        Path journal = this.folder.resolve(PlayerNameDirectory.JOURNAL_FILE);
+        byte[] bytes = Files.readAllBytes(journal);
+        Files.write(journal, Arrays.copyOf(bytes, bytes.length - 3), StandardOpenOption.TRUNCATE_EXISTING);
+
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            assertEquals(ALEX, directory.findId("alex", 0L));
+            assertNull(directory.findId("steve", 0L));
+            directory.record(NOTCH, "Notch", 300L);
+        }
+
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            assertEquals(ALEX, directory.findId("alex", 0L));
+            assertEquals(NOTCH, directory.findId("notch", 0L));
+        }
+    }
+
+    @Test
+    void corruptSnapshotIsRejected() throws IOException
+    {
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            directory.seed(Collections.singletonList(new PlayerNameDirectory.Entry(ALEX, "Alex", 100L)));
+        }
+
+        Path snapshot = this.folder.resolve(PlayerNameDirectory.SNAPSHOT_FILE);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 1), StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertThrows(IOException.class, () -> PlayerNameDirectory.open(this.folder));
+    }
+
+    @Test
+    void prefixSearchMergesSnapshotAndRecentNames() throws IOException
+    {
+        try (PlayerNameDirectory directory = PlayerNameDirectory.open(this.folder))
+        {
+            List<PlayerNameDirectory.Entry> seed = new ArrayList<>();
+            seed.add(new PlayerNameDirectory.Entry(ALEX, "Alex", 100L));
+            seed.add(new PlayerNameDirectory.Entry(STEVE, "alfred", 100L));
+            seed.add(new PlayerNameDirectory.Entry(NOTCH, "Bob", 100L));
+            directory.seed(seed);
+
+            directory.record(new UUID(4L, 4L), "ALBERT", 200L);
+            directory.record(STEVE, "Steve", 300L);
+
+            assertEquals(Arrays.asList("ALBERT", "Alex"), directory.namesStartingWith("al", 10));
+            assertEquals(Collections.singletonList("ALBERT"), directory.namesStartingWith("AL", 1));
+            assertEquals(Arrays.asList("ALBERT", "Alex", "Bob", "Steve"), directory.namesStartingWith("", 10));
+            assertTrue(directory.namesStartingWith("z", 10).isEmpty());
+        }
+    }
+}
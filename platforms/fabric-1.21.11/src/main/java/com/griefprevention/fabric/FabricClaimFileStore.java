@@ -163,6 +163,88 @@ final class FabricClaimFileStore
         );
     }
 
+    /**
+     * Rewrites the file of one top-level claim tree without touching any other claim file.
+     *
+     * <p>Only the supplied tree is validated, so the cost of a single claim edit depends on the
+     * size of that tree rather than on the whole datastore.
+     */
+    static void saveTree(
+            @NotNull Path dataFolder,
+            @NotNull Collection<ClaimDocument> treeDocuments,
+            long requestedNextClaimId)
+            throws IOException
+    {
+        final List<ClaimDocument> tree;
+        final long nextClaimId;
+        try
+        {
+            tree = validateAndOrder(treeDocuments);
+            nextClaimId = safeNextClaimId(documentsById(tree).keySet(), requestedNextClaimId);
+        }
+        catch (ClaimDocumentFormatException exception)
+        {
+            throw new IOException("Refusing to save an invalid claim tree: " + exception.getMessage(), exception);
+        }
+        if (tree.isEmpty() || tree.get(0).snapshot().parentId() != null)
+        {
+            throw new IOException("Refusing to save a claim tree without a top-level claim.");
+        }
+
+        ClaimDocument root = tree.get(0);
+        long rootId = java.util.Objects.requireNonNull(root.snapshot().id());
+        for (int i = 1; i < tree.size(); i++)
+        {
+            if (tree.get(i).snapshot().parentId() == null)
+            {
+                throw new IOException("Refusing to save several top-level claims as claim tree " + rootId + ".");
+            }
+        }
+
+        final String encoded;
+        try
+        {
+            encoded = CODEC.encodeTree(root, tree);
+            validateEncodedTree(encoded, rootId, tree);
+        }
+        catch (ClaimDocumentFormatException exception)
+        {
+            throw new IOException("Could not encode claim tree " + rootId + ".", exception);
+        }
+
+        Path claimDataFolder = claimDataFolder(dataFolder);
+        writeAtomically(claimDataFolder.resolve(rootId + CLAIM_EXTENSION), encoded);
+        writeAtomically(claimDataFolder.resolve(NEXT_CLAIM_ID_FILE), String.valueOf(nextClaimId));
+        writeSchemaVersionIfMissing(dataFolder);
+    }
+
+    /**
+     * Removes the file of one top-level claim tree.
+     */
+    static void deleteTree(@NotNull Path dataFolder, long rootId, long nextClaimId) throws IOException
+    {
+        if (nextClaimId < 0L)
+        {
+            throw new IOException("Refusing to save an invalid next claim id.");
+        }
+
+        Path claimDataFolder = claimDataFolder(dataFolder);
+        // Persist the id counter first so a crash between the two writes can never reuse the id.
+        writeAtomically(claimDataFolder.resolve(NEXT_CLAIM_ID_FILE), String.valueOf(nextClaimId));
+        Files.deleteIfExists(claimDataFolder.resolve(rootId + CLAIM_EXTENSION));
+        writeSchemaVersionIfMissing(dataFolder);
+    }
+
+    private static void writeSchemaVersionIfMissing(@NotNull Path dataFolder) throws IOException
+    {
+        Path schemaFile = dataFolder.resolve(SCHEMA_VERSION_FILE);
+        if (!Files.exists(schemaFile))
+        {
+            Files.createDirectories(playerDataFolder(dataFolder));
+            writeAtomically(schemaFile, String.valueOf(ClaimDataSchema.CURRENT_VERSION));
+        }
+    }
+
     private static @NotNull ClaimReadResult readClaimDocuments(@NotNull Path claimDataFolder)
             throws IOException, ClaimDocumentFormatException
     {
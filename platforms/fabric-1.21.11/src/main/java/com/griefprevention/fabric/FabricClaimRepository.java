@@ -2,12 +2,15 @@ package com.griefprevention.fabric;
 
 import com.griefprevention.claims.ClaimBounds;
 import com.griefprevention.claims.ClaimBlockBalance;
+import com.griefprevention.claims.ClaimChangeJournal;
+import com.griefprevention.claims.ClaimChangeSet;
 import com.griefprevention.claims.ClaimFlag;
 import com.griefprevention.claims.ClaimRepository;
 import com.griefprevention.claims.ClaimSnapshot;
 import com.griefprevention.claims.ClaimSnapshotIndex;
 import com.griefprevention.claims.ClaimTrustLevel;
 import com.griefprevention.claims.ClaimTrustSnapshot;
+import com.griefprevention.claims.PersistentLongMap;
 import com.griefprevention.persistence.ClaimDocument;
 import net.minecraft.commands.Commands;
 import net.minecraft.core.BlockPos;
@@ -21,6 +24,8 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -34,7 +39,13 @@ public final class FabricClaimRepository implements ClaimRepository
     private static final String OVERRIDE_CLAIM_COUNT_PERMISSION =
             "griefprevention.overrideclaimcountlimit";
     private final ClaimSnapshotIndex claimIndex = new ClaimSnapshotIndex();
-    private final Map<Long, ClaimDocument> documentsByClaimId = new LinkedHashMap<>();
+    // Numbered from the clock so consumers holding a sequence from before a restart reset.
+    private final ClaimChangeJournal changeJournal = new ClaimChangeJournal(4096, System.currentTimeMillis());
+    // Persistent maps: a mutation replaces only the touched entries, and readers see either the
+    // old or the new map without taking the repository lock.
+    private volatile PersistentLongMap<ClaimDocument> documentsByClaimId = PersistentLongMap.empty();
+    private PersistentLongMap<List<Long>> childIdsByParentId = PersistentLongMap.empty();
+    private final Map<UUID, Set<Long>> topLevelClaimIdsByOwner = new HashMap<>();
     private final Path dataFolder;
     private final Logger logger;
     private final FabricPermissionResolver permissions;
@@ -63,19 +74,32 @@ public final class FabricClaimRepository implements ClaimRepository
         this.claimBlocks.reload();
         FabricClaimFileStore.LoadedClaims loaded = FabricClaimFileStore.load(this.dataFolder, logger);
         this.claimIndex.rebuild(loaded.snapshots());
-        this.documentsByClaimId.clear();
+        PersistentLongMap<ClaimDocument> documents = PersistentLongMap.empty();
+        PersistentLongMap<List<Long>> children = PersistentLongMap.empty();
+        Map<Long, ClaimTrustSnapshot> trust = new HashMap<>();
+        this.topLevelClaimIdsByOwner.clear();
         for (ClaimDocument document : loaded.documents())
         {
-            this.documentsByClaimId.put(document.snapshot().id(), document);
+            documents = documents.put(document.snapshot().id(), document);
+            trust.put(document.snapshot().id(), document.trust());
+            Long parentId = document.snapshot().parentId();
+            if (parentId != null)
+            {
+                children = withChild(children, parentId, document.snapshot().id());
+            }
+            trackOwnership(document.snapshot());
         }
+        this.documentsByClaimId = documents;
+        this.childIdsByParentId = children;
         this.nextClaimId = loaded.nextClaimId();
+        this.changeJournal.reset(loaded.snapshots(), trust);
         logger.info("Loaded {} native Fabric claims from {}.", loaded.snapshots().size(), this.dataFolder);
         return loaded.snapshots().size();
     }
 
-    synchronized int claimCount()
+    int claimCount()
     {
-        return this.claimIndex.snapshots().size();
+        return this.claimIndex.size();
     }
 
     synchronized @NotNull List<ClaimSnapshot> snapshots()
@@ -175,7 +199,7 @@ public final class FabricClaimRepository implements ClaimRepository
             }
         }
 
-        ClaimBlockBalance balance = this.claimBlocks.balance(ownerId, this.claimIndex.snapshots());
+        ClaimBlockBalance balance = this.claimBlocks.balance(ownerId, ownedTopLevelClaims(ownerId));
         int claimArea = snapshot.bounds().area();
         if (claimArea > balance.remaining())
         {
@@ -185,19 +209,25 @@ public final class FabricClaimRepository implements ClaimRepository
             );
         }
 
-        List<ClaimDocument> documents = mutableDocuments();
-        documents.add(ClaimDocument.create(snapshot, System.currentTimeMillis()));
+        PersistentLongMap<ClaimDocument> documents = this.documentsByClaimId.put(
+                snapshot.id(),
+                ClaimDocument.create(snapshot, System.currentTimeMillis())
+        );
         long previousNextClaimId = this.nextClaimId;
         this.nextClaimId = Math.max(this.nextClaimId + 1L, snapshot.id() + 1L);
         try
         {
-            replaceAndSave(documents);
+            saveTree(snapshot.id(), documents, this.childIdsByParentId);
         }
         catch (IOException e)
         {
             this.nextClaimId = previousNextClaimId;
             throw e;
         }
+        this.documentsByClaimId = documents;
+        this.claimIndex.put(snapshot);
+        this.changeJournal.record(snapshot);
+        trackOwnership(snapshot);
         ClaimCreatedCallback.EVENT.invoker().onClaimCreated(snapshot, player);
         return CreateClaimResult.created(snapshot, balance.remaining() - claimArea);
     }
@@ -215,15 +245,7 @@ public final class FabricClaimRepository implements ClaimRepository
             @Nullable ServerPlayer player)
             throws IOException
     {
-        ClaimSnapshot existing = null;
-        for (ClaimSnapshot snapshot : this.claimIndex.snapshots())
-        {
-            if (Long.valueOf(claimId).equals(snapshot.id()))
-            {
-                existing = snapshot;
-                break;
-            }
-        }
+        ClaimSnapshot existing = this.claimIndex.get(claimId);
         if (existing == null)
         {
             return UpdateClaimResult.missingResult();
@@ -264,7 +286,7 @@ public final class FabricClaimRepository implements ClaimRepository
         {
             ClaimBlockBalance balance = this.claimBlocks.balance(
                     existing.ownerId(),
-                    this.claimIndex.snapshots()
+                    ownedTopLevelClaims(existing.ownerId())
             );
             // Preserve the established Bukkit resize calculation: refund the old top-level area,
             // then charge the replacement area against the derived remaining balance.
@@ -278,12 +300,7 @@ public final class FabricClaimRepository implements ClaimRepository
             }
         }
 
-        List<ClaimDocument> documents = mutableDocuments();
-        replaceDocument(
-                documents,
-                existingDocument.withSnapshot(updated, System.currentTimeMillis())
-        );
-        replaceAndSave(documents);
+        replaceDocument(existingDocument.withSnapshot(updated, System.currentTimeMillis()));
         ClaimModifiedCallback.EVENT.invoker().onClaimModified(existing, updated, player);
         return UpdateClaimResult.updated(updated, remainingAfter);
     }
@@ -330,11 +347,24 @@ public final class FabricClaimRepository implements ClaimRepository
             );
         }
 
-        List<ClaimDocument> originalDocuments = mutableDocuments();
-        List<ClaimDocument> updatedDocuments = new ArrayList<>(originalDocuments);
-        Set<Long> deletedIds = descendantIds(claimId, updatedDocuments);
-        updatedDocuments.removeIf(document -> deletedIds.contains(document.snapshot().id()));
-        replaceAndSave(updatedDocuments);
+        PersistentLongMap<ClaimDocument> originalDocuments = this.documentsByClaimId;
+        PersistentLongMap<List<Long>> originalChildren = this.childIdsByParentId;
+        long rootId = rootIdOf(claimId, originalDocuments);
+        Set<Long> deletedIds = descendantIds(claimId, originalChildren);
+
+        PersistentLongMap<ClaimDocument> updatedDocuments = originalDocuments;
+        PersistentLongMap<List<Long>> updatedChildren = originalChildren;
+        for (Long deletedId : deletedIds)
+        {
+            updatedDocuments = updatedDocuments.remove(deletedId);
+            updatedChildren = updatedChildren.remove(deletedId);
+        }
+        if (claim.parentId() != null)
+        {
+            updatedChildren = withoutChild(updatedChildren, claim.parentId(), claimId);
+        }
+
+        saveTree(rootId, updatedDocuments, updatedChildren);
         if (playerDataUpdate != null)
         {
             try
@@ -345,7 +375,7 @@ public final class FabricClaimRepository implements ClaimRepository
             {
                 try
                 {
-                    replaceAndSave(originalDocuments);
+                    saveTree(rootId, originalDocuments, originalChildren);
                 }
                 catch (IOException rollbackFailure)
                 {
@@ -354,6 +384,17 @@ public final class FabricClaimRepository implements ClaimRepository
                 throw playerDataFailure;
             }
         }
+        this.documentsByClaimId = updatedDocuments;
+        this.childIdsByParentId = updatedChildren;
+        for (Long deletedId : deletedIds)
+        {
+            ClaimSnapshot removed = this.claimIndex.remove(deletedId);
+            if (removed != null)
+            {
+                untrackOwnership(removed);
+            }
+            this.changeJournal.recordDeleted(deletedId);
+        }
         ClaimDeletedCallback.EVENT.invoker().onClaimDeleted(claim, player);
         return claim;
     }
@@ -403,11 +444,9 @@ public final class FabricClaimRepository implements ClaimRepository
         {
             return null;
         }
-        List<ClaimDocument> documents = mutableDocuments();
-        replaceDocument(documents, document.withTrust(
+        replaceDocument(document.withTrust(
                 new ClaimTrustSnapshot(claim.ownerId(), permissions, managers, neighbors, denies)
         ));
-        replaceAndSave(documents);
         return claim;
     }
 
@@ -439,20 +478,31 @@ public final class FabricClaimRepository implements ClaimRepository
         {
             return null;
         }
-        List<ClaimDocument> documents = mutableDocuments();
-        replaceDocument(documents, document.withTrust(
+        replaceDocument(document.withTrust(
                 new ClaimTrustSnapshot(claim.ownerId(), permissions, managers, neighbors, denies)
         ));
-        replaceAndSave(documents);
         return claim;
     }
 
-    synchronized @Nullable ClaimSnapshot findClaimAt(@NotNull ServerLevel level, @NotNull BlockPos pos)
+    /**
+     * Lock-free: the claim index publishes immutable states, so protection callbacks never wait
+     * behind a claim mutation.
+     */
+    @Nullable ClaimSnapshot findClaimAt(@NotNull ServerLevel level, @NotNull BlockPos pos)
     {
         return this.claimIndex.findAt(worldKey(level), pos.getX(), pos.getY(), pos.getZ(), false, false);
     }
 
-    synchronized @Nullable ClaimSnapshot claimById(long claimId)
+    /**
+     * Lock-free batch variant of {@link #findClaimAt} for callbacks that test many positions at
+     * once. The lookup sees the claims as they were when it was created.
+     */
+    @NotNull ClaimSnapshotIndex.WorldLookup claimLookup(@NotNull ServerLevel level)
+    {
+        return this.claimIndex.lookup(worldKey(level));
+    }
+
+    @Nullable ClaimSnapshot claimById(long claimId)
     {
         return this.claimIndex.get(claimId);
     }
@@ -460,7 +510,7 @@ public final class FabricClaimRepository implements ClaimRepository
     /**
      * @return the flag's current value, or null when the claim is unknown
      */
-    synchronized @Nullable Boolean flag(long claimId, @NotNull ClaimFlag flag)
+    @Nullable Boolean flag(long claimId, @NotNull ClaimFlag flag)
     {
         ClaimDocument document = this.documentsByClaimId.get(claimId);
         return document == null ? null : document.flag(flag);
@@ -485,20 +535,18 @@ public final class FabricClaimRepository implements ClaimRepository
             return value;
         }
 
-        List<ClaimDocument> documents = mutableDocuments();
-        replaceDocument(documents, document.withFlag(flag, value));
-        replaceAndSave(documents);
+        replaceDocument(document.withFlag(flag, value));
         return value;
     }
 
-    synchronized @Nullable ClaimTrustSnapshot trustFor(@NotNull ClaimSnapshot claim)
+    @Nullable ClaimTrustSnapshot trustFor(@NotNull ClaimSnapshot claim)
     {
         Long id = claim.id();
         ClaimDocument document = id == null ? null : this.documentsByClaimId.get(id);
         return document == null ? null : document.trust();
     }
 
-    synchronized boolean allows(
+    boolean allows(
             @NotNull ClaimSnapshot claim,
             @NotNull UUID playerId,
             @NotNull ClaimTrustLevel required)
@@ -525,14 +573,14 @@ public final class FabricClaimRepository implements ClaimRepository
         );
     }
 
-    synchronized @Nullable ClaimDocument documentFor(long claimId)
+    @Nullable ClaimDocument documentFor(long claimId)
     {
         return this.documentsByClaimId.get(claimId);
     }
 
     synchronized @NotNull ClaimBlockBalance claimBlockBalance(@NotNull UUID playerId) throws IOException
     {
-        return this.claimBlocks.balance(playerId, this.claimIndex.snapshots());
+        return this.claimBlocks.balance(playerId, ownedTopLevelClaims(playerId));
     }
 
     @NotNull String worldKey(@NotNull ServerLevel level)
@@ -553,69 +601,135 @@ public final class FabricClaimRepository implements ClaimRepository
         return identifier;
     }
 
-    private void replaceAndSave(
-            @NotNull List<ClaimDocument> documents)
-            throws IOException
+    /**
+     * Persists one changed document and publishes it. Only the claim tree that contains the
+     * document is validated and written, and the index is touched only when the geometry moved.
+     */
+    private void replaceDocument(@NotNull ClaimDocument updated) throws IOException
     {
-        FabricClaimFileStore.save(this.dataFolder, documents, this.nextClaimId);
-        List<ClaimSnapshot> snapshots = new ArrayList<>();
-        Map<Long, ClaimDocument> byId = new LinkedHashMap<>();
-        for (ClaimDocument document : documents)
+        long id = updated.snapshot().id();
+        ClaimDocument existing = this.documentsByClaimId.get(id);
+        if (existing == null)
+        {
+            throw new IllegalStateException("Missing claim document " + id + ".");
+        }
+
+        PersistentLongMap<ClaimDocument> documents = this.documentsByClaimId.put(id, updated);
+        saveTree(rootIdOf(id, documents), documents, this.childIdsByParentId);
+        this.documentsByClaimId = documents;
+        if (!existing.snapshot().equals(updated.snapshot()))
         {
-            snapshots.add(document.snapshot());
-            byId.put(document.snapshot().id(), document);
+            this.claimIndex.put(updated.snapshot());
+            this.changeJournal.record(updated.snapshot());
         }
-        this.claimIndex.rebuild(snapshots);
-        this.documentsByClaimId.clear();
-        this.documentsByClaimId.putAll(byId);
-        this.logger.info("Saved {} native Fabric claims to {}.", snapshots.size(), this.dataFolder);
+        this.changeJournal.recordTrust(id, updated.trust());
     }
 
-    private @NotNull List<ClaimDocument> mutableDocuments()
+    private void saveTree(
+            long rootId,
+            @NotNull PersistentLongMap<ClaimDocument> documents,
+            @NotNull PersistentLongMap<List<Long>> children)
+            throws IOException
     {
-        return new ArrayList<>(this.documentsByClaimId.values());
+        ClaimDocument root = documents.get(rootId);
+        if (root == null)
+        {
+            FabricClaimFileStore.deleteTree(this.dataFolder, rootId, this.nextClaimId);
+            this.logger.info("Deleted native Fabric claim tree {} from {}.", rootId, this.dataFolder);
+            return;
+        }
+
+        List<ClaimDocument> tree = new ArrayList<>();
+        collectTree(root, documents, children, tree);
+        FabricClaimFileStore.saveTree(this.dataFolder, tree, this.nextClaimId);
+        this.logger.info("Saved {} native Fabric claims in tree {} to {}.", tree.size(), rootId, this.dataFolder);
     }
 
-    private static void replaceDocument(
-            @NotNull List<ClaimDocument> documents,
-            @NotNull ClaimDocument updated)
+    private static void collectTree(
+            @NotNull ClaimDocument document,
+            @NotNull PersistentLongMap<ClaimDocument> documents,
+            @NotNull PersistentLongMap<List<Long>> children,
+            @NotNull List<ClaimDocument> output)
     {
-        Long updatedId = updated.snapshot().id();
-        for (int i = 0; i < documents.size(); i++)
+        output.add(document);
+        List<Long> childIds = children.get(document.snapshot().id());
+        if (childIds == null)
+        {
+            return;
+        }
+        for (Long childId : childIds)
         {
-            if (updatedId.equals(documents.get(i).snapshot().id()))
+            ClaimDocument child = documents.get(childId);
+            if (child != null)
             {
-                documents.set(i, updated);
-                return;
+                collectTree(child, documents, children, output);
             }
         }
-        throw new IllegalStateException("Missing claim document " + updatedId + ".");
+    }
+
+    private static long rootIdOf(long claimId, @NotNull PersistentLongMap<ClaimDocument> documents)
+    {
+        long rootId = claimId;
+        ClaimDocument document = documents.get(rootId);
+        while (document != null && document.snapshot().parentId() != null)
+        {
+            rootId = document.snapshot().parentId();
+            document = documents.get(rootId);
+        }
+        return rootId;
     }
 
     private static @NotNull Set<Long> descendantIds(
-            @NotNull Long rootId,
-            @NotNull Collection<ClaimDocument> documents)
+            long rootId,
+            @NotNull PersistentLongMap<List<Long>> children)
     {
         Set<Long> result = new LinkedHashSet<>();
-        result.add(rootId);
-        boolean changed;
-        do
+        List<Long> pending = new ArrayList<>();
+        pending.add(rootId);
+        while (!pending.isEmpty())
         {
-            changed = false;
-            for (ClaimDocument document : documents)
+            Long id = pending.remove(pending.size() - 1);
+            if (!result.add(id))
             {
-                Long parentId = document.snapshot().parentId();
-                Long id = document.snapshot().id();
-                if (parentId != null && result.contains(parentId) && result.add(id))
-                {
-                    changed = true;
-                }
+                continue;
+            }
+            List<Long> childIds = children.get(id);
+            if (childIds != null)
+            {
+                pending.addAll(childIds);
             }
         }
-        while (changed);
         return result;
     }
 
+    private static @NotNull PersistentLongMap<List<Long>> withChild(
+            @NotNull PersistentLongMap<List<Long>> children,
+            long parentId,
+            long childId)
+    {
+        List<Long> existing = children.get(parentId);
+        List<Long> updated = existing == null ? new ArrayList<>(1) : new ArrayList<>(existing);
+        updated.add(childId);
+        return children.put(parentId, Collections.unmodifiableList(updated));
+    }
+
+    private static @NotNull PersistentLongMap<List<Long>> withoutChild(
+            @NotNull PersistentLongMap<List<Long>> children,
+            long parentId,
+            long childId)
+    {
+        List<Long> existing = children.get(parentId);
+        if (existing == null)
+        {
+            return children;
+        }
+        List<Long> updated = new ArrayList<>(existing);
+        updated.remove(Long.valueOf(childId));
+        return updated.isEmpty()
+                ? children.remove(parentId)
+                : children.put(parentId, Collections.unmodifiableList(updated));
+    }
+
     private @NotNull ClaimTrustSnapshot trustForOrEmpty(@NotNull ClaimSnapshot claim)
     {
         ClaimTrustSnapshot trust = trustFor(claim);
@@ -662,18 +776,55 @@ public final class FabricClaimRepository implements ClaimRepository
             return false;
         }
 
-        int ownedTopLevelClaims = 0;
-        for (ClaimSnapshot snapshot : this.claimIndex.snapshots())
+        Set<Long> owned = this.topLevelClaimIdsByOwner.get(ownerId);
+        return owned != null && owned.size() >= maximumClaims;
+    }
+
+    /**
+     * Claim-block balances only count the owner's top-level claims, so they are read from the
+     * ownership index instead of scanning every claim on the server.
+     */
+    private @NotNull List<ClaimSnapshot> ownedTopLevelClaims(@NotNull UUID ownerId)
+    {
+        Set<Long> owned = this.topLevelClaimIdsByOwner.get(ownerId);
+        if (owned == null)
         {
-            if (ownerId.equals(snapshot.ownerId())
-                    && snapshot.parentId() == null
-                    && !snapshot.subdivision()
-                    && ++ownedTopLevelClaims >= maximumClaims)
+            return Collections.emptyList();
+        }
+
+        List<ClaimSnapshot> result = new ArrayList<>(owned.size());
+        for (Long id : owned)
+        {
+            ClaimSnapshot snapshot = this.claimIndex.get(id);
+            if (snapshot != null)
             {
-                return true;
+                result.add(snapshot);
             }
         }
-        return false;
+        return result;
+    }
+
+    private void trackOwnership(@NotNull ClaimSnapshot snapshot)
+    {
+        if (snapshot.ownerId() != null && snapshot.parentId() == null && !snapshot.subdivision())
+        {
+            this.topLevelClaimIdsByOwner
+                    .computeIfAbsent(snapshot.ownerId(), ignored -> new LinkedHashSet<>())
+                    .add(snapshot.id());
+        }
+    }
+
+    private void untrackOwnership(@NotNull ClaimSnapshot snapshot)
+    {
+        if (snapshot.ownerId() == null)
+        {
+            return;
+        }
+        Set<Long> owned = this.topLevelClaimIdsByOwner.get(snapshot.ownerId());
+        if (owned != null && owned.remove(snapshot.id()) && owned.isEmpty())
+        {
+            this.topLevelClaimIdsByOwner.remove(snapshot.ownerId());
+        }
     }
 
     private boolean bypassesClaimCountLimit(
@@ -737,6 +888,12 @@ public final class FabricClaimRepository implements ClaimRepository
         return this.claimIndex.candidates(worldKey, bounds);
     }
 
+    @Override
+    public @NotNull ClaimChangeSet changesSince(long sequence)
+    {
+        return this.changeJournal.changesSince(sequence);
+    }
+
     static final class CreateClaimResult
     {
         private final @Nullable ClaimSnapshot created;
@@ -1,6 +1,7 @@
 package com.griefprevention.fabric;
 
 import com.griefprevention.claims.ClaimSnapshot;
+import com.griefprevention.claims.ClaimSnapshotIndex;
 import com.griefprevention.claims.ClaimTrustLevel;
 import com.griefprevention.persistence.ClaimDocument;
 import com.griefprevention.protection.ExplosionBlockPolicy;
@@ -27,7 +28,11 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /** Bridges Minecraft explosions to the platform-neutral upstream policy. */
 @ApiStatus.Internal
@@ -103,6 +108,10 @@ public final class FabricExplosionProtection
 
         ExplosionSourceType sourceType = sourceType(source);
         boolean normalEnvironment = Level.OVERWORLD.equals(level.dimension());
+        int seaLevel = level.getSeaLevel();
+        ClaimSnapshotIndex.WorldLookup lookup = this.claims.claimLookup(level);
+        // A claimed block's fate depends only on its claim, so decide once per claim.
+        Map<Long, Boolean> claimDecisions = new HashMap<>();
         List<BlockPos> allowed = new ArrayList<>(affectedBlocks.size());
         for (BlockPos block : affectedBlocks)
         {
@@ -111,26 +120,41 @@ public final class FabricExplosionProtection
                 continue;
             }
 
-            ClaimSnapshot snapshot = this.claims.findClaimAt(level, block);
-            ClaimDocument document = null;
+            ClaimSnapshot snapshot = lookup.findAt(block.getX(), block.getY(), block.getZ());
+            boolean mayDamage;
             if (snapshot != null && snapshot.id() != null)
             {
-                document = this.claims.documentFor(snapshot.id());
-                if (document == null)
+                Boolean decision = claimDecisions.get(snapshot.id());
+                if (decision == null)
                 {
-                    continue;
+                    ClaimDocument document = this.claims.documentFor(snapshot.id());
+                    decision = document != null && ExplosionBlockPolicy.mayDamageBlock(
+                            this.settings,
+                            worldKey,
+                            sourceType,
+                            normalEnvironment,
+                            seaLevel,
+                            block.getY(),
+                            document
+                    );
+                    claimDecisions.put(snapshot.id(), decision);
                 }
+                mayDamage = decision;
+            }
+            else
+            {
+                mayDamage = ExplosionBlockPolicy.mayDamageBlock(
+                        this.settings,
+                        worldKey,
+                        sourceType,
+                        normalEnvironment,
+                        seaLevel,
+                        block.getY(),
+                        null
+                );
             }
 
-            if (ExplosionBlockPolicy.mayDamageBlock(
-                    this.settings,
-                    worldKey,
-                    sourceType,
-                    normalEnvironment,
-                    level.getSeaLevel(),
-                    block.getY(),
-                    document
-            ))
+            if (mayDamage)
             {
                 allowed.add(block);
             }
@@ -153,6 +177,15 @@ public final class FabricExplosionProtection
             }
         }
 
+        // Match upstream's dispenser exception as closely as Minecraft exposes it: an ownerless
+        // projectile originating inside the same claim may trigger its blocks.
+        boolean ownerlessProjectile = source instanceof Projectile && ((Projectile) source).getOwner() == null;
+        ClaimSnapshot sourceClaim = ownerlessProjectile
+                ? this.claims.findClaimAt(level, source.blockPosition())
+                : null;
+
+        ClaimSnapshotIndex.WorldLookup lookup = this.claims.claimLookup(level);
+        Map<ClaimSnapshot, Boolean> claimDecisions = new IdentityHashMap<>();
         List<BlockPos> allowed = new ArrayList<>(affectedBlocks.size());
         for (BlockPos block : affectedBlocks)
         {
@@ -161,28 +194,23 @@ public final class FabricExplosionProtection
                 continue;
             }
 
-            ClaimSnapshot claim = this.claims.findClaimAt(level, block);
+            ClaimSnapshot claim = lookup.findAt(block.getX(), block.getY(), block.getZ());
             if (claim == null)
             {
                 allowed.add(block);
                 continue;
             }
 
-            if (actor instanceof Player && mayAccess((Player) actor, claim))
+            Boolean decision = claimDecisions.get(claim);
+            if (decision == null)
             {
-                allowed.add(block);
-                continue;
+                decision = (actor instanceof Player && mayAccess((Player) actor, claim))
+                        || (sourceClaim != null && Objects.equals(sourceClaim.id(), claim.id()));
+                claimDecisions.put(claim, decision);
             }
-
-            // Match upstream's dispenser exception as closely as Minecraft exposes it: an
-            // ownerless projectile originating inside the same claim may trigger its blocks.
-            if (source instanceof Projectile && ((Projectile) source).getOwner() == null)
+            if (decision)
             {
-                ClaimSnapshot sourceClaim = this.claims.findClaimAt(level, source.blockPosition());
-                if (sourceClaim != null && java.util.Objects.equals(sourceClaim.id(), claim.id()))
-                {
-                    allowed.add(block);
-                }
+                allowed.add(block);
             }
         }
         return allowed;
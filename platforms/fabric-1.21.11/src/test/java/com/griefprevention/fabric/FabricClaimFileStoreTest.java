@@ -13,6 +13,7 @@ import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.helpers.NOPLogger;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -250,6 +251,46 @@ class FabricClaimFileStoreTest
         assertEquals(14L, loaded.nextClaimId());
     }
 
+    @Test
+    void savesAndDeletesOneClaimTreeWithoutRewritingOtherTrees() throws Exception
+    {
+        Path dataFolder = this.tempDir.resolve("GriefPreventionData");
+        Path claimDataFolder = dataFolder.resolve("ClaimData");
+        Files.createDirectories(claimDataFolder);
+        Files.writeString(dataFolder.resolve("_schemaVersion"), "11", StandardCharsets.UTF_8);
+        Files.writeString(claimDataFolder.resolve("_nextClaimID"), "3", StandardCharsets.UTF_8);
+        Files.writeString(claimDataFolder.resolve("1.yml"), claimYaml(1L, null), StandardCharsets.UTF_8);
+        Files.writeString(claimDataFolder.resolve("2.yml"), claimYaml(2L, null), StandardCharsets.UTF_8);
+        FabricClaimFileStore.LoadedClaims loaded = FabricClaimFileStore.load(dataFolder, LOGGER);
+        String untouched = Files.readString(claimDataFolder.resolve("1.yml"), StandardCharsets.UTF_8);
+
+        ClaimDocument second = loaded.documents().get(1);
+        ClaimSnapshot child = new ClaimSnapshot(
+                3L,
+                "world",
+                null,
+                2L,
+                ClaimBounds.rectangle(1, 0, 1, 4, 10, 4),
+                true,
+                true
+        );
+        FabricClaimFileStore.saveTree(dataFolder, List.of(second, ClaimDocument.create(child, 99L)), 4L);
+
+        assertEquals(untouched, Files.readString(claimDataFolder.resolve("1.yml"), StandardCharsets.UTF_8));
+        assertTrue(Files.readString(claimDataFolder.resolve("2.yml"), StandardCharsets.UTF_8).contains("'3':"));
+        assertEquals("4", Files.readString(claimDataFolder.resolve("_nextClaimID"), StandardCharsets.UTF_8));
+        assertEquals(3, FabricClaimFileStore.load(dataFolder, LOGGER).documents().size());
+
+        assertThrows(IOException.class, () ->
+                FabricClaimFileStore.saveTree(dataFolder, List.of(ClaimDocument.create(child, 99L)), 4L));
+
+        FabricClaimFileStore.deleteTree(dataFolder, 2L, 4L);
+
+        assertFalse(Files.exists(claimDataFolder.resolve("2.yml")));
+        assertEquals(untouched, Files.readString(claimDataFolder.resolve("1.yml"), StandardCharsets.UTF_8));
+        assertEquals(4L, FabricClaimFileStore.load(dataFolder, LOGGER).nextClaimId());
+    }
+
     @Test
     void migratesUnversionedOrphanLayoutWithACompleteBackup() throws Exception
     {
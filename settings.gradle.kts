@@ -20,4 +20,6 @@ if (providers.gradleProperty("jitpack").orElse("false").get() != "true") {
 
     include("fabric-1.21.11")
     project(":fabric-1.21.11").projectDir = file("platforms/fabric-1.21.11")
+
+    include("gp3d-benchmarks")
 }
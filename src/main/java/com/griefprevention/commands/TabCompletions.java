@@ -1,5 +1,6 @@
 package com.griefprevention.commands;
 
+import com.griefprevention.persistence.PlayerNameDirectory;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -10,6 +11,8 @@ import org.jetbrains.annotations.Range;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.Collections;
@@ -20,6 +23,8 @@ import java.util.Collections;
 public final class TabCompletions
 {
 
+    private static final int KNOWN_PLAYER_LIMIT = 50;
+
     public static @NotNull List<String> integer(
             @NotNull String[] args,
             @Range(from = 1, to = Integer.MAX_VALUE - 1) int maxDigits,
@@ -104,6 +109,45 @@ public final class TabCompletions
         return complete(onlinePlayers, Player::getName, canSee, args);
     }
 
+    /**
+     * Offer completions for visible online players' names followed by offline players known to the
+     * name directory.
+     *
+     * @param sender the sender
+     * @param args the existing command arguments
+     * @param directory the name directory, or null to complete only online players
+     * @return the matching players' names
+     */
+    public static @NotNull List<String> knownPlayers(
+            @Nullable CommandSender sender,
+            @NotNull String[] args,
+            @Nullable PlayerNameDirectory directory)
+    {
+        List<String> completions = visiblePlayers(sender, args);
+        if (directory == null)
+        {
+            return completions;
+        }
+
+        Set<String> seen = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        seen.addAll(completions);
+        for (String name : directory.namesStartingWith(asPrefix(args), KNOWN_PLAYER_LIMIT))
+        {
+            // Skip online players hidden from the sender rather than revealing them as offline.
+            Player online = Bukkit.getPlayerExact(name);
+            if (online != null && sender instanceof Player && !((Player) sender).canSee(online))
+            {
+                continue;
+            }
+
+            if (seen.add(name))
+            {
+                completions.add(name);
+            }
+        }
+        return completions;
+    }
+
     /**
      * Fires an AlliumTabCompletionsEvent via reflection. If Allium's PartyManager is active
      * and populates the result, returns the completions list. Otherwise returns null.
@@ -1,9 +1,11 @@
 package com.griefprevention.commands;
 
+import com.griefprevention.claims.ClaimIntegrityIssue;
 import com.griefprevention.claims.ClaimTrustCommandPermissions;
 import com.griefprevention.claims.ClaimTrustIdentifier;
 import me.ryanhamshire.GriefPrevention.*;
 import me.ryanhamshire.GriefPrevention.DataStore.NoTransferException;
+import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
@@ -13,10 +15,13 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -38,6 +43,7 @@ public class UnifiedAdminClaimCommand extends UnifiedCommandHandler {
         registerSubcommand("adminlist", this::handleAdminList);
         registerSubcommand("list", this::handleList);
         registerSubcommand("checkexpiry", this::handleCheckExpiry);
+        registerSubcommand("integrity", this::handleIntegrity);
         registerSubcommand("blocks", this::handleBlocks);
         registerSubcommand(
             "delete",
@@ -84,25 +90,25 @@ public class UnifiedAdminClaimCommand extends UnifiedCommandHandler {
             "adjustbonusclaimblocks",
             "griefprevention.adjustclaimblocks",
             (sender, args) -> handleBlocks(sender, prependArg("bonus", args)),
-            java.util.Arrays.asList("online-player", "integer-negative")
+            java.util.Arrays.asList("known-player", "integer-negative")
         );
         registerLegacyStandaloneCommand(
             "acb",
             "griefprevention.adjustclaimblocks",
             (sender, args) -> handleBlocks(sender, prependArg("bonus", args)),
-            java.util.Arrays.asList("online-player", "integer-negative")
+            java.util.Arrays.asList("known-player", "integer-negative")
         );
         registerLegacyStandaloneCommand(
             "setaccruedclaimblocks",
             "griefprevention.adjustclaimblocks",
             (sender, args) -> handleBlocks(sender, prependArg("accrued", args)),
-            java.util.Arrays.asList("online-player", "integer-negative")
+            java.util.Arrays.asList("known-player", "integer-negative")
         );
         registerLegacyStandaloneCommand(
             "scb",
             "griefprevention.adjustclaimblocks",
             (sender, args) -> handleBlocks(sender, prependArg("accrued", args)),
-            java.util.Arrays.asList("online-player", "integer-negative")
+            java.util.Arrays.asList("known-player", "integer-negative")
         );
         registerLegacyStandaloneCommand(
             "adjustbonusclaimblocksall",
@@ -754,6 +760,48 @@ public class UnifiedAdminClaimCommand extends UnifiedCommandHandler {
         return true;
     }
 
+    private boolean handleIntegrity(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("griefprevention.integrity")) {
+            if (sender instanceof Player) {
+                GriefPrevention.sendMessage((Player) sender, TextMode.Err, Messages.NoPermissionForCommand);
+            }
+            return true;
+        }
+
+        boolean repair = args.length == 1 && args[0].equalsIgnoreCase("repair");
+        if (args.length > 1 || (args.length == 1 && !repair)) {
+            return false;
+        }
+
+        sender.sendMessage("Scanning claims for integrity issues...");
+        SchedulerUtil.runAsyncNow(plugin, () -> {
+            List<ClaimIntegrityIssue> issues = plugin.dataStore.scanClaimIntegrity(ForkJoinPool.commonPool());
+            String report;
+            try {
+                File reportFile = plugin.dataStore.writeClaimIntegrityReport(issues);
+                report = reportFile.getPath();
+            } catch (IOException e) {
+                GriefPrevention.AddLogEntry("Unable to write claim integrity report: " + e.getMessage());
+                report = null;
+            }
+
+            String reportPath = report;
+            // repairs touch the live chunk cache, so they run back on the global thread
+            SchedulerUtil.runLaterGlobal(plugin, () -> {
+                String message = "Claim integrity scan found " + issues.size() + " issue(s)"
+                        + (reportPath != null ? "; report written to " + reportPath + "." : ".");
+                if (repair && !issues.isEmpty()) {
+                    int repaired = plugin.dataStore.repairChunkCache(issues);
+                    message += " Repaired " + repaired + " chunk cache issue(s).";
+                }
+                sender.sendMessage(message);
+                GriefPrevention.AddLogEntry(sender.getName() + " ran a claim integrity scan: " + message,
+                        CustomLogEntryTypes.AdminActivity);
+            }, 1L);
+        });
+        return true;
+    }
+
     private boolean handleTransfer(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
             sender.sendMessage("This command can only be used by players.");
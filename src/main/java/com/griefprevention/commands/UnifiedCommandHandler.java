@@ -457,6 +457,13 @@ public abstract class UnifiedCommandHandler implements TabExecutor {
                         if ("online-player".equalsIgnoreCase(completionType)) {
                             return TabCompletions.visiblePlayers(sender, args);
                         }
+                        if ("known-player".equalsIgnoreCase(completionType)) {
+                            return TabCompletions.knownPlayers(
+                                sender,
+                                args,
+                                GriefPrevention.instance.getPlayerNameDirectory()
+                            );
+                        }
                         if ("integer".equalsIgnoreCase(completionType)) {
                             return TabCompletions.integer(args, 6, false);
                         }
@@ -1391,7 +1398,14 @@ public abstract class UnifiedCommandHandler implements TabExecutor {
                 switch (type) {
                     case "player":
                     case "online-player":
-                        List<String> players = TabCompletions.visiblePlayers(sender, new String[] { current });
+                    case "known-player":
+                        List<String> players = "known-player".equals(type)
+                            ? TabCompletions.knownPlayers(
+                                sender,
+                                new String[] { current },
+                                GriefPrevention.instance.getPlayerNameDirectory()
+                            )
+                            : TabCompletions.visiblePlayers(sender, new String[] { current });
                         // Exclude the sender themselves from player completions
                         if (sender instanceof Player) {
                             Player playerSender = (Player) sender;
@@ -1,5 +1,6 @@
 package me.ryanhamshire.GriefPrevention;
 
+import com.griefprevention.claims.ClaimMutationConflictException;
 import com.griefprevention.compat.MaterialCompat;
 import com.griefprevention.compat.MaterialTagCompat;
 import me.ryanhamshire.GriefPrevention.compat.CompatUtil;
@@ -55,6 +56,8 @@ public class AutoExtendClaimTask implements Runnable
         // and should not be auto-extended downward
         if (claim.is3D()) return;
 
+        // The extension is dropped if the claim changes while its depth is measured.
+        final long claimVersion = GriefPrevention.instance.dataStore.getClaimVersion(claim);
         Location lesserCorner = claim.getLesserBoundaryCorner();
         Location greaterCorner = claim.getGreaterBoundaryCorner();
         World world = lesserCorner.getWorld();
@@ -104,7 +107,7 @@ public class AutoExtendClaimTask implements Runnable
         try {
             // Bukkit.getAsyncScheduler().runNow(plugin, Consumer<ScheduledTask>)
             Object asyncScheduler = Bukkit.class.getMethod("getAsyncScheduler").invoke(null);
-            Consumer<Object> consumer = (ignored) -> new AutoExtendClaimTask(claim, snapshots, world.getEnvironment(), finalLowestLootableTile).run();
+            Consumer<Object> consumer = (ignored) -> new AutoExtendClaimTask(claim, claimVersion, snapshots, world.getEnvironment(), finalLowestLootableTile).run();
             try {
                 // new API may accept Runnable directly in some builds; try Consumer first
                 asyncScheduler.getClass().getMethod("runNow", org.bukkit.plugin.Plugin.class, java.util.function.Consumer.class)
@@ -112,17 +115,18 @@ public class AutoExtendClaimTask implements Runnable
             } catch (NoSuchMethodException e) {
                 // Fallback: try Runnable signature if present
                 asyncScheduler.getClass().getMethod("runNow", org.bukkit.plugin.Plugin.class, java.lang.Runnable.class)
-                        .invoke(asyncScheduler, GriefPrevention.instance, (Runnable) () -> new AutoExtendClaimTask(claim, snapshots, world.getEnvironment(), finalLowestLootableTile).run());
+                        .invoke(asyncScheduler, GriefPrevention.instance, (Runnable) () -> new AutoExtendClaimTask(claim, claimVersion, snapshots, world.getEnvironment(), finalLowestLootableTile).run());
             }
         } catch (Throwable ignored) {
             // Non-Paper/Folia fallback
             SchedulerUtil.runAsyncNow(
                     GriefPrevention.instance,
-                    new AutoExtendClaimTask(claim, snapshots, world.getEnvironment(), finalLowestLootableTile));
+                    new AutoExtendClaimTask(claim, claimVersion, snapshots, world.getEnvironment(), finalLowestLootableTile));
         }
     }
 
     private final Claim claim;
+    private final long claimVersion;
     private final ArrayList<ChunkSnapshot> chunks;
     private final Environment worldType;
     private final Map<Biome, Set<Material>> biomePlayerMaterials = new HashMap<>();
@@ -153,11 +157,13 @@ public class AutoExtendClaimTask implements Runnable
 
     private AutoExtendClaimTask(
             @NotNull Claim claim,
+            long claimVersion,
             @NotNull ArrayList<@NotNull ChunkSnapshot> chunks,
             @NotNull Environment worldType,
             int lowestExistingY)
     {
         this.claim = claim;
+        this.claimVersion = claimVersion;
         this.chunks = chunks;
         this.worldType = worldType;
         this.lowestExistingY = Math.min(lowestExistingY, claim.getLesserBoundaryCorner().getBlockY());
@@ -171,7 +177,19 @@ public class AutoExtendClaimTask implements Runnable
         int newY = this.getLowestBuiltY();
         if (newY < this.claim.getLesserBoundaryCorner().getBlockY())
         {
-            SchedulerUtil.runLaterGlobal(GriefPrevention.instance, new ExecuteExtendClaimTask(claim, newY), 1);
+            DataStore dataStore = GriefPrevention.instance.dataStore;
+            dataStore.submitClaimMutation(this.claim, this.claimVersion, () ->
+            {
+                dataStore.extendClaim(this.claim, newY);
+                return null;
+            }).exceptionally(failure ->
+            {
+                if (!(failure instanceof ClaimMutationConflictException))
+                {
+                    GriefPrevention.AddLogEntry("Unable to extend claim " + this.claim.getID() + ": " + failure);
+                }
+                return null;
+            });
         }
     }
 
@@ -547,23 +565,4 @@ public class AutoExtendClaimTask implements Runnable
         materials.removeAll(MaterialCompat.availableSet(names));
     }
 
-    //runs in the main execution thread, where it can safely change claims and save those changes
-    private static final class ExecuteExtendClaimTask implements Runnable
-    {
-        private final Claim claim;
-        private final int newY;
-
-        private ExecuteExtendClaimTask(Claim claim, int newY)
-        {
-            this.claim = claim;
-            this.newY = newY;
-        }
-
-        @Override
-        public void run()
-        {
-            GriefPrevention.instance.dataStore.extendClaim(claim, newY);
-        }
-    }
-
 }
@@ -495,7 +495,7 @@ public class BlockEventHandler implements Listener {
 
             //if the player has permission for the claim and he's placing UNDER the claim
             if (
-                block.getY() <= claim.lesserBoundaryCorner.getBlockY() &&
+                block.getY() <= claim.getLesserBoundaryCorner().getBlockY() &&
                 claim.checkPermission(player, ClaimPermission.Build, placeEvent) == null
             ) {
                 //extend the claim downward
@@ -55,11 +55,11 @@ public final class BlockExplodeEventHandler implements Listener {
         // mace's Wind Burst self-launch inside claims. This mirrors
         // EntityEventHandler#handleExplosion.
         List<Block> explodedBlocks = new ArrayList<>();
-        Claim cachedClaim = null;
+        ExplosionClaimLookup claims = new ExplosionClaimLookup(this.dataStore, world, null);
 
         for (Block block : blocks)
         {
-            Claim claim = this.dataStore.getClaimAt(block.getLocation(), false, cachedClaim);
+            Claim claim = claims.getClaimAt(block);
 
             if (claim == null)
             {
@@ -67,8 +67,6 @@ public final class BlockExplodeEventHandler implements Listener {
                 continue;
             }
 
-            cachedClaim = claim;
-
             // Respect the same explosion permissions as entity-caused explosions, so
             // /claimexplosions works here too.
             if (!GriefPrevention.instance.config_blockClaimExplosions || claim.areExplosivesAllowed)
@@ -103,15 +101,13 @@ public final class BlockExplodeEventHandler implements Listener {
         // explosion (notably player knockback) still happen. Mirrors
         // EntityEventHandler#handleExplodeInteract.
         List<Block> removed = new ArrayList<>();
-        Claim cachedClaim = playerData == null ? null : playerData.lastClaim;
+        ExplosionClaimLookup claims = new ExplosionClaimLookup(this.dataStore, world, playerData == null ? null : playerData.lastClaim);
 
         for (Block block : blocks)
         {
-            Claim claim = this.dataStore.getClaimAt(block.getLocation(), false, cachedClaim);
+            Claim claim = claims.getClaimAt(block);
             if (claim == null) continue;
 
-            cachedClaim = claim;
-
             // With no known player, nothing can be authorised - protect the block.
             if (player == null)
             {
@@ -126,8 +122,8 @@ public final class BlockExplodeEventHandler implements Listener {
             }
         }
 
-        if (playerData != null && cachedClaim != null)
-            playerData.lastClaim = cachedClaim;
+        if (playerData != null && claims.getCachedClaim() != null)
+            playerData.lastClaim = claims.getCachedClaim();
 
         blocks.removeAll(removed);
     }
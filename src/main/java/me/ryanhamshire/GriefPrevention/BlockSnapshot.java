@@ -42,7 +42,7 @@ public class BlockSnapshot {
     public BlockSnapshot(Block block) {
         this.location = block.getLocation();
         this.material = block.getType();
-        this.blockData = getBlockData(block);
+        this.blockData = CompatUtil.getBlockData(block);
         this.protectedFromRestore = isQuickShopSign(block);
     }
 
@@ -55,22 +55,11 @@ public class BlockSnapshot {
         setBlockData(block, blockData);
     }
 
-    private static Object getBlockData(Block block) {
-        try {
-            return Block.class.getMethod("getBlockData").invoke(block);
-        } catch (ReflectiveOperationException | RuntimeException | LinkageError exception) {
-            return null;
-        }
-    }
-
     private void setBlockData(Block block, Object blockData) {
         if (blockData == null) {
             return;
         }
-        try {
-            Class<?> blockDataClass = Class.forName("org.bukkit.block.data.BlockData", false, BlockSnapshot.class.getClassLoader());
-            Block.class.getMethod("setBlockData", blockDataClass).invoke(block, blockData);
-        } catch (ReflectiveOperationException | RuntimeException | LinkageError exception) {
+        if (!CompatUtil.setBlockData(block, blockData)) {
             // Legacy servers don't support BlockData, just set material
             block.setType(this.material, false);
         }
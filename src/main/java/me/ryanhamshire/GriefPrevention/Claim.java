@@ -21,7 +21,9 @@ package me.ryanhamshire.GriefPrevention;
 import com.griefprevention.claims.ClaimBounds;
 import com.griefprevention.claims.ClaimSnapshot;
 import com.griefprevention.claims.ClaimTrustLevel;
+import com.griefprevention.claims.ClaimTrustSet;
 import com.griefprevention.claims.ClaimTrustSnapshot;
+import com.griefprevention.claims.ClaimTrustTable;
 import com.griefprevention.geometry.OrthogonalPoint2i;
 import com.griefprevention.geometry.OrthogonalPolygon;
 import com.griefprevention.compat.MaterialCompat;
@@ -64,10 +66,12 @@ import java.util.Collections;
 //only claims which have been added to the datastore have any effect
 public class Claim
 {
-    //two locations, which together define the boundaries of the claim
+    //two corners, which together define the boundaries of the claim
     //for subdivisions, if is3D is true, the Y boundaries are respected
-    public Location lesserBoundaryCorner;
-    public Location greaterBoundaryCorner;
+    //kept as block coordinates plus an interned world id; the corner getters rebuild Locations
+    private int worldId = ClaimWorlds.NONE;
+    private int lesserX, lesserY, lesserZ;
+    private int greaterX, greaterY, greaterZ;
      
      //whether this claim respects Y boundaries (for 3D subdivisions)
      private boolean is3D = false;
@@ -82,38 +86,43 @@ public class Claim
      public UUID ownerID;
  
      //list of players who have neighbor trust (can bypass minimum distance checks)
-     public ArrayList<String> neighbors = new ArrayList<>();
+     public ArrayList<String> neighbors = new IdentifierList();
 
      //list of players who were auto-granted neighbor trust due to existing nearby claims
-     private ArrayList<String> autoNeighbors = new ArrayList<>();
+     private ArrayList<String> autoNeighbors = new IdentifierList();
 
      //when true, all players can bypass minimum distance checks for this claim
      public boolean allowAllNeighbors = false;
 
      //permissions for this claim, see ClaimPermission class
      //holds interaction trust only (build/container/access) - manager status lives in managerIdentifiers
-     private HashMap<String, ClaimPermission> playerIDToClaimPermissionMap = new HashMap<>();
+     //player UUIDs are keyed as UUIDs so checks for a player skip the string conversion
+     private ClaimTrustTable<ClaimPermission> playerIDToClaimPermissionMap = new ClaimTrustTable<>();
 
     //players/permissions who may hand out trust in this claim. tracked separately from the
     //interaction trust map so granting manage trust does not overwrite an explicit interaction
     //grant, and losing manage trust does not take that explicit grant away
-    private final HashSet<String> managerIdentifiers = new HashSet<>();
+    private final ClaimTrustSet managerIdentifiers = new ClaimTrustSet();
 
     //players/permissions explicitly denied in this claim (override parent inheritance)
-    private final HashSet<String> deniedPermissions = new HashSet<>();
+    //null until the first deny, since almost no claim has one
+    private @Nullable HashSet<String> deniedPermissions = null;
 
     //standalone combat trusts. tracked separately from the interaction trust map so granting
     //pvp/pve trust never overwrites an explicit build/container/access grant, and neither
     //hierarchy level implies them. Only enforced when the matching Claims.Allow*Trust config
     //flag is enabled; stored unconditionally so toggling the flag never loses grants.
-    private final HashSet<String> pvpTrusted = new HashSet<>();
-    private final HashSet<String> pveTrusted = new HashSet<>();
+    private final ClaimTrustSet pvpTrusted = new ClaimTrustSet();
+    private final ClaimTrustSet pveTrusted = new ClaimTrustSet();
 
      //whether or not this claim is in the data store
      //if a claim instance isn't in the data store, it isn't "active" - players can't interract with it
      //why keep this?  so that claims which have been removed from the data store can be correctly
      //ignored even though they may have references floating around
      public boolean inDataStore = false;
+
+     //position of this claim in the datastore's claim list, so index lookups can keep list order
+     long dataStoreOrder;
  
       public boolean areExplosivesAllowed = false;
       public boolean areWitherExplosionsAllowed = false;
@@ -201,35 +210,35 @@ public class Claim
         this.is3D = is3D;
 
         //store corners
-        this.lesserBoundaryCorner = lesserBoundaryCorner.clone();
-        this.greaterBoundaryCorner = greaterBoundaryCorner.clone();
+        this.setBoundaryCorners(lesserBoundaryCorner, greaterBoundaryCorner);
 
         // Sanitize corners
-        int x1 = this.lesserBoundaryCorner.getBlockX();
-        int x2 = this.greaterBoundaryCorner.getBlockX();
+        int x1 = this.lesserX;
+        int x2 = this.greaterX;
         if (x1 > x2)
         {
-            this.greaterBoundaryCorner.setX(x1);
-            this.lesserBoundaryCorner.setX(x2);
+            this.greaterX = x1;
+            this.lesserX = x2;
         }
-        int z1 = this.lesserBoundaryCorner.getBlockZ();
-        int z2 = this.greaterBoundaryCorner.getBlockZ();
+        int z1 = this.lesserZ;
+        int z2 = this.greaterZ;
         if (z1 > z2)
         {
-            this.greaterBoundaryCorner.setZ(z1);
-            this.lesserBoundaryCorner.setZ(z2);
+            this.greaterZ = z1;
+            this.lesserZ = z2;
         }
         // Normalize Y coordinates: swap if needed so lesser <= greater
-        int y1 = this.lesserBoundaryCorner.getBlockY();
-        int y2 = this.greaterBoundaryCorner.getBlockY();
+        int y1 = this.lesserY;
+        int y2 = this.greaterY;
         if (y1 > y2)
         {
-            this.greaterBoundaryCorner.setY(y1);
-            this.lesserBoundaryCorner.setY(y2);
+            this.greaterY = y1;
+            this.lesserY = y2;
         }
         // For 2D claims, set lesser Y to world minimum (ground extension logic)
-        if (!this.is3D && this.lesserBoundaryCorner.getWorld() != null) {
-            this.lesserBoundaryCorner.setY(GriefPrevention.getWorldMinY(this.lesserBoundaryCorner.getWorld()));
+        World world = this.getWorld();
+        if (!this.is3D && world != null) {
+            this.lesserY = GriefPrevention.getWorldMinY(world);
         }
 
         //owner
@@ -267,16 +276,21 @@ public class Claim
      //produces a copy of a claim.
      public Claim(Claim claim) {
          this.modifiedDate = claim.modifiedDate;
-         this.lesserBoundaryCorner = claim.lesserBoundaryCorner.clone();
-         this.greaterBoundaryCorner = claim.greaterBoundaryCorner.clone();
+         this.worldId = claim.worldId;
+         this.lesserX = claim.lesserX;
+         this.lesserY = claim.lesserY;
+         this.lesserZ = claim.lesserZ;
+         this.greaterX = claim.greaterX;
+         this.greaterY = claim.greaterY;
+         this.greaterZ = claim.greaterZ;
          this.id = claim.id;
          this.ownerID = claim.ownerID;
-         this.neighbors = new ArrayList<>(claim.neighbors);
-         this.autoNeighbors = new ArrayList<>(claim.autoNeighbors);
+         this.neighbors = new IdentifierList(claim.neighbors);
+         this.autoNeighbors = new IdentifierList(claim.autoNeighbors);
          this.allowAllNeighbors = claim.allowAllNeighbors;
-         this.playerIDToClaimPermissionMap = new HashMap<>(claim.playerIDToClaimPermissionMap);
+         this.playerIDToClaimPermissionMap = new ClaimTrustTable<>(claim.playerIDToClaimPermissionMap);
         this.managerIdentifiers.addAll(claim.managerIdentifiers);
-        this.deniedPermissions.addAll(claim.deniedPermissions);
+        if (claim.deniedPermissions != null) this.deniedPermissions = new HashSet<>(claim.deniedPermissions);
          this.inDataStore = false; //since it's a copy of a claim, not in datastore!
          this.areExplosivesAllowed = claim.areExplosivesAllowed;
          this.areWitherExplosionsAllowed = claim.areWitherExplosionsAllowed;
@@ -429,7 +443,7 @@ public class Claim
 
      public @NotNull ClaimSnapshot getSnapshot()
      {
-         World world = this.lesserBoundaryCorner.getWorld();
+         World world = this.getWorld();
          String worldKey = world == null ? "" : world.getName();
          return new ClaimSnapshot(
                  this.id,
@@ -446,7 +460,7 @@ public class Claim
      {
          Map<String, ClaimTrustLevel> permissions = new HashMap<>();
          Set<String> neighborIdentifiers = new HashSet<>(this.neighbors);
-         for (Map.Entry<String, ClaimPermission> entry : this.playerIDToClaimPermissionMap.entrySet())
+         for (Map.Entry<String, ClaimPermission> entry : this.playerIDToClaimPermissionMap.toMap().entrySet())
          {
              ClaimTrustLevel level = toClaimTrustLevel(entry.getValue());
              if (level == ClaimTrustLevel.NEIGHBOR)
@@ -459,8 +473,9 @@ public class Claim
              }
          }
 
-        return new ClaimTrustSnapshot(this.getOwnerID(), permissions, this.managerIdentifiers,
-                neighborIdentifiers, this.deniedPermissions, this.pvpTrusted, this.pveTrusted);
+        return new ClaimTrustSnapshot(this.getOwnerID(), permissions, this.managerIdentifiers.identifiers(),
+                neighborIdentifiers, this.getDeniedIdentifiers(), this.pvpTrusted.identifiers(),
+                this.pveTrusted.identifiers());
      }
 
      private static @NotNull ClaimTrustLevel toClaimTrustLevel(@NotNull ClaimPermission permission)
@@ -489,10 +504,10 @@ public class Claim
      {
          if (!this.isShaped())
          {
-             int minX = Math.min(this.lesserBoundaryCorner.getBlockX(), this.greaterBoundaryCorner.getBlockX());
-             int maxX = Math.max(this.lesserBoundaryCorner.getBlockX(), this.greaterBoundaryCorner.getBlockX());
-             int minZ = Math.min(this.lesserBoundaryCorner.getBlockZ(), this.greaterBoundaryCorner.getBlockZ());
-             int maxZ = Math.max(this.lesserBoundaryCorner.getBlockZ(), this.greaterBoundaryCorner.getBlockZ());
+             int minX = Math.min(this.lesserX, this.greaterX);
+             int maxX = Math.max(this.lesserX, this.greaterX);
+             int minZ = Math.min(this.lesserZ, this.greaterZ);
+             int maxZ = Math.max(this.lesserZ, this.greaterZ);
 
              boolean onXCorner = x == minX || x == maxX;
              boolean onZCorner = z == minZ || z == maxZ;
@@ -544,8 +559,8 @@ public class Claim
      public boolean isNear(Location location, int howNear)
      {
          Claim claim = new Claim
-                 (new Location(this.lesserBoundaryCorner.getWorld(), this.lesserBoundaryCorner.getBlockX() - howNear, this.lesserBoundaryCorner.getBlockY(), this.lesserBoundaryCorner.getBlockZ() - howNear),
-                         new Location(this.greaterBoundaryCorner.getWorld(), this.greaterBoundaryCorner.getBlockX() + howNear, this.greaterBoundaryCorner.getBlockY(), this.greaterBoundaryCorner.getBlockZ() + howNear),
+                 (new Location(this.getWorld(), this.lesserX - howNear, this.lesserY, this.lesserZ - howNear),
+                         new Location(this.getWorld(), this.greaterX + howNear, this.greaterY, this.greaterZ + howNear),
                          null, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), null);
  
          return claim.contains(location, false, true);
@@ -669,7 +684,7 @@ public class Claim
      }
      public void denyPermission(@NotNull String identifier)
     {
-        this.deniedPermissions.add(normalizeIdentifier(identifier));
+        this.mutableDeniedPermissions().add(normalizeIdentifier(identifier));
 
         for (Claim child : this.children)
         {
@@ -680,7 +695,7 @@ public class Claim
     public void allowPermission(@NotNull String identifier)
     {
         String normalized = normalizeIdentifier(identifier);
-        this.deniedPermissions.remove(normalized);
+        if (this.deniedPermissions != null) this.deniedPermissions.remove(normalized);
 
         for (Claim child : this.children)
         {
@@ -699,17 +714,28 @@ public class Claim
      */
     void restoreDeniedPermissions(@NotNull Collection<String> identifiers)
     {
-        this.deniedPermissions.clear();
+        this.deniedPermissions = null;
         for (String identifier : identifiers)
         {
             String normalized = normalizeIdentifier(identifier);
             if (!normalized.isEmpty())
             {
-                this.deniedPermissions.add(normalized);
+                this.mutableDeniedPermissions().add(normalized);
             }
         }
     }
 
+    private @NotNull HashSet<String> mutableDeniedPermissions()
+    {
+        if (this.deniedPermissions == null) this.deniedPermissions = new HashSet<>(4);
+        return this.deniedPermissions;
+    }
+
+    private @NotNull Set<String> getDeniedIdentifiers()
+    {
+        return this.deniedPermissions == null ? Collections.emptySet() : this.deniedPermissions;
+    }
+
     public boolean isPermissionDenied(@Nullable String identifier)
     {
         return this.isPermissionDenied(identifier, null);
@@ -722,6 +748,11 @@ public class Claim
             return false;
         }
 
+        if (this.deniedPermissions == null)
+        {
+            return false;
+        }
+
         String normalized = normalizeIdentifier(identifier);
         if (normalized.isEmpty())
         {
@@ -767,11 +798,26 @@ public class Claim
          return level.isGrantedBy(this.playerIDToClaimPermissionMap.get(normalizedIdentifier));
      }
 
+     /**
+      * {@link #isGranted(String, ClaimPermission)} for a player's UUID identifier, without building the string.
+      */
+     private boolean isGranted(@NotNull UUID playerID, @NotNull ClaimPermission level)
+     {
+         if (level == ClaimPermission.PVP) return this.pvpTrusted.contains(playerID);
+         if (level == ClaimPermission.PVE) return this.pveTrusted.contains(playerID);
+
+         if (this.managerIdentifiers.contains(playerID)
+                 && level.isGrantedBy(ClaimPermission.Manage))
+             return true;
+
+         return level.isGrantedBy(this.playerIDToClaimPermissionMap.get(playerID));
+     }
+
      public boolean hasExplicitPermission(@NotNull UUID uuid, @NotNull ClaimPermission level)
      {
          if (uuid.equals(this.getOwnerID())) return true;
 
-         return this.isGranted(normalizeIdentifier(uuid.toString()), level);
+         return this.isGranted(uuid, level);
      }
 
     public boolean hasExplicitPermission(@NotNull Player player, @NotNull ClaimPermission level)
@@ -779,17 +825,19 @@ public class Claim
         // Check explicit ClaimPermission for UUID
         if (this.hasExplicitPermission(player.getUniqueId(), level)) return true;
 
-        // Check permission-based ClaimPermission across both trust tracks
-        Set<String> nodes = new HashSet<>(this.playerIDToClaimPermissionMap.keySet());
-        nodes.addAll(this.managerIdentifiers);
-        nodes.addAll(this.pvpTrusted);
-        nodes.addAll(this.pveTrusted);
+        // Check permission-based ClaimPermission. Only the [permission.node] entries of the
+        // structures that can grant this level are visited.
+        if (level == ClaimPermission.PVP) return this.hasNodePermission(player, this.pvpTrusted.permissionNodes(), level);
+        if (level == ClaimPermission.PVE) return this.hasNodePermission(player, this.pveTrusted.permissionNodes(), level);
+
+        return this.hasNodePermission(player, this.playerIDToClaimPermissionMap.permissionNodes(), level)
+                || this.hasNodePermission(player, this.managerIdentifiers.permissionNodes(), level);
+    }
 
+    private boolean hasNodePermission(@NotNull Player player, @NotNull List<String> nodes, @NotNull ClaimPermission level)
+    {
          for (String node : nodes)
          {
-             // Ensure valid permission format for permissions - [permission.node]
-             if (node.length() < 3 || node.charAt(0) != '[' || node.charAt(node.length() - 1) != ']') continue;
-
              // Explicitly denied nodes never grant trust
              if (this.isPermissionDenied(node)) continue;
 
@@ -873,7 +921,7 @@ public class Claim
                 (denialOverride != null ? denialOverride : () -> "You don't have permission to do that in the wilderness.") : 
                 null;
         }
-        return callPermissionCheck(new ClaimPermissionCheckEvent(uuid, this, permission, event), denialOverride);
+        return callPermissionCheck(uuid, permission, event, denialOverride);
     }
 
     /**
@@ -885,26 +933,43 @@ public class Claim
     }
  
      /**
-      * Helper method for calling a ClaimPermissionCheckEvent.
+      * Helper method for resolving a permission check, calling a ClaimPermissionCheckEvent
+      * only when something outside GriefPrevention listens for it.
       *
-      * @param event the ClaimPermissionCheckEvent to call
+      * @param uuid the UUID being checked for permissions
+      * @param permission the ClaimPermission required
+      * @param triggeringEvent the Event triggering the permission check
       * @param denialOverride a message overriding the default denial for clarity
       * @return the denial reason or null if permission is granted
       */
      private @Nullable Supplier<String> callPermissionCheck(
-             @NotNull ClaimPermissionCheckEvent event,
+             @NotNull UUID uuid,
+             @NotNull ClaimPermission permission,
+             @Nullable Event triggeringEvent,
              @Nullable Supplier<String> denialOverride)
      {
+         Player player = Bukkit.getPlayer(uuid);
+
          // Set denial message (if any) using default behavior.
-         Supplier<String> defaultDenial = getDefaultDenial(event.getCheckedPlayer(), event.getCheckedUUID(),
-                 event.getRequiredPermission(), event.getTriggeringEvent());
+         Supplier<String> denial = getDefaultDenial(player, uuid, permission, triggeringEvent);
          
          // If permission is denied and a clarifying override is provided, use override.
-         if (defaultDenial != null && denialOverride != null) {
-             defaultDenial = denialOverride;
+         if (denial != null && denialOverride != null) {
+             denial = denialOverride;
          }
- 
-         event.setDenialReason(defaultDenial);
+
+         // Siege rules come first, as the lowest priority listener once did.
+         denial = SiegePermissionRules.apply(player, this, permission, triggeringEvent, denial);
+
+         // Most servers have no addon listening, so skip building and dispatching the event.
+         if (ClaimPermissionCheckEvent.getHandlerList().getRegisteredListeners().length == 0) {
+             return denial;
+         }
+
+         ClaimPermissionCheckEvent event = player != null
+                 ? new ClaimPermissionCheckEvent(player, this, permission, triggeringEvent)
+                 : new ClaimPermissionCheckEvent(uuid, this, permission, triggeringEvent);
+         event.setDenialReason(denial);
          Bukkit.getPluginManager().callEvent(event);
          return event.getDenialReason();
      }
@@ -1203,12 +1268,12 @@ public class Claim
 
     public @NotNull Set<String> getPvpTrustedIdentifiers()
     {
-        return Collections.unmodifiableSet(new HashSet<>(this.pvpTrusted));
+        return Collections.unmodifiableSet(this.pvpTrusted.identifiers());
     }
 
     public @NotNull Set<String> getPveTrustedIdentifiers()
     {
-        return Collections.unmodifiableSet(new HashSet<>(this.pveTrusted));
+        return Collections.unmodifiableSet(this.pveTrusted.identifiers());
     }
 
      //grants a permission for a player or the public
@@ -1278,7 +1343,7 @@ public class Claim
          this.managerIdentifiers.clear();
          //deny entries are part of this claim's trust state, so a full reset drops them too.
          //leaving them would make a subdivision keep refusing trust the parent grants it later.
-         this.deniedPermissions.clear();
+         this.deniedPermissions = null;
          this.neighbors.clear();
          this.autoNeighbors.clear();
          this.allowAllNeighbors = false;
@@ -1296,7 +1361,7 @@ public class Claim
      public void getPermissions(ArrayList<String> builders, ArrayList<String> containers, ArrayList<String> accessors, ArrayList<String> managers)
      {
          //loop through all the entries in the hash map
-         for (Map.Entry<String, ClaimPermission> entry : this.playerIDToClaimPermissionMap.entrySet())
+         for (Map.Entry<String, ClaimPermission> entry : this.playerIDToClaimPermissionMap.toMap().entrySet())
          {
              //build up a list for each permission level
              if (entry.getValue() == ClaimPermission.Build)
@@ -1316,7 +1381,7 @@ public class Claim
          }
 
          //manage trust is tracked separately, so a player can appear here and in a trust list above
-         managers.addAll(this.managerIdentifiers);
+         managers.addAll(this.managerIdentifiers.identifiers());
      }
 
      //gets neighbor trust list
@@ -1330,7 +1395,7 @@ public class Claim
      {
          ArrayList<String> all = new ArrayList<>(this.neighbors);
          for (String auto : this.autoNeighbors) {
-             if (!all.contains(auto)) {
+             if (!this.neighbors.contains(auto)) {
                  all.add(auto);
              }
          }
@@ -1365,6 +1430,14 @@ public class Claim
          this.autoNeighbors.remove(normalized);
      }
 
+     //replace the auto-granted neighbors with a freshly computed list
+     void replaceAutoNeighbors(Collection<String> playerIDs) {
+         this.autoNeighbors.clear();
+         for (String playerID : playerIDs) {
+             this.addAutoNeighbor(playerID);
+         }
+     }
+
      //check if a player is an auto-neighbor
      public boolean isAutoNeighbor(String playerID) {
          String normalized = normalizeIdentifier(playerID);
@@ -1383,17 +1456,43 @@ public class Claim
          return new ArrayList<>(this.neighbors);
      }
 
-     //returns a copy of the location representing lower x, y, z limits
+     //returns a new location representing lower x, y, z limits
+     //the public lesserBoundaryCorner field it used to copy is gone; read the corners through these getters
      public Location getLesserBoundaryCorner()
      {
-         return this.lesserBoundaryCorner.clone();
+         return new Location(this.getWorld(), this.lesserX, this.lesserY, this.lesserZ);
      }
 
-     //returns a copy of the location representing upper x, y, z limits
+     //returns a new location representing upper x, y, z limits
      //NOTE: remember upper Y will always be ignored, all claims always extend to the sky
      public Location getGreaterBoundaryCorner()
      {
-         return this.greaterBoundaryCorner.clone();
+         return new Location(this.getWorld(), this.greaterX, this.greaterY, this.greaterZ);
+     }
+
+     //returns the world this claim is in, or null if it was never set or has been unloaded
+     public @Nullable World getWorld()
+     {
+         return ClaimWorlds.get(this.worldId);
+     }
+
+     //replaces both corners as given, without sorting them; the world comes from the lesser corner
+     void setBoundaryCorners(@NotNull Location lesserBoundaryCorner, @NotNull Location greaterBoundaryCorner)
+     {
+         this.worldId = ClaimWorlds.idOf(lesserBoundaryCorner.getWorld());
+         this.lesserX = lesserBoundaryCorner.getBlockX();
+         this.lesserY = lesserBoundaryCorner.getBlockY();
+         this.lesserZ = lesserBoundaryCorner.getBlockZ();
+         this.greaterX = greaterBoundaryCorner.getBlockX();
+         this.greaterY = greaterBoundaryCorner.getBlockY();
+         this.greaterZ = greaterBoundaryCorner.getBlockZ();
+     }
+
+     //replaces the Y of both corners, used when a claim is extended downward
+     void setBoundaryY(int lesserY, int greaterY)
+     {
+         this.lesserY = lesserY;
+         this.greaterY = greaterY;
      }
 
      //returns a friendly owner name (for admin claims, returns "an administrator" as the owner)
@@ -1461,7 +1560,7 @@ public class Claim
          this.expirationDate = expirationDate;
      }
      public boolean contains(Location location, boolean ignoreHeight, boolean excludeSubdivisions) {
-         if (!Objects.equals(location.getWorld(), this.lesserBoundaryCorner.getWorld())) {
+         if (!Objects.equals(location.getWorld(), this.getWorld())) {
              return false;
          }
 
@@ -1510,10 +1609,10 @@ public class Claim
      */
     public int getMinY() {
         if (this.is3D) {
-            return Math.min(this.lesserBoundaryCorner.getBlockY(), this.greaterBoundaryCorner.getBlockY());
+            return Math.min(this.lesserY, this.greaterY);
         }
         // For non-3D claims, use world boundaries
-        World world = this.lesserBoundaryCorner.getWorld();
+        World world = this.getWorld();
         return world != null ? GriefPrevention.getWorldMinY(world) : 0;
     }
 
@@ -1529,10 +1628,10 @@ public class Claim
      */
     public int getMaxY() {
         if (this.is3D) {
-            return Math.max(this.lesserBoundaryCorner.getBlockY(), this.greaterBoundaryCorner.getBlockY());
+            return Math.max(this.lesserY, this.greaterY);
         }
         // For non-3D claims, use world boundaries
-        World world = this.lesserBoundaryCorner.getWorld();
+        World world = this.getWorld();
         return world != null ? GriefPrevention.getWorldMaxY(world) : 256;
     }
 
@@ -1706,9 +1805,9 @@ public class Claim
         int scanTop = GriefPrevention.instance.getWorldMaxY(world);
         int deepCutoff = GriefPrevention.instance.getSeaLevel(world) - 5;
 
-        for (int x = lesser.getBlockX(); x <= this.greaterBoundaryCorner.getBlockX(); x++)
+        for (int x = lesser.getBlockX(); x <= this.greaterX; x++)
         {
-            for (int z = lesser.getBlockZ(); z <= this.greaterBoundaryCorner.getBlockZ(); z++)
+            for (int z = lesser.getBlockZ(); z <= this.greaterZ; z++)
             {
                 for (int y = scanBottom; y < scanTop; y++)
                 {
@@ -1753,7 +1852,7 @@ public class Claim
          if (this.getArea() > 10000) return;
 
          //only in creative mode worlds
-         if (!GriefPrevention.instance.creativeRulesApply(this.lesserBoundaryCorner)) return;
+         if (!GriefPrevention.instance.creativeRulesApply(this.getLesserBoundaryCorner())) return;
 
          Location lesser = this.getLesserBoundaryCorner();
          Location greater = this.getGreaterBoundaryCorner();
@@ -1830,4 +1929,5 @@ public class Claim
      {
          return DataStore.getChunkHashes(this);
      }
+
  }
@@ -36,6 +36,7 @@ import com.griefprevention.events.BoundaryVisualizationEvent;
 import com.griefprevention.geometry.OrthogonalEdge2i;
 import com.griefprevention.geometry.OrthogonalPoint2i;
 import com.griefprevention.geometry.OrthogonalPolygon;
+import com.griefprevention.geometry.OrthogonalPolygonCells;
 import com.griefprevention.geometry.OrthogonalPolygonValidationIssueType;
 import com.griefprevention.geometry.OrthogonalPolygonValidationResult;
 import com.griefprevention.visualization.Boundary;
@@ -1621,97 +1622,19 @@ final class ClaimToolDispatcher
         return 0;
     }
 
-    private boolean polygonContains(@NotNull OrthogonalPolygon polygon, @NotNull OrthogonalPoint2i point)
-    {
-        if (polygon.corners().contains(point))
-        {
-            return true;
-        }
-
-        if (!polygon.edgeIndexesContainingInteriorPoint(point).isEmpty())
-        {
-            return true;
-        }
-
-        double sampleX = point.x() + 0.5D;
-        double sampleZ = point.z() + 0.5D;
-        boolean inside = false;
-        List<OrthogonalPoint2i> corners = polygon.corners();
-        for (int i = 0, j = corners.size() - 1; i < corners.size(); j = i++)
-        {
-            OrthogonalPoint2i a = corners.get(i);
-            OrthogonalPoint2i b = corners.get(j);
-            boolean crosses = (a.z() > sampleZ) != (b.z() > sampleZ);
-            if (!crosses)
-            {
-                continue;
-            }
-
-            double intersectionX = (double) (b.x() - a.x()) * (sampleZ - a.z()) / (double) (b.z() - a.z()) + a.x();
-            if (sampleX < intersectionX)
-            {
-                inside = !inside;
-            }
-        }
-
-        return inside;
-    }
-
     private int polygonArea(@NotNull OrthogonalPolygon polygon)
     {
-        int area = 0;
-        for (int x = polygon.minX(); x <= polygon.maxX(); x++)
-        {
-            for (int z = polygon.minZ(); z <= polygon.maxZ(); z++)
-            {
-                if (polygonContains(polygon, new OrthogonalPoint2i(x, z)))
-                {
-                    area++;
-                }
-            }
-        }
-
-        return area;
+        return (int) Math.min(Integer.MAX_VALUE, OrthogonalPolygonCells.cellCount(polygon));
     }
 
     private boolean polygonContainsPolygon(@NotNull OrthogonalPolygon container, @NotNull OrthogonalPolygon contents)
     {
-        for (int x = contents.minX(); x <= contents.maxX(); x++)
-        {
-            for (int z = contents.minZ(); z <= contents.maxZ(); z++)
-            {
-                OrthogonalPoint2i point = new OrthogonalPoint2i(x, z);
-                if (polygonContains(contents, point) && !polygonContains(container, point))
-                {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+        return OrthogonalPolygonCells.contains(container, contents);
     }
 
     private int polygonOverlapArea(@NotNull OrthogonalPolygon first, @NotNull OrthogonalPolygon second)
     {
-        int area = 0;
-        int minX = Math.max(first.minX(), second.minX());
-        int maxX = Math.min(first.maxX(), second.maxX());
-        int minZ = Math.max(first.minZ(), second.minZ());
-        int maxZ = Math.min(first.maxZ(), second.maxZ());
-
-        for (int x = minX; x <= maxX; x++)
-        {
-            for (int z = minZ; z <= maxZ; z++)
-            {
-                OrthogonalPoint2i point = new OrthogonalPoint2i(x, z);
-                if (polygonContains(first, point) && polygonContains(second, point))
-                {
-                    area++;
-                }
-            }
-        }
-
-        return area;
+        return (int) Math.min(Integer.MAX_VALUE, OrthogonalPolygonCells.overlapCellCount(first, second));
     }
 
     private static final class ShapedNibResizeAttempt
@@ -0,0 +1,55 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Interned worlds for claim bounds. A {@link Claim} keeps its world as a small id into this table
+ * next to its int coordinates instead of holding two {@link org.bukkit.Location}s.
+ *
+ * <p>Worlds are matched by identity and held weakly, the way a {@code Location} holds them, so
+ * claims never keep an unloaded world alive. Ids are never reused: a server loads a handful of
+ * worlds, and a stale id must not start pointing at a different one.
+ */
+final class ClaimWorlds
+{
+    static final int NONE = -1;
+
+    private static final CopyOnWriteArrayList<WeakReference<World>> WORLDS = new CopyOnWriteArrayList<>();
+
+    static int idOf(@Nullable World world)
+    {
+        if (world == null) return NONE;
+
+        int id = find(world);
+        if (id != NONE) return id;
+
+        synchronized (WORLDS)
+        {
+            id = find(world);
+            if (id != NONE) return id;
+
+            WORLDS.add(new WeakReference<>(world));
+            return WORLDS.size() - 1;
+        }
+    }
+
+    static @Nullable World get(int id)
+    {
+        return id == NONE ? null : WORLDS.get(id).get();
+    }
+
+    private static int find(World world)
+    {
+        for (int i = 0; i < WORLDS.size(); i++)
+        {
+            if (WORLDS.get(i).get() == world) return i;
+        }
+        return NONE;
+    }
+
+    private ClaimWorlds() {}
+}
@@ -21,18 +21,28 @@ package me.ryanhamshire.GriefPrevention;
 import com.griefprevention.persistence.ClaimDataSchema;
 
 import com.google.common.io.Files;
+import com.griefprevention.claims.ClaimBounds;
+import com.griefprevention.claims.ClaimChangeJournal;
+import com.griefprevention.claims.ClaimChangeSet;
+import com.griefprevention.claims.ClaimIntegrityIssue;
+import com.griefprevention.claims.ClaimIntegrityIssueType;
+import com.griefprevention.claims.ClaimIntegrityScanner;
+import com.griefprevention.claims.ClaimMutationQueue;
+import com.griefprevention.claims.ClaimProximityJoin;
 import com.griefprevention.claims.ClaimSnapshot;
 import com.griefprevention.claims.ClaimSnapshotIndex;
 import com.griefprevention.geometry.MergeCorridor;
 import com.griefprevention.geometry.OrthogonalEdge2i;
 import com.griefprevention.geometry.OrthogonalPoint2i;
 import com.griefprevention.geometry.OrthogonalPolygon;
+import com.griefprevention.geometry.OrthogonalPolygonCells;
 import com.griefprevention.visualization.BoundaryVisualization;
 import com.griefprevention.visualization.VisualizationType;
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
 import me.ryanhamshire.GriefPrevention.util.TaskHandle;
 import me.ryanhamshire.GriefPrevention.events.ClaimCreatedEvent;
 import me.ryanhamshire.GriefPrevention.events.ClaimDeletedEvent;
+import me.ryanhamshire.GriefPrevention.events.ClaimsDeletedEvent;
 import me.ryanhamshire.GriefPrevention.events.ClaimExtendEvent;
 import me.ryanhamshire.GriefPrevention.events.ClaimResizeEvent;
 import me.ryanhamshire.GriefPrevention.events.PreDeleteClaimEvent;
@@ -61,10 +71,13 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -74,7 +87,10 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -88,6 +104,12 @@ public abstract class DataStore {
     // in-memory cache for player data
     protected ConcurrentHashMap<UUID, PlayerData> playerNameToPlayerDataMap = new ConcurrentHashMap<>();
 
+    // who is ignoring whom, for the ignore lists of cached players
+    IgnoreIndex ignoreIndex = new IgnoreIndex();
+
+    // coalesces player data saves into periodic batch writes
+    PlayerDataWriter playerDataWriter = new PlayerDataWriter(this);
+
     // in-memory cache for group (permission-based) data
     protected ConcurrentHashMap<String, Integer> permissionToBonusBlocksMap = new ConcurrentHashMap<>();
 
@@ -96,7 +118,19 @@ public abstract class DataStore {
     // claim id to claim cache
     public final Map<Long, Claim> claimIDMap = new ConcurrentHashMap<>();
     ConcurrentHashMap<Long, ArrayList<Claim>> chunksToClaimsMap = new ConcurrentHashMap<>();
+    // claims are only ever appended to the claim list, so this counter mirrors its order
+    private long nextClaimOrder = 0;
     private final ClaimSnapshotIndex claimSnapshotIndex = new ClaimSnapshotIndex();
+    // bumped on every claim add, save and removal, so cached claim lookups know when to refresh
+    private final AtomicLong claimsVersion = new AtomicLong();
+    // single writer for every claim edit, queued or applied on the caller; also tracks per-claim versions.
+    // the synchronous mutators below block the calling thread while another edit runs, even one from
+    // another region; only submitClaimMutation queues without waiting. claim lookups never wait on it
+    final ClaimMutationQueue claimMutations = new ClaimMutationQueue(
+            mutation -> SchedulerUtil.runLaterGlobal(GriefPrevention.instance, mutation, 1L));
+    // claim changes for addons and maps that mirror the claim set. numbering starts at the clock so
+    // a consumer holding a sequence from before a restart resets instead of reading unrelated changes
+    private final ClaimChangeJournal claimJournal = new ClaimChangeJournal(4096, System.currentTimeMillis());
 
     // In-memory siege cooldowns; active siege state intentionally does not survive restart.
     private final HashMap<String, Long> siegeCooldownRemaining = new HashMap<>();
@@ -336,8 +370,11 @@ public abstract class DataStore {
     }
 
     // removes cached player data from memory
-    synchronized void clearCachedPlayerData(UUID playerID) {
-        this.playerNameToPlayerDataMap.remove(playerID);
+    void clearCachedPlayerData(UUID playerID) {
+        PlayerData playerData = this.playerNameToPlayerDataMap.remove(playerID);
+        if (playerData != null) {
+            this.ignoreIndex.removeAll(playerID, playerData.ignoredPlayers.keySet());
+        }
     }
 
     // gets the number of bonus blocks a player has from his permissions
@@ -386,7 +423,11 @@ public abstract class DataStore {
         }
     }
 
-    synchronized public void changeClaimOwner(Claim claim, UUID newOwnerID) {
+    public void changeClaimOwner(Claim claim, UUID newOwnerID) {
+        this.claimMutations.run(() -> this.changeClaimOwnerOnWriter(claim, newOwnerID));
+    }
+
+    private void changeClaimOwnerOnWriter(Claim claim, UUID newOwnerID) {
         // if it's a subdivision, throw an exception
         if (claim.parent != null) {
             throw new NoTransferException(
@@ -419,6 +460,7 @@ public abstract class DataStore {
         // transfer
         claim.ownerID = event.getNewOwner();
         this.saveClaim(claim);
+        this.refreshAutoNeighborhood(Collections.emptySet(), claim);
 
         // adjust blocks and other records
         if (ownerData != null) {
@@ -434,7 +476,11 @@ public abstract class DataStore {
     }
 
     // adds a claim to the datastore, making it an effective claim
-    synchronized void addClaim(Claim newClaim, boolean writeToStorage) {
+    void addClaim(Claim newClaim, boolean writeToStorage) {
+        this.claimMutations.run(() -> this.addClaimOnWriter(newClaim, writeToStorage));
+    }
+
+    private void addClaimOnWriter(Claim newClaim, boolean writeToStorage) {
         // subdivisions are added under their parent, not directly to the hash map for
         // direct search
         if (newClaim.parent != null) {
@@ -469,6 +515,10 @@ public abstract class DataStore {
                 addToChunkClaimMap(newClaim);
             }
 
+            // lookups resolve indexed snapshots through the id map, subdivisions included
+            if (newClaim.id != null) {
+                this.claimIDMap.put(newClaim.id, newClaim);
+            }
             newClaim.inDataStore = true;
             this.indexClaimSnapshot(newClaim);
             if (writeToStorage) {
@@ -478,6 +528,7 @@ public abstract class DataStore {
         }
 
         // add it and mark it as added
+        newClaim.dataStoreOrder = this.nextClaimOrder++;
         this.claims.add(newClaim);
         this.claimIDMap.put(newClaim.id, newClaim);
         for (Claim child : newClaim.children) {
@@ -506,6 +557,7 @@ public abstract class DataStore {
         // make sure the claim is saved to disk
         if (writeToStorage) {
             this.saveClaim(newClaim);
+            this.refreshAutoNeighborhood(Collections.emptySet(), newClaim);
         }
     }
 
@@ -567,20 +619,32 @@ public abstract class DataStore {
     }
 
     private void indexClaimSnapshot(Claim claim) {
+        this.claimsVersion.incrementAndGet();
         if (claim.id == null) {
             return;
         }
 
         if (claim.inDataStore) {
-            this.claimSnapshotIndex.put(claim.getSnapshot());
+            ClaimSnapshot snapshot = claim.getSnapshot();
+            if (!snapshot.equals(this.claimSnapshotIndex.get(claim.id))) {
+                this.claimSnapshotIndex.put(snapshot);
+                this.claimMutations.touch(claim.id);
+                this.claimJournal.record(snapshot);
+            }
+            this.claimJournal.recordTrust(claim.id, claim.getTrustSnapshot());
         } else {
             this.claimSnapshotIndex.remove(claim.id);
+            this.claimMutations.forget(claim.id);
+            this.claimJournal.recordDeleted(claim.id);
         }
     }
 
     private void removeClaimSnapshot(Claim claim) {
+        this.claimsVersion.incrementAndGet();
         if (claim.id != null) {
             this.claimSnapshotIndex.remove(claim.id);
+            this.claimMutations.forget(claim.id);
+            this.claimJournal.recordDeleted(claim.id);
         }
     }
 
@@ -849,8 +913,16 @@ public abstract class DataStore {
     }
 
     // saves any changes to a claim to secondary storage
-    synchronized public void saveClaim(Claim claim) {
+    public void saveClaim(Claim claim) {
+        this.claimMutations.run(() -> this.saveClaimOnWriter(claim));
+    }
+
+    private void saveClaimOnWriter(Claim claim) {
         assignClaimID(claim);
+        this.claimsVersion.incrementAndGet();
+        if (claim.inDataStore) {
+            this.claimJournal.recordTrust(claim.id, claim.getTrustSnapshot());
+        }
 
         this.writeClaimToStorage(claim);
     }
@@ -858,11 +930,23 @@ public abstract class DataStore {
     // saves any changes to a group of claims to secondary storage.
     // storage implementations that keep several claims in one record can override this to
     // write each record only once instead of once per claim.
-    synchronized public void saveClaims(Collection<Claim> claims) {
-        for (Claim claim : claims) {
-            if (claim == null) continue;
-            this.saveClaim(claim);
-        }
+    public void saveClaims(Collection<Claim> claims) {
+        this.claimMutations.run(() -> {
+            for (Claim claim : claims) {
+                if (claim == null) continue;
+                this.saveClaim(claim);
+            }
+        });
+    }
+
+    /**
+     * A counter that changes whenever a claim is added, saved or removed. Trust changes are
+     * saved, so they move it too.
+     *
+     * @return the current claims version
+     */
+    public long getClaimsVersion() {
+        return this.claimsVersion.get();
     }
 
     void assignClaimID(Claim claim) {
@@ -882,39 +966,48 @@ public abstract class DataStore {
     // retrieves player data from memory or secondary storage, as necessary
     // if the player has never been on the server before, this will return a fresh
     // player data with default values
-    synchronized public PlayerData getPlayerData(UUID playerID) {
+    // this never waits on the claim writer, so damage, interaction and async chat
+    // handlers don't wait behind claim changes; PlayerData loads its storage fields
+    // lazily under its own lock
+    public PlayerData getPlayerData(UUID playerID) {
         // first, look in memory
         PlayerData playerData = this.playerNameToPlayerDataMap.get(playerID);
+        if (playerData != null) return playerData;
 
         // if not there, build a fresh instance with some blanks for what may be in
-        // secondary storage
-        if (playerData == null) {
-            playerData = new PlayerData();
-            playerData.playerID = playerID;
-
-            // shove that new player data into the hash map cache
-            this.playerNameToPlayerDataMap.put(playerID, playerData);
-        }
+        // secondary storage; only the map bin for this player is locked while it's created
+        // a record that was dropped from the cache but not yet written is picked back up,
+        // since storage doesn't have its latest values
+        return this.playerNameToPlayerDataMap.computeIfAbsent(playerID, id -> {
+            PlayerData unwritten = this.playerDataWriter.getPending(id);
+            if (unwritten != null) return unwritten;
 
-        return playerData;
+            PlayerData created = new PlayerData();
+            created.playerID = id;
+            return created;
+        });
     }
 
     abstract PlayerData getPlayerDataFromStorage(UUID playerID);
 
     // deletes a claim or subdivision
-    synchronized public void deleteClaim(Claim claim) {
+    public void deleteClaim(Claim claim) {
         this.deleteClaim(claim, true, false);
     }
 
-    synchronized public void deleteClaim(Claim claim, boolean releasePets) {
+    public void deleteClaim(Claim claim, boolean releasePets) {
         this.deleteClaim(claim, true, releasePets);
     }
 
-    synchronized void deleteClaim(Claim claim, boolean fireEvent, boolean releasePets) {
+    void deleteClaim(Claim claim, boolean fireEvent, boolean releasePets) {
         this.deleteClaimWithResult(claim, fireEvent, releasePets);
     }
 
-    synchronized boolean deleteClaimWithResult(Claim claim, boolean fireEvent, boolean releasePets) {
+    boolean deleteClaimWithResult(Claim claim, boolean fireEvent, boolean releasePets) {
+        return this.claimMutations.call(() -> this.deleteClaimWithResultOnWriter(claim, fireEvent, releasePets));
+    }
+
+    private boolean deleteClaimWithResultOnWriter(Claim claim, boolean fireEvent, boolean releasePets) {
         if (fireEvent && preDeleteCancelled(claim)) {
             return false;
         }
@@ -973,9 +1066,10 @@ public abstract class DataStore {
 
         // mark as deleted so any references elsewhere can be ignored
 
+        claim.inDataStore = false;
+
         // Clean up auto-neighbor trust from nearby claims
         this.cleanupAutoNeighborsOnDelete(claim);
-        claim.inDataStore = false;
 
         // remove from memory
         for (int i = 0; i < this.claims.size(); i++) {
@@ -1082,12 +1176,119 @@ public abstract class DataStore {
 
     abstract void deleteClaimFromSecondaryStorage(Claim claim);
 
+    // removes whole deleted claim trees from storage, subdivisions listed before their parents.
+    // stores that can batch the work override this.
+    void deleteClaimsFromSecondaryStorage(List<Claim> claims) {
+        for (Claim claim : claims) {
+            this.deleteClaimFromSecondaryStorage(claim);
+        }
+    }
+
+    // deletes top-level claims and their subdivisions as one batch. the claim list, owner data,
+    // auto-neighbor lists, visualizations and storage are each updated once for the whole batch
+    // instead of once per claim, which is what makes wiping thousands of claims practical.
+    // returns the top-level claims that were deleted; ones whose deletion was cancelled are kept.
+    List<Claim> deleteTopLevelClaims(Collection<Claim> candidates, boolean fireEvent, boolean releasePets) {
+        return this.claimMutations.call(() -> this.deleteTopLevelClaimsOnWriter(candidates, fireEvent, releasePets));
+    }
+
+    private List<Claim> deleteTopLevelClaimsOnWriter(Collection<Claim> candidates, boolean fireEvent, boolean releasePets) {
+        List<Claim> roots = new ArrayList<>();
+        for (Claim claim : candidates) {
+            if (!claim.inDataStore || claim.parent != null) continue;
+            if (fireEvent && preDeleteCancelled(claim)) continue;
+            roots.add(claim);
+        }
+        if (roots.isEmpty()) return roots;
+
+        List<Claim> deleted = new ArrayList<>();
+        for (Claim root : roots) {
+            collectClaimTree(root, deleted);
+        }
+        Set<Long> deletedIDs = new HashSet<>();
+        for (Claim claim : deleted) {
+            deletedIDs.add(claim.id);
+        }
+
+        // neighbors are gathered while the deleted claims are still in the chunk map
+        Set<Claim> neighborhood = new HashSet<>();
+        for (Claim root : roots) {
+            neighborhood.addAll(this.getAutoNeighborhood(root));
+        }
+
+        for (Claim claim : deleted) {
+            claim.inDataStore = false;
+            claimIDMap.remove(claim.id);
+            removeFromChunkClaimMap(claim);
+            this.removeClaimSnapshot(claim);
+        }
+        this.claims.removeIf(claim -> deletedIDs.contains(claim.id));
+        this.refreshAutoNeighbors(neighborhood);
+
+        this.deleteClaimsFromSecondaryStorage(deleted);
+
+        // subdivisions must also be removed from the parent claim child list, as single deletes do.
+        // storage walks the intact trees above, so this comes after it
+        for (Claim claim : deleted) {
+            if (claim.parent != null) {
+                claim.parent.children.remove(claim);
+            }
+        }
+
+        Set<UUID> owners = new HashSet<>();
+        for (Claim root : roots) {
+            if (root.ownerID != null) owners.add(root.ownerID);
+        }
+        for (UUID ownerID : owners) {
+            PlayerData ownerData = this.getPlayerData(ownerID);
+            ownerData.getClaims().removeIf(claim -> deletedIDs.contains(claim.id));
+            this.savePlayerData(ownerID, ownerData);
+        }
+
+        // same conservative visualization cleanup as single deletes, once for the batch
+        try {
+            for (Player online : Bukkit.getServer().getOnlinePlayers()) {
+                this.getPlayerData(online.getUniqueId()).setVisibleBoundaries(null);
+            }
+        } catch (Exception ignoredEx) {
+            // best-effort, as for single deletes
+        }
+
+        if (GriefPrevention.instance.config_logs_debugEnabled) {
+            GriefPrevention.AddLogEntry("[DEBUG] Deleted " + roots.size() + " claims and "
+                    + (deleted.size() - roots.size()) + " subdivisions in one batch", CustomLogEntryTypes.Debug, true);
+        }
+
+        if (fireEvent) {
+            for (Claim claim : deleted) {
+                Bukkit.getPluginManager().callEvent(new ClaimDeletedEvent(claim));
+            }
+        }
+        Bukkit.getPluginManager().callEvent(new ClaimsDeletedEvent(roots));
+
+        if (releasePets) {
+            for (Claim root : roots) {
+                if (root.ownerID != null) releasePetsInClaim(root);
+            }
+        }
+
+        return roots;
+    }
+
+    // subdivisions first, matching the order single deletes remove them in
+    private static void collectClaimTree(Claim claim, List<Claim> output) {
+        for (Claim child : claim.children) {
+            collectClaimTree(child, output);
+        }
+        output.add(claim);
+    }
+
     // gets the claim at a specific location
     // ignoreHeight = TRUE means that a location UNDER an existing claim will return
     // the claim
     // cachedClaim can be NULL, but will help performance if you have a reasonable
     // guess about which claim the location is in
-    synchronized public Claim getClaimAt(Location location, boolean ignoreHeight, Claim cachedClaim) {
+    public Claim getClaimAt(Location location, boolean ignoreHeight, Claim cachedClaim) {
         return getClaimAt(location, ignoreHeight, false, cachedClaim);
     }
 
@@ -1099,6 +1300,10 @@ public abstract class DataStore {
      * reasonable idea
      * of which claim is correct.
      *
+     * <p>
+     * Candidates come from the claim snapshot index, so a lookup never waits on a
+     * claim change in progress.
+     *
      * @param location        the location
      * @param ignoreHeight    whether or not to check containment vertically
      * @param ignoreSubclaims whether or not subclaims should be returned over
@@ -1106,7 +1311,7 @@ public abstract class DataStore {
      * @param cachedClaim     the cached claim, if any
      * @return the claim containing the location or null if no claim exists there
      */
-    synchronized public Claim getClaimAt(Location location, boolean ignoreHeight, boolean ignoreSubclaims,
+    public Claim getClaimAt(Location location, boolean ignoreHeight, boolean ignoreSubclaims,
             Claim cachedClaim) {
         // Check cached claim first, but don't prematurely return a non-3D claim if a
         // more specific 3D subclaim exists.
@@ -1117,8 +1322,7 @@ public abstract class DataStore {
                 if (!ignoreSubclaims) {
                     // Look for a more specific 3D claim within the same chunks that contains this
                     // location including Y.
-                    Set<Claim> claimsInChunks = this.getChunkClaims(location.getWorld(),
-                            new BoundingBox(location.getBlock()));
+                    List<Claim> claimsInChunks = this.getIndexedClaimsAt(location);
                     Claim better3D = null;
                     for (Claim claim : claimsInChunks) {
                         if (!claim.contains(location, false /* respect height */, false))
@@ -1147,43 +1351,41 @@ public abstract class DataStore {
                     }
 
                     // Prefer a matching child (handles nested subdivisions)
-                    if (!cachedClaim.children.isEmpty()) {
-                        Claim bestChild = null;
-                        for (Claim child : cachedClaim.children) {
-                            if (!child.inDataStore)
-                                continue;
-                            // For child.contains: for 2D children, height is effectively ignored;
-                            // for 3D children, Y is enforced because ignoreHeight=false
-                            if (!child.contains(location, false /* respect height where applicable */, false))
-                                continue;
+                    Claim bestChild = null;
+                    for (Claim child : claimsInChunks) {
+                        if (child.parent != cachedClaim)
+                            continue;
+                        // For child.contains: for 2D children, height is effectively ignored;
+                        // for 3D children, Y is enforced because ignoreHeight=false
+                        if (!child.contains(location, false /* respect height where applicable */, false))
+                            continue;
 
-                            if (bestChild == null) {
-                                bestChild = child;
-                            } else {
-                                boolean bestIs3D = bestChild.is3D();
-                                boolean currIs3D = child.is3D();
-
-                                if (bestIs3D && currIs3D) {
-                                    int bestYRange = bestChild.getGreaterBoundaryCorner().getBlockY()
-                                            - bestChild.getLesserBoundaryCorner().getBlockY();
-                                    int currYRange = child.getGreaterBoundaryCorner().getBlockY()
-                                            - child.getLesserBoundaryCorner().getBlockY();
-                                    if (currYRange < bestYRange
-                                            || (currYRange == bestYRange && child.getArea() < bestChild.getArea())) {
-                                        bestChild = child;
-                                    }
-                                } else if (!bestIs3D && currIs3D) {
-                                    bestChild = child; // prefer 3D over 2D if both match
-                                } else if (!bestIs3D && !currIs3D) {
-                                    if (child.getArea() < bestChild.getArea()) {
-                                        bestChild = child;
-                                    }
+                        if (bestChild == null) {
+                            bestChild = child;
+                        } else {
+                            boolean bestIs3D = bestChild.is3D();
+                            boolean currIs3D = child.is3D();
+
+                            if (bestIs3D && currIs3D) {
+                                int bestYRange = bestChild.getGreaterBoundaryCorner().getBlockY()
+                                        - bestChild.getLesserBoundaryCorner().getBlockY();
+                                int currYRange = child.getGreaterBoundaryCorner().getBlockY()
+                                        - child.getLesserBoundaryCorner().getBlockY();
+                                if (currYRange < bestYRange
+                                        || (currYRange == bestYRange && child.getArea() < bestChild.getArea())) {
+                                    bestChild = child;
+                                }
+                            } else if (!bestIs3D && currIs3D) {
+                                bestChild = child; // prefer 3D over 2D if both match
+                            } else if (!bestIs3D && !currIs3D) {
+                                if (child.getArea() < bestChild.getArea()) {
+                                    bestChild = child;
                                 }
                             }
                         }
-                        if (bestChild != null) {
-                            return bestChild;
-                        }
+                    }
+                    if (bestChild != null) {
+                        return bestChild;
                     }
                 }
                 // No better claim found; return cached or matching child from above.
@@ -1192,13 +1394,17 @@ public abstract class DataStore {
             // If cached is 3D but doesn't accept Y, continue to full search below.
         }
         // Check all claims in the same chunks as the location
-        Set<Claim> claimsInChunks = this.getChunkClaims(location.getWorld(), new BoundingBox(location.getBlock()));
+        List<Claim> claimsInChunks = this.getIndexedClaimsAt(location);
         if (claimsInChunks.isEmpty())
             return null;
 
         List<Claim> containingClaims = new ArrayList<>();
         for (Claim claim : claimsInChunks) {
-            collectClaimsContaining(claim, location, ignoreHeight, ignoreSubclaims, containingClaims);
+            // the index holds every subdivision, where the chunk cache only holds top-level and 3D claims
+            if (ignoreSubclaims && claim.parent != null && !claim.is3D())
+                continue;
+            if (claim.contains(location, ignoreHeight, ignoreSubclaims))
+                containingClaims.add(claim);
         }
 
         if (containingClaims.isEmpty()) {
@@ -1305,11 +1511,11 @@ public abstract class DataStore {
 
         // If subclaims are allowed and a parent claim was selected, prefer a matching
         // child (handles 2D subdivisions)
-        if (!ignoreSubclaims && result != null && result.parent == null && !result.children.isEmpty()) {
+        if (!ignoreSubclaims && result != null && result.parent == null) {
             Claim bestChild = null;
 
-            for (Claim child : result.children) {
-                if (!child.inDataStore)
+            for (Claim child : claimsInChunks) {
+                if (child.parent != result)
                     continue;
                 // For child.contains: for 2D children, height is effectively ignored;
                 // for 3D children, Y is enforced because ignoreHeight=false
@@ -1354,40 +1560,140 @@ public abstract class DataStore {
         return result;
     }
 
-    private void collectClaimsContaining(Claim claim, Location location, boolean ignoreHeight, boolean ignoreSubclaims,
-            List<Claim> results) {
-        if (claim == null || !claim.inDataStore) {
-            return;
-        }
-
-        if (!claim.contains(location, ignoreHeight, ignoreSubclaims)) {
-            return;
-        }
-
-        if (results.contains(claim)) {
-            return;
-        }
+    // live claims whose indexed bounds reach into the location's chunk, most specific first. reads the
+    // snapshot index and the id map only, so lookups never wait on the claim writer
+    private @NotNull List<Claim> getIndexedClaimsAt(@NotNull Location location) {
+        World world = location.getWorld();
+        if (world == null) return Collections.emptyList();
 
-        results.add(claim);
+        List<ClaimSnapshot> snapshots = this.claimSnapshotIndex.inChunkAt(world.getName(), location.getBlockX(),
+                location.getBlockZ());
+        if (snapshots.isEmpty()) return Collections.emptyList();
 
-        if (ignoreSubclaims) {
-            return;
-        }
-
-        for (Claim child : claim.children) {
-            collectClaimsContaining(child, location, ignoreHeight, false, results);
+        List<Claim> claims = new ArrayList<>(snapshots.size());
+        for (ClaimSnapshot snapshot : snapshots) {
+            Claim claim = this.claimIDMap.get(snapshot.id());
+            if (claim != null && claim.inDataStore) claims.add(claim);
         }
+        return claims;
     }
 
     // finds a claim by ID
-    public synchronized Claim getClaim(long id) {
+    public Claim getClaim(long id) {
         return this.claimIDMap.get(id);
     }
 
-    public synchronized @NotNull List<ClaimSnapshot> getClaimSnapshots() {
+    public @NotNull List<ClaimSnapshot> getClaimSnapshots() {
         return this.claimSnapshotIndex.snapshots();
     }
 
+    /**
+     * Get the claim changes recorded after a sequence, for consumers that keep their own copy of
+     * the claims. Pass 0 on the first call and {@link ClaimChangeSet#lastSequence()} after that.
+     *
+     * @param sequence the last sequence the caller applied
+     * @return the changes since then, led by a full checkpoint if the caller fell too far behind
+     */
+    public @NotNull ClaimChangeSet getClaimChangesSince(long sequence) {
+        return this.claimJournal.changesSince(sequence);
+    }
+
+    // lighter counterpart of getClaimAt for region threads that check many locations. takes the most
+    // specific indexed snapshot as is, so there is no cached claim to seed it with
+    public @Nullable Claim lookupClaimAt(@NotNull Location location, boolean ignoreHeight) {
+        World world = location.getWorld();
+        if (world == null) return null;
+
+        ClaimSnapshot snapshot = this.claimSnapshotIndex.findAt(world.getName(), location.getBlockX(),
+                location.getBlockY(), location.getBlockZ(), ignoreHeight, false);
+        if (snapshot == null || snapshot.id() == null) return null;
+
+        Claim claim = this.claimIDMap.get(snapshot.id());
+        return claim != null && claim.inDataStore ? claim : null;
+    }
+
+    // version of a claim's geometry and ownership, for planning a change before submitting it
+    public long getClaimVersion(@NotNull Claim claim) {
+        return claim.id == null ? 0 : this.claimMutations.version(claim.id);
+    }
+
+    // applies a claim edit on the single claim writer without blocking the caller. the edit fails with
+    // a ClaimMutationConflictException instead of running if the claim changed after expectedVersion
+    public <T> @NotNull CompletableFuture<T> submitClaimMutation(@NotNull Claim claim, long expectedVersion,
+            @NotNull Supplier<T> mutation) {
+        if (claim.id == null) return this.claimMutations.submit(mutation);
+        return this.claimMutations.submit(claim.id, expectedVersion, mutation);
+    }
+
+    // audits the claim data for an admin. only copying the snapshots and chunk cache runs on the claim
+    // writer; the checks themselves run in parallel on the given pool
+    public @NotNull List<ClaimIntegrityIssue> scanClaimIntegrity(@NotNull ForkJoinPool pool) {
+        Map<Long, List<Long>> chunkEntries = new HashMap<>();
+        List<ClaimSnapshot> snapshots = this.claimMutations.call(() -> {
+            for (Map.Entry<Long, ArrayList<Claim>> entry : this.chunksToClaimsMap.entrySet()) {
+                List<Long> claimIds = new ArrayList<>(entry.getValue().size());
+                for (Claim claim : entry.getValue()) {
+                    if (claim.id != null) claimIds.add(claim.id);
+                }
+                chunkEntries.put(entry.getKey(), claimIds);
+            }
+            return this.claimSnapshotIndex.snapshots();
+        });
+
+        return new ClaimIntegrityScanner(pool).scan(snapshots, chunkEntries, (chunkX, chunkZ) -> getChunkHash(chunkX, chunkZ));
+    }
+
+    // writes a scan's findings next to the other data files and returns the report file
+    public @NotNull File writeClaimIntegrityReport(@NotNull List<ClaimIntegrityIssue> issues) throws IOException {
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File reportFile = new File(dataLayerFolderPath + File.separator + "integrity-" + timestamp + ".yml");
+        Files.createParentDirs(reportFile);
+        Files.write(ClaimIntegrityScanner.toYaml(issues).getBytes(StandardCharsets.UTF_8), reportFile);
+        return reportFile;
+    }
+
+    // repairs the chunk cache entries a scan flagged. every finding is checked again against the live
+    // claims first, since they may have changed since the scan; other kinds of issue are left for an admin
+    public int repairChunkCache(@NotNull List<ClaimIntegrityIssue> issues) {
+        return this.claimMutations.call(() -> this.repairChunkCacheOnWriter(issues));
+    }
+
+    private int repairChunkCacheOnWriter(@NotNull List<ClaimIntegrityIssue> issues) {
+        int repaired = 0;
+        for (ClaimIntegrityIssue issue : issues) {
+            Long claimId = issue.claimId();
+            if (claimId == null) continue;
+
+            Claim claim = this.claimIDMap.get(claimId);
+            boolean indexed = claim != null && claim.inDataStore && (claim.parent == null || claim.is3D());
+            if (issue.type() == ClaimIntegrityIssueType.DANGLING_CHUNK_ENTRY) {
+                Long chunkHash = issue.chunkKey();
+                if (chunkHash == null || (indexed && claim.getChunkHashes().contains(chunkHash))) continue;
+
+                ArrayList<Claim> claimsInChunk = this.chunksToClaimsMap.get(chunkHash);
+                if (claimsInChunk != null && claimsInChunk.removeIf(c -> claimId.equals(c.id))) {
+                    if (claimsInChunk.isEmpty()) {
+                        this.chunksToClaimsMap.remove(chunkHash);
+                    }
+                    repaired++;
+                }
+            } else if (issue.type() == ClaimIntegrityIssueType.MISSING_CHUNK_ENTRY && indexed) {
+                boolean added = false;
+                for (Long chunkHash : claim.getChunkHashes()) {
+                    ArrayList<Claim> claimsInChunk = this.chunksToClaimsMap.computeIfAbsent(chunkHash, ignored -> new ArrayList<>());
+                    if (claimsInChunk.stream().noneMatch(c -> claimId.equals(c.id))) {
+                        claimsInChunk.add(claim);
+                        added = true;
+                    }
+                }
+                if (added) repaired++;
+            }
+        }
+
+        if (repaired > 0) this.claimsVersion.incrementAndGet();
+        return repaired;
+    }
+
     // returns a read-only access point for the list of all land claims
     // if you need to make changes, use provided methods like .deleteClaim() and
     // .createClaim().
@@ -1428,6 +1734,21 @@ public abstract class DataStore {
         return claims;
     }
 
+    // Top-level claims that may overlap the given claim's bounds, in claim list order so overlap
+    // checks report the same first conflict as a scan over every claim.
+    @NotNull ArrayList<Claim> getTopLevelClaimsUnder(@NotNull Claim area) {
+        ArrayList<Claim> candidates = new ArrayList<>();
+        Location lesser = area.getLesserBoundaryCorner();
+        World world = Objects.requireNonNull(lesser.getWorld());
+        for (Claim claim : this.getChunkClaims(world, new BoundingBox(lesser, area.getGreaterBoundaryCorner()))) {
+            if (claim.parent == null) {
+                candidates.add(claim);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(claim -> claim.dataStoreOrder));
+        return candidates;
+    }
+
     // gets an almost-unique, persistent identifier for a chunk
     public static Long getChunkHash(long chunkx, long chunkz) {
         return (chunkz ^ (chunkx << 32));
@@ -1464,79 +1785,140 @@ public abstract class DataStore {
         int minDist = GriefPrevention.instance.config_claims_minimumDistance;
         if (minDist <= 0) return;
 
+        // A corner within minDist of the other claim puts the two bounding boxes within minDist of
+        // each other, so the spatial join only yields candidates and isAutoNeighborPair decides.
+        List<ClaimSnapshot> footprints = new ArrayList<>();
         for (Claim claim : this.claims) {
-            if (!claim.inDataStore) continue;
-            if (claim.parent != null) continue;
-            if (claim.getOwnerID() == null) continue;
-
-            for (Claim otherClaim : this.claims) {
-                if (!otherClaim.inDataStore) continue;
-                if (otherClaim.parent != null) continue;
-                if (otherClaim.getOwnerID() == null) continue;
-                if (claim.id.equals(otherClaim.id)) continue;
-                if (claim.getOwnerID().equals(otherClaim.getOwnerID())) continue;
-                if (!claim.getLesserBoundaryCorner().getWorld().equals(otherClaim.getLesserBoundaryCorner().getWorld())) continue;
-
-                if (claim.isNear(otherClaim.getLesserBoundaryCorner(), minDist) || claim.isNear(otherClaim.getGreaterBoundaryCorner(), minDist)) {
-                    claim.addAutoNeighbor(otherClaim.getOwnerID().toString());
-                    otherClaim.addAutoNeighbor(claim.getOwnerID().toString());
-                }
+            if (isAutoNeighborCandidate(claim)) {
+                footprints.add(getNeighborFootprint(claim));
             }
         }
+
+        ClaimProximityJoin.forEachPairWithin(footprints, minDist, (first, second) -> {
+            Claim claim = this.claimIDMap.get(first.id());
+            Claim otherClaim = this.claimIDMap.get(second.id());
+            if (claim != null && otherClaim != null && isAutoNeighborPair(claim, otherClaim, minDist)) {
+                claim.addAutoNeighbor(otherClaim.getOwnerID().toString());
+                otherClaim.addAutoNeighbor(claim.getOwnerID().toString());
+            }
+        });
     }
 
-    // When a claim is deleted, remove the owner from auto-neighbor lists on nearby claims,
-    // but only if the deleted owner has no other claims still nearby.
+    // When a claim is deleted, drop its owner from nearby auto-neighbor lists unless the owner
+    // still has another claim nearby. Must run after the claim is marked as no longer in the datastore.
     void cleanupAutoNeighborsOnDelete(Claim deletedClaim) {
         if (deletedClaim.parent != null) return;
-        UUID deletedOwner = deletedClaim.getOwnerID();
-        if (deletedOwner == null) return;
+        this.refreshAutoNeighborhood(Collections.emptySet(), deletedClaim);
+    }
+
+    // Top-level claims whose auto-neighbor lists can depend on the given claim's current footprint,
+    // including the claim itself while it is in the datastore.
+    private Set<Claim> getAutoNeighborhood(Claim claim) {
+        int minDist = GriefPrevention.instance.config_claims_minimumDistance;
+        if (minDist <= 0 || claim.parent != null) return Collections.emptySet();
+
+        World world = claim.getLesserBoundaryCorner().getWorld();
+        if (world == null) return Collections.emptySet();
+
+        Location lesser = claim.getLesserBoundaryCorner();
+        Location greater = claim.getGreaterBoundaryCorner();
+        Set<Claim> nearby = this.getChunkClaims(world, new BoundingBox(
+                lesser.getBlockX() - minDist, lesser.getBlockY(), lesser.getBlockZ() - minDist,
+                greater.getBlockX() + minDist, greater.getBlockY(), greater.getBlockZ() + minDist));
+        nearby.removeIf(other -> other.parent != null);
+        return nearby;
+    }
 
+    // Recomputes auto-neighbor lists around a claim whose footprint, owner or existence changed,
+    // giving the same lists a fresh autoGrantNeighborTrust() scan would.
+    // previousNeighborhood holds the claims that were near the claim before the change.
+    private void refreshAutoNeighborhood(Collection<Claim> previousNeighborhood, Claim claim) {
+        int minDist = GriefPrevention.instance.config_claims_minimumDistance;
+        if (minDist <= 0 || claim.parent != null) return;
+
+        Set<Claim> affected = new HashSet<>(previousNeighborhood);
+        affected.addAll(this.getAutoNeighborhood(claim));
+        this.refreshAutoNeighbors(affected);
+    }
+
+    // Recomputes the auto-neighbor lists of the given claims from the current datastore contents.
+    // Claims no longer in the datastore and subdivisions are skipped.
+    private void refreshAutoNeighbors(Collection<Claim> claims) {
         int minDist = GriefPrevention.instance.config_claims_minimumDistance;
         if (minDist <= 0) return;
 
-        for (Claim claim : this.claims) {
-            if (!claim.inDataStore) continue;
-            if (claim.parent != null) continue;
-            if (!claim.isAutoNeighbor(deletedOwner.toString())) continue;
+        for (Claim nearbyClaim : claims) {
+            if (!nearbyClaim.inDataStore || nearbyClaim.parent != null) continue;
 
-            boolean hasOtherNearby = false;
-            for (Claim otherClaim : this.claims) {
-                if (!otherClaim.inDataStore) continue;
-                if (otherClaim.parent != null) continue;
-                if (otherClaim.id.equals(deletedClaim.id)) continue;
-                // Admin claims have a null owner and can never match the deleted owner.
-                if (otherClaim.getOwnerID() == null) continue;
-                if (!otherClaim.getOwnerID().equals(deletedOwner)) continue;
-                if (!claim.getLesserBoundaryCorner().getWorld().equals(otherClaim.getLesserBoundaryCorner().getWorld())) continue;
-
-                if (claim.isNear(otherClaim.getLesserBoundaryCorner(), minDist) || claim.isNear(otherClaim.getGreaterBoundaryCorner(), minDist)) {
-                    hasOtherNearby = true;
-                    break;
+            List<String> owners = new ArrayList<>();
+            if (isAutoNeighborCandidate(nearbyClaim)) {
+                for (Claim otherClaim : this.getAutoNeighborhood(nearbyClaim)) {
+                    if (isAutoNeighborPair(nearbyClaim, otherClaim, minDist)) {
+                        owners.add(otherClaim.getOwnerID().toString());
+                    }
                 }
             }
-
-            if (!hasOtherNearby) {
-                claim.removeAutoNeighbor(deletedOwner.toString());
-                this.saveClaim(claim);
-            }
+            nearbyClaim.replaceAutoNeighbors(owners);
         }
     }
 
+    private static boolean isAutoNeighborCandidate(Claim claim) {
+        return claim.inDataStore && claim.parent == null && claim.getOwnerID() != null;
+    }
+
+    // The legacy auto-neighbor rule: different owners, same world, and a bounding-box corner of either
+    // claim within minDist of the other.
+    private static boolean isAutoNeighborPair(Claim claim, Claim otherClaim, int minDist) {
+        if (!isAutoNeighborCandidate(claim) || !isAutoNeighborCandidate(otherClaim)) return false;
+        if (claim.id.equals(otherClaim.id)) return false;
+        if (claim.getOwnerID().equals(otherClaim.getOwnerID())) return false;
+        if (!claim.getLesserBoundaryCorner().getWorld().equals(otherClaim.getLesserBoundaryCorner().getWorld())) return false;
+
+        return claim.isNear(otherClaim.getLesserBoundaryCorner(), minDist)
+                || claim.isNear(otherClaim.getGreaterBoundaryCorner(), minDist)
+                || otherClaim.isNear(claim.getLesserBoundaryCorner(), minDist)
+                || otherClaim.isNear(claim.getGreaterBoundaryCorner(), minDist);
+    }
+
+    private static ClaimSnapshot getNeighborFootprint(Claim claim) {
+        Location lesser = claim.getLesserBoundaryCorner();
+        Location greater = claim.getGreaterBoundaryCorner();
+        World world = lesser.getWorld();
+        return new ClaimSnapshot(
+                claim.id,
+                world == null ? "" : world.getName(),
+                claim.getOwnerID(),
+                null,
+                ClaimBounds.rectangle(lesser.getBlockX(), lesser.getBlockY(), lesser.getBlockZ(),
+                        greater.getBlockX(), greater.getBlockY(), greater.getBlockZ()),
+                false,
+                false);
+    }
+
         /*
      * Creates a claim and flags it as being new....throwing a create claim event;
      */
-    synchronized public CreateClaimResult createClaim(World world, int x1, int x2, int y1, int y2, int z1, int z2,
+    public CreateClaimResult createClaim(World world, int x1, int x2, int y1, int y2, int z1, int z2,
             UUID ownerID, Claim parent, Long id, Player creatingPlayer) {
         return createClaim(world, x1, x2, y1, y2, z1, z2, ownerID, parent, id, creatingPlayer, false, false);
     }
 
-    synchronized public CreateClaimResult createClaim(World world, int x1, int x2, int y1, int y2, int z1, int z2,
+    public CreateClaimResult createClaim(World world, int x1, int x2, int y1, int y2, int z1, int z2,
             UUID ownerID, Claim parent, Long id, Player creatingPlayer, boolean is3D) {
         return createClaim(world, x1, x2, y1, y2, z1, z2, ownerID, parent, id, creatingPlayer, false, is3D);
     }
 
-    synchronized public CreateClaimResult createShapedClaim(
+    public CreateClaimResult createShapedClaim(
+            @NotNull World world,
+            @NotNull OrthogonalPolygon polygon,
+            int y,
+            @Nullable UUID ownerID,
+            @Nullable Player creatingPlayer)
+    {
+        return this.claimMutations.call(() -> this.createShapedClaimOnWriter(world, polygon, y, ownerID, creatingPlayer));
+    }
+
+    private CreateClaimResult createShapedClaimOnWriter(
             @NotNull World world,
             @NotNull OrthogonalPolygon polygon,
             int y,
@@ -1581,7 +1963,7 @@ public abstract class DataStore {
                 false);
         newClaim.setShapedCorners(polygon.corners());
 
-        for (Claim otherClaim : this.claims) {
+        for (Claim otherClaim : this.getTopLevelClaimsUnder(newClaim)) {
             if (otherClaim.inDataStore && otherClaim.overlaps(newClaim)) {
                 result.succeeded = false;
                 result.claim = otherClaim;
@@ -1626,7 +2008,16 @@ public abstract class DataStore {
      * @param creatingPlayer the player drawing the subdivision, if any
      * @return the creation result; on failure {@code claim} holds the conflicting claim when known
      */
-    synchronized public CreateClaimResult createShapedSubdivision(
+    public CreateClaimResult createShapedSubdivision(
+            @NotNull World world,
+            @NotNull OrthogonalPolygon polygon,
+            @NotNull Claim parent,
+            @Nullable Player creatingPlayer)
+    {
+        return this.claimMutations.call(() -> this.createShapedSubdivisionOnWriter(world, polygon, parent, creatingPlayer));
+    }
+
+    private CreateClaimResult createShapedSubdivisionOnWriter(
             @NotNull World world,
             @NotNull OrthogonalPolygon polygon,
             @NotNull Claim parent,
@@ -1756,7 +2147,13 @@ public abstract class DataStore {
     // blocks.
     // does NOT check minimum claim size constraints
     // does NOT visualize the new claim for any players
-    synchronized public CreateClaimResult createClaim(World world, int x1, int x2, int y1, int y2, int z1, int z2,
+    public CreateClaimResult createClaim(World world, int x1, int x2, int y1, int y2, int z1, int z2,
+            UUID ownerID, Claim parent, Long id, Player creatingPlayer, boolean dryRun, boolean is3D) {
+        return this.claimMutations.call(() -> this.createClaimOnWriter(world, x1, x2, y1, y2, z1, z2, ownerID, parent,
+                id, creatingPlayer, dryRun, is3D));
+    }
+
+    private CreateClaimResult createClaimOnWriter(World world, int x1, int x2, int y1, int y2, int z1, int z2,
             UUID ownerID, Claim parent, Long id, Player creatingPlayer, boolean dryRun, boolean is3D) {
         CreateClaimResult result = new CreateClaimResult();
 
@@ -1894,7 +2291,7 @@ public abstract class DataStore {
             newClaim.setSubclaimRestrictions(isNested || parentRestrictsFutureSubdivisions);
             claimsToCheck = newClaim.parent.children;
         } else {
-            claimsToCheck = this.claims;
+            claimsToCheck = this.getTopLevelClaimsUnder(newClaim);
         }
 
         for (Claim otherClaim : claimsToCheck) {
@@ -2045,8 +2442,8 @@ public abstract class DataStore {
         if (GriefPrevention.instance.config_claims_respectWorldGuard
                 && this.worldGuard != null
                 && creatingPlayer != null
-                && !this.worldGuard.canBuild(newClaim.lesserBoundaryCorner,
-                        newClaim.greaterBoundaryCorner, creatingPlayer)) {
+                && !this.worldGuard.canBuild(newClaim.getLesserBoundaryCorner(),
+                        newClaim.getGreaterBoundaryCorner(), creatingPlayer)) {
             result.succeeded = false;
             result.claim = null;
             return result;
@@ -2065,7 +2462,7 @@ public abstract class DataStore {
                 if (otherClaim.getOwnerID() != null && otherClaim.getOwnerID().equals(ownerUUID)) continue;
                 if (!otherClaim.getLesserBoundaryCorner().getWorld().equals(world)) continue;
 
-                if (otherClaim.isNear(newClaim.lesserBoundaryCorner, minDist) || otherClaim.isNear(newClaim.greaterBoundaryCorner, minDist)) {
+                if (otherClaim.isNear(newClaim.getLesserBoundaryCorner(), minDist) || otherClaim.isNear(newClaim.getGreaterBoundaryCorner(), minDist)) {
                     // Check if the nearby claim allows all neighbors to bypass
                     if (otherClaim.allowAllNeighbors) {
                         continue;
@@ -2144,21 +2541,48 @@ public abstract class DataStore {
         playerData.getAccruedClaimBlocks();
         playerData.getClaims();
 
+        // a batched save queued earlier has nothing left to write
+        playerData.clearDirty();
         this.asyncSavePlayerData(playerID, playerData);
     }
 
     // saves changes to player data to secondary storage. MUST be called after
     // you're done making changes, otherwise a reload will lose them
+    // the write happens in the player data writer's next batch, within
+    // PlayerDataWriter.FLUSH_INTERVAL_MILLIS
     public void savePlayerData(UUID playerID, PlayerData playerData) {
-        new SavePlayerDataThread(playerID, playerData).start();
+        // never save data for the "administrative" account
+        if (playerID == null) return;
+
+        this.playerDataWriter.enqueue(playerID, playerData);
+    }
+
+    // writes everything the player data writer still holds; later saves are written immediately
+    void flushPlayerData() {
+        this.playerDataWriter.close();
+    }
+
+    // writes one batch from the player data writer. implementations may override
+    // this to write the whole batch at once
+    void writePlayerDataBatch(Map<UUID, PlayerData> batch) {
+        for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+            // ensure player data is already read from file before trying to save
+            entry.getValue().getAccruedClaimBlocks();
+            entry.getValue().getClaims();
+            this.asyncSavePlayerData(entry.getKey(), entry.getValue());
+        }
     }
 
-    @SuppressWarnings("null")
     public void asyncSavePlayerData(UUID playerID, PlayerData playerData) {
         // save everything except the ignore list
         this.overrideSavePlayerData(playerID, playerData);
 
         // save the ignore list
+        this.saveIgnoreList(playerID, playerData);
+    }
+
+    @SuppressWarnings("null")
+    void saveIgnoreList(UUID playerID, PlayerData playerData) {
         if (playerData.ignoreListChanged) {
             StringBuilder fileContent = new StringBuilder();
             try {
@@ -2204,15 +2628,20 @@ public abstract class DataStore {
      * @param secondClaim The second claim (will be deleted)
      * @param mergeEdgeIndex Optional edge index for shaped claims to limit merge width
      */
-    synchronized public void mergeClaims(Player player, PlayerData playerData, Claim firstClaim, Claim secondClaim, Integer mergeEdgeIndex) {
+    public void mergeClaims(Player player, PlayerData playerData, Claim firstClaim, Claim secondClaim, Integer mergeEdgeIndex) {
         mergeClaims(player, playerData, firstClaim, secondClaim, mergeEdgeIndex, null, null);
     }
 
-    synchronized public void mergeClaims(Player player, PlayerData playerData, Claim firstClaim, Claim secondClaim, Integer mergeEdgeIndex, Set<OrthogonalPoint2i> preferredConnectionCells) {
+    public void mergeClaims(Player player, PlayerData playerData, Claim firstClaim, Claim secondClaim, Integer mergeEdgeIndex, Set<OrthogonalPoint2i> preferredConnectionCells) {
         mergeClaims(player, playerData, firstClaim, secondClaim, mergeEdgeIndex, preferredConnectionCells, null);
     }
 
-    synchronized public void mergeClaims(Player player, PlayerData playerData, Claim firstClaim, Claim secondClaim, Integer mergeEdgeIndex, Set<OrthogonalPoint2i> preferredConnectionCells, OrthogonalPolygon firstPolygonOverride) {
+    public void mergeClaims(Player player, PlayerData playerData, Claim firstClaim, Claim secondClaim, Integer mergeEdgeIndex, Set<OrthogonalPoint2i> preferredConnectionCells, OrthogonalPolygon firstPolygonOverride) {
+        this.claimMutations.run(() -> this.mergeClaimsOnWriter(player, playerData, firstClaim, secondClaim, mergeEdgeIndex,
+                preferredConnectionCells, firstPolygonOverride));
+    }
+
+    private void mergeClaimsOnWriter(Player player, PlayerData playerData, Claim firstClaim, Claim secondClaim, Integer mergeEdgeIndex, Set<OrthogonalPoint2i> preferredConnectionCells, OrthogonalPolygon firstPolygonOverride) {
         // Ensure both claims are top-level
         while (firstClaim.parent != null) {
             firstClaim = firstClaim.parent;
@@ -2559,41 +2988,9 @@ public abstract class DataStore {
     }
 
     static boolean polygonsOverlap(OrthogonalPolygon polygon1, OrthogonalPolygon polygon2) {
-        // Check if bounding boxes overlap
-        int minX = Math.max(polygon1.minX(), polygon2.minX());
-        int maxX = Math.min(polygon1.maxX(), polygon2.maxX());
-        int minZ = Math.max(polygon1.minZ(), polygon2.minZ());
-        int maxZ = Math.min(polygon1.maxZ(), polygon2.maxZ());
-        if (minX > maxX || minZ > maxZ) {
-            return false;
-        }
-
-        // Check if any corner of either polygon is inside the other. This is cheap and settles
-        // the common cases without walking the whole overlapping region.
-        for (OrthogonalPoint2i corner : polygon1.corners()) {
-            if (polygon2.contains(corner)) {
-                return true;
-            }
-        }
-
-        for (OrthogonalPoint2i corner : polygon2.corners()) {
-            if (polygon1.contains(corner)) {
-                return true;
-            }
-        }
-
         // Shapes can cross without either one's corners landing inside the other - a corridor
-        // laid straight across a narrow claim, for example. Walk the shared region for a cell
-        // that belongs to both.
-        for (int x = minX; x <= maxX; x++) {
-            for (int z = minZ; z <= maxZ; z++) {
-                if (polygon1.containsCell(x, z) && polygon2.containsCell(x, z)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        // laid straight across a narrow claim, for example - so compare the covered cells exactly.
+        return OrthogonalPolygonCells.overlaps(polygon1, polygon2);
     }
 
     private void updateClaimPolygon(Claim claim, OrthogonalPolygon polygon) {
@@ -2609,8 +3006,7 @@ public abstract class DataStore {
             int minY = claim.getLesserBoundaryCorner().getBlockY();
             int maxY = claim.getGreaterBoundaryCorner().getBlockY();
 
-            claim.lesserBoundaryCorner = new Location(world, minX, minY, minZ);
-            claim.greaterBoundaryCorner = new Location(world, maxX, maxY, maxZ);
+            claim.setBoundaryCorners(new Location(world, minX, minY, minZ), new Location(world, maxX, maxY, maxZ));
             // Preserve the shaped corners so the polygon shape is retained.
             // If the polygon fails validation (e.g., self-intersecting contour),
             // fall back to a rectangle so the claim doesn't lose its shaped status.
@@ -2635,7 +3031,11 @@ public abstract class DataStore {
 
     // extends a claim to a new depth
     // respects the max depth config variable
-    synchronized public void extendClaim(Claim claim, int newDepth) {
+    public void extendClaim(Claim claim, int newDepth) {
+        this.claimMutations.run(() -> this.extendClaimOnWriter(claim, newDepth));
+    }
+
+    private void extendClaimOnWriter(Claim claim, int newDepth) {
         if (claim.parent != null)
             claim = claim.parent;
 
@@ -2705,9 +3105,8 @@ public abstract class DataStore {
         Stream.concat(
                 Stream.of(claim),
                 claim.children.stream().filter(child -> !child.is3D())).forEach(localClaim -> {
-                    localClaim.lesserBoundaryCorner.setY(depth);
-                    localClaim.greaterBoundaryCorner
-                            .setY(Math.max(localClaim.greaterBoundaryCorner.getBlockY(), depth));
+                    localClaim.setBoundaryY(depth,
+                            Math.max(localClaim.getGreaterBoundaryCorner().getBlockY(), depth));
                     this.indexClaimSnapshot(localClaim);
                     this.saveClaim(localClaim);
                 });
@@ -2834,7 +3233,11 @@ public abstract class DataStore {
     }
 
     // deletes all claims owned by a player
-    synchronized public void deleteClaimsForPlayer(UUID playerID, boolean releasePets) {
+    public void deleteClaimsForPlayer(UUID playerID, boolean releasePets) {
+        this.claimMutations.run(() -> this.deleteClaimsForPlayerOnWriter(playerID, releasePets));
+    }
+
+    private void deleteClaimsForPlayerOnWriter(UUID playerID, boolean releasePets) {
         // make a list of the player's claims
         ArrayList<Claim> claimsToDelete = new ArrayList<>();
         for (Claim claim : this.claims) {
@@ -2842,15 +3245,19 @@ public abstract class DataStore {
                 claimsToDelete.add(claim);
         }
 
-        // delete them one by one
-        for (Claim claim : claimsToDelete) {
-            this.deleteClaim(claim);
-        }
+        // delete them as one batch
+        this.deleteTopLevelClaims(claimsToDelete, true, false);
     }
 
     // tries to resize a claim
     // see CreateClaim() for details on return value
-    synchronized public CreateClaimResult resizeClaim(Claim claim, int newx1, int newx2, int newy1, int newy2,
+    public CreateClaimResult resizeClaim(Claim claim, int newx1, int newx2, int newy1, int newy2,
+            int newz1, int newz2, Player resizingPlayer) {
+        return this.claimMutations.call(() -> this.resizeClaimOnWriter(claim, newx1, newx2, newy1, newy2, newz1, newz2,
+                resizingPlayer));
+    }
+
+    private CreateClaimResult resizeClaimOnWriter(Claim claim, int newx1, int newx2, int newy1, int newy2,
             int newz1, int newz2, Player resizingPlayer) {
         // Allow 3D single-layer subdivisions to expand vertically when resizing.
         // PlayerEventHandler computes newy1/newy2 based on the drag direction,
@@ -2866,11 +3273,11 @@ public abstract class DataStore {
 
         // if succeeded
         if (result.succeeded) {
+            Set<Claim> previousNeighborhood = this.getAutoNeighborhood(claim);
             removeFromChunkClaimMap(claim); // remove the old boundary from the chunk cache
             // copy the boundary from the claim created in the dry run of createClaim() to
             // our existing claim
-            claim.lesserBoundaryCorner = result.claim.lesserBoundaryCorner;
-            claim.greaterBoundaryCorner = result.claim.greaterBoundaryCorner;
+            claim.setBoundaryCorners(result.claim.getLesserBoundaryCorner(), result.claim.getGreaterBoundaryCorner());
             // Sanitize claim depth for non-3D claims only. For 3D subdivisions, do not
             // adjust
             // parent/child depths as they have explicit Y bounds and should NOT extend to
@@ -2887,12 +3294,21 @@ public abstract class DataStore {
             result.claim = claim;
             addToChunkClaimMap(claim); // add the new boundary to the chunk cache
             this.indexClaimSnapshot(claim);
+            this.refreshAutoNeighborhood(previousNeighborhood, claim);
         }
 
         return result;
     }
 
-    synchronized public CreateClaimResult updateShapedClaim(
+    public CreateClaimResult updateShapedClaim(
+            @NotNull Player player,
+            @NotNull PlayerData playerData,
+            @NotNull Claim claim,
+            @NotNull OrthogonalPolygon polygon) {
+        return this.claimMutations.call(() -> this.updateShapedClaimOnWriter(player, playerData, claim, polygon));
+    }
+
+    private CreateClaimResult updateShapedClaimOnWriter(
             @NotNull Player player,
             @NotNull PlayerData playerData,
             @NotNull Claim claim,
@@ -2946,8 +3362,7 @@ public abstract class DataStore {
         }
 
         Claim candidate = new Claim(claim);
-        candidate.lesserBoundaryCorner = new Location(world, newx1, newy1, newz1);
-        candidate.greaterBoundaryCorner = new Location(world, newx2, newy2, newz2);
+        candidate.setBoundaryCorners(new Location(world, newx1, newy1, newz1), new Location(world, newx2, newy2, newz2));
         candidate.setShapedCorners(polygon.corners());
 
         try {
@@ -2993,7 +3408,7 @@ public abstract class DataStore {
                 }
             }
         } else {
-            for (Claim otherClaim : this.claims) {
+            for (Claim otherClaim : this.getTopLevelClaimsUnder(candidate)) {
                 if (!otherClaim.inDataStore || Objects.equals(otherClaim.getID(), claim.getID())) {
                     continue;
                 }
@@ -3013,13 +3428,14 @@ public abstract class DataStore {
             }
         }
 
+        Set<Claim> previousNeighborhood = this.getAutoNeighborhood(claim);
         removeFromChunkClaimMap(claim);
-        claim.lesserBoundaryCorner = candidate.lesserBoundaryCorner;
-        claim.greaterBoundaryCorner = candidate.greaterBoundaryCorner;
+        claim.setBoundaryCorners(candidate.getLesserBoundaryCorner(), candidate.getGreaterBoundaryCorner());
         claim.setShapedCorners(polygon.corners());
         this.saveClaim(claim);
         addToChunkClaimMap(claim);
         this.indexClaimSnapshot(claim);
+        this.refreshAutoNeighborhood(previousNeighborhood, claim);
 
         result.succeeded = true;
         result.claim = claim;
@@ -3094,20 +3510,14 @@ public abstract class DataStore {
         Claim oldClaim = playerData.claimResizing;
         Claim newClaim = new Claim(oldClaim);
         World world = newClaim.getLesserBoundaryCorner().getWorld();
-        newClaim.lesserBoundaryCorner = new Location(world, newx1, newy1, newz1);
-        newClaim.greaterBoundaryCorner = new Location(world, newx2, newy2, newz2);
         // Normalize Y coordinates: swap if needed so lesser <= greater
-        int y1 = newClaim.lesserBoundaryCorner.getBlockY();
-        int y2 = newClaim.greaterBoundaryCorner.getBlockY();
-        if (y1 > y2)
-        {
-            newClaim.greaterBoundaryCorner.setY(y1);
-            newClaim.lesserBoundaryCorner.setY(y2);
-        }
+        int y1 = Math.min(newy1, newy2);
+        int y2 = Math.max(newy1, newy2);
         // For 2D claims, set lesser Y to world minimum (ground extension logic)
         if (!newClaim.is3D() && world != null) {
-            newClaim.lesserBoundaryCorner.setY(GriefPrevention.getWorldMinY(world));
+            y1 = GriefPrevention.getWorldMinY(world);
         }
+        newClaim.setBoundaryCorners(new Location(world, newx1, y1, newz1), new Location(world, newx2, y2, newz2));
         // Ensure resized subdivisions stay inside parent bounds and avoid sibling
         // overlap.
         if (newClaim.parent != null) {
@@ -3308,7 +3718,7 @@ public abstract class DataStore {
                     && playerData.claimResizing.parent == null) {
                 Bukkit.getLogger().info(player.getName() + " resized " + playerData.claimResizing.getOwnerName()
                         + "'s claim at "
-                        + GriefPrevention.getfriendlyLocationString(playerData.claimResizing.lesserBoundaryCorner)
+                        + GriefPrevention.getfriendlyLocationString(playerData.claimResizing.getLesserBoundaryCorner())
                         + ".");
             }
 
@@ -3473,23 +3883,6 @@ public abstract class DataStore {
 
     abstract void close();
 
-    private class SavePlayerDataThread extends Thread {
-        private final UUID playerID;
-        private final PlayerData playerData;
-
-        SavePlayerDataThread(UUID playerID, PlayerData playerData) {
-            this.playerID = playerID;
-            this.playerData = playerData;
-        }
-
-        public void run() {
-            // ensure player data is already read from file before trying to save
-            playerData.getAccruedClaimBlocks();
-            playerData.getClaims();
-            asyncSavePlayerData(this.playerID, this.playerData);
-        }
-    }
-
     // gets all the claims "near" a location
     Set<Claim> getNearbyClaims(Location location) {
         return getChunkClaims(
@@ -3498,21 +3891,27 @@ public abstract class DataStore {
     }
 
     // deletes all the land claims in a specified world
-    void deleteClaimsInWorld(World world, boolean deleteAdminClaims) {
-        for (int i = 0; i < claims.size(); i++) {
-            Claim claim = claims.get(i);
+    int deleteClaimsInWorld(World world, boolean deleteAdminClaims) {
+        return this.claimMutations.call(() -> this.deleteClaimsInWorldOnWriter(world, deleteAdminClaims));
+    }
+
+    private int deleteClaimsInWorldOnWriter(World world, boolean deleteAdminClaims) {
+        ArrayList<Claim> claimsToDelete = new ArrayList<>();
+        for (Claim claim : this.claims) {
             if (claim.getLesserBoundaryCorner().getWorld().equals(world)) {
                 if (!deleteAdminClaims && claim.isAdminClaim())
                     continue;
-                this.deleteClaim(claim, false, false);
-                i--;
+                claimsToDelete.add(claim);
             }
         }
+
+        return this.deleteTopLevelClaims(claimsToDelete, false, false).size();
     }
 
     public void setPermission(Claim claim, String identifier, ClaimPermission permissionLevel) {
         // Always set the permission on the specific claim
         claim.setPermission(identifier, permissionLevel);
+        this.claimsVersion.incrementAndGet();
 
         // Propagate to children only for non-3D claims
         if (!claim.is3D()) {
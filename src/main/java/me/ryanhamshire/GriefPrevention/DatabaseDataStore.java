@@ -42,6 +42,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 
@@ -594,7 +595,7 @@ public class DatabaseDataStore extends DataStore
         }
         catch (SQLException e)
         {
-            GriefPrevention.AddLogEntry("Unable to save data for claim at " + this.locationToString(claim.lesserBoundaryCorner) + ".  Details:");
+            GriefPrevention.AddLogEntry("Unable to save data for claim at " + this.locationToString(claim.getLesserBoundaryCorner()) + ".  Details:");
             GriefPrevention.AddLogEntry(e.getMessage());
         }
     }
@@ -664,7 +665,7 @@ public class DatabaseDataStore extends DataStore
         }
         catch (SQLException e)
         {
-            GriefPrevention.AddLogEntry("Unable to save data for claim at " + this.locationToString(claim.lesserBoundaryCorner) + ".  Details:");
+            GriefPrevention.AddLogEntry("Unable to save data for claim at " + this.locationToString(claim.getLesserBoundaryCorner()) + ".  Details:");
             GriefPrevention.AddLogEntry(e.getMessage());
         }
     }
@@ -694,6 +695,43 @@ public class DatabaseDataStore extends DataStore
         }
     }
 
+    //deletes whole claim trees in one transaction
+    @Override
+    synchronized void deleteClaimsFromSecondaryStorage(List<Claim> claims)
+    {
+        try
+        {
+            this.refreshDataConnection();
+            boolean autoCommit = this.databaseConnection.getAutoCommit();
+            this.databaseConnection.setAutoCommit(false);
+            try (PreparedStatement deleteStmnt = this.databaseConnection.prepareStatement(SQL_DELETE_CLAIM))
+            {
+                for (Claim claim : claims)
+                {
+                    deleteStmnt.setLong(1, claim.id);
+                    deleteStmnt.addBatch();
+                }
+                deleteStmnt.executeBatch();
+                this.databaseConnection.commit();
+            }
+            catch (SQLException e)
+            {
+                this.databaseConnection.rollback();
+                throw e;
+            }
+            finally
+            {
+                this.databaseConnection.setAutoCommit(autoCommit);
+            }
+        }
+        catch (SQLException e)
+        {
+            GriefPrevention.AddLogEntry("Unable to delete a batch of " + claims.size() + " claims.  Details:");
+            GriefPrevention.AddLogEntry(e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
     @Override
     PlayerData getPlayerDataFromStorage(UUID playerID)
     {
@@ -751,6 +789,85 @@ public class DatabaseDataStore extends DataStore
         this.savePlayerData(playerID.toString(), playerData);
     }
 
+    //writes a batch from the player data writer as one transaction, so a flush costs one commit however many players it holds
+    @Override
+    void writePlayerDataBatch(Map<UUID, PlayerData> batch)
+    {
+        List<UUID> writable = new ArrayList<>();
+        for (Map.Entry<UUID, PlayerData> entry : batch.entrySet())
+        {
+            PlayerData playerData = entry.getValue();
+
+            // ensure player data is already read from storage before trying to save
+            playerData.getAccruedClaimBlocks();
+            playerData.getClaims();
+
+            // Same guard as overrideSavePlayerData: never write defaults over a record we failed to read.
+            if (playerData.loadFailedFromStorage)
+            {
+                GriefPrevention.AddLogEntry(
+                        "Refusing to save PlayerData for " + entry.getKey() + " because the most recent storage read failed. The on-disk record is being preserved.",
+                        CustomLogEntryTypes.Exception, false);
+                continue;
+            }
+            writable.add(entry.getKey());
+        }
+
+        if (!writable.isEmpty()) this.writePlayerDataRows(batch, writable);
+
+        for (Map.Entry<UUID, PlayerData> entry : batch.entrySet())
+        {
+            this.saveIgnoreList(entry.getKey(), entry.getValue());
+        }
+    }
+
+    //synchronized because the connection is shared, which keeps other writes out of this transaction
+    private synchronized void writePlayerDataRows(Map<UUID, PlayerData> batch, List<UUID> playerIDs)
+    {
+        try
+        {
+            this.refreshDataConnection();
+            boolean autoCommit = this.databaseConnection.getAutoCommit();
+            this.databaseConnection.setAutoCommit(false);
+            try (PreparedStatement deleteStmnt = this.databaseConnection.prepareStatement(SQL_DELETE_PLAYER_DATA);
+                 PreparedStatement insertStmnt = this.databaseConnection.prepareStatement(SQL_INSERT_PLAYER_DATA))
+            {
+                SimpleDateFormat sqlFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+                for (UUID playerID : playerIDs)
+                {
+                    PlayerData playerData = batch.get(playerID);
+                    OfflinePlayer player = Bukkit.getOfflinePlayer(playerID);
+                    deleteStmnt.setString(1, playerID.toString());
+                    deleteStmnt.addBatch();
+
+                    insertStmnt.setString(1, playerID.toString());
+                    insertStmnt.setString(2, sqlFormat.format(new Date(player.getLastPlayed())));
+                    insertStmnt.setInt(3, playerData.getAccruedClaimBlocks());
+                    insertStmnt.setInt(4, playerData.getBonusClaimBlocks());
+                    insertStmnt.addBatch();
+                }
+                deleteStmnt.executeBatch();
+                insertStmnt.executeBatch();
+                this.databaseConnection.commit();
+            }
+            catch (SQLException e)
+            {
+                this.databaseConnection.rollback();
+                throw e;
+            }
+            finally
+            {
+                this.databaseConnection.setAutoCommit(autoCommit);
+            }
+        }
+        catch (SQLException e)
+        {
+            StringWriter errors = new StringWriter();
+            e.printStackTrace(new PrintWriter(errors));
+            GriefPrevention.AddLogEntry("Unable to save a batch of " + playerIDs.size() + " player data records. " + errors, CustomLogEntryTypes.Exception);
+        }
+    }
+
     private void savePlayerData(String playerID, PlayerData playerData)
     {
         try (PreparedStatement deleteStmnt = this.databaseConnection.prepareStatement(SQL_DELETE_PLAYER_DATA);
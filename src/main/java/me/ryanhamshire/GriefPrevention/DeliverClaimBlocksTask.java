@@ -20,22 +20,27 @@ package me.ryanhamshire.GriefPrevention;
 
 import me.ryanhamshire.GriefPrevention.events.AccrueClaimBlocksEvent;
 import me.ryanhamshire.GriefPrevention.util.SchedulerUtil;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 //FEATURE: give players claim blocks for playing, as long as they're not away from their computer
 
-//runs every 5 minutes in the main thread, grants blocks per hour / 12 to each online player who appears to be actively playing
+//runs every 10 minutes on the global thread, grants blocks per hour / 6 to each online player who appears to be actively playing.
+//players are handled a slice per tick rather than one scheduled task each.
 class DeliverClaimBlocksTask implements Runnable
 {
-    private final Player player;
+    //how many players get their delivery in the same tick
+    static final int PLAYERS_PER_TICK = 25;
+
     private final GriefPrevention instance;
     private final int idleThresholdSquared;
 
-    public DeliverClaimBlocksTask(Player player, GriefPrevention instance)
+    public DeliverClaimBlocksTask(GriefPrevention instance)
     {
-        this.player = player;
         this.instance = instance;
         this.idleThresholdSquared = instance.config_claims_accruedIdleThreshold
                 * instance.config_claims_accruedIdleThreshold;
@@ -44,26 +49,56 @@ class DeliverClaimBlocksTask implements Runnable
     @Override
     public void run()
     {
-        //if no player specified, this task will create a player-specific task for each online player, scheduled one tick apart
-        if (this.player == null)
-        {
-            @SuppressWarnings("unchecked")
-            Collection<Player> players = (Collection<Player>) GriefPrevention.instance.getServer().getOnlinePlayers();
+        List<Player> players = new ArrayList<>(instance.getServer().getOnlinePlayers());
+        if (players.isEmpty()) return;
 
-            long i = 0;
-            for (Player onlinePlayer : players)
+        Sweep sweep = new Sweep(players.size());
+        long tick = 0;
+        for (int start = 0; start < players.size(); start += PLAYERS_PER_TICK, tick++)
+        {
+            List<Player> slice = players.subList(start, Math.min(start + PLAYERS_PER_TICK, players.size()));
+            if (SchedulerUtil.isFolia())
+            {
+                //a player's location may only be read on the thread that owns their region
+                for (Player player : slice)
+                {
+                    SchedulerUtil.runLaterEntity(instance, player, () -> this.deliver(player, sweep), tick);
+                }
+            }
+            else
             {
-                DeliverClaimBlocksTask newTask = new DeliverClaimBlocksTask(onlinePlayer, instance);
-                SchedulerUtil.runLaterEntity(instance, onlinePlayer, newTask::run, i++);
+                SchedulerUtil.runLaterGlobal(instance, () ->
+                {
+                    for (Player player : slice)
+                    {
+                        this.deliver(player, sweep);
+                    }
+                }, tick);
             }
+        }
+    }
 
-            return; //tasks started for each player
+    //delivers one round of claim blocks to a player and records the outcome in the sweep
+    void deliver(Player player, Sweep sweep)
+    {
+        try
+        {
+            sweep.record(this.deliver(player));
         }
+        catch (Exception e)
+        {
+            sweep.record(Outcome.FAILED);
+            GriefPrevention.AddLogEntry("Problem delivering claim blocks to player " + player.getName() + ":");
+            e.printStackTrace();
+        }
+    }
 
+    private Outcome deliver(Player player)
+    {
         //deliver claim blocks to the specified player
-        if (!this.player.isOnline())
+        if (!player.isOnline())
         {
-            return; //player is not online to receive claim blocks
+            return Outcome.OFFLINE; //player is not online to receive claim blocks
         }
 
         DataStore dataStore = instance.dataStore;
@@ -72,12 +107,13 @@ class DeliverClaimBlocksTask implements Runnable
         // Legacy idle detection deliberately treats vehicles and liquid movement as idle,
         // and otherwise requires the configured amount of player movement.
         boolean detectedIdle = false;
+        Location location = player.getLocation();
         try
         {
             detectedIdle = player.isInsideVehicle()
-                    || player.getLocation().getBlock().isLiquid()
+                    || location.getBlock().isLiquid()
                     || !(playerData.lastAfkCheckLocation == null
-                    || playerData.lastAfkCheckLocation.distanceSquared(player.getLocation()) > idleThresholdSquared);
+                    || playerData.lastAfkCheckLocation.distanceSquared(location) > idleThresholdSquared);
         }
         catch (IllegalArgumentException ignored)
         {
@@ -86,60 +122,113 @@ class DeliverClaimBlocksTask implements Runnable
         boolean isIdle = detectedIdle && !player.hasPermission("griefprevention.accruals.afkbypass");
 
         //remember current location for next time
-        playerData.lastAfkCheckLocation = player.getLocation();
+        playerData.lastAfkCheckLocation = location;
 
-        try
+        //determine how fast blocks accrue for this player; can be modified by addons
+        if (!player.hasPermission("griefprevention.accruals"))
         {
-            //determine how fast blocks accrue for this player; can be modified by addons
-            if (!player.hasPermission("griefprevention.accruals"))
-            {
-                GriefPrevention.AddLogEntry(player.getName() + " does not have permission to accrue claim blocks.",
-                        CustomLogEntryTypes.Debug, true);
-                return;
-            }
+            debug(player.getName() + " does not have permission to accrue claim blocks.");
+            return Outcome.NO_PERMISSION;
+        }
 
-            int accrualRate = instance.config_claims_blocksAccruedPerHour_default;
-            if (isIdle)
+        int accrualRate = instance.config_claims_blocksAccruedPerHour_default;
+        if (isIdle)
+        {
+            if (instance.config_claims_accruedIdlePercent <= 0)
             {
-                if (instance.config_claims_accruedIdlePercent <= 0)
-                {
-                    GriefPrevention.AddLogEntry(player.getName() + " wasn't active enough to accrue claim blocks this round.", CustomLogEntryTypes.Debug, true);
-                    return;
-                }
-                accrualRate = (int) (accrualRate * (instance.config_claims_accruedIdlePercent / 100.0D));
-                // AccrueClaimBlocksEvent defaults idle events to cancelled in newer GP.
-                // The legacy percentage is an explicit core opt-in, so allow the event by default.
+                debug(player.getName() + " wasn't active enough to accrue claim blocks this round.");
+                return Outcome.IDLE;
             }
+            accrualRate = (int) (accrualRate * (instance.config_claims_accruedIdlePercent / 100.0D));
+            // AccrueClaimBlocksEvent defaults idle events to cancelled in newer GP.
+            // The legacy percentage is an explicit core opt-in, so allow the event by default.
+        }
 
-            //fire event for addons
+        //fire event for addons, unless there are none listening - then nothing could change the outcome
+        int blocksToAccrue;
+        if (AccrueClaimBlocksEvent.getHandlerList().getRegisteredListeners().length == 0)
+        {
+            blocksToAccrue = accrualRate / 6;
+        }
+        else
+        {
             AccrueClaimBlocksEvent event = new AccrueClaimBlocksEvent(player, accrualRate, isIdle);
-            if (isIdle && instance.config_claims_accruedIdlePercent > 0)
+            if (isIdle)
                 event.setCancelled(false);
             instance.getServer().getPluginManager().callEvent(event);
             if (event.isCancelled())
             {
                 //event is initialized as canceled if player is idle
                 if (event.isIdle())
-                    GriefPrevention.AddLogEntry(player.getName() + " wasn't active enough to accrue claim blocks this round.", CustomLogEntryTypes.Debug, true);
+                    debug(player.getName() + " wasn't active enough to accrue claim blocks this round.");
                 else
-                    GriefPrevention.AddLogEntry(player.getName() + " claim block delivery was canceled by another plugin.", CustomLogEntryTypes.Debug, true);
-                return; //event was cancelled
+                    debug(player.getName() + " claim block delivery was canceled by another plugin.");
+                return Outcome.CANCELLED; //event was cancelled
             }
+            blocksToAccrue = event.getBlocksToAccrue();
+        }
+
+        //set actual accrual
+        playerData.accrueBlocks(Math.max(0, blocksToAccrue));
+        debug("Delivering " + blocksToAccrue + " blocks to " + player.getName());
 
-            //set actual accrual
-            accrualRate = event.getBlocksToAccrue();
-            if (accrualRate < 0) accrualRate = 0;
-            playerData.accrueBlocks(accrualRate);
-            GriefPrevention.AddLogEntry("Delivering " + event.getBlocksToAccrue() + " blocks to " + player.getName(), CustomLogEntryTypes.Debug, true);
+        //intentionally NOT saving data here to reduce overall secondary storage access frequency
+        //many other operations will cause this player's data to save, including his eventual logout
+        return Outcome.DELIVERED;
+    }
 
-            //intentionally NOT saving data here to reduce overall secondary storage access frequency
-            //many other operations will cause this player's data to save, including his eventual logout
-            //dataStore.savePlayerData(player.getUniqueIdentifier(), playerData);
+    //skips building debug strings, and the log lock, when debug logging is off
+    private void debug(String entry)
+    {
+        if (instance.config_logs_debugEnabled)
+        {
+            GriefPrevention.AddLogEntry(entry, CustomLogEntryTypes.Debug, true);
         }
-        catch (Exception e)
+    }
+
+    enum Outcome
+    {
+        DELIVERED,
+        OFFLINE,
+        NO_PERMISSION,
+        IDLE,
+        CANCELLED,
+        FAILED
+    }
+
+    //tallies one sweep's outcomes and logs them once every player has been handled.
+    //on Folia players are handled on different region threads, hence the atomics.
+    final class Sweep
+    {
+        private final AtomicInteger remaining;
+        private final AtomicInteger[] counts = new AtomicInteger[Outcome.values().length];
+
+        Sweep(int players)
         {
-            GriefPrevention.AddLogEntry("Problem delivering claim blocks to player " + player.getName() + ":");
-            e.printStackTrace();
+            this.remaining = new AtomicInteger(players);
+            for (int i = 0; i < this.counts.length; i++)
+            {
+                this.counts[i] = new AtomicInteger();
+            }
+        }
+
+        void record(Outcome outcome)
+        {
+            this.counts[outcome.ordinal()].incrementAndGet();
+            if (this.remaining.decrementAndGet() == 0)
+            {
+                debug("Claim block delivery: " + this.count(Outcome.DELIVERED) + " delivered, "
+                        + this.count(Outcome.IDLE) + " idle, "
+                        + this.count(Outcome.NO_PERMISSION) + " without permission, "
+                        + this.count(Outcome.CANCELLED) + " cancelled, "
+                        + this.count(Outcome.OFFLINE) + " offline, "
+                        + this.count(Outcome.FAILED) + " failed.");
+            }
+        }
+
+        int count(Outcome outcome)
+        {
+            return this.counts[outcome.ordinal()].get();
         }
     }
 }
@@ -71,7 +71,8 @@ class EntityCleanupTask implements Runnable {
                             && material != Material.DETECTOR_RAIL;
                 }
             } else {
-                Claim claim = GriefPrevention.instance.dataStore.getClaimAt(entity.getLocation(), false, null);
+                // Runs on the chunk's region thread, so the lookup must not wait on claim edits.
+                Claim claim = GriefPrevention.instance.dataStore.lookupClaimAt(entity.getLocation(), false);
                 remove = claim == null;
             }
             if (remove) {
@@ -84,7 +85,7 @@ class EntityCleanupTask implements Runnable {
         // Enforce claim-scaled limits as well as preventing new over-limit placements.
         List<Claim> checked = new ArrayList<Claim>();
         for (Entity entity : chunk.getEntities()) {
-            Claim claim = GriefPrevention.instance.dataStore.getClaimAt(entity.getLocation(), false, null);
+            Claim claim = GriefPrevention.instance.dataStore.lookupClaimAt(entity.getLocation(), false);
             if (claim != null && !checked.contains(claim)) {
                 checked.add(claim);
                 claim.allowMoreEntities(true);
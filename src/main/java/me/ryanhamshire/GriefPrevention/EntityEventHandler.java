@@ -73,7 +73,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Supplier;
@@ -439,20 +441,18 @@ public class EntityEventHandler implements Listener
         }
 
         List<Block> removed = new ArrayList<>();
-        Claim cachedClaim = playerData != null ? playerData.lastClaim : null;
+        ExplosionClaimLookup claims = new ExplosionClaimLookup(this.dataStore, world, playerData != null ? playerData.lastClaim : null);
 
         for (Block block : blocks)
         {
             // Always ignore air blocks.
             if (CompatUtil.isAir(block.getType())) continue;
 
-            Claim claim = this.dataStore.getClaimAt(block.getLocation(), false, cachedClaim);
+            Claim claim = claims.getClaimAt(block);
 
             // Is it in a land claim?
             if (claim == null) continue;
 
-            cachedClaim = claim;
-
             if (player == null)
             {
                 // If the source is not part of the claim, prevent interaction.
@@ -466,8 +466,8 @@ public class EntityEventHandler implements Listener
                 removed.add(block);
         }
 
-        if (playerData != null && cachedClaim != null)
-            playerData.lastClaim = cachedClaim;
+        if (playerData != null && claims.getCachedClaim() != null)
+            playerData.lastClaim = claims.getCachedClaim();
 
         blocks.removeAll(removed);
     }
@@ -498,40 +498,30 @@ public class EntityEventHandler implements Listener
 
         //make a list of blocks which were allowed to explode
         List<Block> explodedBlocks = new ArrayList<>();
-        Claim cachedClaim = null;
+        ExplosionClaimLookup claims = new ExplosionClaimLookup(this.dataStore, world, null);
+        //a claim's answer doesn't depend on the block, so decide once per claim
+        Map<Claim, Boolean> claimDecisions = new IdentityHashMap<>();
+        int surfaceLimit = GriefPrevention.instance.getSeaLevel(world) - 7;
         for (Block block : blocks)
         {
             //always ignore air blocks
             if (CompatUtil.isAir(block.getType())) continue;
 
             //is it in a land claim?
-            Claim claim = this.dataStore.getClaimAt(block.getLocation(), false, cachedClaim);
-            if (claim != null)
-            {
-                cachedClaim = claim;
-            }
+            Claim claim = claims.getClaimAt(block);
 
             //if yes, apply claim exemptions if they should apply
             if (claim != null)
             {
-                // Check if this explosion should be allowed in the claim
-                boolean allowed = false;
-
-                // If config doesn't block claim explosions, allow by default
-                if (!GriefPrevention.instance.config_blockClaimExplosions)
-                {
-                    allowed = true;
-                }
-                // Otherwise, check claim-specific permissions
-                else if (isWitherExplosion && claim.areWitherExplosionsAllowed)
-                {
-                    // Wither explosions require explicit wither permission
-                    allowed = true;
-                }
-                else if (!isWitherExplosion && claim.areExplosivesAllowed)
+                Boolean allowed = claimDecisions.get(claim);
+                if (allowed == null)
                 {
-                    // Other explosions require general explosives permission
-                    allowed = true;
+                    // If config doesn't block claim explosions, allow by default.
+                    // Otherwise wither explosions require explicit wither permission and
+                    // other explosions require general explosives permission.
+                    allowed = !GriefPrevention.instance.config_blockClaimExplosions
+                            || (isWitherExplosion ? claim.areWitherExplosionsAllowed : claim.areExplosivesAllowed);
+                    claimDecisions.put(claim, allowed);
                 }
 
                 if (allowed)
@@ -542,12 +532,9 @@ public class EntityEventHandler implements Listener
             }
 
             //if no, then also consider surface rules
-            if (claim == null)
+            if (!applySurfaceRules || block.getY() < surfaceLimit)
             {
-                if (!applySurfaceRules || block.getLocation().getBlockY() < GriefPrevention.instance.getSeaLevel(world) - 7)
-                {
-                    explodedBlocks.add(block);
-                }
+                explodedBlocks.add(block);
             }
         }
 
@@ -0,0 +1,112 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+
+/**
+ * Resolves the claims of many blocks in one world, such as the block list of an explosion.
+ *
+ * <p>Blocks are grouped by chunk: the first block of a chunk reads its claims once and keeps just
+ * their X/Z columns, after which a block outside every column is known to be unclaimed without
+ * consulting the {@link DataStore}. Only blocks inside a claimed column fall back to
+ * {@link DataStore#getClaimAt(Location, boolean, Claim)}, seeded with the previous result.
+ */
+class ExplosionClaimLookup
+{
+    private static final int[] NO_COLUMNS = new int[0];
+
+    private final DataStore dataStore;
+    private final World world;
+    private final HashMap<Long, int[]> columnsByChunk = new HashMap<>();
+    private long lastChunkHash;
+    private int[] lastColumns;
+    private Claim cachedClaim;
+
+    ExplosionClaimLookup(@NotNull DataStore dataStore, @NotNull World world, @Nullable Claim cachedClaim)
+    {
+        this.dataStore = dataStore;
+        this.world = world;
+        this.cachedClaim = cachedClaim;
+    }
+
+    @Nullable Claim getClaimAt(@NotNull Block block)
+    {
+        int x = block.getX();
+        int z = block.getZ();
+        int[] columns = this.columns(x >> 4, z >> 4);
+
+        // Each column is stored as minX, minZ, maxX, maxZ.
+        boolean claimedColumn = false;
+        for (int i = 0; i < columns.length; i += 4)
+        {
+            if (x >= columns[i] && z >= columns[i + 1] && x <= columns[i + 2] && z <= columns[i + 3])
+            {
+                claimedColumn = true;
+                break;
+            }
+        }
+        if (!claimedColumn) return null;
+
+        Claim claim = this.dataStore.getClaimAt(block.getLocation(), false, this.cachedClaim);
+        if (claim != null)
+        {
+            this.cachedClaim = claim;
+        }
+        return claim;
+    }
+
+    /**
+     * @return the most recent claim found, or the seed claim if none was
+     */
+    @Nullable Claim getCachedClaim()
+    {
+        return this.cachedClaim;
+    }
+
+    private int[] columns(int chunkX, int chunkZ)
+    {
+        long chunkHash = DataStore.getChunkHash(chunkX, chunkZ);
+        if (this.lastColumns != null && this.lastChunkHash == chunkHash) return this.lastColumns;
+
+        int[] columns = this.columnsByChunk.get(chunkHash);
+        if (columns == null)
+        {
+            columns = this.readColumns(chunkX, chunkZ);
+            this.columnsByChunk.put(chunkHash, columns);
+        }
+        this.lastChunkHash = chunkHash;
+        this.lastColumns = columns;
+        return columns;
+    }
+
+    private int[] readColumns(int chunkX, int chunkZ)
+    {
+        Collection<Claim> claims = this.dataStore.getClaims(chunkX, chunkZ);
+        if (claims.isEmpty()) return NO_COLUMNS;
+
+        int[] columns = new int[claims.size() * 4];
+        int length = 0;
+        for (Claim claim : claims)
+        {
+            // Chunk hashes ignore the world, so filter the way getChunkClaims does.
+            Location lesser = claim.getLesserBoundaryCorner();
+            if (!claim.inDataStore || !this.world.equals(lesser.getWorld())) continue;
+
+            Location greater = claim.getGreaterBoundaryCorner();
+            if (length == columns.length) columns = Arrays.copyOf(columns, length * 2);
+            columns[length++] = lesser.getBlockX();
+            columns[length++] = lesser.getBlockZ();
+            columns[length++] = greater.getBlockX();
+            columns[length++] = greater.getBlockZ();
+        }
+        if (length == 0) return NO_COLUMNS;
+        return length == columns.length ? columns : Arrays.copyOf(columns, length);
+    }
+}
@@ -18,7 +18,6 @@
 
 package me.ryanhamshire.GriefPrevention;
 
-import com.google.common.io.Files;
 import com.griefprevention.claims.ClaimSnapshot;
 import com.griefprevention.claims.ClaimTrustSnapshot;
 import com.griefprevention.geometry.OrthogonalPoint2i;
@@ -42,9 +41,14 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -545,12 +549,14 @@ public class FlatFileDataStore extends DataStore
 
     Claim loadClaim(@NotNull File file, ArrayList<Long> out_parentID, long claimID) throws IOException, InvalidConfigurationException, Exception
     {
-        @SuppressWarnings("null")
-        List<String> lines = Files.readLines(file, StandardCharsets.UTF_8);
         StringBuilder builder = new StringBuilder();
-        for (String line : lines)
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)))
         {
-            builder.append(line).append('\n');
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                builder.append(line).append('\n');
+            }
         }
 
         return this.loadClaim(builder.toString(), out_parentID, file.lastModified(), claimID, Bukkit.getServer().getWorlds());
@@ -959,8 +965,8 @@ public class FlatFileDataStore extends DataStore
     private void populateYamlForClaim(Claim claim, ConfigurationSection section)
     {
         section.set("Claim ID", claim.id == null ? null : String.valueOf(claim.id));
-        section.set("Lesser Boundary Corner", this.locationToString(claim.lesserBoundaryCorner));
-        section.set("Greater Boundary Corner", this.locationToString(claim.greaterBoundaryCorner));
+        section.set("Lesser Boundary Corner", this.locationToString(claim.getLesserBoundaryCorner()));
+        section.set("Greater Boundary Corner", this.locationToString(claim.getGreaterBoundaryCorner()));
 
         String ownerID = claim.ownerID == null ? "" : claim.ownerID.toString();
         section.set("Owner", ownerID);
@@ -1051,28 +1057,31 @@ public class FlatFileDataStore extends DataStore
     //subdivisions live in their root claim's file, so a group of claims only needs one write per root
     //involved - writing once per claim would re-serialize the same tree over and over.
     @Override
-    synchronized public void saveClaims(Collection<Claim> claims)
+    public void saveClaims(Collection<Claim> claims)
     {
-        Set<Claim> roots = Collections.newSetFromMap(new IdentityHashMap<>());
-        for (Claim claim : claims)
+        this.claimMutations.run(() ->
         {
-            if (claim == null) continue;
+            Set<Claim> roots = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Claim claim : claims)
+            {
+                if (claim == null) continue;
 
-            //subdivisions still need an ID of their own, since it's stored with their data
-            this.assignClaimID(claim);
+                //subdivisions still need an ID of their own, since it's stored with their data
+                this.assignClaimID(claim);
 
-            Claim root = claim;
-            while (root.parent != null)
-            {
-                root = root.parent;
+                Claim root = claim;
+                while (root.parent != null)
+                {
+                    root = root.parent;
+                }
+                roots.add(root);
             }
-            roots.add(root);
-        }
 
-        for (Claim root : roots)
-        {
-            this.saveClaim(root);
-        }
+            for (Claim root : roots)
+            {
+                this.saveClaim(root);
+            }
+        });
     }
 
     //hands a claim's data to the writer thread, superseding any data for the same claim that hasn't been written yet
@@ -1104,7 +1113,7 @@ public class FlatFileDataStore extends DataStore
             File claimFile = new File(claimDataFolderPath + File.separator + claimID + ".yml");
             claimFile.createNewFile();
             byte[] yamlBytes = yaml.getBytes(StandardCharsets.UTF_8);
-            Files.write(yamlBytes, claimFile);
+            Files.write(claimFile.toPath(), yamlBytes);
         }
 
         //if any problem, log it
@@ -1167,6 +1176,44 @@ public class FlatFileDataStore extends DataStore
         }
     }
 
+    //deletes whole claim trees: subdivisions are stored in their top-level claim's file, so nothing
+    //is rewritten and every file delete goes out in a single queued task
+    @Override
+    synchronized void deleteClaimsFromSecondaryStorage(List<Claim> claims)
+    {
+        boolean debugEnabled = GriefPrevention.instance.config_logs_debugEnabled;
+        List<String> claimIDs = new ArrayList<>(claims.size());
+        List<Boolean> topLevel = new ArrayList<>(claims.size());
+        for (Claim claim : claims)
+        {
+            if (claim.parent == null)
+            {
+                this.forgetClaimDocuments(claim);
+            }
+
+            String claimID = String.valueOf(claim.id);
+            this.pendingClaimWrites.remove(claimID);
+            claimIDs.add(claimID);
+            topLevel.add(claim.parent == null);
+        }
+
+        Runnable delete = () ->
+        {
+            for (int i = 0; i < claimIDs.size(); i++)
+            {
+                this.deleteClaimFile(claimIDs.get(i), debugEnabled, topLevel.get(i));
+            }
+        };
+        try
+        {
+            this.claimWriteExecutor.execute(delete);
+        }
+        catch (RejectedExecutionException e)
+        {
+            delete.run();
+        }
+    }
+
     private void deleteClaimFile(String claimID, boolean debugEnabled, boolean isTopLevel)
     {
         File claimFile = new File(claimDataFolderPath + File.separator + claimID + ".yml");
@@ -1192,7 +1239,7 @@ public class FlatFileDataStore extends DataStore
     }
 
     @Override
-    synchronized PlayerData getPlayerDataFromStorage(UUID playerID)
+    PlayerData getPlayerDataFromStorage(UUID playerID)
     {
         File playerFile = new File(playerDataFolderPath + File.separator + playerID.toString());
 
@@ -1213,7 +1260,7 @@ public class FlatFileDataStore extends DataStore
 
                     // Decode with the same platform-neutral codec used by Fabric. The first and
                     // fourth upstream lines remain intentionally ignored.
-                    String input = new String(Files.toByteArray(playerFile), StandardCharsets.UTF_8);
+                    String input = new String(Files.readAllBytes(playerFile.toPath()), StandardCharsets.UTF_8);
                     PlayerData decoded = decodePlayerData(playerID, input);
                     playerData.setAccruedClaimBlocks(decoded.getAccruedClaimBlocks());
                     playerData.setBonusClaimBlocks(decoded.getBonusClaimBlocks());
@@ -1275,11 +1322,25 @@ public class FlatFileDataStore extends DataStore
             return;
         }
 
+        //write data to a scratch file, then swap it in so a crash mid-write can't leave a torn record.
+        //the underscore keeps a leftover scratch file out of the player data migration.
+        Path playerDataPath = new File(playerDataFolderPath + File.separator + playerID).toPath();
+        File scratchFile = new File(playerDataFolderPath + File.separator + "_" + playerID + ".tmp");
+        Path scratchPath = scratchFile.toPath();
+        boolean moved = false;
         try
         {
-            //write data to file
-            File playerDataFile = new File(playerDataFolderPath + File.separator + playerID);
-            Files.write(encodePlayerData(playerData).getBytes(StandardCharsets.UTF_8), playerDataFile);
+            Files.write(scratchPath, encodePlayerData(playerData).getBytes(StandardCharsets.UTF_8));
+            try
+            {
+                Files.move(scratchPath, playerDataPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e)
+            {
+                //some file systems can't rename atomically; a plain replace still only puts a complete record in place
+                Files.move(scratchPath, playerDataPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            moved = true;
         }
 
         //if any problem, log it
@@ -1288,6 +1349,12 @@ public class FlatFileDataStore extends DataStore
             GriefPrevention.AddLogEntry("GriefPrevention: Unexpected exception saving data for player \"" + playerID + "\": " + e.getMessage());
             e.printStackTrace();
         }
+
+        //a failed write or move must not leave its scratch file behind
+        finally
+        {
+            if (!moved) scratchFile.delete();
+        }
     }
 
     static PlayerData decodePlayerData(UUID playerID, String input) throws PlayerDataFormatException
@@ -1606,7 +1673,7 @@ public class FlatFileDataStore extends DataStore
                     // Write child to separate file
                     String childYamlContent = this.getYamlForClaim(child);
                     File childFile = new File(claimDataFolderPath + File.separator + childId + ".yml");
-                    Files.write(childYamlContent.getBytes(StandardCharsets.UTF_8), childFile);
+                    Files.write(childFile.toPath(), childYamlContent.getBytes(StandardCharsets.UTF_8));
                     
                     migratedCount++;
                 }
@@ -1614,7 +1681,7 @@ public class FlatFileDataStore extends DataStore
                 // Remove Children section from parent file
                 yaml.set("Children", null);
                 String parentYaml = yaml.saveToString();
-                Files.write(parentYaml.getBytes(StandardCharsets.UTF_8), claimFile);
+                Files.write(claimFile.toPath(), parentYaml.getBytes(StandardCharsets.UTF_8));
                 
             }
             catch (Exception e)
@@ -45,6 +45,7 @@ import com.griefprevention.geometry.OrthogonalDirection;
 import com.griefprevention.geometry.OrthogonalEdge2i;
 import com.griefprevention.geometry.OrthogonalPoint2i;
 import com.griefprevention.geometry.OrthogonalPolygon;
+import com.griefprevention.persistence.PlayerNameDirectory;
 import com.griefprevention.platform.PlatformDetection;
 import com.griefprevention.platform.knockback.KnockbackProtectionListener;
 import com.griefprevention.protection.InteractionProtectionHandler;
@@ -57,6 +58,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -524,7 +526,7 @@ public class GriefPrevention extends JavaPlugin {
         // event to give claim blocks to online players
         // 20L ~ 1 second
         if (this.config_claims_blocksAccruedPerHour_default > 0) {
-            DeliverClaimBlocksTask task = new DeliverClaimBlocksTask(null, this);
+            DeliverClaimBlocksTask task = new DeliverClaimBlocksTask(this);
             SchedulerUtil.runRepeatingGlobal(this, task, 20L * 60 * 10, 20L * 60 * 10);
         }
 
@@ -577,9 +579,6 @@ public class GriefPrevention extends JavaPlugin {
         entityDamageHandler = new EntityDamageHandler(this.dataStore, this);
         pluginManager.registerEvents(entityDamageHandler, this);
 
-        // Siege modifies the normal claim permission checks while a battle is active.
-        pluginManager.registerEvents(new SiegeEventHandler(), this);
-
         // knockback protection - handles melee, projectile, and other player-caused knockback in claims
         new KnockbackProtectionListener(this.dataStore, this).register(this);
 
@@ -646,14 +645,8 @@ public class GriefPrevention extends JavaPlugin {
         // DiscordSRV soft-mute bridge - prevents soft-muted players' messages from reaching Discord
         new DiscordSRVSoftMuteBridge(this, this.dataStore).registerIfAvailable();
 
-        // cache offline players
-        OfflinePlayer[] offlinePlayers = this.getServer().getOfflinePlayers();
-        CacheOfflinePlayerNamesThread namesThread = new CacheOfflinePlayerNamesThread(
-            offlinePlayers,
-            GriefPrevention.playerNameToIDMap
-        );
-        namesThread.setPriority(Thread.MIN_PRIORITY);
-        namesThread.start();
+        // open the name/UUID directory, importing offline players only the first time
+        this.openPlayerNameDirectory();
 
         // load ignore lists for any already-online players
         @SuppressWarnings("unchecked")
@@ -661,7 +654,8 @@ public class GriefPrevention extends JavaPlugin {
         for (Player player : players) {
             new IgnoreLoaderThread(
                 player.getUniqueId(),
-                this.dataStore.getPlayerData(player.getUniqueId()).ignoredPlayers
+                this.dataStore.getPlayerData(player.getUniqueId()).ignoredPlayers,
+                this.dataStore.ignoreIndex
             ).start();
         }
 
@@ -3005,12 +2999,6 @@ public class GriefPrevention extends JavaPlugin {
                     return true;
                 }
 
-                // Check if the claim will expire
-                if (claim.lesserBoundaryCorner == null || claim.greaterBoundaryCorner == null) {
-                    GriefPrevention.sendMessage(player, TextMode.Info, Messages.ClaimExpiryNeverExpires);
-                    return true;
-                }
-
                 // Check if claim is admin claim (they don't expire)
                 if (claim.isAdminClaim()) {
                     GriefPrevention.sendMessage(player, TextMode.Info, Messages.ClaimExpiryNeverExpires);
@@ -3079,8 +3067,6 @@ public class GriefPrevention extends JavaPlugin {
 
                 // Check each claim for expiration
                 for (Claim claim : claims) {
-                    if (claim.lesserBoundaryCorner == null || claim.greaterBoundaryCorner == null) continue;
-
                     long expirationDate = claim.getExpirationDate();
                     if (expirationDate == 0) continue;
 
@@ -3184,9 +3170,9 @@ public class GriefPrevention extends JavaPlugin {
             }
 
             // delete all claims in that world
-            this.dataStore.deleteClaimsInWorld(world, true);
+            int deleted = this.dataStore.deleteClaimsInWorld(world, true);
             GriefPrevention.AddLogEntry(
-                "Deleted all claims in world: " + world.getName() + ".",
+                "Deleted all claims in world: " + world.getName() + " (" + deleted + " claims).",
                 CustomLogEntryTypes.AdminActivity
             );
             return true;
@@ -3208,9 +3194,9 @@ public class GriefPrevention extends JavaPlugin {
             }
 
             // delete all USER claims in that world
-            this.dataStore.deleteClaimsInWorld(world, false);
+            int deleted = this.dataStore.deleteClaimsInWorld(world, false);
             GriefPrevention.AddLogEntry(
-                "Deleted all user claims in world: " + world.getName() + ".",
+                "Deleted all user claims in world: " + world.getName() + " (" + deleted + " claims).",
                 CustomLogEntryTypes.AdminActivity
             );
             return true;
@@ -3806,8 +3792,10 @@ public class GriefPrevention extends JavaPlugin {
         PlayerData playerData = this.dataStore.getPlayerData(ignorer.getUniqueId());
         if (mode == IgnoreMode.None) {
             playerData.ignoredPlayers.remove(ignoree.getUniqueId());
+            this.dataStore.ignoreIndex.remove(ignorer.getUniqueId(), ignoree.getUniqueId());
         } else {
             playerData.ignoredPlayers.put(ignoree.getUniqueId(), mode == IgnoreMode.StandardIgnore ? false : true);
+            this.dataStore.ignoreIndex.add(ignorer.getUniqueId(), ignoree.getUniqueId());
         }
 
         playerData.ignoreListChanged = true;
@@ -4156,46 +4144,92 @@ public class GriefPrevention extends JavaPlugin {
         );
     }
 
-    // helper method to resolve a player by name
-    public static ConcurrentHashMap<String, UUID> playerNameToIDMap = new ConcurrentHashMap<>();
+    // persistent name/UUID directory, updated on join
+    private @Nullable PlayerNameDirectory playerNameDirectory;
+
+    /**
+     * Player names resolved to UUIDs, looked up ignoring case among players seen within the offline
+     * player cache window.
+     *
+     * @deprecated names now live in the {@link #getPlayerNameDirectory() player name directory}.
+     * {@code get} and {@code containsKey} fall back to the directory, while iteration, {@code size}
+     * and writes only cover entries put into this map directly.
+     */
+    @Deprecated
+    public static ConcurrentHashMap<String, UUID> playerNameToIDMap = new PlayerNameIDMap();
+
+    public @Nullable PlayerNameDirectory getPlayerNameDirectory() {
+        return this.playerNameDirectory;
+    }
+
+    // players last seen before this are left to the server's offline player lookup
+    private long playerNameCacheCutoff() {
+        return System.currentTimeMillis() - TimeUnit.DAYS.toMillis(this.config_advanced_offlineplayer_cache_days + 1L);
+    }
 
-    // thread to build the above cache
-    private class CacheOfflinePlayerNamesThread extends Thread {
+    // the old name-to-UUID map; lookups it cannot answer itself go to the name directory
+    private static final class PlayerNameIDMap extends ConcurrentHashMap<String, UUID> {
+        @Override
+        public UUID get(@NotNull Object key) {
+            UUID playerID = super.get(key);
+            if (playerID != null) return playerID;
 
-        private final OfflinePlayer[] offlinePlayers;
-        private final ConcurrentHashMap<String, UUID> playerNameToIDMap;
+            GriefPrevention plugin = instance;
+            PlayerNameDirectory directory = plugin == null ? null : plugin.playerNameDirectory;
+            if (directory == null || !(key instanceof String)) return null;
+            return directory.findId((String) key, plugin.playerNameCacheCutoff());
+        }
 
-        CacheOfflinePlayerNamesThread(
-            OfflinePlayer[] offlinePlayers,
-            ConcurrentHashMap<String, UUID> playerNameToIDMap
-        ) {
-            this.offlinePlayers = offlinePlayers;
-            this.playerNameToIDMap = playerNameToIDMap;
+        @Override
+        public boolean containsKey(@NotNull Object key) {
+            return this.get(key) != null;
+        }
+    }
+
+    private void openPlayerNameDirectory() {
+        Path folder = new File(DataStore.dataLayerFolderPath).toPath();
+        try {
+            this.playerNameDirectory = PlayerNameDirectory.open(folder);
+        } catch (IOException e) {
+            AddLogEntry("Player name directory is unreadable and will be rebuilt: " + e.getMessage());
+            try {
+                PlayerNameDirectory.discard(folder);
+                this.playerNameDirectory = PlayerNameDirectory.open(folder);
+            } catch (IOException retry) {
+                AddLogEntry("Unable to open the player name directory: " + retry.getMessage());
+                return;
+            }
         }
 
-        public void run() {
-            long now = System.currentTimeMillis();
-            final long millisecondsPerDay = 1000 * 60 * 60 * 24;
+        PlayerNameDirectory directory = this.playerNameDirectory;
+
+        if (!directory.needsSeed()) return;
+
+        // first run: import everyone the server knows about once, off the main thread
+        OfflinePlayer[] offlinePlayers = this.getServer().getOfflinePlayers();
+        Thread importThread = new Thread(() -> {
+            List<PlayerNameDirectory.Entry> entries = new ArrayList<>(offlinePlayers.length);
             for (OfflinePlayer player : offlinePlayers) {
                 try {
                     UUID playerID = player.getUniqueId();
-                    if (playerID == null) continue;
-                    long lastSeen = player.getLastPlayed();
-
-                    // if the player has been seen in the last 90 days, cache his name/UUID pair
-                    long diff = now - lastSeen;
-                    long daysDiff = diff / millisecondsPerDay;
-                    if (daysDiff <= config_advanced_offlineplayer_cache_days) {
-                        String playerName = player.getName();
-                        if (playerName == null) continue;
-                        this.playerNameToIDMap.put(playerName, playerID);
-                        this.playerNameToIDMap.put(playerName.toLowerCase(), playerID);
-                    }
+                    String playerName = player.getName();
+                    if (playerID == null || playerName == null || playerName.isEmpty()) continue;
+                    entries.add(new PlayerNameDirectory.Entry(playerID, playerName, player.getLastPlayed()));
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
             }
-        }
+
+            try {
+                directory.seed(entries);
+                AddLogEntry("Imported " + entries.size() + " player names into the player name directory.");
+            } catch (IOException | IllegalStateException e) {
+                AddLogEntry("Unable to import offline player names: " + e.getMessage());
+            }
+        }, "GriefPrevention player name import");
+        importThread.setPriority(Thread.MIN_PRIORITY);
+        importThread.setDaemon(true);
+        importThread.start();
     }
 
     public OfflinePlayer resolvePlayerByName(String name) {
@@ -4205,12 +4239,10 @@ public class GriefPrevention extends JavaPlugin {
 
         UUID bestMatchID = null;
 
-        // try exact match first
-        bestMatchID = playerNameToIDMap.get(name);
-
-        // if failed, try ignore case
-        if (bestMatchID == null) {
-            bestMatchID = playerNameToIDMap.get(name.toLowerCase());
+        // try players seen within the cache window, ignoring case
+        PlayerNameDirectory directory = this.playerNameDirectory;
+        if (directory != null) {
+            bestMatchID = directory.findId(name, this.playerNameCacheCutoff());
         }
         if (bestMatchID == null) {
             try {
@@ -4238,6 +4270,14 @@ public class GriefPrevention extends JavaPlugin {
         String cached = PLAYER_NAME_CACHE.getIfPresent(playerID);
         if (cached != null) return cached;
 
+        // check the name directory before touching the player's data file
+        PlayerNameDirectory directory = instance.playerNameDirectory;
+        String known = directory == null ? null : directory.findName(playerID);
+        if (known != null) {
+            PLAYER_NAME_CACHE.put(playerID, known);
+            return known;
+        }
+
         // If name is not cached, fetch player.
         OfflinePlayer player = GriefPrevention.instance.getServer().getOfflinePlayer(playerID);
         return lookupPlayerName(player);
@@ -4335,11 +4375,22 @@ public class GriefPrevention extends JavaPlugin {
         return someone + " (" + playerId + ")";
     }
 
-    // cache for player name lookups, to save searches of all offline players
+    // record a player's current name, to save searches of all offline players
     static void cacheUUIDNamePair(UUID playerID, String playerName) {
-        // store the reverse mapping
-        playerNameToIDMap.put(playerName, playerID);
-        playerNameToIDMap.put(playerName.toLowerCase(), playerID);
+        PLAYER_NAME_CACHE.put(playerID, playerName);
+
+        PlayerNameDirectory directory = instance.playerNameDirectory;
+        if (directory == null) return;
+        directory.record(playerID, playerName, System.currentTimeMillis());
+
+        // the journal write waits on disk, so keep it off the join path
+        SchedulerUtil.runAsyncNow(instance, () -> {
+            try {
+                directory.flush();
+            } catch (IOException e) {
+                AddLogEntry("Unable to record player name " + playerName + ": " + e.getMessage());
+            }
+        });
     }
 
     // string overload for above helper
@@ -4362,11 +4413,23 @@ public class GriefPrevention extends JavaPlugin {
         for (Player player : players) {
             UUID playerID = player.getUniqueId();
             PlayerData playerData = this.dataStore.getPlayerData(playerID);
-            this.dataStore.savePlayerDataSync(playerID, playerData);
+            this.dataStore.savePlayerData(playerID, playerData);
         }
 
+        // write them, and anything else still queued, as one batch before storage closes
+        this.dataStore.flushPlayerData();
+
         this.dataStore.close();
 
+        if (this.playerNameDirectory != null) {
+            try {
+                this.playerNameDirectory.close();
+            } catch (IOException e) {
+                AddLogEntry("Unable to close the player name directory: " + e.getMessage());
+            }
+            this.playerNameDirectory = null;
+        }
+
         // dump any remaining unwritten log entries
         this.customLogger.WriteEntries();
 
@@ -4431,12 +4494,7 @@ public class GriefPrevention extends JavaPlugin {
 
             // if there's a claim here, keep looking
             if (claim != null) {
-                candidateLocation = new Location(
-                    claim.lesserBoundaryCorner.getWorld(),
-                    claim.lesserBoundaryCorner.getBlockX() - 1,
-                    claim.lesserBoundaryCorner.getBlockY(),
-                    claim.lesserBoundaryCorner.getBlockZ() - 1
-                );
+                candidateLocation = claim.getLesserBoundaryCorner().add(-1, 0, -1);
                 continue;
             }
             // otherwise find a safe place to teleport the player
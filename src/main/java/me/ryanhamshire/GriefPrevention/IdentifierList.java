@@ -0,0 +1,71 @@
+package me.ryanhamshire.GriefPrevention;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * An {@link ArrayList} of trust identifiers whose {@link #contains(Object)} uses a hash
+ * index instead of scanning. The index is rebuilt lazily after any structural change.
+ */
+class IdentifierList extends ArrayList<String>
+{
+    // Scanning a handful of strings is cheaper than maintaining an index for them.
+    private static final int INDEX_THRESHOLD = 8;
+
+    private transient volatile Index index;
+    // subList views write straight into the backing array without counting a modification.
+    private transient volatile boolean untracked;
+
+    IdentifierList()
+    {
+    }
+
+    IdentifierList(Collection<String> identifiers)
+    {
+        super(identifiers);
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (this.size() <= INDEX_THRESHOLD || this.untracked) return super.contains(o);
+
+        Index current = this.index;
+        if (current == null || current.modCount != this.modCount)
+        {
+            current = new Index(this.modCount, new HashSet<>(this));
+            this.index = current;
+        }
+        return current.identifiers.contains(o);
+    }
+
+    @Override
+    public String set(int position, String identifier)
+    {
+        // Replacing an element is not a structural change, so modCount doesn't move.
+        this.index = null;
+        return super.set(position, identifier);
+    }
+
+    @Override
+    public List<String> subList(int fromIndex, int toIndex)
+    {
+        this.untracked = true;
+        this.index = null;
+        return super.subList(fromIndex, toIndex);
+    }
+
+    private static final class Index
+    {
+        private final int modCount;
+        private final HashSet<String> identifiers;
+
+        private Index(int modCount, HashSet<String> identifiers)
+        {
+            this.modCount = modCount;
+            this.identifiers = identifiers;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package me.ryanhamshire.GriefPrevention;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+//reverse of the loaded ignore lists: for each player, who is ignoring them
+//lets chat find the few recipients to drop without checking every player in the audience
+class IgnoreIndex
+{
+    private final ConcurrentHashMap<UUID, Set<UUID>> ignoredBy = new ConcurrentHashMap<>();
+
+    void add(UUID ignorer, UUID ignoree)
+    {
+        this.ignoredBy.compute(ignoree, (key, ignorers) ->
+        {
+            if (ignorers == null) ignorers = ConcurrentHashMap.newKeySet();
+            ignorers.add(ignorer);
+            return ignorers;
+        });
+    }
+
+    void remove(UUID ignorer, UUID ignoree)
+    {
+        this.ignoredBy.computeIfPresent(ignoree, (key, ignorers) ->
+        {
+            ignorers.remove(ignorer);
+            return ignorers.isEmpty() ? null : ignorers;
+        });
+    }
+
+    //drops everything an ignore list contributed, for when that list is unloaded
+    void removeAll(UUID ignorer, Collection<UUID> ignorees)
+    {
+        for (UUID ignoree : ignorees)
+        {
+            this.remove(ignorer, ignoree);
+        }
+    }
+
+    Set<UUID> getIgnorers(UUID ignoree)
+    {
+        Set<UUID> ignorers = this.ignoredBy.get(ignoree);
+        return ignorers == null ? Collections.emptySet() : ignorers;
+    }
+}
@@ -13,18 +13,26 @@ class IgnoreLoaderThread extends Thread
 {
     private final UUID playerToLoad;
     private final ConcurrentHashMap<UUID, Boolean> destinationMap;
+    private final IgnoreIndex ignoreIndex;
 
-    IgnoreLoaderThread(UUID playerToLoad, ConcurrentHashMap<UUID, Boolean> destinationMap)
+    IgnoreLoaderThread(UUID playerToLoad, ConcurrentHashMap<UUID, Boolean> destinationMap, IgnoreIndex ignoreIndex)
     {
         this.playerToLoad = playerToLoad;
         this.destinationMap = destinationMap;
+        this.ignoreIndex = ignoreIndex;
         this.setPriority(MIN_PRIORITY);
     }
 
     @Override
     public void run()
     {
-        File ignoreFile = new File(DataStore.playerDataFolderPath + File.separator + this.playerToLoad + ".ignore");
+        load(this.playerToLoad, this.destinationMap, this.ignoreIndex);
+    }
+
+    //reads the ignore file on the calling thread
+    static void load(UUID playerToLoad, ConcurrentHashMap<UUID, Boolean> destinationMap, IgnoreIndex ignoreIndex)
+    {
+        File ignoreFile = new File(DataStore.playerDataFolderPath + File.separator + playerToLoad + ".ignore");
 
         //if the file doesn't exist, there's nothing to do here
         if (!ignoreFile.exists()) return;
@@ -54,7 +62,8 @@ class IgnoreLoaderThread extends Thread
                     try
                     {
                         UUID ignoredUUID = UUID.fromString(line);
-                        this.destinationMap.put(ignoredUUID, adminIgnore);
+                        destinationMap.put(ignoredUUID, adminIgnore);
+                        ignoreIndex.add(playerToLoad, ignoredUUID);
                     }
                     catch (IllegalArgumentException e) {}  //if a bad UUID, ignore the line
                 }
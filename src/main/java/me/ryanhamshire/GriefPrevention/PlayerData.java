@@ -33,12 +33,14 @@ import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 //holds all of GriefPrevention's player-tied data
 public class PlayerData
@@ -49,6 +51,11 @@ public class PlayerData
     //the player's claims
     private Vector<Claim> claims = null;
 
+    //owned claims gathered during login, adopted by the first getClaims()
+    private volatile Vector<Claim> prefetchedClaims = null;
+    //claims version the prefetched list was gathered at, written before the list itself
+    private volatile long prefetchedClaimsVersion;
+
     //how many claim blocks the player has earned via play time
     private Integer accruedClaimBlocks = null;
 
@@ -77,6 +84,9 @@ public class PlayerData
      */
     boolean loadFailedFromStorage = false;
 
+    //set when a save is requested, cleared once the player data writer takes the record for writing
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
     //what "mode" the shovel is in determines what it will do when it's used
     public ShovelMode shovelMode = ShovelMode.Basic;
 
@@ -206,6 +216,7 @@ public class PlayerData
     //true means invisible (admin-forced ignore), false means player-created ignore
     public ConcurrentHashMap<UUID, Boolean> ignoredPlayers = new ConcurrentHashMap<>();
     public boolean ignoreListChanged = false;
+    volatile boolean ignoredPlayersLoaded = false;
 
     //profanity warning, once per play session
     boolean profanityWarned = false;
@@ -351,8 +362,23 @@ public class PlayerData
         this.bonusClaimBlocks = bonusClaimBlocks;
     }
 
-    private void loadDataFromSecondaryStorage()
+    void markDirty()
+    {
+        this.dirty.set(true);
+    }
+
+    //returns whether a save was pending
+    boolean clearDirty()
+    {
+        return this.dirty.getAndSet(false);
+    }
+
+    // synchronized on this player only, so two first reads never interleave their field updates
+    private synchronized void loadDataFromSecondaryStorage()
     {
+        //another thread may have finished the load while this one waited for the lock
+        if (this.accruedClaimBlocks != null && this.bonusClaimBlocks != null) return;
+
         //reach out to secondary storage to get any data there
         PlayerData storageData = GriefPrevention.instance.dataStore.getPlayerDataFromStorage(this.playerID);
 
@@ -414,42 +440,111 @@ public class PlayerData
         }
     }
 
-    public Vector<Claim> getClaims()
+    /**
+     * Loads everything the first main-thread reads would otherwise fetch lazily: the stored claim
+     * block counts, the ignore list and the owned claims. Meant for the async pre-login thread;
+     * anything not prefetched still loads on demand.
+     */
+    void prefetch(DataStore dataStore)
     {
-        if (this.claims == null)
+        if (this.accruedClaimBlocks == null || this.bonusClaimBlocks == null)
+        {
+            this.loadDataFromSecondaryStorage();
+        }
+
+        if (!this.ignoredPlayersLoaded)
         {
-            this.claims = new Vector<>();
+            IgnoreLoaderThread.load(this.playerID, this.ignoredPlayers, dataStore.ignoreIndex);
+            this.ignoredPlayersLoaded = true;
+        }
 
-            //find all the claims belonging to this player and note them for future reference
-            DataStore dataStore = GriefPrevention.instance.dataStore;
-            int totalClaimsArea = 0;
-            for (int i = 0; i < dataStore.claims.size(); i++)
+        //gathered without waiting on the claim writer. every claim change runs as the writer and bumps
+        //the claims version, so getClaims() only adopts the list if neither moved since it was read
+        if (this.claims == null && this.prefetchedClaims == null)
+        {
+            long claimsVersion = dataStore.getClaimsVersion();
+            if (!dataStore.claimMutations.isWriting())
+            {
+                Vector<Claim> owned = this.findOwnedClaims(dataStore);
+                this.prefetchedClaimsVersion = claimsVersion;
+                this.prefetchedClaims = owned;
+            }
+        }
+    }
+
+    //finds this player's claims without touching the claim list, which the main thread walks and
+    //prunes outside the claim writer. reads the concurrent ID map instead and restores claim list order
+    private Vector<Claim> findOwnedClaims(DataStore dataStore)
+    {
+        Vector<Claim> owned = new Vector<>();
+        for (Claim claim : dataStore.claimIDMap.values())
+        {
+            if (claim.parent == null && claim.inDataStore && playerID.equals(claim.ownerID))
+            {
+                owned.add(claim);
+            }
+        }
+        owned.sort(Comparator.comparingLong(claim -> claim.dataStoreOrder));
+        return owned;
+    }
+
+    //finds all the claims belonging to this player, dropping stale entries from the data store on the way
+    private Vector<Claim> collectClaims(DataStore dataStore)
+    {
+        Vector<Claim> owned = new Vector<>();
+        for (int i = 0; i < dataStore.claims.size(); i++)
+        {
+            Claim claim = dataStore.claims.get(i);
+            if (!claim.inDataStore)
             {
-                Claim claim = dataStore.claims.get(i);
-                if (!claim.inDataStore)
+                Claim remove = dataStore.claims.remove(i--);
+                dataStore.claimIDMap.remove(remove.getID());
+                for (Claim child : remove.children)
                 {
-                    Claim remove = dataStore.claims.remove(i--);
-                    dataStore.claimIDMap.remove(remove.getID());
-                    for (Claim child : remove.children)
-                    {
-                        dataStore.claimIDMap.remove(child.getID());
-                    }
-                    continue;
+                    dataStore.claimIDMap.remove(child.getID());
                 }
-                if (playerID.equals(claim.ownerID))
+                continue;
+            }
+            if (playerID.equals(claim.ownerID))
+            {
+                owned.add(claim);
+                dataStore.claimIDMap.put(claim.getID(), claim);
+                for (Claim child : claim.children)
                 {
-                    this.claims.add(claim);
-                    dataStore.claimIDMap.put(claim.getID(), claim);
-                    for (Claim child : claim.children)
-                    {
-                        dataStore.claimIDMap.put(child.getID(), child);
-                    }
-                    totalClaimsArea += claim.getArea();
+                    dataStore.claimIDMap.put(child.getID(), child);
                 }
             }
+        }
+        return owned;
+    }
+
+    public Vector<Claim> getClaims()
+    {
+        if (this.claims == null)
+        {
+            //find all the claims belonging to this player and note them for future reference
+            DataStore dataStore = GriefPrevention.instance.dataStore;
+            Vector<Claim> prefetched = this.prefetchedClaims;
+            this.prefetchedClaims = null;
+            if (prefetched != null && (dataStore.claimMutations.isWriting()
+                    || dataStore.getClaimsVersion() != this.prefetchedClaimsVersion))
+            {
+                //a claim changed after the prefetch, or is changing now
+                prefetched = null;
+            }
+            this.claims = prefetched != null ? prefetched : this.collectClaims(dataStore);
+
+            int totalClaimsArea = 0;
+            for (Claim claim : this.claims)
+            {
+                if (claim.inDataStore) totalClaimsArea += claim.getArea();
+            }
 
             //ensure player has claim blocks for his claims, and at least the minimum accrued
-            this.loadDataFromSecondaryStorage();
+            if (this.accruedClaimBlocks == null || this.bonusClaimBlocks == null)
+            {
+                this.loadDataFromSecondaryStorage();
+            }
 
             //if total claimed area is more than total blocks available
             int totalBlocks = this.accruedClaimBlocks + this.getBonusClaimBlocks() + GriefPrevention.instance.dataStore.getGroupBonusBlocks(this.playerID);
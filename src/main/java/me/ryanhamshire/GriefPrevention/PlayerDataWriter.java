@@ -0,0 +1,123 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects player data saves and writes them to secondary storage in periodic batches. A player
+ * saved several times between flushes is written once, with whatever values they have at flush time.
+ */
+class PlayerDataWriter
+{
+    static final long FLUSH_INTERVAL_MILLIS = 2_000L;
+
+    private final DataStore dataStore;
+    private final ConcurrentHashMap<UUID, PlayerData> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private @Nullable ScheduledExecutorService executor;
+    private boolean closed;
+
+    PlayerDataWriter(@NotNull DataStore dataStore)
+    {
+        this.dataStore = dataStore;
+    }
+
+    void enqueue(@NotNull UUID playerID, @NotNull PlayerData playerData)
+    {
+        playerData.markDirty();
+        this.pending.put(playerID, playerData);
+        if (!this.start()) this.flush();
+    }
+
+    /**
+     * @return the record still waiting to be written for this player, so a lookup after the cache
+     * was cleared doesn't read older values back from storage
+     */
+    @Nullable PlayerData getPending(@NotNull UUID playerID)
+    {
+        return this.pending.get(playerID);
+    }
+
+    void flush()
+    {
+        synchronized (this.flushLock)
+        {
+            if (this.pending.isEmpty()) return;
+
+            Map<UUID, PlayerData> batch = new LinkedHashMap<>();
+            for (UUID playerID : this.pending.keySet())
+            {
+                PlayerData playerData = this.pending.remove(playerID);
+                // A synchronous save since this was queued leaves nothing to write.
+                if (playerData != null && playerData.clearDirty()) batch.put(playerID, playerData);
+            }
+            if (!batch.isEmpty()) this.dataStore.writePlayerDataBatch(batch);
+        }
+    }
+
+    /**
+     * Stops the periodic flush and writes everything still pending. Later saves are written
+     * immediately.
+     */
+    void close()
+    {
+        ScheduledExecutorService stopped;
+        synchronized (this)
+        {
+            this.closed = true;
+            stopped = this.executor;
+            this.executor = null;
+        }
+        if (stopped != null)
+        {
+            stopped.shutdown();
+            try
+            {
+                stopped.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.flush();
+    }
+
+    /**
+     * @return false once the writer is closed
+     */
+    private synchronized boolean start()
+    {
+        if (this.closed) return false;
+        if (this.executor != null) return true;
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "GriefPrevention Player Data Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(() ->
+        {
+            // An exception escaping here would cancel every later flush.
+            try
+            {
+                this.flush();
+            }
+            catch (RuntimeException e)
+            {
+                GriefPrevention.AddLogEntry("Unexpected exception writing player data: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        return true;
+    }
+}
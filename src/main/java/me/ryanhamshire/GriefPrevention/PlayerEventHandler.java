@@ -39,6 +39,7 @@ import com.griefprevention.events.BoundaryVisualizationEvent;
 import com.griefprevention.geometry.OrthogonalEdge2i;
 import com.griefprevention.geometry.OrthogonalPoint2i;
 import com.griefprevention.geometry.OrthogonalPolygon;
+import com.griefprevention.geometry.OrthogonalPolygonCells;
 import com.griefprevention.geometry.OrthogonalPolygonValidationIssueType;
 import com.griefprevention.geometry.OrthogonalPolygonValidationResult;
 import com.griefprevention.protection.ProtectionHelper;
@@ -63,6 +64,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import me.ryanhamshire.GriefPrevention.compat.CompatUtil;
@@ -157,6 +159,9 @@ public class PlayerEventHandler implements Listener {
     // number of milliseconds in a day
     private final long MILLISECONDS_IN_DAY = 1000 * 60 * 60 * 24;
 
+    // how long data prefetched at login is kept for a player who hasn't joined
+    private static final long PREFETCH_EXPIRY_TICKS = 20L * 60;
+
     // timestamps of login and logout notifications in the last minute
     private final ArrayList<Long> recentLoginLogoutNotifications = new ArrayList<>();
 
@@ -169,10 +174,10 @@ public class PlayerEventHandler implements Listener {
     private final Set<UUID> refundedByProjectileHitEvent = ConcurrentHashMap.newKeySet();
 
     // regex pattern for the "how do i claim land?" scanner
-    private Pattern howToClaimPattern = null;
+    private volatile Pattern howToClaimPattern = null;
 
     // matcher for banned words
-    private WordFinder bannedWordFinder;
+    private volatile WordFinder bannedWordFinder;
 
     /**
      * Gets the banned word finder instance
@@ -239,8 +244,9 @@ public class PlayerEventHandler implements Listener {
     }
 
     // when a player chats, monitor for spam
+    // not synchronized: chat threads run this concurrently, so everything it touches must be thread-safe
     @EventHandler(ignoreCancelled = false, priority = EventPriority.LOWEST)
-    synchronized void onPlayerChat(AsyncPlayerChatEvent event) {
+    void onPlayerChat(AsyncPlayerChatEvent event) {
         Player player = event.getPlayer();
         if (!player.isOnline()) {
             event.setCancelled(true);
@@ -334,23 +340,30 @@ public class PlayerEventHandler implements Listener {
             // enter in abridged chat logs
             makeSocialLogEntry(player.getName(), message);
 
-            // based on ignore lists, remove some of the audience
+            // based on ignore lists, remove some of the audience.  only players on either end of an
+            // ignore can be dropped, so visit those relationships instead of the whole audience
             if (!player.hasPermission("griefprevention.notignorable")) {
                 Set<Player> recipientsToRemove = new HashSet<>();
                 PlayerData playerData = this.dataStore.getPlayerData(player.getUniqueId());
-                for (Player recipient : recipients) {
-                    if (!recipient.hasPermission("griefprevention.notignorable")) {
-                        if (playerData.ignoredPlayers.containsKey(recipient.getUniqueId())) {
+                for (UUID ignoredID : playerData.ignoredPlayers.keySet()) {
+                    Player recipient = instance.getServer().getPlayer(ignoredID);
+                    if (recipient != null && recipients.contains(recipient)) {
+                        recipientsToRemove.add(recipient);
+                    }
+                }
+
+                for (UUID ignorerID : this.dataStore.ignoreIndex.getIgnorers(player.getUniqueId())) {
+                    Player recipient = instance.getServer().getPlayer(ignorerID);
+                    if (recipient != null && !recipientsToRemove.contains(recipient) && recipients.contains(recipient)) {
+                        // confirm against the list itself in case the index briefly lags an unload
+                        PlayerData targetPlayerData = this.dataStore.getPlayerData(ignorerID);
+                        if (targetPlayerData.ignoredPlayers.containsKey(player.getUniqueId())) {
                             recipientsToRemove.add(recipient);
-                        } else {
-                            PlayerData targetPlayerData = this.dataStore.getPlayerData(recipient.getUniqueId());
-                            if (targetPlayerData.ignoredPlayers.containsKey(player.getUniqueId())) {
-                                recipientsToRemove.add(recipient);
-                            }
                         }
                     }
                 }
 
+                recipientsToRemove.removeIf(recipient -> recipient.hasPermission("griefprevention.notignorable"));
                 recipients.removeAll(recipientsToRemove);
             }
         }
@@ -499,7 +512,7 @@ public class PlayerEventHandler implements Listener {
 
     // when a player uses a slash command...
     @EventHandler(ignoreCancelled = true, priority = EventPriority.LOWEST)
-    synchronized void onPlayerCommandPreprocess(PlayerCommandPreprocessEvent event) {
+    void onPlayerCommandPreprocess(PlayerCommandPreprocessEvent event) {
         MonitorableCommand command = new MonitorableCommand(event.getMessage());
 
         CommandCategory category = this.getCommandCategory(command);
@@ -695,14 +708,14 @@ public class PlayerEventHandler implements Listener {
         return CommandCategory.None;
     }
 
-    static int longestNameLength = 10;
+    static final AtomicInteger longestNameLength = new AtomicInteger(10);
 
     static void makeSocialLogEntry(String name, String message) {
+        int padTo = longestNameLength.accumulateAndGet(name.length(), Math::max);
         StringBuilder entryBuilder = new StringBuilder(name);
-        entryBuilder.append(Compat.repeat(" ", Math.max(0, longestNameLength - name.length())));
+        entryBuilder.append(Compat.repeat(" ", padTo - name.length()));
         entryBuilder.append(": ").append(message);
 
-        longestNameLength = Math.max(longestNameLength, name.length());
         GriefPrevention.AddLogEntry(entryBuilder.toString(), CustomLogEntryTypes.SocialActivity, true);
     }
 
@@ -752,6 +765,26 @@ public class PlayerEventHandler implements Listener {
         }
     }
 
+    // Warm the joining player's data on the login thread, so the join and the first claim
+    // checks never wait on a storage read. MONITOR runs after every plugin had its say on the
+    // login; data warmed for a login that never becomes a join is dropped again shortly after.
+    @EventHandler(priority = EventPriority.MONITOR)
+    void onAsyncPlayerPreLoginPrefetch(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        UUID uuid = event.getUniqueId();
+        this.dataStore.getPlayerData(uuid).prefetch(this.dataStore);
+        SchedulerUtil.runLaterGlobal(
+            instance,
+            () -> {
+                if (instance.getServer().getPlayer(uuid) == null) {
+                    this.dataStore.clearCachedPlayerData(uuid);
+                }
+            },
+            PREFETCH_EXPIRY_TICKS
+        );
+    }
+
     // Offline-safe bypass check for the griefprevention.spam permission. We cannot
     // run Player#hasPermission during AsyncPlayerPreLoginEvent because there is no
     // Player yet, so fall back to the ops file.
@@ -939,8 +972,10 @@ public class PlayerEventHandler implements Listener {
             }
         }
 
-        // create a thread to load ignore information
-        new IgnoreLoaderThread(playerID, playerData.ignoredPlayers).start();
+        // create a thread to load ignore information, unless it was prefetched at login
+        if (!playerData.ignoredPlayersLoaded) {
+            new IgnoreLoaderThread(playerID, playerData.ignoredPlayers, this.dataStore.ignoreIndex).start();
+        }
 
         // is he stuck in a portal frame?
         if (player.hasMetadata("GP_PORTALRESCUE")) {
@@ -3979,79 +4014,16 @@ public class PlayerEventHandler implements Listener {
         return 0;
     }
 
-    private boolean polygonContains(@NotNull OrthogonalPolygon polygon, @NotNull OrthogonalPoint2i point) {
-        if (polygon.corners().contains(point)) {
-            return true;
-        }
-
-        if (!polygon.edgeIndexesContainingInteriorPoint(point).isEmpty()) {
-            return true;
-        }
-
-        double sampleX = point.x() + 0.5D;
-        double sampleZ = point.z() + 0.5D;
-        boolean inside = false;
-        List<OrthogonalPoint2i> corners = polygon.corners();
-        for (int i = 0, j = corners.size() - 1; i < corners.size(); j = i++) {
-            OrthogonalPoint2i a = corners.get(i);
-            OrthogonalPoint2i b = corners.get(j);
-            boolean crosses = a.z() > sampleZ != b.z() > sampleZ;
-            if (!crosses) {
-                continue;
-            }
-
-            double intersectionX = ((double) (b.x() - a.x()) * (sampleZ - a.z())) / (double) (b.z() - a.z()) + a.x();
-            if (sampleX < intersectionX) {
-                inside = !inside;
-            }
-        }
-
-        return inside;
-    }
-
     private int polygonArea(@NotNull OrthogonalPolygon polygon) {
-        int area = 0;
-        for (int x = polygon.minX(); x <= polygon.maxX(); x++) {
-            for (int z = polygon.minZ(); z <= polygon.maxZ(); z++) {
-                if (polygonContains(polygon, new OrthogonalPoint2i(x, z))) {
-                    area++;
-                }
-            }
-        }
-
-        return area;
+        return (int) Math.min(Integer.MAX_VALUE, OrthogonalPolygonCells.cellCount(polygon));
     }
 
     private boolean polygonContainsPolygon(@NotNull OrthogonalPolygon container, @NotNull OrthogonalPolygon contents) {
-        for (int x = contents.minX(); x <= contents.maxX(); x++) {
-            for (int z = contents.minZ(); z <= contents.maxZ(); z++) {
-                OrthogonalPoint2i point = new OrthogonalPoint2i(x, z);
-                if (polygonContains(contents, point) && !polygonContains(container, point)) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+        return OrthogonalPolygonCells.contains(container, contents);
     }
 
     private int polygonOverlapArea(@NotNull OrthogonalPolygon first, @NotNull OrthogonalPolygon second) {
-        int area = 0;
-        int minX = Math.max(first.minX(), second.minX());
-        int maxX = Math.min(first.maxX(), second.maxX());
-        int minZ = Math.max(first.minZ(), second.minZ());
-        int maxZ = Math.min(first.maxZ(), second.maxZ());
-
-        for (int x = minX; x <= maxX; x++) {
-            for (int z = minZ; z <= maxZ; z++) {
-                OrthogonalPoint2i point = new OrthogonalPoint2i(x, z);
-                if (polygonContains(first, point) && polygonContains(second, point)) {
-                    area++;
-                }
-            }
-        }
-
-        return area;
+        return (int) Math.min(Integer.MAX_VALUE, OrthogonalPolygonCells.overlapCellCount(first, second));
     }
 
     private static final class ShapedNibResizeAttempt {
@@ -0,0 +1,85 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Applies siege overrides to the normal claim permission pipeline. Runs as part of every claim
+ * permission check, before any {@link me.ryanhamshire.GriefPrevention.events.ClaimPermissionCheckEvent}
+ * listeners see the result.
+ */
+final class SiegePermissionRules {
+    private SiegePermissionRules() {
+    }
+
+    static @Nullable Supplier<String> apply(
+            @Nullable Player player,
+            @NotNull Claim claim,
+            @NotNull ClaimPermission permission,
+            @Nullable Event triggeringEvent,
+            @Nullable Supplier<String> denial) {
+        if (permission == ClaimPermission.Manage) return denial;
+        if (player == null) return denial;
+        if (claim.isAdminClaim()) return denial;
+
+        if (permission == ClaimPermission.Edit) {
+            if (claim.siegeData != null) {
+                return () -> GriefPrevention.instance.dataStore.getMessage(Messages.NoModifyDuringSiege);
+            }
+            return denial;
+        }
+
+        if (permission == ClaimPermission.Access) {
+            return claim.doorsOpen ? null : denial;
+        }
+
+        if (permission == ClaimPermission.Container || permission == ClaimPermission.Inventory) {
+            GriefPrevention.instance.dataStore.tryExtendSiege(player, claim);
+            if (claim.siegeData != null) {
+                return () -> GriefPrevention.instance.dataStore.getMessage(
+                        Messages.NoContainersSiege, claim.siegeData.attacker.getName());
+            }
+            return denial;
+        }
+
+        GriefPrevention.instance.dataStore.tryExtendSiege(player, claim);
+        if (claim.siegeData == null && !claim.doorsOpen) return denial;
+
+        Material broken = null;
+        if (triggeringEvent instanceof BlockBreakEvent) {
+            broken = ((BlockBreakEvent) triggeringEvent).getBlock().getType();
+        } else if (triggeringEvent instanceof Claim.CompatBuildBreakEvent) {
+            Claim.CompatBuildBreakEvent buildBreak = (Claim.CompatBuildBreakEvent) triggeringEvent;
+            if (buildBreak.isBreak()) broken = buildBreak.getMaterial();
+        } else if (triggeringEvent instanceof PlayerInteractEvent) {
+            PlayerInteractEvent interact = (PlayerInteractEvent) triggeringEvent;
+            if (interact.getAction() == Action.PHYSICAL && interact.getClickedBlock() != null
+                    && "TURTLE_EGG".equals(interact.getClickedBlock().getType().name())) {
+                broken = interact.getClickedBlock().getType();
+            }
+        }
+
+        if (broken != null) {
+            if (!GriefPrevention.instance.config_siege_blocks.contains(broken)) {
+                return () -> GriefPrevention.instance.dataStore.getMessage(Messages.NonSiegeMaterial);
+            } else if (player.getUniqueId().equals(claim.ownerID)) {
+                return () -> GriefPrevention.instance.dataStore.getMessage(Messages.NoOwnerBuildUnderSiege);
+            }
+            return null;
+        }
+
+        if (claim.siegeData != null) {
+            return () -> GriefPrevention.instance.dataStore.getMessage(
+                    Messages.NoBuildUnderSiege, claim.siegeData.attacker.getName());
+        }
+        return denial;
+    }
+}
@@ -3,31 +3,22 @@ package me.ryanhamshire.GriefPrevention;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 class SpamDetector
 {
-    //last chat message shown and its timestamp, regardless of who sent it
-    private String lastChatMessage = "";
-    private long lastChatMessageTimestamp = 0;
-
-    //number of identical chat messages in a row
-    private int duplicateMessageCount = 0;
+    //last chat message shown, regardless of who sent it, with its timestamp and repeat count
+    private final AtomicReference<RecentMessage> lastChatMessage = new AtomicReference<>(new RecentMessage("", 0, 0));
 
     //data for individual chatters
     ConcurrentHashMap<UUID, ChatterData> dataStore = new ConcurrentHashMap<>();
 
     private ChatterData getChatterData(UUID chatterID)
     {
-        ChatterData data = this.dataStore.get(chatterID);
-        if (data == null)
-        {
-            data = new ChatterData();
-            this.dataStore.put(chatterID, data);
-        }
-
-        return data;
+        return this.dataStore.computeIfAbsent(chatterID, id -> new ChatterData());
     }
 
+    //safe to call from any number of chat threads at once; only messages from the same chatter are serialized
     SpamAnalysisResult AnalyzeMessage(UUID chatterID, String message, long timestamp)
     {
         SpamAnalysisResult result = new SpamAnalysisResult();
@@ -40,8 +31,40 @@ class SpamDetector
             result.finalMessage = message;
         }
 
-        boolean spam = false;
+        int duplicateMessageCount = this.countDuplicate(result.finalMessage, timestamp);
         ChatterData chatterData = this.getChatterData(chatterID);
+        synchronized (chatterData)
+        {
+            return this.analyzeChatterMessage(chatterData, result, message, timestamp, duplicateMessageCount);
+        }
+    }
+
+    //returns how many times in a row this message has been repeated by anyone, or 0 if it is not a repeat
+    private int countDuplicate(String message, long timestamp)
+    {
+        while (true)
+        {
+            RecentMessage last = this.lastChatMessage.get();
+            RecentMessage next;
+            if (message.equals(last.message) && timestamp - last.timestamp < 2000)
+            {
+                next = new RecentMessage(last.message, last.timestamp, last.duplicateCount + 1);
+            }
+            else
+            {
+                next = new RecentMessage(message, timestamp, 0);
+            }
+
+            if (this.lastChatMessage.compareAndSet(last, next))
+            {
+                return next.duplicateCount;
+            }
+        }
+    }
+
+    private SpamAnalysisResult analyzeChatterMessage(ChatterData chatterData, SpamAnalysisResult result, String message, long timestamp, int duplicateMessageCount)
+    {
+        boolean spam = false;
 
         //mute if total volume of text from this player is too high
         if (message.length() > 50 && chatterData.getTotalRecentLength(timestamp) > 200)
@@ -52,18 +75,12 @@ class SpamDetector
         }
 
         //always mute an exact match to the last chat message
-        if (result.finalMessage.equals(this.lastChatMessage) && timestamp - this.lastChatMessageTimestamp < 2000)
+        if (duplicateMessageCount > 0)
         {
-            chatterData.spamLevel += ++this.duplicateMessageCount;
+            chatterData.spamLevel += duplicateMessageCount;
             spam = true;
             result.muteReason = "repeat message";
         }
-        else
-        {
-            this.lastChatMessage = message;
-            this.lastChatMessageTimestamp = timestamp;
-            this.duplicateMessageCount = 0;
-        }
 
         //check message content and timing      
         long millisecondsSinceLastMessage = timestamp - chatterData.lastMessageTimestamp;
@@ -212,6 +229,20 @@ class SpamDetector
 
         return false;
     }
+
+    private static final class RecentMessage
+    {
+        final String message;
+        final long timestamp;
+        final int duplicateCount;
+
+        RecentMessage(String message, long timestamp, int duplicateCount)
+        {
+            this.message = message;
+            this.timestamp = timestamp;
+            this.duplicateCount = duplicateCount;
+        }
+    }
 }
 
 class SpamAnalysisResult
@@ -229,7 +260,7 @@ class ChatterData
     public int spamLevel = 0;                       //number of consecutive "spams"
     public boolean spamWarned = false;              //whether the player has received a warning recently
 
-    //all recent message lengths and their total
+    //all recent message lengths and their total, guarded by the chatter data's monitor
     private final ConcurrentLinkedQueue<LengthTimestampPair> recentMessageLengths = new ConcurrentLinkedQueue<>();
     private int recentTotalLength = 0;
 
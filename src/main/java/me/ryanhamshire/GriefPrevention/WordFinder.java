@@ -1,47 +1,61 @@
 package me.ryanhamshire.GriefPrevention;
 
-import com.griefprevention.compat.Compat;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * Finds banned words in chat and sign text with one Aho-Corasick pass over the input.
+ *
+ * <p>Matching follows the alternation regex this class used to compile,
+ * {@code (([^\w]|^)word([^\w]|$))|...} with case-insensitive Unicode matching: a word counts when it
+ * is bounded by the start or end of the input or by a character outside {@code [a-zA-Z0-9_]}, and
+ * {@link #censor(String)} replaces exactly the text the regex would have.</p>
+ */
 class WordFinder
 {
-    private Pattern pattern;
+    private final Node root = new Node(0);
+    private boolean empty = true;
 
     WordFinder(List<String> wordsToFind)
     {
-        if (wordsToFind.isEmpty()) return;
-
-        StringBuilder patternBuilder = new StringBuilder();
+        int index = 0;
         for (String word : wordsToFind)
         {
             if (!word.isEmpty() && !word.trim().isEmpty())
             {
-                patternBuilder.append("|(([^\\w]|^)").append(Pattern.quote(word)).append("([^\\w]|$))");
+                addWord(word, index++);
             }
         }
-
-        String patternString = patternBuilder.toString();
-        if (patternString.length() > 1)
-        {
-            //trim extraneous leading pipe (|)
-            patternString = patternString.substring(1);
-        }
-        // No words are defined, match nothing.
-        else return;
-
-        this.pattern = Pattern.compile(patternString, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        if (!this.empty) link();
     }
 
     boolean hasMatch(String input)
     {
-        if (this.pattern == null) return false;
+        if (this.empty || input == null) return false;
 
-        Matcher matcher = this.pattern.matcher(input);
-        return matcher.find();
+        int length = input.length();
+        Node node = this.root;
+        for (int end = 0; end < length; )
+        {
+            int codePoint = input.codePointAt(end);
+            end += Character.charCount(codePoint);
+            node = step(node, fold(codePoint));
+            for (Node hit = node.wordIndex >= 0 ? node : node.output; hit != null; hit = hit.output)
+            {
+                int start = startOf(input, end, hit.depth);
+                if ((start == 0 || !isWordChar(input.codePointBefore(start))) && endOfMatch(input, end) >= 0)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
-    
+
     /**
      * Censors all banned words in the input string by replacing each character with an asterisk (*)
      * @param input The input string to censor
@@ -49,30 +63,204 @@ class WordFinder
      */
     String censor(String input)
     {
-        if (this.pattern == null || input == null || input.isEmpty()) return input;
-        
-        StringBuffer result = new StringBuffer();
-        Matcher matcher = this.pattern.matcher(input);
-        
-        while (matcher.find()) {
-            // Get the full match
-            String match = matcher.group();
-            if (match == null || match.trim().isEmpty()) continue;
-            
-            // Extract just the word part (without leading/trailing non-word chars)
-            String word = match.replaceAll("^[^\\w]+|[^\\w]+$", "");
-            if (word.isEmpty()) continue;
-            
-            // Create replacement with asterisks for the word, keeping the boundaries
-            String replacement = match.replaceAll(
-                "\\Q" + word + "\\E", 
-                Compat.repeat("*", word.length())
-            );
-            
-            matcher.appendReplacement(result, replacement);
+        if (this.empty || input == null || input.isEmpty()) return input;
+
+        // Like Matcher.find, take the leftmost match and resume after it. A match includes the
+        // separator on each side of the word, so two words sharing one separator only match once.
+        int length = input.length();
+        int[] bestRank = null;
+        int[] bestEnd = null;
+        Node node = this.root;
+        for (int end = 0; end < length; )
+        {
+            int codePoint = input.codePointAt(end);
+            end += Character.charCount(codePoint);
+            node = step(node, fold(codePoint));
+            for (Node hit = node.wordIndex >= 0 ? node : node.output; hit != null; hit = hit.output)
+            {
+                int matchEnd = endOfMatch(input, end);
+                if (matchEnd < 0) continue;
+
+                if (bestRank == null)
+                {
+                    bestRank = new int[length];
+                    bestEnd = new int[length];
+                    Arrays.fill(bestRank, Integer.MAX_VALUE);
+                }
+
+                // Each word tries a leading separator before falling back to the start of input.
+                int start = startOf(input, end, hit.depth);
+                if (start > 0)
+                {
+                    int separator = input.codePointBefore(start);
+                    if (!isWordChar(separator))
+                    {
+                        offer(bestRank, bestEnd, start - Character.charCount(separator), hit.wordIndex * 2, matchEnd);
+                    }
+                }
+                else
+                {
+                    offer(bestRank, bestEnd, 0, hit.wordIndex * 2 + 1, matchEnd);
+                }
+            }
+        }
+        if (bestRank == null) return input;
+
+        StringBuilder result = new StringBuilder(length);
+        int copied = 0;
+        for (int start = 0; start < length; start++)
+        {
+            if (bestRank[start] == Integer.MAX_VALUE) continue;
+
+            // Only the span from the first to the last word character is starred; separators and
+            // any punctuation at the edges of the banned word itself stay visible.
+            int matchEnd = bestEnd[start];
+            int first = start;
+            while (first < matchEnd && !isWordChar(input.charAt(first))) first++;
+            int last = matchEnd;
+            while (last > first && !isWordChar(input.charAt(last - 1))) last--;
+            if (first < last)
+            {
+                result.append(input, copied, first);
+                for (int i = first; i < last; i++) result.append('*');
+                copied = last;
+            }
+            start = matchEnd - 1;
+        }
+        if (copied == 0) return input;
+        return result.append(input, copied, length).toString();
+    }
+
+    private static void offer(int[] bestRank, int[] bestEnd, int start, int rank, int matchEnd)
+    {
+        if (rank < bestRank[start])
+        {
+            bestRank[start] = rank;
+            bestEnd[start] = matchEnd;
+        }
+    }
+
+    /**
+     * @return where a match ending its word at {@code end} stops, consuming one trailing separator,
+     * or -1 if the word is followed by a word character
+     */
+    private static int endOfMatch(String input, int end)
+    {
+        if (end == input.length()) return end;
+        int next = input.codePointAt(end);
+        return isWordChar(next) ? -1 : end + Character.charCount(next);
+    }
+
+    private static int startOf(String input, int end, int codePoints)
+    {
+        int start = end;
+        for (int i = 0; i < codePoints; i++)
+        {
+            start -= Character.charCount(input.codePointBefore(start));
+        }
+        return start;
+    }
+
+    private static boolean isWordChar(int codePoint)
+    {
+        return (codePoint >= 'a' && codePoint <= 'z')
+                || (codePoint >= 'A' && codePoint <= 'Z')
+                || (codePoint >= '0' && codePoint <= '9')
+                || codePoint == '_';
+    }
+
+    /** The same per-character case folding {@link java.util.regex.Pattern#UNICODE_CASE} uses. */
+    private static int fold(int codePoint)
+    {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    private Node step(Node node, int codePoint)
+    {
+        while (true)
+        {
+            Node next = node.next(codePoint);
+            if (next != null) return next;
+            if (node == this.root) return node;
+            node = node.fail;
+        }
+    }
+
+    private void addWord(String word, int index)
+    {
+        Node node = this.root;
+        for (int i = 0; i < word.length(); )
+        {
+            int codePoint = word.codePointAt(i);
+            i += Character.charCount(codePoint);
+            node = node.child(fold(codePoint));
+        }
+        // Words that fold to the same text match the same spans; the first listed one is enough.
+        if (node.wordIndex < 0) node.wordIndex = index;
+        this.empty = false;
+    }
+
+    private void link()
+    {
+        Deque<Node> queue = new ArrayDeque<>();
+        this.root.freeze();
+        for (Node child : this.root.targets)
+        {
+            child.fail = this.root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty())
+        {
+            Node node = queue.poll();
+            node.freeze();
+            node.output = node.fail.wordIndex >= 0 ? node.fail : node.fail.output;
+            for (int i = 0; i < node.keys.length; i++)
+            {
+                Node child = node.targets[i];
+                child.fail = step(node.fail, node.keys[i]);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static final class Node
+    {
+        private final int depth;
+        private Map<Integer, Node> children = new TreeMap<>();
+        private int[] keys;
+        private Node[] targets;
+        private Node fail;
+        /** The nearest proper suffix of this node that ends a word. */
+        private Node output;
+        private int wordIndex = -1;
+
+        private Node(int depth)
+        {
+            this.depth = depth;
+        }
+
+        private Node child(int codePoint)
+        {
+            return this.children.computeIfAbsent(codePoint, key -> new Node(this.depth + 1));
+        }
+
+        private void freeze()
+        {
+            this.keys = new int[this.children.size()];
+            this.targets = new Node[this.children.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Node> entry : this.children.entrySet())
+            {
+                this.keys[i] = entry.getKey();
+                this.targets[i++] = entry.getValue();
+            }
+            this.children = null;
+        }
+
+        private Node next(int codePoint)
+        {
+            int i = Arrays.binarySearch(this.keys, codePoint);
+            return i >= 0 ? this.targets[i] : null;
         }
-        matcher.appendTail(result);
-        
-        return result.toString();
     }
 }
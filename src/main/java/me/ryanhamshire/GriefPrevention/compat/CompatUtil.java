@@ -35,16 +35,24 @@ import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Compatibility utility for bridging API differences between Minecraft versions.
  * Provides safe access to APIs that may not exist in 1.8.8 Bukkit.
+ * <p>
+ * Every optional method, class and constant is looked up once, when this class initializes.
+ * Calls then go straight to the API behind a flag, or through a bound {@link MethodHandle} where
+ * the call site can't name the API's types. No lookup happens per call.
  */
 public class CompatUtil {
 
@@ -101,23 +109,24 @@ public class CompatUtil {
         }
     }
 
+    // 1.8.8 names these GRASS and ENDER_PORTAL_FRAME
+    private static final Material GRASS_BLOCK = resolveMaterial("GRASS_BLOCK", "GRASS");
+    private static final Material END_PORTAL_FRAME = resolveMaterial("END_PORTAL_FRAME", "ENDER_PORTAL_FRAME");
+
+    private static Material resolveMaterial(String... names) {
+        for (String name : names) {
+            Material material = Material.getMaterial(name);
+            if (material != null) return material;
+        }
+        return null;
+    }
+
     /**
      * Check if material is GRASS_BLOCK (1.13+)
      * Fallback to GRASS (pre-1.13)
      */
     public static boolean isGrassBlock(Material material) {
-        try {
-            Material grassBlock = Material.valueOf("GRASS_BLOCK");
-            return material == grassBlock;
-        } catch (IllegalArgumentException e) {
-            // 1.8.8: use GRASS
-            try {
-                Material grass = Material.valueOf("GRASS");
-                return material == grass;
-            } catch (IllegalArgumentException e2) {
-                return false;
-            }
-        }
+        return GRASS_BLOCK != null && material == GRASS_BLOCK;
     }
 
     /**
@@ -125,16 +134,7 @@ public class CompatUtil {
      * Fallback to GRASS for 1.8.8
      */
     public static Material getGrassBlockMaterial() {
-        try {
-            return Material.valueOf("GRASS_BLOCK");
-        } catch (IllegalArgumentException e) {
-            // 1.8.8: use GRASS
-            try {
-                return Material.valueOf("GRASS");
-            } catch (IllegalArgumentException e2) {
-                return null;
-            }
-        }
+        return GRASS_BLOCK;
     }
 
     /**
@@ -142,16 +142,7 @@ public class CompatUtil {
      * Fallback to ENDER_PORTAL_FRAME for 1.8.8
      */
     public static Material getEndPortalFrameMaterial() {
-        try {
-            return Material.valueOf("END_PORTAL_FRAME");
-        } catch (IllegalArgumentException e) {
-            // 1.8.8 uses ENDER_PORTAL_FRAME
-            try {
-                return Material.valueOf("ENDER_PORTAL_FRAME");
-            } catch (IllegalArgumentException e2) {
-                return null;
-            }
-        }
+        return END_PORTAL_FRAME;
     }
 
     /**
@@ -242,27 +233,19 @@ public class CompatUtil {
      * Check if WorldBorder.isInside() method exists (1.11+)
      */
     public static boolean hasWorldBorderIsInside() {
-        try {
-            // Try to access the method via reflection
-            WorldBorder wb = null; // We can't instantiate, but we can check if method exists
-            WorldBorder.class.getMethod("isInside", Location.class);
-            return true;
-        } catch (NoSuchMethodException e) {
-            return false;
-        }
+        return HAS_WORLD_BORDER_IS_INSIDE;
     }
 
+    private static final boolean HAS_WORLD_BORDER_IS_INSIDE =
+        resolveMethod(WorldBorder.class, "isInside", Location.class) != null;
+
     /**
      * Check if location is inside world border safely (1.11+)
      * Returns true for 1.8.8 (no border support, assume inside)
      */
     public static boolean isInsideWorldBorder(WorldBorder border, Location location) {
-        try {
-            return border.isInside(location);
-        } catch (NoSuchMethodError e) {
-            // 1.8.8 doesn't have this method, assume inside
-            return true;
-        }
+        // 1.8.8 doesn't have this method, assume inside
+        return !HAS_WORLD_BORDER_IS_INSIDE || border.isInside(location);
     }
 
     /**
@@ -281,9 +264,13 @@ public class CompatUtil {
      * Safe entity type check that doesn't throw NoClassDefFoundError
      */
     public static boolean canCheckEntityType(String entityClassName) {
-        return classExists("org.bukkit.entity." + entityClassName);
+        // Checked on every damage and interact event, so each answer is remembered.
+        return ENTITY_TYPE_CLASSES.computeIfAbsent(entityClassName,
+            name -> classExists("org.bukkit.entity." + name));
     }
 
+    private static final ConcurrentHashMap<String, Boolean> ENTITY_TYPE_CLASSES = new ConcurrentHashMap<>();
+
     /**
      * Set portal cooldown safely (1.13+)
      * Does nothing on 1.8.8
@@ -316,6 +303,7 @@ public class CompatUtil {
     private static final Class<?> MOB_CLASS = findClass("org.bukkit.entity.Mob");
     private static final Class<?> ABSTRACT_HORSE_CLASS = findClass("org.bukkit.entity.AbstractHorse");
     private static final Class<?> LOOTABLE_CLASS = findClass("org.bukkit.loot.Lootable");
+    private static final MethodHandle LOOTABLE_GET_LOOT_TABLE = resolveHandle(LOOTABLE_CLASS, "getLootTable");
 
     /**
      * Check whether an entity is a mob (1.16+ Mob interface).
@@ -340,11 +328,11 @@ public class CompatUtil {
      * Returns false pre-1.10, where loot tables aren't exposed at all.
      */
     public static boolean isLootableWithoutLootTable(Object state) {
-        if (LOOTABLE_CLASS == null || !LOOTABLE_CLASS.isInstance(state)) return false;
+        if (LOOTABLE_GET_LOOT_TABLE == null || !LOOTABLE_CLASS.isInstance(state)) return false;
 
         try {
-            return LOOTABLE_CLASS.getMethod("getLootTable").invoke(state) == null;
-        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return (Object) LOOTABLE_GET_LOOT_TABLE.invokeExact(state) == null;
+        } catch (Throwable e) {
             return false;
         }
     }
@@ -381,22 +369,31 @@ public class CompatUtil {
      * Update player commands (1.13+ only)
      */
     public static void updateCommands(Player player) {
-        try {
-            player.getClass().getMethod("updateCommands").invoke(player);
-        } catch (ReflectiveOperationException | LinkageError e) {
-            // 1.8.8: updateCommands doesn't exist
+        // 1.8.8: updateCommands doesn't exist
+        if (HAS_UPDATE_COMMANDS) {
+            player.updateCommands();
         }
     }
 
+    private static final boolean HAS_UPDATE_COMMANDS = resolveMethod(Player.class, "updateCommands") != null;
+
     /**
      * Check if EntityExplodeEvent has getExplosionResult() method (1.13+)
      */
     public static boolean hasExplosionResult() {
+        return EXPLOSION_RESULT_CLASS != null;
+    }
+
+    private static final Class<?> EXPLOSION_RESULT_CLASS = findClass("org.bukkit.ExplosionResult");
+    private static final Object EXPLOSION_RESULT_TRIGGER_BLOCK = resolveTriggerBlock();
+
+    private static Object resolveTriggerBlock() {
+        if (EXPLOSION_RESULT_CLASS == null) return null;
+
         try {
-            Class.forName("org.bukkit.ExplosionResult");
-            return true;
-        } catch (ClassNotFoundException e) {
-            return false;
+            return EXPLOSION_RESULT_CLASS.getField("TRIGGER_BLOCK").get(null);
+        } catch (NoSuchFieldException | IllegalAccessException | LinkageError e) {
+            return null;
         }
     }
 
@@ -431,16 +428,7 @@ public class CompatUtil {
      * Returns false for 1.8.8 (assumes normal explosion)
      */
     public static boolean isTriggerBlockExplosion(Object explosionResult) {
-        if (explosionResult == null) {
-            return false;
-        }
-        try {
-            Class<?> explosionResultClass = Class.forName("org.bukkit.ExplosionResult");
-            Object triggerBlock = explosionResultClass.getField("TRIGGER_BLOCK").get(null);
-            return explosionResult.equals(triggerBlock);
-        } catch (ClassNotFoundException | NoSuchFieldException | IllegalAccessException e) {
-            return false;
-        }
+        return explosionResult != null && explosionResult.equals(EXPLOSION_RESULT_TRIGGER_BLOCK);
     }
 
     /**
@@ -469,8 +457,8 @@ public class CompatUtil {
         return material == Material.AIR || material.name().endsWith("_AIR");
     }
 
-    private static final Method PLAYER_GET_LOCALE = resolveMethod(Player.class, "getLocale");
-    private static final Method SPIGOT_GET_LOCALE = resolveMethod(Player.Spigot.class, "getLocale");
+    private static final MethodHandle PLAYER_GET_LOCALE = resolveHandle(Player.class, "getLocale");
+    private static final MethodHandle SPIGOT_GET_LOCALE = resolveHandle(Player.Spigot.class, "getLocale");
 
     private static Method resolveMethod(Class<?> owner, String name, Class<?>... parameters) {
         try {
@@ -480,6 +468,25 @@ public class CompatUtil {
         }
     }
 
+    /**
+     * Bind a public method, or return null if it doesn't exist on this version.
+     * The handle's reference types are erased to Object (primitives are kept), so call sites
+     * use {@code invokeExact} without naming types that may be missing at runtime.
+     */
+    private static MethodHandle resolveHandle(Class<?> owner, String name, Class<?>... parameters) {
+        if (owner == null) return null;
+
+        Method method = resolveMethod(owner, name, parameters);
+        if (method == null) return null;
+
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+            return handle.asType(handle.type().erase());
+        } catch (IllegalAccessException | LinkageError e) {
+            return null;
+        }
+    }
+
     /**
      * Get the player's client locale (e.g. "en_us") safely.
      * Player#getLocale() only exists on 1.12+; 1.8-1.11 expose it through Player.Spigot instead.
@@ -488,16 +495,16 @@ public class CompatUtil {
     public static String getLocale(Player player) {
         if (PLAYER_GET_LOCALE != null) {
             try {
-                return (String) PLAYER_GET_LOCALE.invoke(player);
-            } catch (ReflectiveOperationException | LinkageError e) {
+                return (String) (Object) PLAYER_GET_LOCALE.invokeExact((Object) player);
+            } catch (Throwable e) {
                 // Fall through to the Spigot accessor
             }
         }
 
         if (SPIGOT_GET_LOCALE != null) {
             try {
-                return (String) SPIGOT_GET_LOCALE.invoke(player.spigot());
-            } catch (ReflectiveOperationException | LinkageError e) {
+                return (String) (Object) SPIGOT_GET_LOCALE.invokeExact((Object) player.spigot());
+            } catch (Throwable e) {
                 // No locale available on this server version
             }
         }
@@ -505,16 +512,8 @@ public class CompatUtil {
         return null;
     }
 
-    private static final Method TELEPORT_ASYNC = resolveTeleportAsync();
-
-    private static Method resolveTeleportAsync() {
-        try {
-            return Entity.class.getMethod("teleportAsync", Location.class);
-        } catch (NoSuchMethodException | LinkageError e) {
-            // Spigot and pre-1.19 Paper: teleportAsync doesn't exist
-            return null;
-        }
-    }
+    // Spigot and pre-1.19 Paper: teleportAsync doesn't exist
+    private static final MethodHandle TELEPORT_ASYNC = resolveHandle(Entity.class, "teleportAsync", Location.class);
 
     /**
      * Teleport an entity in a way that is safe under region threading (Folia, Canvas).
@@ -525,9 +524,9 @@ public class CompatUtil {
     public static void teleportSafely(Entity entity, Location location) {
         if (TELEPORT_ASYNC != null) {
             try {
-                TELEPORT_ASYNC.invoke(entity, location);
+                Object ignored = (Object) TELEPORT_ASYNC.invokeExact((Object) entity, (Object) location);
                 return;
-            } catch (ReflectiveOperationException | LinkageError e) {
+            } catch (Throwable e) {
                 // Fall through to the blocking teleport
             }
         }
@@ -536,7 +535,7 @@ public class CompatUtil {
     }
 
     private static final boolean HAS_GET_PASSENGERS = resolveMethod(Entity.class, "getPassengers") != null;
-    private static final Method LEGACY_GET_PASSENGER = resolveMethod(Entity.class, "getPassenger");
+    private static final MethodHandle LEGACY_GET_PASSENGER = resolveHandle(Entity.class, "getPassenger");
 
     /**
      * Get an entity's passengers (1.11+).
@@ -549,11 +548,11 @@ public class CompatUtil {
 
         if (LEGACY_GET_PASSENGER != null) {
             try {
-                Object passenger = LEGACY_GET_PASSENGER.invoke(entity);
+                Object passenger = (Object) LEGACY_GET_PASSENGER.invokeExact((Object) entity);
                 if (passenger instanceof Entity) {
                     return Collections.singletonList((Entity) passenger);
                 }
-            } catch (ReflectiveOperationException | LinkageError e) {
+            } catch (Throwable e) {
                 // Fall through to the empty list
             }
         }
@@ -561,14 +560,14 @@ public class CompatUtil {
         return Collections.emptyList();
     }
 
-    private static final Method SNAPSHOT_BLOCK_TYPE = resolveMethod(
+    private static final MethodHandle SNAPSHOT_BLOCK_TYPE = resolveHandle(
         ChunkSnapshot.class, "getBlockType", int.class, int.class, int.class);
-    private static final Method SNAPSHOT_BLOCK_TYPE_ID = resolveMethod(
+    private static final MethodHandle SNAPSHOT_BLOCK_TYPE_ID = resolveHandle(
         ChunkSnapshot.class, "getBlockTypeId", int.class, int.class, int.class);
-    private static final Method MATERIAL_BY_ID = resolveMethod(Material.class, "getMaterial", int.class);
-    private static final Method SNAPSHOT_BIOME_3D = resolveMethod(
+    private static final MethodHandle MATERIAL_BY_ID = resolveHandle(Material.class, "getMaterial", int.class);
+    private static final MethodHandle SNAPSHOT_BIOME_3D = resolveHandle(
         ChunkSnapshot.class, "getBiome", int.class, int.class, int.class);
-    private static final Method SNAPSHOT_BIOME_2D = resolveMethod(
+    private static final MethodHandle SNAPSHOT_BIOME_2D = resolveHandle(
         ChunkSnapshot.class, "getBiome", int.class, int.class);
 
     /**
@@ -578,17 +577,17 @@ public class CompatUtil {
     public static Material getSnapshotBlockType(ChunkSnapshot snapshot, int x, int y, int z) {
         if (SNAPSHOT_BLOCK_TYPE != null) {
             try {
-                return (Material) SNAPSHOT_BLOCK_TYPE.invoke(snapshot, x, y, z);
-            } catch (ReflectiveOperationException | LinkageError e) {
+                return (Material) (Object) SNAPSHOT_BLOCK_TYPE.invokeExact((Object) snapshot, x, y, z);
+            } catch (Throwable e) {
                 // Fall through to the id-based lookup
             }
         }
 
         if (SNAPSHOT_BLOCK_TYPE_ID != null && MATERIAL_BY_ID != null) {
             try {
-                Object id = SNAPSHOT_BLOCK_TYPE_ID.invoke(snapshot, x, y, z);
-                return (Material) MATERIAL_BY_ID.invoke(null, id);
-            } catch (ReflectiveOperationException | LinkageError e) {
+                int id = (int) SNAPSHOT_BLOCK_TYPE_ID.invokeExact((Object) snapshot, x, y, z);
+                return (Material) (Object) MATERIAL_BY_ID.invokeExact(id);
+            } catch (Throwable e) {
                 // No usable accessor on this version
             }
         }
@@ -603,16 +602,16 @@ public class CompatUtil {
     public static Biome getSnapshotBiome(ChunkSnapshot snapshot, int x, int y, int z) {
         if (SNAPSHOT_BIOME_3D != null) {
             try {
-                return (Biome) SNAPSHOT_BIOME_3D.invoke(snapshot, x, y, z);
-            } catch (ReflectiveOperationException | LinkageError e) {
+                return (Biome) (Object) SNAPSHOT_BIOME_3D.invokeExact((Object) snapshot, x, y, z);
+            } catch (Throwable e) {
                 // Fall through to the 2D accessor
             }
         }
 
         if (SNAPSHOT_BIOME_2D != null) {
             try {
-                return (Biome) SNAPSHOT_BIOME_2D.invoke(snapshot, x, z);
-            } catch (ReflectiveOperationException | LinkageError e) {
+                return (Biome) (Object) SNAPSHOT_BIOME_2D.invokeExact((Object) snapshot, x, z);
+            } catch (Throwable e) {
                 // No usable accessor on this version
             }
         }
@@ -620,7 +619,7 @@ public class CompatUtil {
         return null;
     }
 
-    private static final Method BIOME_GET_KEY = resolveMethod(Biome.class, "getKey");
+    private static final MethodHandle BIOME_GET_KEY = resolveHandle(Biome.class, "getKey");
 
     /**
      * Get a biome's namespaced key (1.13+).
@@ -630,8 +629,8 @@ public class CompatUtil {
         if (biome == null || BIOME_GET_KEY == null) return null;
 
         try {
-            return BIOME_GET_KEY.invoke(biome);
-        } catch (ReflectiveOperationException | LinkageError e) {
+            return (Object) BIOME_GET_KEY.invokeExact((Object) biome);
+        } catch (Throwable e) {
             return null;
         }
     }
@@ -702,7 +701,7 @@ public class CompatUtil {
     }
 
     private static final boolean HAS_PORTAL_ENTITY = resolveMethod(PortalCreateEvent.class, "getEntity") != null;
-    private static final Method PORTAL_GET_BLOCKS = resolveMethod(PortalCreateEvent.class, "getBlocks");
+    private static final MethodHandle PORTAL_GET_BLOCKS = resolveHandle(PortalCreateEvent.class, "getBlocks");
 
     /**
      * Get the entity that created a portal (1.14+).
@@ -721,8 +720,8 @@ public class CompatUtil {
 
         Object result;
         try {
-            result = PORTAL_GET_BLOCKS.invoke(event);
-        } catch (ReflectiveOperationException | LinkageError e) {
+            result = (Object) PORTAL_GET_BLOCKS.invokeExact((Object) event);
+        } catch (Throwable e) {
             return Collections.emptyList();
         }
 
@@ -756,18 +755,14 @@ public class CompatUtil {
         return entity instanceof Creature ? ((Creature) entity).getTarget() : null;
     }
 
-    private static final Method FALLING_BLOCK_DATA = resolveMethod(FallingBlock.class, "getBlockData");
-    private static final Method FALLING_BLOCK_MATERIAL = resolveMethod(FallingBlock.class, "getMaterial");
-    private static final Method BLOCK_DATA_MATERIAL = resolveBlockDataMaterial();
-
-    private static Method resolveBlockDataMaterial() {
-        try {
-            return Class.forName("org.bukkit.block.data.BlockData").getMethod("getMaterial");
-        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
-            // Pre-1.13: BlockData doesn't exist
-            return null;
-        }
-    }
+    private static final MethodHandle FALLING_BLOCK_DATA = resolveHandle(FallingBlock.class, "getBlockData");
+    private static final MethodHandle FALLING_BLOCK_MATERIAL = resolveHandle(FallingBlock.class, "getMaterial");
+    // Pre-1.13: BlockData doesn't exist
+    private static final Class<?> BLOCK_DATA_CLASS = findClass("org.bukkit.block.data.BlockData");
+    private static final MethodHandle BLOCK_DATA_MATERIAL = resolveHandle(BLOCK_DATA_CLASS, "getMaterial");
+    private static final MethodHandle BLOCK_GET_DATA = resolveHandle(Block.class, "getBlockData");
+    private static final MethodHandle BLOCK_SET_DATA =
+        BLOCK_DATA_CLASS == null ? null : resolveHandle(Block.class, "setBlockData", BLOCK_DATA_CLASS);
 
     /**
      * Get the material a falling block is made of.
@@ -776,19 +771,19 @@ public class CompatUtil {
     public static Material getFallingBlockMaterial(FallingBlock fallingBlock) {
         if (FALLING_BLOCK_DATA != null && BLOCK_DATA_MATERIAL != null) {
             try {
-                Object data = FALLING_BLOCK_DATA.invoke(fallingBlock);
+                Object data = (Object) FALLING_BLOCK_DATA.invokeExact((Object) fallingBlock);
                 if (data != null) {
-                    return (Material) BLOCK_DATA_MATERIAL.invoke(data);
+                    return (Material) (Object) BLOCK_DATA_MATERIAL.invokeExact(data);
                 }
-            } catch (ReflectiveOperationException | LinkageError e) {
+            } catch (Throwable e) {
                 // Fall through to the legacy accessor
             }
         }
 
         if (FALLING_BLOCK_MATERIAL != null) {
             try {
-                return (Material) FALLING_BLOCK_MATERIAL.invoke(fallingBlock);
-            } catch (ReflectiveOperationException | LinkageError e) {
+                return (Material) (Object) FALLING_BLOCK_MATERIAL.invokeExact((Object) fallingBlock);
+            } catch (Throwable e) {
                 // No usable accessor on this version
             }
         }
@@ -796,6 +791,36 @@ public class CompatUtil {
         return null;
     }
 
+    /**
+     * Get a block's data (1.13+), typed as Object so callers don't name BlockData.
+     * Returns null on older versions.
+     */
+    public static Object getBlockData(Block block) {
+        if (BLOCK_GET_DATA == null) return null;
+
+        try {
+            return (Object) BLOCK_GET_DATA.invokeExact((Object) block);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * Set a block's data (1.13+) from a value returned by {@link #getBlockData(Block)}.
+     *
+     * @return false if the data couldn't be applied, including on older versions
+     */
+    public static boolean setBlockData(Block block, Object blockData) {
+        if (BLOCK_SET_DATA == null || !BLOCK_DATA_CLASS.isInstance(blockData)) return false;
+
+        try {
+            BLOCK_SET_DATA.invokeExact((Object) block, blockData);
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
     private static final boolean HAS_EGG_ITEM = resolveMethod(Egg.class, "getItem") != null;
 
     /**
@@ -853,40 +878,52 @@ public class CompatUtil {
      * @param namespace the namespace the key must belong to, matched loosely
      */
     public static boolean hasPersistentDataKey(Object holder, String key, String namespace) {
-        if (holder == null) return false;
+        if (holder == null || PERSISTENT_DATA_HOLDER_CLASS == null || !PERSISTENT_DATA_HOLDER_CLASS.isInstance(holder)) {
+            return false;
+        }
 
         try {
-            Class<?> holderClass = Class.forName("org.bukkit.persistence.PersistentDataHolder");
-            if (!holderClass.isInstance(holder)) return false;
-
-            Object container = holderClass.getMethod("getPersistentDataContainer").invoke(holder);
+            Object container = (Object) HOLDER_GET_CONTAINER.invokeExact(holder);
             if (container == null) return false;
 
-            Class<?> containerClass = Class.forName("org.bukkit.persistence.PersistentDataContainer");
-            Object keys = containerClass.getMethod("getKeys").invoke(container);
+            Object keys = (Object) CONTAINER_GET_KEYS.invokeExact(container);
             if (!(keys instanceof Collection)) return false;
 
-            Class<?> namespacedKeyClass = Class.forName("org.bukkit.NamespacedKey");
-            Method getKey = namespacedKeyClass.getMethod("getKey");
-            Method getNamespace = namespacedKeyClass.getMethod("getNamespace");
-
-            String wanted = namespace.toLowerCase(java.util.Locale.ROOT);
+            String wanted = namespace.toLowerCase(Locale.ROOT);
             for (Object namespacedKey : (Collection<?>) keys) {
-                if (!key.equals(getKey.invoke(namespacedKey))) continue;
+                if (!key.equals((Object) NAMESPACED_KEY_GET_KEY.invokeExact(namespacedKey))) continue;
 
-                String keyNamespace = String.valueOf(getNamespace.invoke(namespacedKey))
-                    .toLowerCase(java.util.Locale.ROOT);
+                String keyNamespace = String.valueOf((Object) NAMESPACED_KEY_GET_NAMESPACE.invokeExact(namespacedKey))
+                    .toLowerCase(Locale.ROOT);
                 if (keyNamespace.contains(wanted)) return true;
             }
-        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
-            // Pre-1.14: no persistent data API
+        } catch (Throwable e) {
+            // A holder that fails to report its keys is treated as having none
         }
 
         return false;
     }
 
+    // Pre-1.14: no persistent data API. The holder class is only set when every handle resolved.
+    private static final MethodHandle HOLDER_GET_CONTAINER = resolveHandle(
+        findClass("org.bukkit.persistence.PersistentDataHolder"), "getPersistentDataContainer");
+    private static final MethodHandle CONTAINER_GET_KEYS = resolveHandle(
+        findClass("org.bukkit.persistence.PersistentDataContainer"), "getKeys");
+    private static final MethodHandle NAMESPACED_KEY_GET_KEY = resolveHandle(
+        findClass("org.bukkit.NamespacedKey"), "getKey");
+    private static final MethodHandle NAMESPACED_KEY_GET_NAMESPACE = resolveHandle(
+        findClass("org.bukkit.NamespacedKey"), "getNamespace");
+    private static final Class<?> PERSISTENT_DATA_HOLDER_CLASS =
+        HOLDER_GET_CONTAINER != null && CONTAINER_GET_KEYS != null
+            && NAMESPACED_KEY_GET_KEY != null && NAMESPACED_KEY_GET_NAMESPACE != null
+            ? findClass("org.bukkit.persistence.PersistentDataHolder")
+            : null;
+
     private static final Object BAN_TYPE_PROFILE = resolveBanProfileType();
-    private static final Method OFFLINE_PLAYER_PROFILE = resolveMethod(OfflinePlayer.class, "getPlayerProfile");
+    private static final MethodHandle OFFLINE_PLAYER_PROFILE = resolveHandle(OfflinePlayer.class, "getPlayerProfile");
+    private static final MethodHandle BAN_LIST_ADD_BAN = resolveHandle(
+        BanList.class, "addBan", Object.class, String.class, Date.class, String.class);
+    private static final MethodHandle BAN_LIST_PARDON = resolveHandle(BanList.class, "pardon", Object.class);
 
     private static Object resolveBanProfileType() {
         try {
@@ -902,15 +939,14 @@ public class CompatUtil {
      */
     @SuppressWarnings({ "deprecation", "rawtypes" })
     public static void addBan(Player player, String reason, String source) {
-        if (BAN_TYPE_PROFILE != null && OFFLINE_PLAYER_PROFILE != null) {
+        if (BAN_TYPE_PROFILE != null && OFFLINE_PLAYER_PROFILE != null && BAN_LIST_ADD_BAN != null) {
             try {
                 BanList list = Bukkit.getServer().getBanList((BanList.Type) BAN_TYPE_PROFILE);
-                Object profile = OFFLINE_PLAYER_PROFILE.invoke(player);
-                BanList.class
-                    .getMethod("addBan", Object.class, String.class, Date.class, String.class)
-                    .invoke(list, profile, reason, null, source);
+                Object profile = (Object) OFFLINE_PLAYER_PROFILE.invokeExact((Object) player);
+                Object ignored = (Object) BAN_LIST_ADD_BAN.invokeExact(
+                    (Object) list, profile, (Object) reason, (Object) null, (Object) source);
                 return;
-            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            } catch (Throwable e) {
                 // Fall through to the name-based ban list
             }
         }
@@ -924,13 +960,13 @@ public class CompatUtil {
      */
     @SuppressWarnings({ "deprecation", "rawtypes" })
     public static void pardon(OfflinePlayer player) {
-        if (BAN_TYPE_PROFILE != null && OFFLINE_PLAYER_PROFILE != null) {
+        if (BAN_TYPE_PROFILE != null && OFFLINE_PLAYER_PROFILE != null && BAN_LIST_PARDON != null) {
             try {
                 BanList list = Bukkit.getServer().getBanList((BanList.Type) BAN_TYPE_PROFILE);
-                Object profile = OFFLINE_PLAYER_PROFILE.invoke(player);
-                BanList.class.getMethod("pardon", Object.class).invoke(list, profile);
+                Object profile = (Object) OFFLINE_PLAYER_PROFILE.invokeExact((Object) player);
+                BAN_LIST_PARDON.invokeExact((Object) list, profile);
                 return;
-            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            } catch (Throwable e) {
                 // Fall through to the name-based ban list
             }
         }
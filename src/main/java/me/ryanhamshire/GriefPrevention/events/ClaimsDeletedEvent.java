@@ -0,0 +1,44 @@
+package me.ryanhamshire.GriefPrevention.events;
+
+import me.ryanhamshire.GriefPrevention.Claim;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * An {@link org.bukkit.event.Event Event} called once after a batch of top-level {@link Claim Claims}
+ * is deleted together, such as all claims of a player or all claims in a world.
+ *
+ * <p>Subdivisions are deleted along with their top-level claim and are not listed separately.
+ * When the deletion fires per-claim events, a {@link ClaimDeletedEvent} is still called for every
+ * claim before this event.
+ */
+public class ClaimsDeletedEvent extends MultiClaimEvent
+{
+
+    /**
+     * Construct a new {@code ClaimsDeletedEvent}.
+     *
+     * @param claims the deleted top-level claims
+     */
+    public ClaimsDeletedEvent(@NotNull Collection<Claim> claims)
+    {
+        super(claims);
+    }
+
+    // Listenable event requirements
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    public static HandlerList getHandlerList()
+    {
+        return HANDLERS;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers()
+    {
+        return HANDLERS;
+    }
+
+}
@@ -10,14 +10,31 @@ import org.bukkit.OfflinePlayer;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.LongSupplier;
 
 public class PlaceholderAPIExpansion extends PlaceholderExpansion
 {
+    // Catches trust that changes without a claim save, such as permission nodes or listener outcomes.
+    private static final long CONTEXT_LIFETIME_MILLIS = 1000L;
+
     private final GriefPrevention plugin;
+    private final LongSupplier clock;
+    private final Map<Player, ClaimContext> contexts = Collections.synchronizedMap(new WeakHashMap<>());
 
     public PlaceholderAPIExpansion(@NotNull GriefPrevention plugin)
+    {
+        this(plugin, System::currentTimeMillis);
+    }
+
+    PlaceholderAPIExpansion(@NotNull GriefPrevention plugin, @NotNull LongSupplier clock)
     {
         this.plugin = plugin;
+        this.clock = clock;
     }
 
     @Override
@@ -53,9 +70,8 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion
             return "";
         }
 
-        Location location = player.getLocation();
-        Claim topLevelClaim = plugin.dataStore.getClaimAt(location, false, null);
-        Claim claim = findInnermostClaim(topLevelClaim, location);
+        ClaimContext context = getContext(player);
+        Claim claim = context.claim;
 
         switch (params.toLowerCase()) {
             case "in_subdivision":
@@ -63,16 +79,53 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion
             case "in_3d_subdivision":
                 return claim != null && claim.parent != null && claim.is3D() ? "true" : "false";
             case "is_trusted":
-                return claim != null && claim.checkPermission(player, ClaimPermission.Access, null) == null
-                        ? "true"
-                        : "false";
+                Boolean trusted = context.trusted;
+                if (trusted == null)
+                {
+                    trusted = claim != null && claim.checkPermission(player, ClaimPermission.Access, null) == null;
+                    context.trusted = trusted;
+                }
+                return trusted ? "true" : "false";
             case "trust_level":
-                return getTrustLevel(player, claim);
+                String trustLevel = context.trustLevel;
+                if (trustLevel == null)
+                {
+                    trustLevel = getTrustLevel(player, claim);
+                    context.trustLevel = trustLevel;
+                }
+                return trustLevel;
             default:
                 return "";
         }
     }
 
+    /**
+     * Scoreboards ask for several placeholders per player every few ticks, so the claim lookup and
+     * trust checks are reused until the player changes block or any claim changes.
+     */
+    private @NotNull ClaimContext getContext(@NotNull Player player)
+    {
+        Location location = player.getLocation();
+        World world = location.getWorld();
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        long version = plugin.dataStore.getClaimsVersion();
+        long now = clock.getAsLong();
+
+        ClaimContext context = contexts.get(player);
+        if (context != null && context.matches(world, x, y, z, version, now))
+        {
+            return context;
+        }
+
+        Claim topLevelClaim = plugin.dataStore.getClaimAt(location, false, context == null ? null : context.topLevelClaim);
+        context = new ClaimContext(world, x, y, z, version, now + CONTEXT_LIFETIME_MILLIS,
+                topLevelClaim, findInnermostClaim(topLevelClaim, location));
+        contexts.put(player, context);
+        return context;
+    }
+
     private String getTrustLevel(Player player, Claim claim)
     {
         if (claim == null)
@@ -154,4 +207,37 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion
 
         return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
     }
+
+    private static final class ClaimContext
+    {
+        private final World world;
+        private final int x;
+        private final int y;
+        private final int z;
+        private final long version;
+        private final long expiresAt;
+        private final @Nullable Claim topLevelClaim;
+        private final @Nullable Claim claim;
+        private volatile Boolean trusted;
+        private volatile String trustLevel;
+
+        private ClaimContext(World world, int x, int y, int z, long version, long expiresAt,
+                @Nullable Claim topLevelClaim, @Nullable Claim claim)
+        {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.version = version;
+            this.expiresAt = expiresAt;
+            this.topLevelClaim = topLevelClaim;
+            this.claim = claim;
+        }
+
+        private boolean matches(World world, int x, int y, int z, long version, long now)
+        {
+            return this.world == world && this.x == x && this.y == y && this.z == z
+                    && this.version == version && now < this.expiresAt;
+        }
+    }
 }
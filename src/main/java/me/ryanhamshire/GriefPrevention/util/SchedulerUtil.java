@@ -19,6 +19,11 @@ public final class SchedulerUtil {
 
     private SchedulerUtil() {}
 
+    // Whether tasks touching an entity must run on that entity's region thread.
+    public static boolean isFolia() {
+        return FOLIA_PRESENT;
+    }
+
     private static boolean hasMethod(Class<?> clazz, String name) {
         for (Method m : clazz.getMethods()) {
             if (m.getName().equals(name)) return true;
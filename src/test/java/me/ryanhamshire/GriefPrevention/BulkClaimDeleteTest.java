@@ -0,0 +1,205 @@
+package me.ryanhamshire.GriefPrevention;
+
+import com.griefprevention.claims.ClaimChangeJournal;
+import com.griefprevention.claims.ClaimMutationQueue;
+import com.griefprevention.claims.ClaimSnapshotIndex;
+import com.griefprevention.test.ServerMocks;
+import me.ryanhamshire.GriefPrevention.events.ClaimsDeletedEvent;
+import me.ryanhamshire.GriefPrevention.events.PreDeleteClaimEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.event.Event;
+import org.bukkit.plugin.PluginManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Batch deletion of whole claim trees, as used by the delete-all and world wipe commands.
+ */
+class BulkClaimDeleteTest
+{
+    private static final UUID OWNER = UUID.fromString("0f6d2c1e-5a4b-4c3d-8e2f-1a0b9c8d7e6f");
+    private static final UUID OTHER = UUID.fromString("9e8d7c6b-5a4f-4e3d-2c1b-0a9f8e7d6c5b");
+
+    private final List<Event> events = new ArrayList<>();
+    private GriefPrevention previousInstance;
+    private DataStore dataStore;
+    private ConcurrentHashMap<Long, Claim> claimIDMap;
+    private World world;
+
+    @BeforeEach
+    void setUp() throws ReflectiveOperationException
+    {
+        Server server = ServerMocks.newServer();
+        PluginManager pluginManager = mock(PluginManager.class);
+        doAnswer(invocation ->
+        {
+            Event event = invocation.getArgument(0);
+            this.events.add(event);
+            return null;
+        }).when(pluginManager).callEvent(any());
+        doReturn(pluginManager).when(server).getPluginManager();
+        Bukkit.setServer(server);
+
+        this.dataStore = mock(DataStore.class, CALLS_REAL_METHODS);
+        this.dataStore.claims = new ArrayList<>();
+        this.dataStore.chunksToClaimsMap = new ConcurrentHashMap<>();
+        this.dataStore.playerNameToPlayerDataMap = new ConcurrentHashMap<>();
+        this.dataStore.playerDataWriter = new PlayerDataWriter(this.dataStore);
+        this.claimIDMap = new ConcurrentHashMap<>();
+        setField("claimIDMap", this.claimIDMap);
+        setField("claimSnapshotIndex", new ClaimSnapshotIndex());
+        setField("claimsVersion", new AtomicLong());
+        setField("claimMutations", new ClaimMutationQueue(Runnable::run));
+        setField("claimJournal", new ClaimChangeJournal(16));
+        doReturn(0).when(this.dataStore).getGroupBonusBlocks(any());
+        doReturn(new PlayerData()).when(this.dataStore).getPlayerDataFromStorage(any());
+
+        GriefPrevention plugin = mock(GriefPrevention.class);
+        plugin.dataStore = this.dataStore;
+        this.previousInstance = GriefPrevention.instance;
+        GriefPrevention.instance = plugin;
+
+        this.world = mock(World.class);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        GriefPrevention.instance = this.previousInstance;
+        ServerMocks.unsetBukkitServer();
+    }
+
+    @Test
+    void deletesEveryTreeOfThePlayerInOneBatch()
+    {
+        Claim first = this.add(1L, OWNER, 0);
+        Claim subdivision = this.addSubdivision(first, 2L);
+        Claim second = this.add(3L, OWNER, 200);
+        Claim kept = this.add(4L, OTHER, 400);
+
+        this.dataStore.deleteClaimsForPlayer(OWNER, false);
+
+        assertEquals(Collections.singletonList(kept), this.dataStore.claims);
+        assertFalse(first.inDataStore);
+        assertFalse(subdivision.inDataStore);
+        assertFalse(second.inDataStore);
+        assertTrue(first.children.isEmpty());
+        assertNull(this.claimIDMap.get(2L));
+        assertEquals(Collections.singleton(4L), this.claimIDMap.keySet());
+        for (List<Claim> claimsInChunk : this.dataStore.chunksToClaimsMap.values())
+        {
+            assertEquals(Collections.singletonList(kept), claimsInChunk);
+        }
+        assertTrue(this.dataStore.getPlayerData(OWNER).getClaims().isEmpty());
+        verify(this.dataStore, times(1)).deleteClaimsFromSecondaryStorage(Arrays.asList(subdivision, first, second));
+
+        List<Event> batches = new ArrayList<>(this.events);
+        batches.removeIf(event -> !(event instanceof ClaimsDeletedEvent));
+        assertEquals(1, batches.size());
+        assertEquals(2, ((ClaimsDeletedEvent) batches.get(0)).getClaims().size());
+    }
+
+    @Test
+    void cancelledClaimsAreKept()
+    {
+        Claim cancelled = this.add(1L, OWNER, 0);
+        Claim deleted = this.add(2L, OWNER, 200);
+        PluginManager pluginManager = Bukkit.getPluginManager();
+        doAnswer(invocation ->
+        {
+            Event event = invocation.getArgument(0);
+            if (event instanceof PreDeleteClaimEvent && ((PreDeleteClaimEvent) event).getClaim() == cancelled)
+            {
+                ((PreDeleteClaimEvent) event).setCancelled(true);
+            }
+            return null;
+        }).when(pluginManager).callEvent(any());
+
+        List<Claim> result = this.dataStore.deleteTopLevelClaims(Arrays.asList(cancelled, deleted), true, false);
+
+        assertEquals(Collections.singletonList(deleted), result);
+        assertEquals(Collections.singletonList(cancelled), this.dataStore.claims);
+        assertTrue(cancelled.inDataStore);
+    }
+
+    @Test
+    void worldWipeCountsDeletedClaims()
+    {
+        this.add(1L, OWNER, 0);
+        this.add(2L, OTHER, 200);
+
+        assertEquals(2, this.dataStore.deleteClaimsInWorld(this.world, true));
+        assertTrue(this.dataStore.claims.isEmpty());
+    }
+
+    private Claim add(long id, UUID owner, int x)
+    {
+        Claim claim = new Claim(
+                new Location(this.world, x, 0, 0),
+                new Location(this.world, x + 20, 0, 20),
+                owner,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                id);
+        claim.inDataStore = true;
+        this.dataStore.claims.add(claim);
+        this.claimIDMap.put(id, claim);
+        for (Long chunkHash : DataStore.getChunkHashes(claim))
+        {
+            this.dataStore.chunksToClaimsMap.computeIfAbsent(chunkHash, ignored -> new ArrayList<>()).add(claim);
+        }
+        return claim;
+    }
+
+    private Claim addSubdivision(Claim parent, long id)
+    {
+        Claim subdivision = new Claim(
+                new Location(this.world, 2, 0, 2),
+                new Location(this.world, 6, 0, 6),
+                null,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                id);
+        subdivision.parent = parent;
+        subdivision.inDataStore = true;
+        parent.children.add(subdivision);
+        this.claimIDMap.put(id, subdivision);
+        return subdivision;
+    }
+
+    private void setField(String name, Object value) throws ReflectiveOperationException
+    {
+        Field field = DataStore.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(this.dataStore, value);
+    }
+}
@@ -0,0 +1,149 @@
+package me.ryanhamshire.GriefPrevention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("null")
+class ClaimOverlapCandidatesTest
+{
+    private static final UUID OWNER = UUID.fromString("0f5e4a38-5d5b-4e4b-9c1c-2f7f3b4a2c11");
+
+    @Test
+    void candidatesKeepClaimListOrder()
+    {
+        World world = world("world");
+        DataStore dataStore = emptyDataStore();
+        // Added out of coordinate order so any sorting by position or id would show.
+        Claim third = add(dataStore, world, 30L, 8, 8, 12, 12);
+        Claim first = add(dataStore, world, 10L, 0, 0, 20, 20);
+        Claim second = add(dataStore, world, 20L, 15, 15, 40, 40);
+
+        assertEquals(Arrays.asList(third, first, second),
+                dataStore.getTopLevelClaimsUnder(claim(99L, world, 10, 10, 16, 16)));
+    }
+
+    @Test
+    void candidatesSkipOtherWorldsAndSubdivisions()
+    {
+        World world = world("world");
+        World nether = world("world_nether");
+        DataStore dataStore = emptyDataStore();
+        Claim parent = add(dataStore, world, 1L, 0, 0, 50, 50);
+        add(dataStore, nether, 2L, 0, 0, 50, 50);
+        Claim subdivision = claim(3L, world, 5, 5, 10, 10);
+        subdivision.parent = parent;
+        subdivision.inDataStore = true;
+        index(dataStore, subdivision);
+
+        assertEquals(Collections.singletonList(parent),
+                dataStore.getTopLevelClaimsUnder(claim(99L, world, 4, 4, 12, 12)));
+    }
+
+    @Test
+    void firstConflictMatchesFullScan()
+    {
+        World world = world("world");
+        DataStore dataStore = populated(world, 5_000, 4_000);
+        Random random = new Random(32L);
+        for (int i = 0; i < 500; i++)
+        {
+            Claim resized = randomClaim(random, world, -1L, 4_000);
+            assertEquals(firstConflict(dataStore.claims, resized),
+                    firstConflict(dataStore.getTopLevelClaimsUnder(resized), resized),
+                    "query " + i);
+        }
+    }
+
+    private static Claim firstConflict(List<Claim> claimsToCheck, Claim newClaim)
+    {
+        for (Claim otherClaim : claimsToCheck)
+        {
+            if (otherClaim.inDataStore && otherClaim.overlaps(newClaim))
+            {
+                return otherClaim;
+            }
+        }
+        return null;
+    }
+
+    private static DataStore populated(World world, int count, int spread)
+    {
+        DataStore dataStore = emptyDataStore();
+        Random random = new Random(count);
+        for (long id = 0; id < count; id++)
+        {
+            add(dataStore, randomClaim(random, world, id, spread));
+        }
+        return dataStore;
+    }
+
+    private static Claim randomClaim(Random random, World world, long id, int spread)
+    {
+        int x = random.nextInt(spread * 2) - spread;
+        int z = random.nextInt(spread * 2) - spread;
+        return claim(id, world, x, z, x + 5 + random.nextInt(60), z + 5 + random.nextInt(60));
+    }
+
+    private static DataStore emptyDataStore()
+    {
+        DataStore dataStore = mock(DataStore.class, CALLS_REAL_METHODS);
+        dataStore.claims = new ArrayList<>();
+        dataStore.chunksToClaimsMap = new ConcurrentHashMap<>();
+        return dataStore;
+    }
+
+    private static Claim add(DataStore dataStore, World world, long id, int minX, int minZ, int maxX, int maxZ)
+    {
+        return add(dataStore, claim(id, world, minX, minZ, maxX, maxZ));
+    }
+
+    private static Claim add(DataStore dataStore, Claim claim)
+    {
+        claim.inDataStore = true;
+        claim.dataStoreOrder = dataStore.claims.size();
+        dataStore.claims.add(claim);
+        index(dataStore, claim);
+        return claim;
+    }
+
+    private static void index(DataStore dataStore, Claim claim)
+    {
+        for (Long chunkHash : DataStore.getChunkHashes(claim))
+        {
+            dataStore.chunksToClaimsMap.computeIfAbsent(chunkHash, ignored -> new ArrayList<>()).add(claim);
+        }
+    }
+
+    private static Claim claim(long id, World world, int minX, int minZ, int maxX, int maxZ)
+    {
+        return new Claim(
+                new Location(world, minX, 0, minZ),
+                new Location(world, maxX, 0, maxZ),
+                OWNER,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                id);
+    }
+
+    private static World world(String name)
+    {
+        World world = mock(World.class);
+        when(world.getName()).thenReturn(name);
+        return world;
+    }
+}
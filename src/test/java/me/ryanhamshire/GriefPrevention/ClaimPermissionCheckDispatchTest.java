@@ -0,0 +1,124 @@
+package me.ryanhamshire.GriefPrevention;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.griefprevention.test.ServerMocks;
+import java.util.Collections;
+import java.util.UUID;
+import me.ryanhamshire.GriefPrevention.events.ClaimPermissionCheckEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("null")
+class ClaimPermissionCheckDispatchTest {
+
+    private static final UUID OWNER_ID = UUID.fromString("2b7e4c1a-9d3f-4e8b-a5c6-0f1e2d3c4b5a");
+
+    private PluginManager pluginManager;
+    private Player owner;
+    private RegisteredListener addonListener;
+
+    @BeforeEach
+    void setUp() {
+        Server server = ServerMocks.newServer();
+        this.pluginManager = mock(PluginManager.class);
+        doReturn(this.pluginManager).when(server).getPluginManager();
+        Bukkit.setServer(server);
+
+        GriefPrevention plugin = mock(GriefPrevention.class);
+        DataStore dataStore = mock(DataStore.class);
+        plugin.dataStore = dataStore;
+        GriefPrevention.instance = plugin;
+        when(dataStore.getPlayerData(OWNER_ID)).thenReturn(new PlayerData());
+
+        this.owner = mock(Player.class);
+        when(this.owner.getUniqueId()).thenReturn(OWNER_ID);
+        when(server.getPlayer(OWNER_ID)).thenReturn(this.owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (this.addonListener != null) {
+            ClaimPermissionCheckEvent.getHandlerList().unregister(this.addonListener);
+        }
+        GriefPrevention.instance = null;
+        ServerMocks.unsetBukkitServer();
+    }
+
+    @Test
+    void noListenersMeansNoDispatch() {
+        Claim claim = claim();
+
+        assertNull(claim.checkPermission(this.owner, ClaimPermission.Build, null));
+        verify(this.pluginManager, never()).callEvent(any());
+    }
+
+    @Test
+    void siegeRulesApplyWithoutDispatch() {
+        Claim claim = claim();
+        claim.siegeData = new SiegeData(mock(Player.class), this.owner, claim);
+
+        assertNotNull(claim.checkPermission(this.owner, ClaimPermission.Edit, null));
+        verify(this.pluginManager, never()).callEvent(any());
+    }
+
+    @Test
+    void registeredListenersStillDecide() {
+        registerAddonListener();
+        Event trigger = mock(Event.class);
+        doAnswer(invocation -> {
+            ClaimPermissionCheckEvent event = invocation.getArgument(0);
+            assertSame(trigger, event.getTriggeringEvent());
+            assertNull(event.getDenialReason());
+            event.setDenialReason(() -> "denied by addon");
+            return null;
+        }).when(this.pluginManager).callEvent(any(ClaimPermissionCheckEvent.class));
+
+        assertNotNull(claim().checkPermission(this.owner, ClaimPermission.Build, trigger));
+        verify(this.pluginManager).callEvent(any(ClaimPermissionCheckEvent.class));
+    }
+
+    private void registerAddonListener() {
+        this.addonListener = new RegisteredListener(
+            mock(Listener.class),
+            (listener, event) -> { },
+            EventPriority.NORMAL,
+            mock(Plugin.class),
+            false
+        );
+        ClaimPermissionCheckEvent.getHandlerList().register(this.addonListener);
+    }
+
+    private static Claim claim() {
+        return new Claim(
+            new Location(null, 0, 64, 0),
+            new Location(null, 9, 64, 9),
+            OWNER_ID,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            1L
+        );
+    }
+}
@@ -0,0 +1,268 @@
+package me.ryanhamshire.GriefPrevention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.griefprevention.claims.ClaimChangeJournal;
+import com.griefprevention.claims.ClaimMutationQueue;
+import com.griefprevention.claims.ClaimSnapshotIndex;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link DataStore#getClaimAt} reading the claim snapshot index while the claim writer resizes and
+ * deletes claims, and returning what the chunk cache lookup returned for nested subdivisions.
+ */
+@SuppressWarnings("null")
+class DataStoreClaimLookupTest
+{
+    private static final int READERS = 4;
+    private static final int EDITS = 2000;
+
+    private GriefPrevention previousInstance;
+    private DataStore dataStore;
+    private World world;
+
+    // Nested layout: top-level claim A holds 2D subdivision B, which holds 3D subdivision E, and
+    // two 3D subdivisions C and D stacked in one column.
+    private Claim a;
+    private Claim b;
+    private Claim c;
+    private Claim d;
+    private Claim e;
+
+    @BeforeEach
+    void setUp()
+    {
+        this.dataStore = mock(DataStore.class, CALLS_REAL_METHODS);
+        this.dataStore.claims = new ArrayList<>();
+        this.dataStore.chunksToClaimsMap = new ConcurrentHashMap<>();
+        this.setField("claimIDMap", new ConcurrentHashMap<Long, Claim>());
+        this.setField("claimSnapshotIndex", new ClaimSnapshotIndex());
+        this.setField("claimsVersion", new AtomicLong());
+        this.setField("claimMutations", new ClaimMutationQueue(Runnable::run));
+        this.setField("claimJournal", new ClaimChangeJournal(16));
+
+        GriefPrevention plugin = mock(GriefPrevention.class);
+        plugin.dataStore = this.dataStore;
+        this.previousInstance = GriefPrevention.instance;
+        GriefPrevention.instance = plugin;
+
+        this.world = mock(World.class);
+        when(this.world.getName()).thenReturn("world");
+        when(this.world.getMinHeight()).thenReturn(-64);
+        when(this.world.getMaxHeight()).thenReturn(320);
+        WorldBorder border = mock(WorldBorder.class);
+        when(border.isInside(any(Location.class))).thenReturn(true);
+        when(this.world.getWorldBorder()).thenReturn(border);
+
+        this.a = this.add(claim(1L, 0, 0, 0, 99, 0, 99, false), null);
+        this.b = this.add(claim(2L, 10, 0, 10, 49, 0, 49, false), this.a);
+        this.c = this.add(claim(3L, 60, 0, 60, 89, 9, 89, true), this.a);
+        this.d = this.add(claim(4L, 60, 10, 60, 89, 19, 89, true), this.a);
+        this.e = this.add(claim(5L, 20, 30, 20, 29, 39, 29, true), this.b);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        GriefPrevention.instance = this.previousInstance;
+    }
+
+    // Expected claims are what the chunk cache lookup returned for this layout.
+    @Test
+    void nestedSubdivisionsMatchTheChunkCacheLookup()
+    {
+        assertSame(this.a, this.claimAt(5, 64, 5, false, null));
+        assertSame(this.b, this.claimAt(15, 64, 15, false, null));
+        assertSame(this.e, this.claimAt(25, 35, 25, false, null));
+        assertSame(this.b, this.claimAt(25, 64, 25, false, null));
+        assertSame(this.c, this.claimAt(70, 5, 70, false, null));
+        assertSame(this.d, this.claimAt(70, 15, 70, false, null));
+        assertSame(this.a, this.claimAt(70, 64, 70, false, null));
+        assertNull(this.claimAt(150, 64, 150, false, null));
+
+        assertSame(this.a, this.claimAt(5, 64, 5, true, null));
+        assertNull(this.claimAt(15, 64, 15, true, null));
+        assertSame(this.c, this.claimAt(70, 5, 70, true, null));
+    }
+
+    @Test
+    void cachedClaimIsNarrowedToTheMostSpecificClaim()
+    {
+        assertSame(this.c, this.claimAt(70, 5, 70, false, this.a));
+        assertSame(this.b, this.claimAt(15, 64, 15, false, this.a));
+        assertSame(this.e, this.claimAt(25, 35, 25, false, this.a));
+        assertSame(this.a, this.claimAt(70, 64, 70, false, this.a));
+        assertSame(this.b, this.claimAt(25, 64, 25, false, this.b));
+    }
+
+    @Test
+    void cachedClaimThatMissesFallsBackToTheIndex()
+    {
+        // Cached 3D claim below the location.
+        assertSame(this.d, this.claimAt(70, 15, 70, false, this.c));
+        // Cached claim that does not reach the location.
+        assertNull(this.claimAt(150, 64, 150, false, this.a));
+
+        Claim deleted = claim(6L, 0, 0, 0, 9, 0, 9, false);
+        assertSame(this.a, this.claimAt(5, 64, 5, false, deleted));
+    }
+
+    @Test
+    void lookupsStayConsistentWhileClaimsAreResizedAndDeleted() throws Exception
+    {
+        // Resized between x 200..219 and x 200..239; the first 20 columns stay inside it throughout.
+        Claim resized = this.add(claim(10L, 200, 0, 0, 219, 0, 19, false), null);
+        // Deleted and re-added with a 3D subdivision under a new id on every edit.
+        Set<Claim> churned = ConcurrentHashMap.newKeySet();
+
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        AtomicBoolean editing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        try
+        {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int reader = 0; reader < READERS; reader++)
+            {
+                readers.add(executor.submit(() ->
+                {
+                    Claim cached = null;
+                    try
+                    {
+                        while (editing.get())
+                        {
+                            Claim inside = this.claimAt(205, 64, 5, false, cached);
+                            assertSame(resized, inside);
+                            cached = inside;
+
+                            Claim edge = this.claimAt(230, 64, 5, false, cached);
+                            assertTrue(edge == null || edge == resized, "resize edge: " + edge);
+
+                            Claim top = this.claimAt(310, 64, 10, false, null);
+                            assertTrue(top == null || (top.parent == null && churned.contains(top)), "churned: " + top);
+
+                            Claim nested = this.claimAt(305, 5, 5, false, top);
+                            assertTrue(nested == null || churned.contains(nested)
+                                    || (nested.parent != null && churned.contains(nested.parent)),
+                                    "churned subdivision: " + nested);
+                        }
+                    }
+                    catch (Throwable failure)
+                    {
+                        failures.add(failure);
+                    }
+                }));
+            }
+
+            Future<?> writer = executor.submit(() ->
+            {
+                try
+                {
+                    for (int edit = 0; edit < EDITS; edit++)
+                    {
+                        int y = resized.getLesserBoundaryCorner().getBlockY();
+                        CreateClaimResult result = this.dataStore.resizeClaim(resized,
+                                200, edit % 2 == 0 ? 239 : 219, y, y, 0, 19, null);
+                        assertTrue(result.succeeded, "resize " + edit);
+
+                        long id = 100L + edit * 2L;
+                        Claim top = claim(id, 300, 0, 0, 319, 0, 19, false);
+                        Claim nested = claim(id + 1, 300, 0, 0, 309, 9, 9, true);
+                        churned.add(top);
+                        this.add(top, null);
+                        this.add(nested, top);
+                        this.dataStore.deleteClaim(top, false, false);
+                    }
+                }
+                catch (Throwable failure)
+                {
+                    failures.add(failure);
+                }
+                finally
+                {
+                    editing.set(false);
+                }
+            });
+
+            writer.get(60, TimeUnit.SECONDS);
+            for (Future<?> reader : readers)
+            {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            editing.set(false);
+            executor.shutdownNow();
+        }
+
+        assertEquals(Collections.emptyList(), failures);
+        assertSame(resized, this.claimAt(215, 64, 5, false, null));
+        assertNull(this.claimAt(310, 64, 10, false, null));
+    }
+
+    private Claim claimAt(int x, int y, int z, boolean ignoreSubclaims, Claim cachedClaim)
+    {
+        return this.dataStore.getClaimAt(new Location(this.world, x, y, z), false, ignoreSubclaims, cachedClaim);
+    }
+
+    private Claim add(Claim claim, Claim parent)
+    {
+        claim.parent = parent;
+        this.dataStore.addClaim(claim, false);
+        return claim;
+    }
+
+    private Claim claim(long id, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, boolean is3D)
+    {
+        return new Claim(
+                new Location(this.world, minX, minY, minZ),
+                new Location(this.world, maxX, maxY, maxZ),
+                null,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                false,
+                id,
+                is3D);
+    }
+
+    private void setField(String name, Object value)
+    {
+        try
+        {
+            Field field = DataStore.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(this.dataStore, value);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeliverClaimBlocksTaskTest
+{
+    private static final UUID PLAYER_ID = UUID.fromString("3f0d8a8e-7c38-4c5b-a6a1-5d2f9e4b7c01");
+
+    @Test
+    void activePlayerGetsOneDeliveryOfTheHourlyRate()
+    {
+        GriefPrevention plugin = plugin(0);
+        PlayerData playerData = mock(PlayerData.class);
+        Player player = player(plugin, playerData, true);
+        DeliverClaimBlocksTask task = new DeliverClaimBlocksTask(plugin);
+        DeliverClaimBlocksTask.Sweep sweep = task.new Sweep(1);
+
+        task.deliver(player, sweep);
+
+        verify(playerData).accrueBlocks(100);
+        assertEquals(1, sweep.count(DeliverClaimBlocksTask.Outcome.DELIVERED));
+    }
+
+    @Test
+    void idlePlayerIsSkippedUnlessIdleAccrualIsEnabled()
+    {
+        GriefPrevention plugin = plugin(0);
+        PlayerData playerData = mock(PlayerData.class);
+        Player player = player(plugin, playerData, true);
+        playerData.lastAfkCheckLocation = player.getLocation();
+        DeliverClaimBlocksTask task = new DeliverClaimBlocksTask(plugin);
+        DeliverClaimBlocksTask.Sweep sweep = task.new Sweep(1);
+
+        task.deliver(player, sweep);
+
+        verify(playerData, never()).accrueBlocks(anyInt());
+        assertEquals(1, sweep.count(DeliverClaimBlocksTask.Outcome.IDLE));
+    }
+
+    @Test
+    void idlePercentScalesTheDelivery()
+    {
+        GriefPrevention plugin = plugin(50);
+        PlayerData playerData = mock(PlayerData.class);
+        Player player = player(plugin, playerData, true);
+        playerData.lastAfkCheckLocation = player.getLocation();
+        DeliverClaimBlocksTask task = new DeliverClaimBlocksTask(plugin);
+
+        task.deliver(player, task.new Sweep(1));
+
+        verify(playerData).accrueBlocks(50);
+    }
+
+    @Test
+    void playersWithoutPermissionAreCountedAsSkipped()
+    {
+        GriefPrevention plugin = plugin(0);
+        PlayerData playerData = mock(PlayerData.class);
+        Player permitted = player(plugin, playerData, true);
+        Player denied = player(plugin, playerData, false);
+        DeliverClaimBlocksTask task = new DeliverClaimBlocksTask(plugin);
+        DeliverClaimBlocksTask.Sweep sweep = task.new Sweep(2);
+
+        task.deliver(permitted, sweep);
+        task.deliver(denied, sweep);
+
+        assertEquals(1, sweep.count(DeliverClaimBlocksTask.Outcome.DELIVERED));
+        assertEquals(1, sweep.count(DeliverClaimBlocksTask.Outcome.NO_PERMISSION));
+    }
+
+    private static GriefPrevention plugin(int idlePercent)
+    {
+        GriefPrevention plugin = mock(GriefPrevention.class);
+        plugin.config_claims_blocksAccruedPerHour_default = 600;
+        plugin.config_claims_accruedIdleThreshold = 3;
+        plugin.config_claims_accruedIdlePercent = idlePercent;
+        plugin.dataStore = mock(DataStore.class);
+        return plugin;
+    }
+
+    private static Player player(GriefPrevention plugin, PlayerData playerData, boolean canAccrue)
+    {
+        World world = mock(World.class);
+        Block block = mock(Block.class);
+        when(world.getBlockAt(any(Location.class))).thenReturn(block);
+        when(world.getBlockAt(anyInt(), anyInt(), anyInt())).thenReturn(block);
+        Location location = new Location(world, 10, 64, 10);
+
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(PLAYER_ID);
+        when(player.getName()).thenReturn("accruer");
+        when(player.isOnline()).thenReturn(true);
+        when(player.getLocation()).thenReturn(location);
+        when(player.hasPermission("griefprevention.accruals")).thenReturn(canAccrue);
+        when(plugin.dataStore.getPlayerData(PLAYER_ID)).thenReturn(playerData);
+        return player;
+    }
+}
@@ -0,0 +1,185 @@
+package me.ryanhamshire.GriefPrevention;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.griefprevention.claims.ClaimSnapshotIndex;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("null")
+class ExplosionClaimLookupTest
+{
+    private static final UUID OWNER = UUID.fromString("0f5e4a38-5d5b-4e4b-9c1c-2f7f3b4a2c11");
+
+    @Test
+    void matchesGetClaimAtAcrossExplosions()
+    {
+        World world = world("world");
+        World nether = world("world_nether");
+        DataStore dataStore = emptyDataStore();
+        Random random = new Random(40L);
+        for (long id = 0; id < 300; id++)
+        {
+            int x = random.nextInt(400) - 200;
+            int z = random.nextInt(400) - 200;
+            Claim claim = add(dataStore, claim(id, id % 5 == 0 ? nether : world,
+                    x, z, x + random.nextInt(30), z + random.nextInt(30)));
+            if (id % 7 == 0)
+            {
+                claim.inDataStore = false;
+            }
+        }
+
+        for (int explosion = 0; explosion < 100; explosion++)
+        {
+            int centerX = random.nextInt(440) - 220;
+            int centerZ = random.nextInt(440) - 220;
+            ExplosionClaimLookup lookup = new ExplosionClaimLookup(dataStore, world, null);
+            for (int x = centerX - 4; x <= centerX + 4; x++)
+            {
+                for (int z = centerZ - 4; z <= centerZ + 4; z++)
+                {
+                    Block block = block(new Location(world, x, 64, z));
+                    assertSame(dataStore.getClaimAt(block.getLocation(), false, null), lookup.getClaimAt(block),
+                            "explosion " + explosion + " at " + x + "," + z);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unclaimedColumnsSkipTheDataStore()
+    {
+        World world = world("world");
+        DataStore dataStore = emptyDataStore();
+        Claim claim = add(dataStore, claim(1L, world, 0, 0, 5, 5));
+        add(dataStore, claim(2L, world("world_nether"), 0, 0, 15, 15));
+        ExplosionClaimLookup lookup = new ExplosionClaimLookup(dataStore, world, null);
+
+        assertNull(lookup.getClaimAt(block(new Location(world, 10, 64, 10))));
+        assertNull(lookup.getClaimAt(block(new Location(world, 40, 64, 40))));
+        verify(dataStore, never()).getClaimAt(any(Location.class), anyBoolean(), any());
+
+        assertSame(claim, lookup.getClaimAt(block(new Location(world, 3, 64, 3))));
+        assertSame(claim, lookup.getCachedClaim());
+
+        clearInvocations(dataStore);
+        assertNull(lookup.getClaimAt(block(new Location(world, 6, 64, 6))));
+        verify(dataStore, never()).getClaimAt(any(Location.class), anyBoolean(), any());
+    }
+
+    private static DataStore emptyDataStore()
+    {
+        DataStore dataStore = mock(DataStore.class, CALLS_REAL_METHODS);
+        dataStore.claims = new ArrayList<>();
+        dataStore.chunksToClaimsMap = new ConcurrentHashMap<>();
+        setField(dataStore, "claimIDMap", new ConcurrentHashMap<Long, Claim>());
+        setField(dataStore, "claimSnapshotIndex", new ClaimSnapshotIndex());
+        return dataStore;
+    }
+
+    private static void setField(DataStore dataStore, String name, Object value)
+    {
+        try
+        {
+            Field field = DataStore.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(dataStore, value);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Claim add(DataStore dataStore, Claim claim)
+    {
+        claim.inDataStore = true;
+        claim.dataStoreOrder = dataStore.claims.size();
+        dataStore.claims.add(claim);
+        dataStore.claimIDMap.put(claim.getID(), claim);
+        getSnapshotIndex(dataStore).put(claim.getSnapshot());
+        for (Long chunkHash : DataStore.getChunkHashes(claim))
+        {
+            dataStore.chunksToClaimsMap.computeIfAbsent(chunkHash, ignored -> new ArrayList<>()).add(claim);
+        }
+        return claim;
+    }
+
+    private static ClaimSnapshotIndex getSnapshotIndex(DataStore dataStore)
+    {
+        try
+        {
+            Field field = DataStore.class.getDeclaredField("claimSnapshotIndex");
+            field.setAccessible(true);
+            return (ClaimSnapshotIndex) field.get(dataStore);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Claim claim(long id, World world, int minX, int minZ, int maxX, int maxZ)
+    {
+        return new Claim(
+                new Location(world, minX, 0, minZ),
+                new Location(world, maxX, 0, maxZ),
+                OWNER,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                id);
+    }
+
+    // A proxy rather than a Mockito mock, since the comparison test creates thousands of blocks.
+    private static Block block(Location location)
+    {
+        return (Block) Proxy.newProxyInstance(Block.class.getClassLoader(), new Class<?>[] { Block.class },
+                (proxy, method, args) ->
+                {
+                    switch (method.getName())
+                    {
+                        case "getX":
+                            return location.getBlockX();
+                        case "getY":
+                            return location.getBlockY();
+                        case "getZ":
+                            return location.getBlockZ();
+                        case "getLocation":
+                            return location.clone();
+                        case "getWorld":
+                            return location.getWorld();
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static World world(String name)
+    {
+        World world = mock(World.class);
+        when(world.getName()).thenReturn(name);
+        when(world.getBlockAt(any(Location.class))).thenAnswer(invocation -> block(invocation.getArgument(0)));
+        return world;
+    }
+}
@@ -0,0 +1,113 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentifierListTest
+{
+    @Test
+    void containsFollowsEveryKindOfChange()
+    {
+        IdentifierList list = new IdentifierList();
+        for (int i = 0; i < 20; i++) list.add("player" + i);
+        assertTrue(list.contains("player19"));
+
+        list.remove("player19");
+        assertFalse(list.contains("player19"));
+
+        list.set(0, "replaced");
+        assertTrue(list.contains("replaced"));
+        assertFalse(list.contains("player0"));
+
+        ListIterator<String> iterator = list.listIterator();
+        iterator.next();
+        iterator.set("iterated");
+        assertTrue(list.contains("iterated"));
+        assertFalse(list.contains("replaced"));
+
+        list.replaceAll(String::toUpperCase);
+        assertTrue(list.contains("PLAYER5"));
+        assertFalse(list.contains("player5"));
+
+        list.clear();
+        assertFalse(list.contains("PLAYER5"));
+    }
+
+    @Test
+    void subListWritesAreSeen()
+    {
+        IdentifierList list = new IdentifierList();
+        for (int i = 0; i < 20; i++) list.add("player" + i);
+        assertTrue(list.contains("player3"));
+
+        List<String> view = list.subList(0, 5);
+        view.set(3, "viewed");
+        assertTrue(list.contains("viewed"));
+        assertFalse(list.contains("player3"));
+    }
+
+    @Test
+    void matchesArrayListUnderRandomChanges()
+    {
+        Random random = new Random(38);
+        IdentifierList list = new IdentifierList();
+        List<String> reference = new ArrayList<>();
+        for (int round = 0; round < 20_000; round++)
+        {
+            String identifier = "id" + random.nextInt(40);
+            switch (random.nextInt(5))
+            {
+                case 0:
+                case 1:
+                    list.add(identifier);
+                    reference.add(identifier);
+                    break;
+                case 2:
+                    list.remove(identifier);
+                    reference.remove(identifier);
+                    break;
+                case 3:
+                    if (!reference.isEmpty())
+                    {
+                        int position = random.nextInt(reference.size());
+                        list.set(position, identifier);
+                        reference.set(position, identifier);
+                    }
+                    break;
+                default:
+                    Iterator<String> iterator = list.iterator();
+                    if (iterator.hasNext() && random.nextInt(10) == 0)
+                    {
+                        iterator.next();
+                        iterator.remove();
+                        reference.remove(0);
+                    }
+                    break;
+            }
+            assertEquals(reference.contains(identifier), list.contains(identifier), "round " + round);
+        }
+        assertEquals(reference, list);
+    }
+
+    @Test
+    void copyStartsWithTheSameIdentifiers()
+    {
+        IdentifierList original = new IdentifierList();
+        for (int i = 0; i < 20; i++) original.add("player" + i);
+
+        IdentifierList copy = new IdentifierList(original);
+        original.clear();
+
+        assertTrue(copy.contains("player7"));
+        assertEquals(20, copy.size());
+    }
+}
@@ -0,0 +1,67 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+class IgnoreIndexTest
+{
+    private static final UUID ALICE = new UUID(0L, 1L);
+    private static final UUID BOB = new UUID(0L, 2L);
+    private static final UUID CAROL = new UUID(0L, 3L);
+
+    @Test
+    void tracksWhoIsIgnoringAPlayer()
+    {
+        IgnoreIndex index = new IgnoreIndex();
+        index.add(ALICE, CAROL);
+        index.add(BOB, CAROL);
+        index.add(ALICE, BOB);
+
+        assertEquals(new HashSet<>(Arrays.asList(ALICE, BOB)), index.getIgnorers(CAROL));
+        assertEquals(Collections.singleton(ALICE), index.getIgnorers(BOB));
+        assertTrue(index.getIgnorers(ALICE).isEmpty());
+    }
+
+    @Test
+    void unignoreAndUnloadDropTheReverseEdges()
+    {
+        IgnoreIndex index = new IgnoreIndex();
+        index.add(ALICE, CAROL);
+        index.add(ALICE, BOB);
+        index.add(BOB, CAROL);
+
+        index.remove(BOB, CAROL);
+        assertEquals(Collections.singleton(ALICE), index.getIgnorers(CAROL));
+
+        index.removeAll(ALICE, Arrays.asList(BOB, CAROL));
+        assertTrue(index.getIgnorers(CAROL).isEmpty());
+        assertTrue(index.getIgnorers(BOB).isEmpty());
+    }
+
+    @Test
+    void clearingCachedPlayerDataUnloadsItsIgnores()
+    {
+        DataStore dataStore = mock(DataStore.class, CALLS_REAL_METHODS);
+        dataStore.playerNameToPlayerDataMap = new ConcurrentHashMap<>();
+        dataStore.ignoreIndex = new IgnoreIndex();
+        PlayerData playerData = new PlayerData();
+        playerData.playerID = ALICE;
+        playerData.ignoredPlayers.put(CAROL, false);
+        dataStore.playerNameToPlayerDataMap.put(ALICE, playerData);
+        dataStore.ignoreIndex.add(ALICE, CAROL);
+
+        dataStore.clearCachedPlayerData(ALICE);
+
+        assertTrue(dataStore.ignoreIndex.getIgnorers(CAROL).isEmpty());
+    }
+}
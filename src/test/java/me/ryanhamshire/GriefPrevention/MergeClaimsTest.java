@@ -265,8 +265,11 @@ class MergeClaimsTest
 
     private static void putInWorld(Claim claim, World world)
     {
-        claim.lesserBoundaryCorner.setWorld(world);
-        claim.greaterBoundaryCorner.setWorld(world);
+        Location lesser = claim.getLesserBoundaryCorner();
+        Location greater = claim.getGreaterBoundaryCorner();
+        lesser.setWorld(world);
+        greater.setWorld(world);
+        claim.setBoundaryCorners(lesser, greater);
         claim.inDataStore = true;
     }
 }
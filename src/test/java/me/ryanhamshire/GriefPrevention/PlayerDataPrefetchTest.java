@@ -0,0 +1,212 @@
+package me.ryanhamshire.GriefPrevention;
+
+import com.griefprevention.claims.ClaimMutationQueue;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Player data warmed during async pre-login, then read the way the join and claim code reads it.
+ */
+class PlayerDataPrefetchTest
+{
+    private static final UUID PLAYER = UUID.fromString("4d1e3f6a-8b2c-4c5d-9e0f-1a2b3c4d5e6f");
+    private static final UUID OTHER = UUID.fromString("7a6b5c4d-3e2f-4a1b-8c9d-0e1f2a3b4c5d");
+
+    private GriefPrevention previousInstance;
+    private DataStore dataStore;
+    private World world;
+    private Claim owned;
+    private AtomicLong claimsVersion;
+
+    @BeforeEach
+    void setUp() throws ReflectiveOperationException
+    {
+        this.dataStore = mock(DataStore.class, CALLS_REAL_METHODS);
+        this.dataStore.playerNameToPlayerDataMap = new ConcurrentHashMap<>();
+        this.dataStore.ignoreIndex = new IgnoreIndex();
+        this.dataStore.playerDataWriter = new PlayerDataWriter(this.dataStore);
+        this.dataStore.claims = new ArrayList<>();
+        Field claimIDMap = DataStore.class.getDeclaredField("claimIDMap");
+        claimIDMap.setAccessible(true);
+        claimIDMap.set(this.dataStore, new ConcurrentHashMap<Long, Claim>());
+        Field claimMutations = DataStore.class.getDeclaredField("claimMutations");
+        claimMutations.setAccessible(true);
+        claimMutations.set(this.dataStore, new ClaimMutationQueue(Runnable::run));
+        Field claimsVersion = DataStore.class.getDeclaredField("claimsVersion");
+        claimsVersion.setAccessible(true);
+        this.claimsVersion = new AtomicLong();
+        claimsVersion.set(this.dataStore, this.claimsVersion);
+        doReturn(0).when(this.dataStore).getGroupBonusBlocks(any());
+
+        PlayerData stored = new PlayerData();
+        stored.setAccruedClaimBlocks(500);
+        stored.setBonusClaimBlocks(20);
+        doReturn(stored).when(this.dataStore).getPlayerDataFromStorage(PLAYER);
+
+        this.world = mock(World.class);
+        this.owned = this.add(claim(1L, this.world, PLAYER));
+        this.add(claim(2L, this.world, OTHER));
+
+        GriefPrevention plugin = mock(GriefPrevention.class);
+        plugin.dataStore = this.dataStore;
+        this.previousInstance = GriefPrevention.instance;
+        GriefPrevention.instance = plugin;
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        GriefPrevention.instance = this.previousInstance;
+    }
+
+    @Test
+    void prefetchedDataServesTheFirstReads()
+    {
+        PlayerData playerData = this.dataStore.getPlayerData(PLAYER);
+        playerData.prefetch(this.dataStore);
+
+        assertTrue(playerData.ignoredPlayersLoaded);
+        assertEquals(Collections.singletonList(this.owned), playerData.getClaims());
+        assertEquals(20, playerData.getBonusClaimBlocks());
+        assertEquals(500, playerData.getAccruedClaimBlocks());
+        verify(this.dataStore, times(1)).getPlayerDataFromStorage(PLAYER);
+    }
+
+    @Test
+    void withoutPrefetchEverythingStillLoadsOnDemand()
+    {
+        PlayerData playerData = this.dataStore.getPlayerData(PLAYER);
+
+        assertEquals(Collections.singletonList(this.owned), playerData.getClaims());
+        assertEquals(20, playerData.getBonusClaimBlocks());
+        verify(this.dataStore, times(1)).getPlayerDataFromStorage(PLAYER);
+    }
+
+    @Test
+    void claimsRemovedBeforeTheFirstReadAreDropped()
+    {
+        PlayerData playerData = this.dataStore.getPlayerData(PLAYER);
+        playerData.prefetch(this.dataStore);
+
+        this.owned.inDataStore = false;
+
+        assertTrue(playerData.getClaims().isEmpty());
+    }
+
+    @Test
+    void prefetchLeavesTheClaimListToTheMainThread()
+    {
+        Claim stale = this.add(claim(3L, this.world, OTHER));
+        stale.inDataStore = false;
+        // Loaded after claim 1 but with a lower ID, so list order and ID order differ.
+        Claim later = this.add(claim(0L, this.world, PLAYER));
+        ArrayList<Claim> before = new ArrayList<>(this.dataStore.claims);
+
+        PlayerData playerData = this.dataStore.getPlayerData(PLAYER);
+        playerData.prefetch(this.dataStore);
+
+        assertEquals(before, this.dataStore.claims);
+        assertEquals(Arrays.asList(this.owned, later), playerData.getClaims());
+    }
+
+    @Test
+    void claimsChangedAfterPrefetchAreReadAgain()
+    {
+        PlayerData playerData = this.dataStore.getPlayerData(PLAYER);
+        playerData.prefetch(this.dataStore);
+
+        // Stands in for a claim created for the player between login and the first read.
+        Claim created = this.add(claim(4L, this.world, PLAYER));
+        this.claimsVersion.incrementAndGet();
+
+        assertEquals(Arrays.asList(this.owned, created), playerData.getClaims());
+    }
+
+    @Test
+    void prefetchDoesNotWaitForClaimMutations() throws Exception
+    {
+        PlayerData playerData = this.dataStore.getPlayerData(PLAYER);
+        CountDownLatch writerHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Claim created;
+        try
+        {
+            // Stands in for a claim change, which runs as the claim writer.
+            executor.submit(() -> this.dataStore.claimMutations.call(() ->
+            {
+                writerHeld.countDown();
+                try
+                {
+                    release.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertTrue(writerHeld.await(5, TimeUnit.SECONDS));
+
+            executor.submit(() -> playerData.prefetch(this.dataStore)).get(5, TimeUnit.SECONDS);
+
+            // The running change adds a claim but has not bumped the claims version yet.
+            created = this.add(claim(4L, this.world, PLAYER));
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertTrue(playerData.ignoredPlayersLoaded);
+        assertEquals(Arrays.asList(this.owned, created), playerData.getClaims());
+    }
+
+    private Claim add(Claim claim)
+    {
+        claim.dataStoreOrder = this.dataStore.claims.size();
+        this.dataStore.claims.add(claim);
+        this.dataStore.claimIDMap.put(claim.getID(), claim);
+        return claim;
+    }
+
+    private static Claim claim(long id, World world, UUID owner)
+    {
+        Claim claim = new Claim(
+                new Location(world, id * 100, 0, 0),
+                new Location(world, id * 100 + 20, 0, 20),
+                owner,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                id);
+        claim.inDataStore = true;
+        return claim;
+    }
+}
@@ -0,0 +1,165 @@
+package me.ryanhamshire.GriefPrevention;
+
+import com.griefprevention.claims.ClaimMutationQueue;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Player data lookups from many threads while claim changes run on the claim writer.
+ */
+class PlayerDataRegistryTest
+{
+    private static final int PLAYERS = 2_000;
+    private static final int THREADS = 16;
+
+    @Test
+    void concurrentFirstLookupsShareOneInstancePerPlayer() throws Exception
+    {
+        DataStore dataStore = emptyDataStore();
+        List<UUID> players = players();
+        List<List<PlayerData>> seen = runThreads(THREADS, thread ->
+        {
+            List<PlayerData> found = new ArrayList<>();
+            for (UUID player : players) found.add(dataStore.getPlayerData(player));
+            return found;
+        });
+
+        for (int i = 0; i < PLAYERS; i++)
+        {
+            PlayerData expected = dataStore.playerNameToPlayerDataMap.get(players.get(i));
+            assertEquals(players.get(i), expected.playerID);
+            for (List<PlayerData> found : seen)
+            {
+                assertSame(expected, found.get(i), "player " + i);
+            }
+        }
+    }
+
+    @Test
+    void clearCachedPlayerDataOnlyDropsThatPlayer()
+    {
+        DataStore dataStore = emptyDataStore();
+        UUID cleared = UUID.randomUUID();
+        UUID kept = UUID.randomUUID();
+        PlayerData clearedData = dataStore.getPlayerData(cleared);
+        PlayerData keptData = dataStore.getPlayerData(kept);
+
+        dataStore.clearCachedPlayerData(cleared);
+
+        assertNotSame(clearedData, dataStore.getPlayerData(cleared));
+        assertSame(keptData, dataStore.getPlayerData(kept));
+    }
+
+    @Test
+    void lookupsDoNotWaitForClaimMutations() throws Exception
+    {
+        DataStore dataStore = emptyDataStore();
+        CountDownLatch writerHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            // Stands in for a claim change, which runs as the claim writer.
+            executor.submit(() -> dataStore.claimMutations.call(() ->
+            {
+                writerHeld.countDown();
+                try
+                {
+                    release.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertTrue(writerHeld.await(5, TimeUnit.SECONDS));
+
+            Future<PlayerData> lookup = executor.submit(() ->
+            {
+                UUID player = UUID.randomUUID();
+                dataStore.getPlayerData(player);
+                dataStore.clearCachedPlayerData(player);
+                return dataStore.getPlayerData(player);
+            });
+            assertNotNull(lookup.get(5, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> List<T> runThreads(int threads, Function<Integer, T> task) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++)
+            {
+                int index = thread;
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    return task.apply(index);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) results.add(future.get(60, TimeUnit.SECONDS));
+            return results;
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<UUID> players()
+    {
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) players.add(new UUID(35L, i));
+        return players;
+    }
+
+    private static DataStore emptyDataStore()
+    {
+        DataStore dataStore = mock(DataStore.class, CALLS_REAL_METHODS);
+        dataStore.playerNameToPlayerDataMap = new ConcurrentHashMap<>();
+        dataStore.ignoreIndex = new IgnoreIndex();
+        dataStore.playerDataWriter = new PlayerDataWriter(dataStore);
+        try
+        {
+            Field claimMutations = DataStore.class.getDeclaredField("claimMutations");
+            claimMutations.setAccessible(true);
+            claimMutations.set(dataStore, new ClaimMutationQueue(Runnable::run));
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        return dataStore;
+    }
+}
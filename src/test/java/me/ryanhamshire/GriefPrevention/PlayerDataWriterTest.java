@@ -0,0 +1,124 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class PlayerDataWriterTest
+{
+    private static final UUID FIRST = new UUID(36L, 1L);
+    private static final UUID SECOND = new UUID(36L, 2L);
+
+    @Test
+    void repeatedSavesForOnePlayerAreWrittenOnce()
+    {
+        List<Map<UUID, PlayerData>> batches = new ArrayList<>();
+        DataStore dataStore = recordingDataStore(batches);
+        PlayerData first = playerData(FIRST);
+        PlayerData second = playerData(SECOND);
+
+        dataStore.savePlayerData(FIRST, first);
+        dataStore.savePlayerData(SECOND, second);
+        dataStore.savePlayerData(FIRST, first);
+        dataStore.savePlayerData(FIRST, first);
+        dataStore.playerDataWriter.flush();
+
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList(FIRST, SECOND), new ArrayList<>(batches.get(0).keySet()));
+        assertSame(first, batches.get(0).get(FIRST));
+        dataStore.flushPlayerData();
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void synchronousSaveLeavesNothingForTheBatch()
+    {
+        List<Map<UUID, PlayerData>> batches = new ArrayList<>();
+        DataStore dataStore = recordingDataStore(batches);
+        PlayerData first = playerData(FIRST);
+
+        dataStore.savePlayerData(FIRST, first);
+        // savePlayerDataSync clears the flag before writing on the calling thread.
+        first.clearDirty();
+        dataStore.flushPlayerData();
+
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void adminAccountIsNeverQueued()
+    {
+        List<Map<UUID, PlayerData>> batches = new ArrayList<>();
+        DataStore dataStore = recordingDataStore(batches);
+
+        dataStore.savePlayerData(null, new PlayerData());
+        dataStore.flushPlayerData();
+
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void closingWritesPendingSavesAndThenWritesImmediately()
+    {
+        List<Map<UUID, PlayerData>> batches = new ArrayList<>();
+        DataStore dataStore = recordingDataStore(batches);
+
+        dataStore.savePlayerData(FIRST, playerData(FIRST));
+        dataStore.flushPlayerData();
+        assertEquals(1, batches.size());
+
+        dataStore.savePlayerData(SECOND, playerData(SECOND));
+        assertEquals(2, batches.size());
+        assertEquals(Arrays.asList(SECOND), new ArrayList<>(batches.get(1).keySet()));
+    }
+
+    @Test
+    void lookupAfterCacheClearReturnsTheUnwrittenRecord()
+    {
+        List<Map<UUID, PlayerData>> batches = new ArrayList<>();
+        DataStore dataStore = recordingDataStore(batches);
+        PlayerData first = dataStore.getPlayerData(FIRST);
+
+        dataStore.savePlayerData(FIRST, first);
+        dataStore.clearCachedPlayerData(FIRST);
+
+        assertSame(first, dataStore.getPlayerData(FIRST));
+        dataStore.flushPlayerData();
+    }
+
+    private static DataStore recordingDataStore(List<Map<UUID, PlayerData>> batches)
+    {
+        DataStore dataStore = mock(DataStore.class, CALLS_REAL_METHODS);
+        dataStore.playerNameToPlayerDataMap = new ConcurrentHashMap<>();
+        dataStore.ignoreIndex = new IgnoreIndex();
+        dataStore.playerDataWriter = new PlayerDataWriter(dataStore);
+        doAnswer(invocation ->
+        {
+            Map<UUID, PlayerData> batch = invocation.getArgument(0);
+            batches.add(new LinkedHashMap<>(batch));
+            return null;
+        }).when(dataStore).writePlayerDataBatch(any());
+        return dataStore;
+    }
+
+    private static PlayerData playerData(UUID playerID)
+    {
+        PlayerData playerData = new PlayerData();
+        playerData.playerID = playerID;
+        return playerData;
+    }
+}
@@ -0,0 +1,126 @@
+package me.ryanhamshire.GriefPrevention;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Simulates a server's worth of chat threads hitting one {@link SpamDetector} at once.
+ */
+class SpamDetectorLoadTest
+{
+    private static final int CHATTERS = 300;
+    private static final int MESSAGES_PER_CHATTER = 40;
+
+    @Test
+    void concurrentChattersGetTheSameVerdictsAsSequentialChat() throws Exception
+    {
+        SpamDetector shared = new SpamDetector();
+        List<List<String>> concurrent = runChatters(CHATTERS, chatter -> verdicts(shared, chatter));
+
+        for (int chatter = 0; chatter < CHATTERS; chatter++)
+        {
+            assertEquals(verdicts(new SpamDetector(), chatter), concurrent.get(chatter), "chatter " + chatter);
+        }
+    }
+
+    @Test
+    void duplicateWaveCountsEveryRepeat() throws Exception
+    {
+        SpamDetector detector = new SpamDetector();
+        runChatters(CHATTERS, chatter ->
+        {
+            detector.AnalyzeMessage(chatterId(chatter), "free diamonds at spawn", 100_000L);
+            return null;
+        });
+
+        // Each repeat adds the running repeat count to its sender's spam level, so a tracker that
+        // lost an update under contention would leave a gap or a duplicate here.
+        int[] spamLevels = new int[CHATTERS];
+        for (int chatter = 0; chatter < CHATTERS; chatter++)
+        {
+            spamLevels[chatter] = detector.dataStore.get(chatterId(chatter)).spamLevel;
+        }
+        Arrays.sort(spamLevels);
+        int[] expected = new int[CHATTERS];
+        for (int i = 0; i < CHATTERS; i++)
+        {
+            expected[i] = i;
+        }
+        assertArrayEquals(expected, spamLevels);
+    }
+
+    private static List<String> verdicts(SpamDetector detector, int chatter)
+    {
+        List<String> verdicts = new ArrayList<>(MESSAGES_PER_CHATTER);
+        UUID id = chatterId(chatter);
+        long timestamp = 10_000L;
+        for (int message = 0; message < MESSAGES_PER_CHATTER; message++)
+        {
+            // Alternate bursts and pauses so warnings, mutes and level resets all occur.
+            timestamp += message % 7 < 3 ? 400L : 12_000L;
+            String text = message % 5 == 4 ? "!!??!!??" + chatter : message(chatter, message);
+            SpamAnalysisResult result = detector.AnalyzeMessage(id, text, timestamp);
+            verdicts.add(result.finalMessage + '|' + result.muteReason + '|' + result.shouldWarnChatter + '|'
+                    + result.shouldBanChatter);
+        }
+        return verdicts;
+    }
+
+    private static String message(int chatter, int message)
+    {
+        return "chatter " + chatter + " says hello for the " + message + " time";
+    }
+
+    private static UUID chatterId(int chatter)
+    {
+        return new UUID(30L, chatter);
+    }
+
+    private static <T> List<T> runChatters(int chatters, ChatterTask<T> task) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(chatters);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>(chatters);
+            for (int chatter = 0; chatter < chatters; chatter++)
+            {
+                int id = chatter;
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    return task.run(id);
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>(chatters);
+            for (Future<T> future : futures)
+            {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ChatterTask<T>
+    {
+        T run(int chatter) throws Exception;
+    }
+}
@@ -2,9 +2,13 @@ package me.ryanhamshire.GriefPrevention;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -141,4 +145,130 @@ class WordFinderTest
 
         assertFalse(finder.hasMatch("anything"));
     }
+
+    @Test
+    void censorKeepsSeparatorsAndWordEdges()
+    {
+        WordFinder finder = new WordFinder(Arrays.asList("#bad!", "ok"));
+
+        assertEquals("say #***! now", finder.censor("say #bad! now"));
+        assertEquals("(**)", finder.censor("(OK)"));
+    }
+
+    @Test
+    void censorSkipsWordSharingSeparatorWithPreviousMatch()
+    {
+        // The regex consumed the space between the two words as part of the first match.
+        WordFinder finder = new WordFinder(Collections.singletonList("bad"));
+
+        assertEquals("*** bad ***", finder.censor("bad bad bad"));
+    }
+
+    @Test
+    void censorCopiesDollarSignsAndBackslashesLiterally()
+    {
+        WordFinder finder = new WordFinder(Collections.singletonList("bad"));
+
+        assertEquals("***$ and \\***", finder.censor("bad$ and \\bad"));
+    }
+
+    @Test
+    void matchesUnicodeCaseFolding()
+    {
+        WordFinder finder = new WordFinder(Arrays.asList("stra\u00dfe", "\ud801\udc00x"));
+
+        assertTrue(finder.hasMatch("STRA\u1e9eE"));
+        assertTrue(finder.hasMatch("a \ud801\udc28X"));
+        assertEquals("a \ud801\udc28* b", finder.censor("a \ud801\udc28X b"));
+    }
+
+    @Test
+    void matchesRegexImplementationOnRandomInput()
+    {
+        String[] alphabet = {
+                "a", "b", "A", "B", "s", "S", "k", "K", "_", "1", " ", "!", "#", "\n",
+                "\u00e9", "\u00c9", "\u017f", "\u212a", "\u0130", "\u0131", "\u00df", "\ud801\udc00", "\ud801\udc28"
+        };
+        Random random = new Random(34L);
+        for (int round = 0; round < 20_000; round++)
+        {
+            List<String> words = new ArrayList<>();
+            int wordCount = 1 + random.nextInt(6);
+            for (int i = 0; i < wordCount; i++)
+            {
+                words.add(randomText(random, alphabet, 1 + random.nextInt(4)));
+            }
+            WordFinder finder = new WordFinder(words);
+            RegexWordFinder reference = new RegexWordFinder(words);
+
+            for (int i = 0; i < 10; i++)
+            {
+                String input = randomText(random, alphabet, random.nextInt(24));
+                String label = words + " / \"" + input + "\"";
+                assertEquals(reference.hasMatch(input), finder.hasMatch(input), label);
+                assertEquals(reference.censor(input), finder.censor(input), label);
+            }
+        }
+    }
+
+    private static String randomText(Random random, String[] alphabet, int length)
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++)
+        {
+            text.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * The alternation regex WordFinder used before it became an automaton. Replacements are
+     * quoted so {@code $} and {@code \} next to a word compare instead of throwing.
+     */
+    private static final class RegexWordFinder
+    {
+        private Pattern pattern;
+
+        private RegexWordFinder(List<String> wordsToFind)
+        {
+            StringBuilder patternBuilder = new StringBuilder();
+            for (String word : wordsToFind)
+            {
+                if (!word.isEmpty() && !word.trim().isEmpty())
+                {
+                    patternBuilder.append("|(([^\\w]|^)").append(Pattern.quote(word)).append("([^\\w]|$))");
+                }
+            }
+            if (patternBuilder.length() == 0) return;
+            this.pattern = Pattern.compile(patternBuilder.substring(1), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        }
+
+        private boolean hasMatch(String input)
+        {
+            return this.pattern != null && this.pattern.matcher(input).find();
+        }
+
+        private String censor(String input)
+        {
+            if (this.pattern == null || input.isEmpty()) return input;
+
+            StringBuffer result = new StringBuffer();
+            Matcher matcher = this.pattern.matcher(input);
+            while (matcher.find())
+            {
+                String match = matcher.group();
+                if (match.trim().isEmpty()) continue;
+
+                String word = match.replaceAll("^[^\\w]+|[^\\w]+$", "");
+                if (word.isEmpty()) continue;
+
+                StringBuilder stars = new StringBuilder();
+                for (int i = 0; i < word.length(); i++) stars.append('*');
+                String replacement = match.replaceAll(Pattern.quote(word), stars.toString());
+                matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+            }
+            matcher.appendTail(result);
+            return result.toString();
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package me.ryanhamshire.GriefPrevention.compat;
+
+import com.griefprevention.test.ServerMocks;
+import me.ryanhamshire.GriefPrevention.BlockSnapshot;
+import org.bukkit.Bukkit;
+import org.bukkit.ExplosionResult;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CompatUtilTest
+{
+    @BeforeAll
+    static void beforeAll()
+    {
+        Bukkit.setServer(ServerMocks.newServer());
+    }
+
+    @AfterAll
+    static void afterAll()
+    {
+        ServerMocks.unsetBukkitServer();
+    }
+
+    @Test
+    void updateCommandsCallsThePlayer()
+    {
+        Player player = mock(Player.class);
+
+        CompatUtil.updateCommands(player);
+
+        verify(player).updateCommands();
+    }
+
+    @Test
+    void blockSnapshotCapturesAndRestoresBlockData()
+    {
+        BlockData data = mock(BlockData.class);
+        Block block = mock(Block.class);
+        Location location = mock(Location.class);
+        when(block.getLocation()).thenReturn(location);
+        when(location.getBlock()).thenReturn(block);
+        when(block.getType()).thenReturn(Material.STONE);
+        when(block.getBlockData()).thenReturn(data);
+
+        BlockSnapshot snapshot = new BlockSnapshot(block);
+        assertSame(data, snapshot.blockData);
+
+        snapshot.apply();
+        verify(block).setBlockData(data);
+        verify(block, never()).setType(Material.STONE, false);
+    }
+
+    @Test
+    void blockSnapshotFallsBackToTheMaterialForForeignData()
+    {
+        Block block = mock(Block.class);
+        Location location = mock(Location.class);
+        when(location.getBlock()).thenReturn(block);
+
+        new BlockSnapshot(location, Material.STONE, "legacy data").apply();
+
+        verify(block).setType(Material.STONE, false);
+    }
+
+    @Test
+    void recognisesTriggerBlockExplosions()
+    {
+        assertTrue(CompatUtil.hasExplosionResult());
+        assertTrue(CompatUtil.isTriggerBlockExplosion(ExplosionResult.TRIGGER_BLOCK));
+        assertFalse(CompatUtil.isTriggerBlockExplosion(ExplosionResult.DESTROY));
+        assertFalse(CompatUtil.isTriggerBlockExplosion(null));
+    }
+
+    @Test
+    void remembersWhichEntityTypesExist()
+    {
+        assertTrue(CompatUtil.canCheckEntityType("Donkey"));
+        assertTrue(CompatUtil.canCheckEntityType("Donkey"));
+        assertFalse(CompatUtil.canCheckEntityType("NoSuchEntity"));
+    }
+
+    @Test
+    void resolvesRenamedMaterials()
+    {
+        assertSame(Material.GRASS_BLOCK, CompatUtil.getGrassBlockMaterial());
+        assertTrue(CompatUtil.isGrassBlock(Material.GRASS_BLOCK));
+        assertFalse(CompatUtil.isGrassBlock(Material.DIRT));
+        assertSame(Material.END_PORTAL_FRAME, CompatUtil.getEndPortalFrameMaterial());
+    }
+
+    @Test
+    void persistentDataOfNonHoldersIsEmpty()
+    {
+        assertFalse(CompatUtil.hasPersistentDataKey(new Object(), "shopsign", "quickshop"));
+        assertFalse(CompatUtil.hasPersistentDataKey(null, "shopsign", "quickshop"));
+    }
+}
@@ -0,0 +1,85 @@
+package me.ryanhamshire.GriefPrevention.integration;
+
+import me.ryanhamshire.GriefPrevention.DataStore;
+import me.ryanhamshire.GriefPrevention.GriefPrevention;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Placeholder requests reusing one claim lookup per player until the player moves, a claim
+ * changes or the context expires.
+ */
+class PlaceholderAPIExpansionTest
+{
+    private final AtomicLong now = new AtomicLong(10_000L);
+    private DataStore dataStore;
+    private Player player;
+    private PlaceholderAPIExpansion expansion;
+
+    @BeforeEach
+    void setUp()
+    {
+        this.dataStore = mock(DataStore.class);
+        when(this.dataStore.getClaimsVersion()).thenReturn(1L);
+
+        GriefPrevention plugin = mock(GriefPrevention.class);
+        plugin.dataStore = this.dataStore;
+
+        World world = mock(World.class);
+        this.player = mock(Player.class);
+        when(this.player.getPlayer()).thenReturn(this.player);
+        when(this.player.getLocation()).thenAnswer(invocation -> new Location(world, 5, 64, 5));
+
+        this.expansion = new PlaceholderAPIExpansion(plugin, this.now::get);
+    }
+
+    @Test
+    void contextIsReusedWithinItsLifetime()
+    {
+        request();
+        this.now.addAndGet(999L);
+        request();
+
+        verify(this.dataStore, times(1)).getClaimAt(any(Location.class), anyBoolean(), any());
+    }
+
+    @Test
+    void contextIsRebuiltWhenClaimsChange()
+    {
+        request();
+        when(this.dataStore.getClaimsVersion()).thenReturn(2L);
+        request();
+        request();
+
+        verify(this.dataStore, times(2)).getClaimAt(any(Location.class), anyBoolean(), any());
+    }
+
+    @Test
+    void contextIsRebuiltOnceItExpires()
+    {
+        request();
+        this.now.addAndGet(1_000L);
+        request();
+        request();
+
+        verify(this.dataStore, times(2)).getClaimAt(any(Location.class), anyBoolean(), any());
+    }
+
+    private void request()
+    {
+        assertEquals("false", this.expansion.onRequest(this.player, "in_subdivision"));
+    }
+}